@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.savagegraveyards.commands.bukkit;
+
+import com.winterhavenmc.savagegraveyards.datastore.DatastoreBackup;
+import com.winterhavenmc.savagegraveyards.models.Macro;
+import com.winterhavenmc.savagegraveyards.models.MessageId;
+
+import org.bukkit.command.Command;
+import org.bukkit.command.CommandSender;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletionException;
+
+
+/**
+ * Backup command implementation<br>
+ * Writes an online backup of the datastore, or stages a backup to be restored when the server is next started
+ */
+public final class BackupSubcommand extends AbstractSubcommand
+{
+	private static final String RESTORE = "restore";
+
+	private final CommandCtx ctx;
+
+
+	/**
+	 * Class constructor
+	 */
+	public BackupSubcommand(final CommandCtx ctx)
+	{
+		this.ctx = ctx;
+		this.name = "backup";
+		this.usageString = "/graveyard backup [restore <file>]";
+		this.description = MessageId.COMMAND_DESCRIPTION_BACKUP;
+		this.permissionNode = "graveyard.backup";
+		this.maxArgs = 2;
+	}
+
+
+	@Override
+	public List<String> onTabComplete(final CommandSender sender,
+	                                  final Command command,
+	                                  final String alias,
+	                                  final String[] args)
+	{
+		return switch (args.length)
+		{
+			case 2 -> (RESTORE.startsWith(args[1].toLowerCase())) ? List.of(RESTORE) : Collections.emptyList();
+			case 3 -> (RESTORE.equalsIgnoreCase(args[1]))
+					? ctx.datastore().backups()
+							.map(backups -> backups.list().stream().filter(name -> name.startsWith(args[2])).limit(20).toList())
+							.orElse(Collections.emptyList())
+					: Collections.emptyList();
+			default -> Collections.emptyList();
+		};
+	}
+
+
+	@Override
+	public boolean onCommand(final CommandSender sender, final List<String> args)
+	{
+		// check sender permission
+		if (!sender.hasPermission(permissionNode))
+		{
+			return ctx.messageBuilder().compose(sender, MessageId.COMMAND_FAIL_PERMISSION_BACKUP).send();
+		}
+
+		// validate arguments
+		if (args.size() > maxArgs)
+		{
+			return sendArgsFailMessage(sender, MessageId.COMMAND_FAIL_ARGS_COUNT_OVER);
+		}
+
+		if (!args.isEmpty() && (!RESTORE.equalsIgnoreCase(args.getFirst()) || args.size() < 2))
+		{
+			return sendArgsFailMessage(sender, MessageId.COMMAND_FAIL_ARGS_COUNT_UNDER);
+		}
+
+		Optional<DatastoreBackup> backups = ctx.datastore().backups();
+		if (backups.isEmpty())
+		{
+			return ctx.messageBuilder().compose(sender, MessageId.COMMAND_FAIL_BACKUP_UNSUPPORTED).send();
+		}
+
+		// perform logic
+		if (args.isEmpty())
+		{
+			backup(sender, backups.get());
+		}
+		else
+		{
+			restore(sender, backups.get(), args.get(1));
+		}
+
+		// return true to suppress display of bukkit command usage
+		return true;
+	}
+
+
+	private void backup(final CommandSender sender, final DatastoreBackup backups)
+	{
+		ctx.messageBuilder().compose(sender, MessageId.COMMAND_BACKUP_STARTED).send();
+
+		backups.backup().whenCompleteAsync((result, throwable) ->
+		{
+			if (throwable == null)
+			{
+				ctx.messageBuilder().compose(sender, MessageId.COMMAND_SUCCESS_BACKUP)
+						.setMacro(Macro.FILE, result.fileName())
+						.setMacro(Macro.NUMBER, result.size() / 1024)
+						.setMacro(Macro.DURATION, result.elapsed())
+						.send();
+			}
+			else
+			{
+				Throwable cause = (throwable instanceof CompletionException && throwable.getCause() != null)
+						? throwable.getCause()
+						: throwable;
+				ctx.messageBuilder().compose(sender, MessageId.COMMAND_FAIL_BACKUP)
+						.setMacro(Macro.REASON, String.valueOf(cause.getLocalizedMessage()))
+						.send();
+			}
+		}, ctx.mainThread());
+	}
+
+
+	private void restore(final CommandSender sender, final DatastoreBackup backups, final String fileName)
+	{
+		backups.stageRestore(fileName).thenAcceptAsync(status ->
+		{
+			MessageId messageId = switch (status)
+			{
+				case STAGED -> MessageId.COMMAND_SUCCESS_BACKUP_RESTORE;
+				case NOT_FOUND -> MessageId.COMMAND_FAIL_BACKUP_RESTORE_NOT_FOUND;
+				case INVALID -> MessageId.COMMAND_FAIL_BACKUP_RESTORE_INVALID;
+				case FAILED -> MessageId.COMMAND_FAIL_BACKUP_RESTORE;
+			};
+
+			ctx.messageBuilder().compose(sender, messageId)
+					.setMacro(Macro.FILE, fileName)
+					.send();
+		}, ctx.mainThread());
+	}
+
+
+	private boolean sendArgsFailMessage(final CommandSender sender, final MessageId messageId)
+	{
+		boolean result = ctx.messageBuilder().compose(sender, messageId).send();
+		displayUsage(sender);
+		return result;
+	}
+
+}
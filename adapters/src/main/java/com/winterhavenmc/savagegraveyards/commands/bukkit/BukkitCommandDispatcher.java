@@ -19,6 +19,7 @@ package com.winterhavenmc.savagegraveyards.commands.bukkit;
 
 import com.winterhavenmc.savagegraveyards.commands.CommandDispatcher;
 import com.winterhavenmc.savagegraveyards.datastore.ConnectionProvider;
+import com.winterhavenmc.savagegraveyards.datastore.DatastoreExecutor;
 import com.winterhavenmc.savagegraveyards.tasks.discovery.DiscoveryObserver;
 import com.winterhavenmc.savagegraveyards.models.Macro;
 import com.winterhavenmc.savagegraveyards.models.MessageId;
@@ -54,7 +55,10 @@ public final class BukkitCommandDispatcher implements CommandDispatcher
 	{
 		this.messageBuilder = messageBuilder;
 		Objects.requireNonNull(plugin.getCommand("graveyard")).setExecutor(this);
-		final CommandCtx ctx = new CommandCtx(plugin, messageBuilder, connectionProvider.graveyards(), connectionProvider.discoveries(), discoveryObserver);
+		final CommandCtx ctx = new CommandCtx(plugin, messageBuilder,
+				connectionProvider.graveyards(), connectionProvider.discoveries(),
+				connectionProvider.asyncGraveyards(), connectionProvider.asyncDiscoveries(),
+				DatastoreExecutor.mainThread(plugin), discoveryObserver, connectionProvider);
 		Arrays.stream(SubcommandType.values()).forEach(type -> subcommandRegistry.register(type.create(ctx)));
 		subcommandRegistry.register(new HelpSubcommand(ctx, subcommandRegistry));
 	}
@@ -25,6 +25,7 @@ import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 
 
@@ -63,16 +64,11 @@ public final class ClosestSubcommand extends AbstractSubcommand
 		// sender must be in game player
 		else if (sender instanceof Player player)
 		{
-			// get list of nearest graveyards to player location, sorted by distance
-			final List<ValidGraveyard> nearestGraveyards = ctx.graveyards().getNearestGraveyards(player);
-
-			// if list is empty display no match message
-			// else display command success message
-			return (nearestGraveyards.isEmpty())
-					? ctx.messageBuilder().compose(sender, MessageId.COMMAND_FAIL_CLOSEST_NO_MATCH).send()
-					: ctx.messageBuilder().compose(sender, MessageId.COMMAND_SUCCESS_CLOSEST)
-							.setMacro(Macro.GRAVEYARD, nearestGraveyards.getFirst())
-							.send();
+			// get nearest graveyard to player location on a datastore thread, then display result on the server thread
+			ctx.asyncGraveyards().getNearestGraveyard(player)
+					.thenAcceptAsync(nearestGraveyard -> displayNearest(sender, nearestGraveyard), ctx.mainThread())
+					.exceptionallyAsync(throwable -> ctx.datastoreFailed(sender), ctx.mainThread());
+			return true;
 		}
 		else
 		{
@@ -80,4 +76,16 @@ public final class ClosestSubcommand extends AbstractSubcommand
 		}
 	}
 
+
+	private void displayNearest(final CommandSender sender, final Optional<ValidGraveyard> nearestGraveyard)
+	{
+		// if no graveyard found display no match message
+		// else display command success message
+		nearestGraveyard.ifPresentOrElse(
+				graveyard -> ctx.messageBuilder().compose(sender, MessageId.COMMAND_SUCCESS_CLOSEST)
+						.setMacro(Macro.GRAVEYARD, graveyard)
+						.send(),
+				() -> ctx.messageBuilder().compose(sender, MessageId.COMMAND_FAIL_CLOSEST_NO_MATCH).send());
+	}
+
 }
@@ -19,13 +19,36 @@ package com.winterhavenmc.savagegraveyards.commands.bukkit;
 
 import com.winterhavenmc.library.messagebuilder.MessageBuilder;
 
+import com.winterhavenmc.savagegraveyards.datastore.AsyncDiscoveryRepository;
+import com.winterhavenmc.savagegraveyards.datastore.AsyncGraveyardRepository;
+import com.winterhavenmc.savagegraveyards.datastore.ConnectionProvider;
 import com.winterhavenmc.savagegraveyards.datastore.DiscoveryRepository;
 import com.winterhavenmc.savagegraveyards.datastore.GraveyardRepository;
 
+import com.winterhavenmc.savagegraveyards.models.MessageId;
 import com.winterhavenmc.savagegraveyards.tasks.discovery.DiscoveryObserver;
+
+import org.bukkit.command.CommandSender;
 import org.bukkit.plugin.java.JavaPlugin;
 
+import java.util.concurrent.Executor;
+
 
 public record CommandCtx(JavaPlugin plugin, MessageBuilder messageBuilder,
                          GraveyardRepository graveyards, DiscoveryRepository discoveries,
-                         DiscoveryObserver discoveryObserver) { }
+                         AsyncGraveyardRepository asyncGraveyards, AsyncDiscoveryRepository asyncDiscoveries,
+                         Executor mainThread, DiscoveryObserver discoveryObserver, ConnectionProvider datastore)
+{
+	/**
+	 * Send the datastore failure message to a command sender, when an asynchronous datastore operation or the
+	 * handling of its result has failed. The failure of the operation itself is logged by the datastore executor.
+	 *
+	 * @param sender the sender of the command
+	 * @return {@code null}, as the result of the exception handler of a {@link java.util.concurrent.CompletableFuture}
+	 */
+	public Void datastoreFailed(final CommandSender sender)
+	{
+		messageBuilder.compose(sender, MessageId.COMMAND_FAIL_DATASTORE).send();
+		return null;
+	}
+}
@@ -20,6 +20,7 @@ package com.winterhavenmc.savagegraveyards.commands.bukkit;
 import com.winterhavenmc.savagegraveyards.models.Macro;
 import com.winterhavenmc.savagegraveyards.models.MessageId;
 
+import com.winterhavenmc.savagegraveyards.models.graveyard.Graveyard;
 import com.winterhavenmc.savagegraveyards.models.graveyard.ValidGraveyard;
 import com.winterhavenmc.savagegraveyards.models.graveyard.InvalidGraveyard;
 import com.winterhavenmc.savagegraveyards.models.searchkey.SearchKey;
@@ -88,14 +89,9 @@ public final class DeleteSubcommand extends AbstractSubcommand
 		switch (SearchKey.of(args))
 		{
 			case InvalidSearchKey invalidKey -> invalidKeyMessage(sender, invalidKey);
-			case ValidSearchKey validKey ->
-			{
-				switch (ctx.graveyards().delete(validKey))
-				{
-					case ValidGraveyard valid -> successMessage(sender, valid);
-					case InvalidGraveyard invalid -> notFoundMessage(sender, invalid);
-				}
-			}
+			case ValidSearchKey validKey -> ctx.asyncGraveyards().delete(validKey)
+					.thenAcceptAsync(graveyard -> resultMessage(sender, graveyard), ctx.mainThread())
+					.exceptionallyAsync(throwable -> ctx.datastoreFailed(sender), ctx.mainThread());
 		}
 
 		// return true to suppress display of bukkit command usage
@@ -103,6 +99,16 @@ public final class DeleteSubcommand extends AbstractSubcommand
 	}
 
 
+	private void resultMessage(final CommandSender sender, final Graveyard graveyard)
+	{
+		switch (graveyard)
+		{
+			case ValidGraveyard valid -> successMessage(sender, valid);
+			case InvalidGraveyard invalid -> notFoundMessage(sender, invalid);
+		}
+	}
+
+
 	private void invalidKeyMessage(final CommandSender sender, final InvalidSearchKey invalid)
 	{
 		ctx.messageBuilder().compose(sender, MessageId.COMMAND_FAIL_DELETE_INVALID_KEY)
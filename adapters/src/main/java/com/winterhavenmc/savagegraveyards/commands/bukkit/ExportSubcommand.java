@@ -0,0 +1,199 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.savagegraveyards.commands.bukkit;
+
+import com.winterhavenmc.savagegraveyards.datastore.transfer.DatastoreExporter;
+import com.winterhavenmc.savagegraveyards.datastore.transfer.TransferFormat;
+import com.winterhavenmc.savagegraveyards.models.Config;
+import com.winterhavenmc.savagegraveyards.models.Macro;
+import com.winterhavenmc.savagegraveyards.models.MessageId;
+
+import org.bukkit.command.Command;
+import org.bukkit.command.CommandSender;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+
+/**
+ * Export command implementation<br>
+ * Writes all graveyard and discovery records to a file in the transfers directory, as NDJSON or as CSV
+ * if the file name has a .csv extension
+ */
+public final class ExportSubcommand extends AbstractSubcommand
+{
+	private final CommandCtx ctx;
+
+
+	/**
+	 * Class constructor
+	 */
+	public ExportSubcommand(final CommandCtx ctx)
+	{
+		this.ctx = ctx;
+		this.name = "export";
+		this.usageString = "/graveyard export <file>";
+		this.description = MessageId.COMMAND_DESCRIPTION_EXPORT;
+		this.permissionNode = "graveyard.export";
+		this.minArgs = 1;
+		this.maxArgs = 1;
+	}
+
+
+	@Override
+	public List<String> onTabComplete(final CommandSender sender,
+	                                  final Command command,
+	                                  final String alias,
+	                                  final String[] args)
+	{
+		return Collections.emptyList();
+	}
+
+
+	@Override
+	public boolean onCommand(final CommandSender sender, final List<String> args)
+	{
+		// check sender permission
+		if (!sender.hasPermission(permissionNode))
+		{
+			return ctx.messageBuilder().compose(sender, MessageId.COMMAND_FAIL_PERMISSION_EXPORT).send();
+		}
+
+		// validate arguments
+		if (args.size() < minArgs)
+		{
+			return sendArgsFailMessage(sender, MessageId.COMMAND_FAIL_ARGS_COUNT_UNDER);
+		}
+
+		if (args.size() > maxArgs)
+		{
+			return sendArgsFailMessage(sender, MessageId.COMMAND_FAIL_ARGS_COUNT_OVER);
+		}
+
+		String fileName = args.getFirst();
+		Optional<Path> resolved = TransferFiles.resolve(ctx.plugin(), fileName);
+		if (resolved.isEmpty())
+		{
+			return ctx.messageBuilder().compose(sender, MessageId.COMMAND_FAIL_TRANSFER_INVALID_FILE)
+					.setMacro(Macro.FILE, fileName)
+					.send();
+		}
+
+		Path path = resolved.get();
+		if (Files.exists(path))
+		{
+			return ctx.messageBuilder().compose(sender, MessageId.COMMAND_FAIL_EXPORT_FILE_EXISTS)
+					.setMacro(Macro.FILE, fileName)
+					.send();
+		}
+
+		if (!TransferFiles.begin())
+		{
+			return ctx.messageBuilder().compose(sender, MessageId.COMMAND_FAIL_TRANSFER_IN_PROGRESS).send();
+		}
+
+		// perform export in an asynchronous task, reporting progress on the main thread
+		ctx.messageBuilder().compose(sender, MessageId.COMMAND_EXPORT_STARTED)
+				.setMacro(Macro.FILE, fileName)
+				.send();
+
+		int progressInterval = Config.TRANSFER_PROGRESS_INTERVAL.getInt(ctx.plugin().getConfig());
+		ctx.plugin().getServer().getScheduler().runTaskAsynchronously(ctx.plugin(),
+				() -> export(sender, fileName, path, progressInterval));
+
+		// return true to suppress display of bukkit command usage
+		return true;
+	}
+
+
+	private void export(final CommandSender sender, final String fileName, final Path path, final int progressInterval)
+	{
+		try
+		{
+			Files.createDirectories(path.getParent());
+			DatastoreExporter exporter = new DatastoreExporter(ctx.graveyards(), ctx.discoveries(), progressInterval);
+			DatastoreExporter.Result result;
+
+			try (TransferFormat.RecordWriter writer = TransferFormat.of(path).writer(Files.newBufferedWriter(path,
+					StandardCharsets.UTF_8, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)))
+			{
+				result = exporter.export(writer, count -> ctx.mainThread().execute(() -> sendProgressMessage(sender, count)));
+			}
+
+			ctx.mainThread().execute(() -> ctx.messageBuilder().compose(sender, MessageId.COMMAND_SUCCESS_EXPORT)
+					.setMacro(Macro.FILE, fileName)
+					.setMacro(Macro.GRAVEYARD_COUNT, result.graveyards())
+					.setMacro(Macro.DISCOVERY_COUNT, result.discoveries())
+					.send());
+		}
+		catch (IOException | RuntimeException ex)
+		{
+			ctx.plugin().getLogger().warning(ex.getLocalizedMessage());
+			if (!(ex instanceof FileAlreadyExistsException))
+			{
+				deletePartialFile(path);
+			}
+			ctx.mainThread().execute(() -> ctx.messageBuilder().compose(sender, MessageId.COMMAND_FAIL_EXPORT)
+					.setMacro(Macro.FILE, fileName)
+					.setMacro(Macro.REASON, String.valueOf(ex.getLocalizedMessage()))
+					.send());
+		}
+		finally
+		{
+			TransferFiles.end();
+		}
+	}
+
+
+	private void deletePartialFile(final Path path)
+	{
+		try
+		{
+			Files.deleteIfExists(path);
+		}
+		catch (IOException ex)
+		{
+			ctx.plugin().getLogger().warning(ex.getLocalizedMessage());
+		}
+	}
+
+
+	@SuppressWarnings("UnusedReturnValue")
+	private boolean sendProgressMessage(final CommandSender sender, final long count)
+	{
+		return ctx.messageBuilder().compose(sender, MessageId.COMMAND_EXPORT_PROGRESS)
+				.setMacro(Macro.RECORD_COUNT, count)
+				.send();
+	}
+
+
+	private boolean sendArgsFailMessage(final CommandSender sender, final MessageId messageId)
+	{
+		boolean result = ctx.messageBuilder().compose(sender, messageId).send();
+		displayUsage(sender);
+		return result;
+	}
+
+}
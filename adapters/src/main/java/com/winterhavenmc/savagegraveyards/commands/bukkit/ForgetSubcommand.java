@@ -89,15 +89,20 @@ public final class ForgetSubcommand extends AbstractSubcommand
 		String playerName = args.removeFirst();
 		SearchKey searchKey = SearchKey.of(args);
 
-		if (searchKey instanceof ValidSearchKey validSearchKey
-				&& ctx.graveyards().get(validSearchKey) instanceof ValidGraveyard validGraveyard)
+		if (searchKey instanceof ValidSearchKey validSearchKey)
 		{
-			// match playerName to offline player
-			Arrays.stream(ctx.plugin().getServer().getOfflinePlayers())
-					.filter(player -> playerName.equals(player.getName()))
-					.findFirst()
-					.ifPresentOrElse(player -> deleteDiscovery(sender, player, validGraveyard),
-							() -> sendDeleteFailMessage(sender));
+			ctx.asyncGraveyards().get(validSearchKey).thenAcceptAsync(graveyard ->
+			{
+				if (graveyard instanceof ValidGraveyard validGraveyard)
+				{
+					// match playerName to offline player
+					Arrays.stream(ctx.plugin().getServer().getOfflinePlayers())
+							.filter(player -> playerName.equals(player.getName()))
+							.findFirst()
+							.ifPresentOrElse(player -> deleteDiscovery(sender, player, validGraveyard),
+									() -> sendDeleteFailMessage(sender));
+				}
+			}, ctx.mainThread()).exceptionallyAsync(throwable -> ctx.datastoreFailed(sender), ctx.mainThread());
 		}
 
 		// return true to suppress display of bukkit command usage
@@ -120,10 +125,21 @@ public final class ForgetSubcommand extends AbstractSubcommand
 	}
 
 
+	private void deleteDiscovery(final CommandSender sender, final OfflinePlayer player, final ValidGraveyard validGraveyard)
+	{
+		ctx.asyncDiscoveries().delete(validGraveyard.uid(), player.getUniqueId())
+				.thenAcceptAsync(deleted -> sendDeleteResultMessage(sender, player, validGraveyard, deleted), ctx.mainThread())
+				.exceptionallyAsync(throwable -> ctx.datastoreFailed(sender), ctx.mainThread());
+	}
+
+
 	@SuppressWarnings("UnusedReturnValue")
-	private boolean deleteDiscovery(final CommandSender sender, final OfflinePlayer player, final ValidGraveyard validGraveyard)
+	private boolean sendDeleteResultMessage(final CommandSender sender,
+	                                        final OfflinePlayer player,
+	                                        final ValidGraveyard validGraveyard,
+	                                        final boolean deleted)
 	{
-		return (ctx.discoveries().delete(validGraveyard.uid(), player.getUniqueId()))
+		return (deleted)
 				? ctx.messageBuilder().compose(sender, MessageId.COMMAND_SUCCESS_FORGET)
 					.setMacro(Macro.GRAVEYARD, validGraveyard)
 					.setMacro(Macro.PLAYER, player)
@@ -0,0 +1,208 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.savagegraveyards.commands.bukkit;
+
+import com.winterhavenmc.library.messagebuilder.adapters.resources.configuration.BukkitConfigRepository;
+import com.winterhavenmc.savagegraveyards.datastore.transfer.ConflictPolicy;
+import com.winterhavenmc.savagegraveyards.datastore.transfer.DatastoreImporter;
+import com.winterhavenmc.savagegraveyards.datastore.transfer.TransferFormat;
+import com.winterhavenmc.savagegraveyards.models.Config;
+import com.winterhavenmc.savagegraveyards.models.Macro;
+import com.winterhavenmc.savagegraveyards.models.MessageId;
+
+import org.bukkit.command.Command;
+import org.bukkit.command.CommandSender;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+
+
+/**
+ * Import command implementation<br>
+ * Reads graveyard and discovery records from a file in the transfers directory, saving imported graveyards
+ * that conflict with existing graveyards according to a conflict policy
+ */
+public final class ImportSubcommand extends AbstractSubcommand
+{
+	private final CommandCtx ctx;
+
+
+	/**
+	 * Class constructor
+	 */
+	public ImportSubcommand(final CommandCtx ctx)
+	{
+		this.ctx = ctx;
+		this.name = "import";
+		this.usageString = "/graveyard import <file> [skip|overwrite|rename]";
+		this.description = MessageId.COMMAND_DESCRIPTION_IMPORT;
+		this.permissionNode = "graveyard.import";
+		this.minArgs = 1;
+		this.maxArgs = 2;
+	}
+
+
+	@Override
+	public List<String> onTabComplete(final CommandSender sender,
+	                                  final Command command,
+	                                  final String alias,
+	                                  final String[] args)
+	{
+		return switch (args.length)
+		{
+			case 2 -> TransferFiles.matchingNames(ctx.plugin(), args[1]);
+			case 3 -> Arrays.stream(ConflictPolicy.values())
+					.map(ConflictPolicy::commandName)
+					.filter(policyName -> policyName.startsWith(args[2].toLowerCase(Locale.ROOT)))
+					.toList();
+			default -> Collections.emptyList();
+		};
+	}
+
+
+	@Override
+	public boolean onCommand(final CommandSender sender, final List<String> args)
+	{
+		// check sender permission
+		if (!sender.hasPermission(permissionNode))
+		{
+			return ctx.messageBuilder().compose(sender, MessageId.COMMAND_FAIL_PERMISSION_IMPORT).send();
+		}
+
+		// validate arguments
+		if (args.size() < minArgs)
+		{
+			return sendArgsFailMessage(sender, MessageId.COMMAND_FAIL_ARGS_COUNT_UNDER);
+		}
+
+		if (args.size() > maxArgs)
+		{
+			return sendArgsFailMessage(sender, MessageId.COMMAND_FAIL_ARGS_COUNT_OVER);
+		}
+
+		String fileName = args.getFirst();
+		Optional<Path> resolved = TransferFiles.resolve(ctx.plugin(), fileName);
+		if (resolved.isEmpty())
+		{
+			return ctx.messageBuilder().compose(sender, MessageId.COMMAND_FAIL_TRANSFER_INVALID_FILE)
+					.setMacro(Macro.FILE, fileName)
+					.send();
+		}
+
+		Path path = resolved.get();
+		if (!Files.isRegularFile(path))
+		{
+			return ctx.messageBuilder().compose(sender, MessageId.COMMAND_FAIL_IMPORT_FILE_NOT_FOUND)
+					.setMacro(Macro.FILE, fileName)
+					.send();
+		}
+
+		Optional<ConflictPolicy> policy = (args.size() > 1)
+				? ConflictPolicy.of(args.get(1))
+				: Optional.of(ConflictPolicy.SKIP);
+		if (policy.isEmpty())
+		{
+			return ctx.messageBuilder().compose(sender, MessageId.COMMAND_FAIL_IMPORT_INVALID_POLICY)
+					.setMacro(Macro.VALUE, args.get(1))
+					.send();
+		}
+
+		if (!TransferFiles.begin())
+		{
+			return ctx.messageBuilder().compose(sender, MessageId.COMMAND_FAIL_TRANSFER_IN_PROGRESS).send();
+		}
+
+		// perform import in an asynchronous task, reporting progress on the main thread
+		ctx.messageBuilder().compose(sender, MessageId.COMMAND_IMPORT_STARTED)
+				.setMacro(Macro.FILE, fileName)
+				.send();
+
+		DatastoreImporter importer = new DatastoreImporter(ctx.graveyards(),
+				ctx.asyncGraveyards(),
+				ctx.asyncDiscoveries(),
+				policy.get(),
+				Config.TRANSFER_BATCH_SIZE.getInt(ctx.plugin().getConfig()),
+				Config.TRANSFER_PROGRESS_INTERVAL.getInt(ctx.plugin().getConfig()),
+				BukkitConfigRepository.create(ctx.plugin()),
+				ctx.plugin().getLogger());
+
+		ctx.plugin().getServer().getScheduler().runTaskAsynchronously(ctx.plugin(),
+				() -> importFrom(sender, fileName, path, importer));
+
+		// return true to suppress display of bukkit command usage
+		return true;
+	}
+
+
+	private void importFrom(final CommandSender sender,
+	                        final String fileName,
+	                        final Path path,
+	                        final DatastoreImporter importer)
+	{
+		try (TransferFormat.RecordReader reader = TransferFormat.of(path)
+				.reader(Files.newBufferedReader(path, StandardCharsets.UTF_8)))
+		{
+			DatastoreImporter.Result result = importer.importFrom(reader,
+					count -> ctx.mainThread().execute(() -> sendProgressMessage(sender, count)));
+
+			ctx.mainThread().execute(() -> ctx.messageBuilder().compose(sender, MessageId.COMMAND_SUCCESS_IMPORT)
+					.setMacro(Macro.FILE, fileName)
+					.setMacro(Macro.GRAVEYARD_COUNT, result.graveyards())
+					.setMacro(Macro.DISCOVERY_COUNT, result.discoveries())
+					.setMacro(Macro.SKIPPED_COUNT, result.skipped())
+					.send());
+		}
+		catch (IOException | RuntimeException ex)
+		{
+			ctx.plugin().getLogger().warning(ex.getLocalizedMessage());
+			ctx.mainThread().execute(() -> ctx.messageBuilder().compose(sender, MessageId.COMMAND_FAIL_IMPORT)
+					.setMacro(Macro.FILE, fileName)
+					.setMacro(Macro.REASON, String.valueOf(ex.getLocalizedMessage()))
+					.send());
+		}
+		finally
+		{
+			TransferFiles.end();
+		}
+	}
+
+
+	@SuppressWarnings("UnusedReturnValue")
+	private boolean sendProgressMessage(final CommandSender sender, final long count)
+	{
+		return ctx.messageBuilder().compose(sender, MessageId.COMMAND_IMPORT_PROGRESS)
+				.setMacro(Macro.RECORD_COUNT, count)
+				.send();
+	}
+
+
+	private boolean sendArgsFailMessage(final CommandSender sender, final MessageId messageId)
+	{
+		boolean result = ctx.messageBuilder().compose(sender, messageId).send();
+		displayUsage(sender);
+		return result;
+	}
+
+}
@@ -72,9 +72,18 @@ public final class ListSubcommand extends AbstractSubcommand
 			return true;
 		}
 
-		// get undiscovered searchKeys for player
-		Set<String> undiscoveredKeys = ctx.graveyards().getUndiscoveredKeys(sender);
+		// get undiscovered searchKeys for player on a datastore thread, then display list on the server thread
+		ctx.asyncGraveyards().getUndiscoveredKeys(sender)
+				.thenAcceptAsync(undiscoveredKeys -> displayList(sender, args, undiscoveredKeys), ctx.mainThread())
+				.exceptionallyAsync(throwable -> ctx.datastoreFailed(sender), ctx.mainThread());
 
+		// return true to suppress display of bukkit command usage
+		return true;
+	}
+
+
+	void displayList(final CommandSender sender, final List<String> args, final Set<String> undiscoveredKeys)
+	{
 		// filter graveyards to be displayed in list
 		List<Graveyard> displayRecords = ctx.graveyards().getAll()
 				.filter(allowInvalidIfPermitted(sender))
@@ -108,9 +117,6 @@ public final class ListSubcommand extends AbstractSubcommand
 			displayListItems(sender, displayRange, startIndex, undiscoveredKeys);
 			displayListFooter(sender, page, pageCount);
 		}
-
-		// return true to suppress display of bukkit command usage
-		return true;
 	}
 
 
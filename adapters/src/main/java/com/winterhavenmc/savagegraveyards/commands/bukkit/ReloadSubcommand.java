@@ -65,6 +65,9 @@ public final class ReloadSubcommand extends AbstractSubcommand
 		// reload message builder resources
 		ctx.messageBuilder().reload();
 
+		// apply reloaded datastore settings
+		ctx.datastore().reload();
+
 		// reload Discovery observer
 		if (ctx.discoveryObserver() instanceof DiscoveryObserver discoveryObserver)
 		{
@@ -21,11 +21,13 @@ import com.winterhavenmc.savagegraveyards.models.Config;
 import com.winterhavenmc.savagegraveyards.models.Macro;
 import com.winterhavenmc.savagegraveyards.models.MessageId;
 
+import com.winterhavenmc.savagegraveyards.models.graveyard.Graveyard;
 import com.winterhavenmc.savagegraveyards.models.graveyard.ValidGraveyard;
 import com.winterhavenmc.savagegraveyards.models.graveyard.InvalidGraveyard;
 import com.winterhavenmc.savagegraveyards.models.searchkey.SearchKey;
 import com.winterhavenmc.savagegraveyards.models.searchkey.ValidSearchKey;
 import com.winterhavenmc.savagegraveyards.models.searchkey.InvalidSearchKey;
+import com.winterhavenmc.savagegraveyards.models.world.UnavailableWorld;
 
 import org.bukkit.ChatColor;
 import org.bukkit.command.Command;
@@ -91,87 +93,92 @@ public final class ShowSubcommand extends AbstractSubcommand
 		switch (SearchKey.of(args))
 		{
 			case InvalidSearchKey invalidKey -> sendNotFoundMessage(sender, invalidKey);
-			case ValidSearchKey validKey ->
+			case ValidSearchKey validKey -> ctx.asyncGraveyards().get(validKey)
+					.thenAcceptAsync(graveyard -> displayGraveyard(sender, validKey, graveyard), ctx.mainThread())
+					.exceptionallyAsync(throwable -> ctx.datastoreFailed(sender), ctx.mainThread());
+		}
+
+		// return true to suppress display of bukkit command usage
+		return true;
+	}
+
+
+	private void displayGraveyard(final CommandSender sender, final ValidSearchKey validKey, final Graveyard graveyard)
+	{
+		switch (graveyard)
+		{
+			case InvalidGraveyard ignored -> sendNotFoundMessage(sender, validKey);
+			case ValidGraveyard valid ->
 			{
-				switch (ctx.graveyards().get(validKey))
+				// display graveyard display name
+				sender.sendMessage(ChatColor.DARK_AQUA + "Name: "
+						+ ChatColor.RESET + valid.displayName().colorString());
+
+				// display graveyard 'enabled' setting
+				sender.sendMessage(ChatColor.DARK_AQUA + "Enabled: "
+						+ ChatColor.RESET + valid.attributes().enabled().value());
+
+				// display graveyard 'hidden' setting
+				sender.sendMessage(ChatColor.DARK_AQUA + "Hidden: "
+						+ ChatColor.RESET + valid.attributes().hidden().value());
+
+				// if graveyard discovery range is set to non-negative value, display it; else display configured default
+				if (valid.attributes().discoveryRange().value() >= 0)
 				{
-					case InvalidGraveyard ignored -> sendNotFoundMessage(sender, validKey);
-					case ValidGraveyard valid ->
-					{
-						// display graveyard display name
-						sender.sendMessage(ChatColor.DARK_AQUA + "Name: "
-								+ ChatColor.RESET + valid.displayName().colorString());
-
-						// display graveyard 'enabled' setting
-						sender.sendMessage(ChatColor.DARK_AQUA + "Enabled: "
-								+ ChatColor.RESET + valid.attributes().enabled().value());
-
-						// display graveyard 'hidden' setting
-						sender.sendMessage(ChatColor.DARK_AQUA + "Hidden: "
-								+ ChatColor.RESET + valid.attributes().hidden().value());
-
-						// if graveyard discovery range is set to non-negative value, display it; else display configured default
-						if (valid.attributes().discoveryRange().value() >= 0)
-						{
-							sender.sendMessage(ChatColor.DARK_AQUA + "Discovery Range: "
-									+ ChatColor.RESET + valid.attributes().discoveryRange().value() + " blocks");
-						}
-						else
-						{
-							sender.sendMessage(ChatColor.DARK_AQUA + "Discovery Range: "
-									+ ChatColor.RESET + Config.DISCOVERY_RANGE.getInt(ctx.plugin().getConfig()) + " blocks (default)");
-						}
-
-						// get custom discovery message and display if not null or empty
-						if (valid.attributes().discoveryMessage() != null && !valid.attributes().discoveryMessage().value().isEmpty())
-						{
-							sender.sendMessage(ChatColor.DARK_AQUA + "Custom Discovery Message: "
-									+ ChatColor.RESET + valid.attributes().discoveryMessage());
-						}
-
-						// get custom respawn message and display if not null or empty
-						if (valid.attributes().respawnMessage() != null && !valid.attributes().respawnMessage().value().isEmpty())
-						{
-							sender.sendMessage(ChatColor.DARK_AQUA + "Custom Respawn Message: "
-									+ ChatColor.RESET + valid.attributes().respawnMessage());
-						}
-
-						// if graveyard safety time is set to non-negative value, display it; else display configured default
-						if (valid.attributes().safetyTime().value().isPositive() || valid.attributes().safetyTime().value().isZero())
-						{
-							sender.sendMessage(ChatColor.DARK_AQUA + "Safety time: "
-									+ ChatColor.RESET + valid.attributes().safetyTime().value().toSeconds() + " seconds");
-						}
-						else
-						{
-							sender.sendMessage(ChatColor.DARK_AQUA + "Safety time: "
-									+ ChatColor.RESET + Config.SAFETY_TIME.getLong(ctx.plugin().getConfig()) + " seconds (default)");
-						}
-
-						// get graveyard group; if null or empty, set to ALL
-						String group = (valid.attributes().group() != null && !valid.attributes().group().value().isBlank())
-								? valid.attributes().group().value()
-								: "ALL";
-
-						sender.sendMessage(ChatColor.DARK_AQUA + "Group: " + ChatColor.RESET + group);
-
-						// if world is invalid, set color to gray
-						final String locationString = getLocationString(valid);
-						sender.sendMessage(locationString);
-					}
+					sender.sendMessage(ChatColor.DARK_AQUA + "Discovery Range: "
+							+ ChatColor.RESET + valid.attributes().discoveryRange().value() + " blocks");
 				}
+				else
+				{
+					sender.sendMessage(ChatColor.DARK_AQUA + "Discovery Range: "
+							+ ChatColor.RESET + Config.DISCOVERY_RANGE.getInt(ctx.plugin().getConfig()) + " blocks (default)");
+				}
+
+				// get custom discovery message and display if not null or empty
+				if (valid.attributes().discoveryMessage() != null && !valid.attributes().discoveryMessage().value().isEmpty())
+				{
+					sender.sendMessage(ChatColor.DARK_AQUA + "Custom Discovery Message: "
+							+ ChatColor.RESET + valid.attributes().discoveryMessage());
+				}
+
+				// get custom respawn message and display if not null or empty
+				if (valid.attributes().respawnMessage() != null && !valid.attributes().respawnMessage().value().isEmpty())
+				{
+					sender.sendMessage(ChatColor.DARK_AQUA + "Custom Respawn Message: "
+							+ ChatColor.RESET + valid.attributes().respawnMessage());
+				}
+
+				// if graveyard safety time is set to non-negative value, display it; else display configured default
+				if (valid.attributes().safetyTime().value().isPositive() || valid.attributes().safetyTime().value().isZero())
+				{
+					sender.sendMessage(ChatColor.DARK_AQUA + "Safety time: "
+							+ ChatColor.RESET + valid.attributes().safetyTime().value().toSeconds() + " seconds");
+				}
+				else
+				{
+					sender.sendMessage(ChatColor.DARK_AQUA + "Safety time: "
+							+ ChatColor.RESET + Config.SAFETY_TIME.getLong(ctx.plugin().getConfig()) + " seconds (default)");
+				}
+
+				// get graveyard group; if null or empty, set to ALL
+				String group = (valid.attributes().group() != null && !valid.attributes().group().value().isBlank())
+						? valid.attributes().group().value()
+						: "ALL";
+
+				sender.sendMessage(ChatColor.DARK_AQUA + "Group: " + ChatColor.RESET + group);
+
+				// if world is invalid, set color to gray
+				final String locationString = getLocationString(valid);
+				sender.sendMessage(locationString);
 			}
 		}
-
-		// return true to suppress display of bukkit command usage
-		return true;
 	}
 
 
 	private static @NotNull String getLocationString(final ValidGraveyard valid)
 	{
 		ChatColor worldColor = ChatColor.AQUA;
-		if (valid.getLocation().getWorld() == null)
+		if (valid.location().world() instanceof UnavailableWorld)
 		{
 			worldColor = ChatColor.GRAY;
 		}
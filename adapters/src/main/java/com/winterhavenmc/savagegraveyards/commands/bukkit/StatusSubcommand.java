@@ -17,22 +17,28 @@
 
 package com.winterhavenmc.savagegraveyards.commands.bukkit;
 
+import com.winterhavenmc.savagegraveyards.datastore.QueryStatistics;
 import com.winterhavenmc.savagegraveyards.models.Config;
 import com.winterhavenmc.savagegraveyards.models.Macro;
 import com.winterhavenmc.savagegraveyards.models.MessageId;
 
 import org.bukkit.ChatColor;
+import org.bukkit.command.Command;
 import org.bukkit.command.CommandSender;
 
+import java.time.Duration;
+import java.util.Collections;
 import java.util.List;
 
 
 /**
  * Status command implementation<br>
- * Display plugin settings
+ * Display plugin settings, or the latency of datastore operations
  */
 public final class StatusSubcommand extends AbstractSubcommand
 {
+	private static final String PERF = "perf";
+
 	private final CommandCtx ctx;
 
 
@@ -43,9 +49,22 @@ public final class StatusSubcommand extends AbstractSubcommand
 	{
 		this.ctx = ctx;
 		this.name = "status";
-		this.usageString = "/graveyard status";
+		this.usageString = "/graveyard status [perf]";
 		this.description = MessageId.COMMAND_DESCRIPTION_STATUS;
 		this.permissionNode = "graveyard.status";
+		this.maxArgs = 1;
+	}
+
+
+	@Override
+	public List<String> onTabComplete(final CommandSender sender,
+	                                  final Command command,
+	                                  final String alias,
+	                                  final String[] args)
+	{
+		return (args.length == 2 && PERF.startsWith(args[1].toLowerCase()))
+				? List.of(PERF)
+				: Collections.emptyList();
 	}
 
 
@@ -58,6 +77,31 @@ public final class StatusSubcommand extends AbstractSubcommand
 			return ctx.messageBuilder().compose(sender, MessageId.COMMAND_FAIL_PERMISSION_STATUS).send();
 		}
 
+		// validate arguments
+		if (args.size() > maxArgs)
+		{
+			return sendArgsFailMessage(sender, MessageId.COMMAND_FAIL_ARGS_COUNT_OVER);
+		}
+
+		if (!args.isEmpty() && !PERF.equalsIgnoreCase(args.getFirst()))
+		{
+			ctx.messageBuilder().compose(sender, MessageId.COMMAND_FAIL_INVALID_COMMAND)
+					.setMacro(Macro.INVALID_NAME, args.getFirst())
+					.send();
+			displayUsage(sender);
+			return true;
+		}
+
+		// output datastore operation latency
+		if (!args.isEmpty())
+		{
+			displayStatusHeader(sender);
+			displayQueryStatistics(sender);
+			displayMainThreadBlocked(sender);
+			displayStatusFooterSetting(sender);
+			return true;
+		}
+
 		// output config settings
 		displayStatusHeader(sender);
 		displayPluginVersion(sender);
@@ -71,6 +115,7 @@ public final class StatusSubcommand extends AbstractSubcommand
 		displayListItemPageSizeSetting(sender);
 		displaySoundEffectsSetting(sender);
 		displayEnabledWorldsSetting(sender);
+		displayDatastoreSettings(sender);
 		displayStatusFooterSetting(sender);
 
 		// return true to suppress display of bukkit command usage
@@ -200,6 +245,64 @@ public final class StatusSubcommand extends AbstractSubcommand
 	}
 
 
+	private void displayDatastoreSettings(final CommandSender sender)
+	{
+		ctx.messageBuilder().compose(sender, MessageId.COMMAND_STATUS_DATASTORE_HEADER).send();
+		ctx.datastore().settings().forEach((setting, value) ->
+				ctx.messageBuilder().compose(sender, MessageId.COMMAND_STATUS_DATASTORE_SETTING)
+						.setMacro(Macro.SETTING, setting)
+						.setMacro(Macro.VALUE, value)
+						.send());
+	}
+
+
+	private void displayQueryStatistics(final CommandSender sender)
+	{
+		ctx.messageBuilder().compose(sender, MessageId.COMMAND_STATUS_PERF_HEADER).send();
+
+		final List<QueryStatistics> statistics = ctx.datastore().queryStatistics();
+		if (statistics.isEmpty())
+		{
+			ctx.messageBuilder().compose(sender, MessageId.COMMAND_STATUS_PERF_EMPTY).send();
+			return;
+		}
+
+		statistics.forEach(query ->
+				ctx.messageBuilder().compose(sender, MessageId.COMMAND_STATUS_PERF_QUERY)
+						.setMacro(Macro.QUERY, query.query())
+						.setMacro(Macro.CALL_COUNT, query.calls())
+						.setMacro(Macro.ERROR_COUNT, query.errors())
+						.setMacro(Macro.LATENCY_P50, millis(query.p50()))
+						.setMacro(Macro.LATENCY_P95, millis(query.p95()))
+						.setMacro(Macro.LATENCY_P99, millis(query.p99()))
+						.setMacro(Macro.LATENCY_MAX, millis(query.max()))
+						.send());
+	}
+
+
+	private void displayMainThreadBlocked(final CommandSender sender)
+	{
+		ctx.datastore().mainThreadBlockedMillis().ifPresent(blockedMillis ->
+				ctx.messageBuilder().compose(sender, MessageId.COMMAND_STATUS_PERF_BLOCKED)
+						.setMacro(Macro.NUMBER, blockedMillis)
+						.send());
+	}
+
+
+	private static double millis(final Duration duration)
+	{
+		return Math.round(duration.toNanos() / 10_000.0) / 100.0;
+	}
+
+
+	private boolean sendArgsFailMessage(final CommandSender sender, final MessageId messageId)
+	{
+		boolean result = ctx.messageBuilder().compose(sender, messageId).send();
+		displayUsage(sender);
+		return result;
+	}
+
+
 	private void displayStatusFooterSetting(final CommandSender sender)
 	{
 		ctx.messageBuilder().compose(sender, MessageId.COMMAND_STATUS_FOOTER).send();
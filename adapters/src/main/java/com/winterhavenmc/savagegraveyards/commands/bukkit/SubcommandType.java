@@ -20,6 +20,15 @@ package com.winterhavenmc.savagegraveyards.commands.bukkit;
 
 public enum SubcommandType
 {
+	BACKUP()
+			{
+				@Override
+				public Subcommand create(final CommandCtx ctx)
+				{
+					return new BackupSubcommand(ctx);
+				}
+			},
+
 	CLOSEST()
 			{
 				@Override
@@ -47,6 +56,15 @@ public enum SubcommandType
 				}
 			},
 
+	EXPORT()
+			{
+				@Override
+				public Subcommand create(final CommandCtx ctx)
+				{
+					return new ExportSubcommand(ctx);
+				}
+			},
+
 	FORGET()
 			{
 				@Override
@@ -56,6 +74,15 @@ public enum SubcommandType
 				}
 			},
 
+	IMPORT()
+			{
+				@Override
+				public Subcommand create(final CommandCtx ctx)
+				{
+					return new ImportSubcommand(ctx);
+				}
+			},
+
 	LIST()
 			{
 				@Override
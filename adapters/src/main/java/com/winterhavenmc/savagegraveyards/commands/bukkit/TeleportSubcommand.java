@@ -26,6 +26,7 @@ import com.winterhavenmc.savagegraveyards.models.graveyard.InvalidGraveyard;
 import com.winterhavenmc.savagegraveyards.models.searchkey.SearchKey;
 import com.winterhavenmc.savagegraveyards.models.searchkey.ValidSearchKey;
 import com.winterhavenmc.savagegraveyards.models.searchkey.InvalidSearchKey;
+import com.winterhavenmc.savagegraveyards.models.world.UnavailableWorld;
 
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandSender;
@@ -125,7 +126,7 @@ public final class TeleportSubcommand extends AbstractSubcommand
 	private void teleportPlayer(Player player, ValidGraveyard graveyard)
 	{
 		// if destination graveyard location is null, send fail message and return
-		if (ctx.plugin().getServer().getWorld(graveyard.location().world().uid()) == null)
+		if (graveyard.location().world() instanceof UnavailableWorld)
 		{
 			ctx.messageBuilder().compose(player, MessageId.COMMAND_FAIL_TELEPORT_WORLD_INVALID)
 					.setMacro(Macro.GRAVEYARD, graveyard)
@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.savagegraveyards.commands.bukkit;
+
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+
+/**
+ * Shared state and file name handling for the export and import subcommands. Transfer files are kept in the
+ * transfers directory of the plugin data folder, and only one export or import may run at a time.
+ */
+final class TransferFiles
+{
+	private static final String DIRECTORY_NAME = "transfers";
+	private static final AtomicBoolean IN_PROGRESS = new AtomicBoolean();
+
+
+	private TransferFiles() { }
+
+
+	/**
+	 * Get the directory that holds transfer files
+	 *
+	 * @param plugin the plugin instance
+	 * @return the path of the transfers directory, which may not yet exist
+	 */
+	static Path directory(final JavaPlugin plugin)
+	{
+		return plugin.getDataFolder().toPath().resolve(DIRECTORY_NAME).toAbsolutePath().normalize();
+	}
+
+
+	/**
+	 * Resolve a file name given as a command argument, refusing names that are outside the transfers directory
+	 *
+	 * @param plugin the plugin instance
+	 * @param fileName the file name given by the command sender
+	 * @return the resolved path, or an empty {@link Optional} if the name is not a valid transfer file name
+	 */
+	static Optional<Path> resolve(final JavaPlugin plugin, final String fileName)
+	{
+		final Path directory = directory(plugin);
+		try
+		{
+			final Path path = directory.resolve(fileName).normalize();
+			return (path.startsWith(directory) && !path.equals(directory))
+					? Optional.of(path)
+					: Optional.empty();
+		}
+		catch (InvalidPathException ex)
+		{
+			return Optional.empty();
+		}
+	}
+
+
+	/**
+	 * Get the names of existing transfer files that begin with a prefix, for tab completion
+	 *
+	 * @param plugin the plugin instance
+	 * @param prefix the partial file name
+	 * @return the matching file names, sorted
+	 */
+	static List<String> matchingNames(final JavaPlugin plugin, final String prefix)
+	{
+		final Path directory = directory(plugin);
+		if (!Files.isDirectory(directory))
+		{
+			return Collections.emptyList();
+		}
+
+		try (Stream<Path> paths = Files.list(directory))
+		{
+			return paths.filter(Files::isRegularFile)
+					.map(path -> path.getFileName().toString())
+					.filter(name -> name.startsWith(prefix))
+					.sorted()
+					.limit(20)
+					.toList();
+		}
+		catch (IOException ex)
+		{
+			return Collections.emptyList();
+		}
+	}
+
+
+	/**
+	 * Claim the transfer lock
+	 *
+	 * @return true if no other transfer was in progress, false if the lock is held by another transfer
+	 */
+	static boolean begin()
+	{
+		return IN_PROGRESS.compareAndSet(false, true);
+	}
+
+
+	/**
+	 * Release the transfer lock
+	 */
+	static void end()
+	{
+		IN_PROGRESS.set(false);
+	}
+
+}
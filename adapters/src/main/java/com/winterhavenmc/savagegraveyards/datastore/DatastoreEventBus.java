@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+
+package com.winterhavenmc.savagegraveyards.datastore;
+
+import com.winterhavenmc.library.messagebuilder.models.configuration.ConfigRepository;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+
+
+/**
+ * A {@link RepositoryEventBus} that holds its subscriptions in a copy-on-write list, so that events may be
+ * published from any thread without locking. A listener that throws is logged, and does not prevent the event
+ * from being delivered to other listeners.
+ */
+public final class DatastoreEventBus implements RepositoryEventBus
+{
+	private final ConfigRepository configRepository;
+	private final Logger logger;
+	private final List<Listener<?>> listeners = new CopyOnWriteArrayList<>();
+
+
+	/**
+	 * Class constructor
+	 *
+	 * @param configRepository the config repository, used for log message localization
+	 * @param logger the plugin logger
+	 */
+	public DatastoreEventBus(final ConfigRepository configRepository, final Logger logger)
+	{
+		this.configRepository = configRepository;
+		this.logger = logger;
+	}
+
+
+	@Override
+	public <E extends RepositoryEvent> Subscription subscribe(final Class<E> eventType, final Consumer<? super E> listener)
+	{
+		return subscribe(eventType, listener, null);
+	}
+
+
+	@Override
+	public <E extends RepositoryEvent> Subscription subscribe(final Class<E> eventType,
+	                                                          final Consumer<? super E> listener,
+	                                                          final Executor executor)
+	{
+		final Listener<E> subscription = new Listener<>(eventType, listener, executor);
+		listeners.add(subscription);
+		return () -> listeners.remove(subscription);
+	}
+
+
+	@Override
+	public void publish(final RepositoryEvent event)
+	{
+		if (event == null) return;
+
+		for (Listener<?> listener : listeners)
+		{
+			listener.deliver(event);
+		}
+	}
+
+
+	private final class Listener<E extends RepositoryEvent>
+	{
+		private final Class<E> eventType;
+		private final Consumer<? super E> consumer;
+		private final Executor executor;
+
+
+		private Listener(final Class<E> eventType, final Consumer<? super E> consumer, final Executor executor)
+		{
+			this.eventType = eventType;
+			this.consumer = consumer;
+			this.executor = executor;
+		}
+
+
+		private void deliver(final RepositoryEvent event)
+		{
+			if (!eventType.isInstance(event)) return;
+
+			final E typedEvent = eventType.cast(event);
+
+			if (executor == null)
+			{
+				accept(typedEvent);
+				return;
+			}
+
+			try
+			{
+				executor.execute(() -> accept(typedEvent));
+			}
+			catch (RejectedExecutionException exception)
+			{
+				// the executor has been shut down; the listener no longer receives events
+			}
+		}
+
+
+		private void accept(final E event)
+		{
+			try
+			{
+				consumer.accept(event);
+			}
+			catch (RuntimeException exception)
+			{
+				logger.warning(DatastoreMessage.EVENT_LISTENER_ERROR.getLocalizedMessage(configRepository.locale(), event.getClass().getSimpleName()));
+				logger.warning(exception.getLocalizedMessage());
+			}
+		}
+	}
+
+}
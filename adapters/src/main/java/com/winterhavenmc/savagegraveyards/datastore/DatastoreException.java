@@ -0,0 +1,37 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.savagegraveyards.datastore;
+
+
+/**
+ * Thrown by a repository when a datastore operation fails, once the failure has been logged. The timed repositories
+ * count it as an error of the operation, and return the default result of the operation in its place.
+ */
+public final class DatastoreException extends RuntimeException
+{
+	/**
+	 * Class constructor
+	 *
+	 * @param cause the exception that caused the operation to fail
+	 */
+	public DatastoreException(final Throwable cause)
+	{
+		super(cause);
+	}
+
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.savagegraveyards.datastore;
+
+import com.winterhavenmc.library.messagebuilder.models.configuration.ConfigRepository;
+
+import org.bukkit.plugin.Plugin;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+
+import static com.winterhavenmc.savagegraveyards.datastore.DatastoreMessage.DATASTORE_NAME;
+
+
+/**
+ * A fixed pool of datastore threads on which asynchronous repository operations are performed. An operation that
+ * fails is logged, and its future is completed exceptionally.
+ */
+public final class DatastoreExecutor
+{
+	private static final long SHUTDOWN_TIMEOUT_SECONDS = 10;
+
+	private final ConfigRepository configRepository;
+	private final Logger logger;
+	private final ExecutorService executorService;
+
+
+	/**
+	 * Class constructor
+	 *
+	 * @param configRepository the config repository, used for log message localization
+	 * @param logger the plugin logger
+	 * @param parallelism the number of datastore threads
+	 */
+	public DatastoreExecutor(final ConfigRepository configRepository, final Logger logger, final int parallelism)
+	{
+		this.configRepository = configRepository;
+		this.logger = logger;
+
+		final AtomicInteger threadCount = new AtomicInteger();
+		this.executorService = Executors.newFixedThreadPool(Math.max(1, parallelism), runnable ->
+		{
+			final Thread thread = new Thread(runnable, "SavageGraveyards-Datastore-" + threadCount.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+
+	/**
+	 * Perform an operation on a datastore thread
+	 *
+	 * @param supplier the operation to perform
+	 * @return a future completed with the result of the operation
+	 * @param <T> the type of the result
+	 */
+	public <T> CompletableFuture<T> supply(final Supplier<T> supplier)
+	{
+		try
+		{
+			return CompletableFuture.supplyAsync(supplier, executorService).whenComplete((result, throwable) ->
+			{
+				if (throwable != null)
+				{
+					logger.warning(DatastoreMessage.ASYNC_OPERATION_ERROR.getLocalizedMessage(configRepository.locale(), DATASTORE_NAME));
+					logger.warning(throwable.getLocalizedMessage());
+				}
+			});
+		}
+		catch (RejectedExecutionException exception)
+		{
+			return CompletableFuture.failedFuture(exception);
+		}
+	}
+
+
+	/**
+	 * Stop accepting operations, and wait for operations in progress to complete
+	 */
+	public void close()
+	{
+		executorService.shutdown();
+
+		try
+		{
+			executorService.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+		}
+		catch (InterruptedException interruptedException)
+		{
+			Thread.currentThread().interrupt();
+		}
+	}
+
+
+	/**
+	 * Create an executor that runs tasks on the server thread, for continuing with the result of an asynchronous
+	 * operation. Tasks submitted from the server thread run immediately, and tasks submitted after the plugin
+	 * has been disabled are discarded.
+	 *
+	 * @param plugin the plugin that schedules the tasks
+	 * @return an {@link Executor} that runs tasks on the server thread
+	 */
+	public static Executor mainThread(final Plugin plugin)
+	{
+		return runnable ->
+		{
+			if (plugin.getServer().isPrimaryThread())
+			{
+				runnable.run();
+			}
+			else if (plugin.isEnabled())
+			{
+				plugin.getServer().getScheduler().runTask(plugin, runnable);
+			}
+		};
+	}
+
+}
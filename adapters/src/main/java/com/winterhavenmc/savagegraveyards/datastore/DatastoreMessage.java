@@ -29,19 +29,62 @@ public enum DatastoreMessage
 	DATASTORE_INITIALIZED_ERROR("The {0} datastore is already initialized."),
 	DATASTORE_FOREIGN_KEYS_ERROR("An error occurred while attempting to enable foreign keys in the {0} datastore."),
 	DATASTORE_CLOSE_ERROR("An error occurred while closing the {0} datastore."),
+	ASYNC_OPERATION_ERROR("An error occurred during an asynchronous {0} datastore operation."),
+	READ_POOL_OPEN_ERROR("A read connection to the {0} datastore could not be opened. Reads will share the writer connection."),
+	READ_POOL_TIMEOUT_ERROR("Timed out after {0} ms waiting for a datastore read connection."),
+	DISCOVERY_WRITER_START_ERROR("The {0} discovery writer could not be started. Discoveries will be written synchronously."),
 	DATASTORE_CLOSED_NOTICE("The {0} datastore connection was successfully closed."),
 
+	JOURNAL_OPEN_ERROR("The discovery journal could not be opened. Discoveries will be stored in the {0} datastore."),
+	JOURNAL_IMPORT_NOTICE("{0} discovery records copied from the {1} datastore to the discovery journal."),
+	JOURNAL_IMPORT_ERROR("An error occurred while copying discovery records from the {0} datastore to the discovery journal."),
+	JOURNAL_WRITE_ERROR("An error occurred while writing to the discovery journal."),
+	JOURNAL_UNKNOWN_GRAVEYARD_ERROR("A discovery of graveyard {0} was not written to the discovery journal because the graveyard does not exist."),
+	JOURNAL_COMPACTED_NOTICE("Discovery journal compacted. {0} superseded records removed."),
+	JOURNAL_COMPACT_ERROR("An error occurred while compacting the discovery journal."),
+	JOURNAL_CLOSE_ERROR("An error occurred while closing the discovery journal."),
+
+	STATEMENT_CACHE_STATISTICS_NOTICE("Statement cache: {0} statements prepared, {1} prepares avoided by reuse."),
+	SLOW_QUERY_WARNING("Slow {0} datastore operation {1} took {2} ms, with parameters [{3}]."),
+	MAIN_THREAD_BLOCKING_WARNING("{0} datastore operation {1} blocked the server thread for {2} ms, called from {3}. {4} similar calls in the last minute were not logged."),
+
+	SQLITE_SETTINGS_APPLY_ERROR("An error occurred while applying performance settings to the {0} datastore."),
+	SQLITE_SETTINGS_READ_ERROR("An error occurred while reading performance settings from the {0} datastore."),
+	SQLITE_SETTING_INVALID_WARNING("Invalid value ''{1}'' for datastore setting ''{0}''. Using ''{2}''."),
+	AUTO_VACUUM_CONVERT_NOTICE("Converting the {0} datastore to incremental auto-vacuum. The database file is rewritten once, which may take some time."),
+	AUTO_VACUUM_CONVERT_ERROR("An error occurred while converting the {0} datastore to incremental auto-vacuum."),
+	MAINTENANCE_COMPLETE_NOTICE("{0} datastore maintenance removed {1} discovery records and returned {2} free pages ({3} KiB) to the file system in {4} ms."),
+	MAINTENANCE_ERROR("An error occurred while performing maintenance on the {0} datastore."),
+	BACKUP_COMPLETE_NOTICE("{0} datastore backed up to {1} ({2} KiB) in {3} ms."),
+	BACKUP_ERROR("An error occurred while backing up the {0} datastore."),
+	BACKUP_PRUNE_ERROR("An error occurred while removing old backup files of the {0} datastore."),
+	RESTORE_STAGED_NOTICE("Backup {0} will replace the {1} datastore when the server is next started."),
+	RESTORE_INVALID_ERROR("Backup {0} cannot be restored: {1}."),
+	RESTORE_NO_JOURNAL_WARNING("Backup {0} has no copy of the discovery journal. The current discovery journal will be kept when the backup is restored."),
+	RESTORE_JOURNAL_COMPLETE_NOTICE("The discovery journal was restored from a staged backup. The replaced journal file was saved as {0}."),
+	RESTORE_COMPLETE_NOTICE("The {0} datastore was restored from a staged backup. The replaced database file was saved as {1}."),
+	RESTORE_ERROR("An error occurred while restoring the {0} datastore from a backup."),
+
 	DROP_DISCOVERY_TABLE_ERROR("An error occurred while attempting to drop the discovery table from the {0} datastore."),
 	DROP_GRAVEYARD_TABLE_ERROR("An error occurred while attempting to drop the graveyard table from the {0} datastore."),
 
 	SCHEMA_VERSION_ERROR("Could not read schema version."),
+	SCHEMA_MIGRATION_PROGRESS_NOTICE("{0} {1} records copied..."),
+	SCHEMA_MIGRATION_ROLLBACK_ERROR("The {0} datastore schema update was rolled back. The datastore is unchanged."),
+	SCHEMA_SEARCH_KEY_NOT_UNIQUE_WARNING("Some graveyard search keys in the {0} datastore differ only by case. The search key index was created without a unique constraint."),
 	SCHEMA_UPDATE_ERROR("An error occurred while trying to update the {0} datastore schema."),
 	SCHEMA_UP_TO_DATE_NOTICE("Current {0} schema is up to date."),
 	SCHEMA_GRAVEYARD_RECORDS_MIGRATED_NOTICE("{0} graveyard records migrated to schema v{1}."),
 	SCHEMA_DISCOVERY_RECORDS_MIGRATED_NOTICE("{0} discovery records migrated to schema v{1}."),
+	SCHEMA_VERSION_NEWER_WARNING("The {0} datastore schema v{1} is newer than the latest schema supported by this plugin version, v{2}."),
 
+	CREATE_SCHEMA_VERSION_TABLE_ERROR("An error occurred while trying to create the SchemaVersion table in the {0} datastore."),
 	CREATE_GRAVEYARD_TABLE_ERROR("An error occurred while trying to create the Graveyard table in the {0} datastore."),
+	CREATE_PLAYER_TABLE_ERROR("An error occurred while trying to create the Player table in the {0} datastore."),
 	CREATE_DISCOVERY_TABLE_ERROR("An error occurred while trying to create the Discovery table in the {0} datastore."),
+	CREATE_CHANGE_LOG_TABLE_ERROR("An error occurred while trying to create the ChangeLog table in the {0} datastore."),
+	CREATE_RANGE_INDEX_ERROR("The discovery range index could not be created in the {0} datastore. Discovery checks will scan all graveyards in the player''s world."),
+	UPDATE_RANGE_INDEX_ERROR("An error occurred while trying to update the discovery range index in the {0} datastore."),
 	CREATE_GRAVEYARD_ERROR("A valid graveyard ''{0}'' could not be created: {1}"),
 	CREATE_DISCOVERY_ERROR("A valid discovery could not be created: {0}"),
 
@@ -56,20 +99,33 @@ public enum DatastoreMessage
 	SELECT_MATCHING_GRAVEYARD_KEYS_ERROR("An error occurred while trying to fetch matching graveyard records from the {0} datastore."),
 	SELECT_MATCHING_GRAVEYARD_NAMES_ERROR("An error occurred while trying to fetch matching graveyard records from the {0} datastore."),
 	SELECT_UNDISCOVERED_RECORDS_ERROR("An error occurred while trying to select undiscovered graveyard records from the {0} datastore."),
+	SELECT_GRAVEYARDS_IN_RANGE_ERROR("An error occurred while trying to select graveyards in discovery range from the {0} datastore."),
 	SELECT_UNDISCOVERED_KEYS_ERROR("An error occurred while trying to select undiscovered graveyard keys from the {0} datastore."),
+	SELECT_PLAYER_DISCOVERIES_ERROR("An error occurred while trying to select a player''s discovery records from the {0} datastore."),
 
 	INSERT_GRAVEYARD_ERROR("An error occurred while inserting a graveyard record into the {0} datastore."),
+	SAVE_GRAVEYARD_BATCH_ERROR("An error occurred while trying to save a batch of {0} graveyard records into the {1} datastore."),
 	INSERT_DISCOVERY_ERROR("An error occurred while trying to insert a discovery record into the {0} datastore."),
+	INSERT_DISCOVERY_BATCH_ERROR("An error occurred while trying to insert a batch of {0} discovery records into the {1} datastore."),
 	INSERT_DISCOVERIES_NULL_ERROR("Could not insert discovery records in data store because the 'discoveries' parameter was null."),
 
 	UPDATE_GRAVEYARD_RECORD_ERROR("An error occurred while trying to update a graveyard record into the {0} datastore."),
 
 	DELETE_GRAVEYARD_RECORD_ERROR("An error occurred while attempting to delete a graveyard record from the {0} datastore."),
+
+	EVENT_LISTENER_ERROR("An error occurred in a listener for a {0} event."),
+
+	IMPORT_INVALID_RECORD_NOTICE("Line {0} of the import file was skipped: {1}."),
+
+	CHANGE_LOG_POLL_ERROR("An error occurred while reading the change log from the {0} datastore."),
+	CHANGE_LOG_RESYNC_NOTICE("This server was {0} changes behind the {1} change log. All graveyard records were reloaded."),
+
 	DELETE_DISCOVERY_RECORD_ERROR("An error occurred while attempting to delete a ValidDiscovery record from the SQLite datastore."),
 	;
 
 	private final String defaultMessage;
 	public static final String DATASTORE_NAME = "SQLite";
+	public static final String MYSQL_DATASTORE_NAME = "MySQL";
 
 
 	DatastoreMessage(String defaultMessage)
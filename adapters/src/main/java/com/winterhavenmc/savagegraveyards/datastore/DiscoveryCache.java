@@ -0,0 +1,342 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.savagegraveyards.datastore;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+
+/**
+ * A size-bounded cache of the graveyards discovered by each player, held as a {@link BitSet}
+ * indexed by {@link GraveyardCatalog#ordinal(UUID)}. Entries are loaded when a player joins,
+ * kept current by the discovery repository, and evicted when the player quits or when the
+ * least recently used entry exceeds the configured maximum size.
+ * <p>
+ * A load that is in progress when a discovery is saved or deleted records the change, and applies
+ * it to the set selected from the datastore when the load completes, so that no change is lost.
+ * <p>
+ * Discoveries that have been accepted but not yet written to the datastore are also tracked here, so that
+ * lookups for players who are not cached may exclude them from datastore query results.
+ */
+public final class DiscoveryCache
+{
+	private final GraveyardCatalog catalog;
+	private final LinkedHashMap<UUID, BitSet> entries;
+	private final Map<UUID, PendingLoad> pendingLoads = new HashMap<>();
+	private final Map<UUID, Set<UUID>> pendingWrites = new HashMap<>();
+	private final AtomicLong hits = new AtomicLong();
+	private final AtomicLong misses = new AtomicLong();
+
+
+	/**
+	 * Class constructor
+	 *
+	 * @param catalog the graveyard catalog that assigns graveyard ordinals
+	 * @param maxSize the maximum number of players held in the cache
+	 */
+	public DiscoveryCache(final GraveyardCatalog catalog, final int maxSize)
+	{
+		this.catalog = catalog;
+		this.entries = new LinkedHashMap<>(16, 0.75f, true)
+		{
+			@Override
+			protected boolean removeEldestEntry(final Map.Entry<UUID, BitSet> eldest)
+			{
+				return size() > Math.max(1, maxSize);
+			}
+		};
+	}
+
+
+	/**
+	 * Mark the start of a load for a player. Changes made before {@link #completeLoad} is called are retained.
+	 *
+	 * @param playerUid the uid of the player being loaded
+	 */
+	public synchronized void beginLoad(final UUID playerUid)
+	{
+		if (!entries.containsKey(playerUid))
+		{
+			pendingLoads.put(playerUid, new PendingLoad());
+		}
+	}
+
+
+	/**
+	 * Complete a load for a player with the graveyard uids selected from the datastore. If the player was
+	 * evicted while the load was in progress, the result is discarded.
+	 *
+	 * @param playerUid the uid of the player being loaded
+	 * @param graveyardUids the uids of all graveyards discovered by the player
+	 */
+	public synchronized void completeLoad(final UUID playerUid, final Collection<UUID> graveyardUids)
+	{
+		final PendingLoad pendingLoad = pendingLoads.remove(playerUid);
+
+		if (pendingLoad == null)
+		{
+			return;
+		}
+
+		final BitSet discovered = new BitSet();
+		for (UUID graveyardUid : graveyardUids)
+		{
+			discovered.set(catalog.ordinal(graveyardUid));
+		}
+		discovered.or(pendingLoad.added);
+		discovered.andNot(pendingLoad.removed);
+
+		entries.put(playerUid, discovered);
+	}
+
+
+	/**
+	 * Get a snapshot of the graveyards discovered by a player
+	 *
+	 * @param playerUid the uid of the player
+	 * @return an {@link Optional} containing a copy of the player's discovered set, or an empty Optional if the
+	 * player is not cached
+	 */
+	public synchronized Optional<BitSet> get(final UUID playerUid)
+	{
+		final BitSet discovered = entries.get(playerUid);
+
+		if (discovered == null)
+		{
+			misses.incrementAndGet();
+			return Optional.empty();
+		}
+
+		hits.incrementAndGet();
+		return Optional.of((BitSet) discovered.clone());
+	}
+
+
+	/**
+	 * Record a discovery for a cached or loading player
+	 *
+	 * @param playerUid the uid of the player
+	 * @param graveyardUid the uid of the discovered graveyard
+	 */
+	public synchronized void add(final UUID playerUid, final UUID graveyardUid)
+	{
+		final int ordinal = catalog.ordinal(graveyardUid);
+
+		final BitSet discovered = entries.get(playerUid);
+		if (discovered != null)
+		{
+			discovered.set(ordinal);
+		}
+
+		final PendingLoad pendingLoad = pendingLoads.get(playerUid);
+		if (pendingLoad != null)
+		{
+			pendingLoad.added.set(ordinal);
+			pendingLoad.removed.clear(ordinal);
+		}
+	}
+
+
+	/**
+	 * Remove a discovery for a cached or loading player
+	 *
+	 * @param playerUid the uid of the player
+	 * @param graveyardUid the uid of the forgotten graveyard
+	 */
+	public synchronized void remove(final UUID playerUid, final UUID graveyardUid)
+	{
+		final int ordinal = catalog.ordinal(graveyardUid);
+
+		final BitSet discovered = entries.get(playerUid);
+		if (discovered != null)
+		{
+			discovered.clear(ordinal);
+		}
+
+		final PendingLoad pendingLoad = pendingLoads.get(playerUid);
+		if (pendingLoad != null)
+		{
+			pendingLoad.removed.set(ordinal);
+			pendingLoad.added.clear(ordinal);
+		}
+	}
+
+
+	/**
+	 * Remove a player from the cache, discarding any load in progress
+	 *
+	 * @param playerUid the uid of the player
+	 */
+	public synchronized void evict(final UUID playerUid)
+	{
+		entries.remove(playerUid);
+		pendingLoads.remove(playerUid);
+	}
+
+
+	/**
+	 * Test if a player's discoveries are held in the cache. The hit and miss counts are not affected.
+	 *
+	 * @param playerUid the uid of the player
+	 * @return true if the player is cached, false if not
+	 */
+	public synchronized boolean contains(final UUID playerUid)
+	{
+		return entries.containsKey(playerUid);
+	}
+
+
+	/**
+	 * Get the uids of all players currently held in the cache
+	 *
+	 * @return a copy of the set of cached player uids
+	 */
+	public synchronized Set<UUID> players()
+	{
+		return Set.copyOf(entries.keySet());
+	}
+
+
+	/**
+	 * Remove all players from the cache
+	 */
+	public synchronized void clear()
+	{
+		entries.clear();
+		pendingLoads.clear();
+	}
+
+
+	/**
+	 * Record a discovery that has been accepted but not yet written to the datastore
+	 *
+	 * @param playerUid the uid of the player
+	 * @param graveyardUid the uid of the discovered graveyard
+	 * @return {@code true} if the discovery was not already pending, {@code false} if it was
+	 */
+	public synchronized boolean addPendingWrite(final UUID playerUid, final UUID graveyardUid)
+	{
+		return pendingWrites.computeIfAbsent(playerUid, uid -> new HashSet<>()).add(graveyardUid);
+	}
+
+
+	/**
+	 * Clear a pending discovery once it has been written to the datastore, or has failed to be written
+	 *
+	 * @param playerUid the uid of the player
+	 * @param graveyardUid the uid of the discovered graveyard
+	 */
+	public synchronized void removePendingWrite(final UUID playerUid, final UUID graveyardUid)
+	{
+		pendingWrites.computeIfPresent(playerUid, (uid, graveyardUids) ->
+		{
+			graveyardUids.remove(graveyardUid);
+			return (graveyardUids.isEmpty()) ? null : graveyardUids;
+		});
+	}
+
+
+	/**
+	 * Test if a discovery has been accepted but not yet written to the datastore
+	 *
+	 * @param playerUid the uid of the player
+	 * @param graveyardUid the uid of the graveyard
+	 * @return {@code true} if the discovery is pending, {@code false} if not
+	 */
+	public synchronized boolean isPendingWrite(final UUID playerUid, final UUID graveyardUid)
+	{
+		final Set<UUID> graveyardUids = pendingWrites.get(playerUid);
+		return graveyardUids != null && graveyardUids.contains(graveyardUid);
+	}
+
+
+	/**
+	 * Test if a player's discovery is known to the cache, either as a cached or pending discovery.
+	 * A {@code false} result for a player who is not cached does not mean the discovery does not exist.
+	 *
+	 * @param playerUid the uid of the player
+	 * @param graveyardUid the uid of the graveyard
+	 * @return {@code true} if the discovery is known, {@code false} if not
+	 */
+	public synchronized boolean isKnown(final UUID playerUid, final UUID graveyardUid)
+	{
+		final BitSet discovered = entries.get(playerUid);
+		return (discovered != null && discovered.get(catalog.ordinal(graveyardUid))) || isPendingWrite(playerUid, graveyardUid);
+	}
+
+
+	/**
+	 * Get the number of players currently held in the cache
+	 *
+	 * @return the number of cached players
+	 */
+	public synchronized int size()
+	{
+		return entries.size();
+	}
+
+
+	/**
+	 * Get the number of lookups answered from the cache
+	 *
+	 * @return the cache hit count
+	 */
+	public long getHitCount()
+	{
+		return hits.get();
+	}
+
+
+	/**
+	 * Get the number of lookups for players not held in the cache
+	 *
+	 * @return the cache miss count
+	 */
+	public long getMissCount()
+	{
+		return misses.get();
+	}
+
+
+	/**
+	 * Get cache size and hit statistics, for display
+	 *
+	 * @return an ordered map of statistic names to values
+	 */
+	public Map<String, String> statistics()
+	{
+		final Map<String, String> returnMap = new LinkedHashMap<>();
+		final long hitCount = getHitCount();
+		final long lookups = hitCount + getMissCount();
+
+		returnMap.put("discovery_cache_players", String.valueOf(size()));
+		returnMap.put("discovery_cache_hits", String.valueOf(hitCount));
+		returnMap.put("discovery_cache_misses", String.valueOf(getMissCount()));
+		returnMap.put("discovery_cache_hit_ratio", String.format("%.3f", (lookups == 0) ? 0.0 : hitCount / (double) lookups));
+
+		return returnMap;
+	}
+
+
+	private static final class PendingLoad
+	{
+		private final BitSet added = new BitSet();
+		private final BitSet removed = new BitSet();
+	}
+
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.savagegraveyards.datastore;
+
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+
+/**
+ * A source of players' discovered graveyard uids held in memory, consulted by graveyard queries for players
+ * who are not held in the {@link DiscoveryCache}
+ */
+@FunctionalInterface
+public interface DiscoverySource
+{
+	/**
+	 * A source that holds no discoveries, so that discoveries are always selected from the datastore
+	 */
+	DiscoverySource NONE = playerUid -> Optional.empty();
+
+
+	/**
+	 * Get the uids of the graveyards discovered by a player
+	 *
+	 * @param playerUid the uid of the player
+	 * @return the discovered graveyard uids, or an empty {@link Optional} if they must be selected from the datastore
+	 */
+	Optional<Set<UUID>> discoveredGraveyards(UUID playerUid);
+}
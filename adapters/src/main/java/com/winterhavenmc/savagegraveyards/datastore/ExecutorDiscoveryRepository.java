@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.savagegraveyards.datastore;
+
+import com.winterhavenmc.savagegraveyards.models.discovery.ValidDiscovery;
+
+import java.util.Collection;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+
+/**
+ * An {@link AsyncDiscoveryRepository} that performs the operations of a {@link DiscoveryRepository}
+ * on the threads of a {@link DatastoreExecutor}
+ */
+public final class ExecutorDiscoveryRepository implements AsyncDiscoveryRepository
+{
+	private final DiscoveryRepository discoveries;
+	private final DatastoreExecutor executor;
+
+
+	public ExecutorDiscoveryRepository(final DiscoveryRepository discoveries, final DatastoreExecutor executor)
+	{
+		this.discoveries = discoveries;
+		this.executor = executor;
+	}
+
+
+	@Override
+	public CompletableFuture<Boolean> save(final ValidDiscovery discovery)
+	{
+		return executor.supply(() -> discoveries.save(discovery));
+	}
+
+
+	@Override
+	public CompletableFuture<Integer> saveAll(final Collection<ValidDiscovery> discoveries)
+	{
+		return executor.supply(() -> this.discoveries.saveAll(discoveries));
+	}
+
+
+	@Override
+	public CompletableFuture<Boolean> delete(final UUID graveyardUid, final UUID playerUid)
+	{
+		return executor.supply(() -> discoveries.delete(graveyardUid, playerUid));
+	}
+
+
+	@Override
+	public CompletableFuture<Void> loadPlayer(final UUID playerUid)
+	{
+		return executor.supply(() ->
+		{
+			discoveries.loadPlayer(playerUid);
+			return null;
+		});
+	}
+
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.savagegraveyards.datastore;
+
+import com.winterhavenmc.savagegraveyards.models.graveyard.Graveyard;
+import com.winterhavenmc.savagegraveyards.models.graveyard.ValidGraveyard;
+import com.winterhavenmc.savagegraveyards.models.searchkey.ValidSearchKey;
+
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+
+
+/**
+ * An {@link AsyncGraveyardRepository} that performs the operations of a {@link GraveyardRepository}
+ * on the threads of a {@link DatastoreExecutor}. Operations that take a player capture a {@link PlayerQuery}
+ * on the calling thread, so the datastore threads never read the live player.
+ */
+public final class ExecutorGraveyardRepository implements AsyncGraveyardRepository
+{
+	private final GraveyardRepository graveyards;
+	private final DatastoreExecutor executor;
+
+
+	public ExecutorGraveyardRepository(final GraveyardRepository graveyards, final DatastoreExecutor executor)
+	{
+		this.graveyards = graveyards;
+		this.executor = executor;
+	}
+
+
+	@Override
+	public CompletableFuture<Graveyard> get(final ValidSearchKey searchKey)
+	{
+		return executor.supply(() -> graveyards.get(searchKey));
+	}
+
+
+	@Override
+	public CompletableFuture<Graveyard> get(final UUID graveyardUid)
+	{
+		return executor.supply(() -> graveyards.get(graveyardUid));
+	}
+
+
+	@Override
+	public CompletableFuture<List<Graveyard>> getAll()
+	{
+		return executor.supply(() -> graveyards.getAll().toList());
+	}
+
+
+	@Override
+	public CompletableFuture<Integer> getCount()
+	{
+		return executor.supply(graveyards::getCount);
+	}
+
+
+	@Override
+	public CompletableFuture<Graveyard> save(final ValidGraveyard graveyard)
+	{
+		return executor.supply(() -> graveyards.save(graveyard));
+	}
+
+
+	@Override
+	public CompletableFuture<Integer> saveAll(final Collection<ValidGraveyard> graveyards)
+	{
+		return executor.supply(() -> this.graveyards.saveAll(graveyards));
+	}
+
+
+	@Override
+	public CompletableFuture<Optional<ValidGraveyard>> getNearestGraveyard(final Player player)
+	{
+		if (player == null) { return CompletableFuture.completedFuture(Optional.empty()); }
+
+		final PlayerQuery query = PlayerQuery.of(player, graveyards.getGroups());
+		return executor.supply(() -> graveyards.getNearestGraveyard(query));
+	}
+
+
+	@Override
+	public CompletableFuture<List<ValidGraveyard>> getNearestGraveyards(final Player player)
+	{
+		if (player == null) { return CompletableFuture.completedFuture(List.of()); }
+
+		final PlayerQuery query = PlayerQuery.of(player, graveyards.getGroups());
+		return executor.supply(() -> graveyards.getNearestGraveyards(query));
+	}
+
+
+	@Override
+	public CompletableFuture<List<String>> getMatchingNames(final String prefix)
+	{
+		return executor.supply(() -> graveyards.getMatchingNames(prefix));
+	}
+
+
+	@Override
+	public CompletableFuture<List<String>> getMatchingKeys(final String prefix)
+	{
+		return executor.supply(() -> graveyards.getMatchingKeys(prefix));
+	}
+
+
+	@Override
+	public CompletableFuture<List<ValidGraveyard>> getUndiscoveredGraveyards(final Player player)
+	{
+		if (player == null) { return CompletableFuture.completedFuture(List.of()); }
+
+		final PlayerQuery query = PlayerQuery.of(player, graveyards.getGroups());
+		return executor.supply(() -> graveyards.getUndiscoveredGraveyards(query).toList());
+	}
+
+
+	@Override
+	public CompletableFuture<Set<String>> getUndiscoveredKeys(final CommandSender sender)
+	{
+		if (!(sender instanceof Player player)) { return CompletableFuture.completedFuture(Collections.emptySet()); }
+
+		final PlayerQuery query = PlayerQuery.of(player, graveyards.getGroups());
+		return executor.supply(() -> graveyards.getUndiscoveredKeys(query));
+	}
+
+
+	@Override
+	public CompletableFuture<Graveyard> update(final ValidGraveyard graveyard)
+	{
+		return executor.supply(() -> graveyards.update(graveyard));
+	}
+
+
+	@Override
+	public CompletableFuture<Graveyard> update(final ValidSearchKey searchKey, final ValidGraveyard graveyard)
+	{
+		return executor.supply(() -> graveyards.update(searchKey, graveyard));
+	}
+
+
+	@Override
+	public CompletableFuture<Graveyard> delete(final ValidSearchKey searchKey)
+	{
+		return executor.supply(() -> graveyards.delete(searchKey));
+	}
+
+}
@@ -0,0 +1,280 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.savagegraveyards.datastore;
+
+import com.winterhavenmc.savagegraveyards.models.graveyard.Graveyard;
+import com.winterhavenmc.savagegraveyards.models.graveyard.InvalidGraveyard;
+import com.winterhavenmc.savagegraveyards.models.graveyard.ValidGraveyard;
+import com.winterhavenmc.savagegraveyards.models.graveyard.attributes.Group;
+import com.winterhavenmc.savagegraveyards.models.searchkey.ValidSearchKey;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+
+/**
+ * An in-memory copy of all graveyard records in the datastore, indexed by graveyard uid,
+ * case-folded search key, world uid and location. The catalog is loaded once when the datastore is
+ * initialized, and is kept current by the repository after each successful write, so that
+ * read operations may be served without a round trip to the datastore.
+ * <p>
+ * Reads may be performed from any thread. Writes are expected to be made by the repository
+ * only after the corresponding datastore write has succeeded.
+ */
+public final class GraveyardCatalog
+{
+	private final Map<UUID, ValidGraveyard> byUid = new ConcurrentHashMap<>();
+	private final NavigableMap<String, ValidGraveyard> bySearchKey = new ConcurrentSkipListMap<>();
+	private final Map<UUID, Set<UUID>> byWorldUid = new ConcurrentHashMap<>();
+	private final List<InvalidGraveyard> invalidRecords = new CopyOnWriteArrayList<>();
+	private final GraveyardSpatialIndex spatialIndex = new GraveyardSpatialIndex();
+	private final Map<UUID, Integer> ordinals = new ConcurrentHashMap<>();
+	private final AtomicInteger nextOrdinal = new AtomicInteger();
+
+
+	/**
+	 * Replace the contents of the catalog with the given graveyard records
+	 *
+	 * @param graveyards a collection of all graveyard records in the datastore
+	 */
+	public synchronized void load(final Collection<Graveyard> graveyards)
+	{
+		clear();
+
+		for (Graveyard graveyard : graveyards)
+		{
+			switch (graveyard)
+			{
+				case ValidGraveyard valid -> put(valid);
+				case InvalidGraveyard invalid -> invalidRecords.add(invalid);
+			}
+		}
+	}
+
+
+	/**
+	 * Remove all records from the catalog
+	 */
+	public synchronized void clear()
+	{
+		byUid.clear();
+		bySearchKey.clear();
+		byWorldUid.clear();
+		invalidRecords.clear();
+		spatialIndex.clear();
+	}
+
+
+	/**
+	 * Insert or replace a graveyard record in the catalog. Any existing record with the same uid is removed first,
+	 * so that a changed search key or world does not leave a stale index entry behind.
+	 *
+	 * @param graveyard the graveyard record to insert or replace
+	 */
+	public synchronized void put(final ValidGraveyard graveyard)
+	{
+		remove(graveyard.uid());
+
+		// a record with a different uid may not keep a search key that now belongs to this record
+		final ValidGraveyard displaced = bySearchKey.get(fold(graveyard.searchKey()));
+		if (displaced != null)
+		{
+			remove(displaced.uid());
+		}
+
+		ordinal(graveyard.uid());
+		byUid.put(graveyard.uid(), graveyard);
+		bySearchKey.put(fold(graveyard.searchKey()), graveyard);
+		byWorldUid.computeIfAbsent(graveyard.location().world().uid(), worldUid -> ConcurrentHashMap.newKeySet())
+				.add(graveyard.uid());
+		spatialIndex.put(graveyard);
+	}
+
+
+	/**
+	 * Remove a graveyard record from the catalog by uid
+	 *
+	 * @param graveyardUid the uid of the graveyard record to remove
+	 * @return an {@link Optional} containing the removed record, or an empty Optional if no record was present
+	 */
+	public synchronized Optional<ValidGraveyard> remove(final UUID graveyardUid)
+	{
+		final ValidGraveyard removed = byUid.remove(graveyardUid);
+
+		if (removed != null)
+		{
+			bySearchKey.remove(fold(removed.searchKey()), removed);
+
+			final Set<UUID> worldSet = byWorldUid.get(removed.location().world().uid());
+			if (worldSet != null)
+			{
+				worldSet.remove(graveyardUid);
+			}
+
+			spatialIndex.remove(removed);
+		}
+
+		return Optional.ofNullable(removed);
+	}
+
+
+	/**
+	 * Remove a graveyard record from the catalog by search key
+	 *
+	 * @param searchKey the search key of the graveyard record to remove
+	 * @return an {@link Optional} containing the removed record, or an empty Optional if no record was present
+	 */
+	public synchronized Optional<ValidGraveyard> remove(final ValidSearchKey searchKey)
+	{
+		return get(searchKey).flatMap(graveyard -> remove(graveyard.uid()));
+	}
+
+
+	/**
+	 * Get a graveyard record by search key. Matching is case-insensitive.
+	 *
+	 * @param searchKey the search key of the graveyard record
+	 * @return an {@link Optional} containing the matching record, or an empty Optional if no record matched
+	 */
+	public Optional<ValidGraveyard> get(final ValidSearchKey searchKey)
+	{
+		return Optional.ofNullable(bySearchKey.get(fold(searchKey)));
+	}
+
+
+	/**
+	 * Get a graveyard record by uid
+	 *
+	 * @param graveyardUid the uid of the graveyard record
+	 * @return an {@link Optional} containing the matching record, or an empty Optional if no record matched
+	 */
+	public Optional<ValidGraveyard> get(final UUID graveyardUid)
+	{
+		return Optional.ofNullable(byUid.get(graveyardUid));
+	}
+
+
+	/**
+	 * Get all graveyard records, valid records ordered by case-folded search key, followed by any invalid records
+	 *
+	 * @return {@link Stream} of all graveyard records in the catalog
+	 */
+	public Stream<Graveyard> getAll()
+	{
+		return Stream.concat(bySearchKey.values().stream(), invalidRecords.stream());
+	}
+
+
+	/**
+	 * Get all valid graveyard records located in a world
+	 *
+	 * @param worldUid the uid of the world
+	 * @return {@link Stream} of valid graveyard records in the world
+	 */
+	public Stream<ValidGraveyard> getByWorld(final UUID worldUid)
+	{
+		final Set<UUID> worldSet = byWorldUid.get(worldUid);
+
+		return (worldSet == null)
+				? Stream.empty()
+				: worldSet.stream().map(byUid::get).filter(Objects::nonNull);
+	}
+
+
+	/**
+	 * Get all valid graveyard records located in a world, lazily ordered by increasing distance from a location
+	 *
+	 * @param worldUid the uid of the world
+	 * @param x the x coordinate of the location
+	 * @param y the y coordinate of the location
+	 * @param z the z coordinate of the location
+	 * @return {@link Stream} of valid graveyard records in the world, nearest first
+	 */
+	public Stream<ValidGraveyard> getNearest(final UUID worldUid, final double x, final double y, final double z)
+	{
+		return spatialIndex.nearest(worldUid, x, y, z);
+	}
+
+
+	/**
+	 * Get all valid graveyard records whose search key begins with a prefix. Matching is case-insensitive,
+	 * and spaces in the prefix are treated as underscores, as they are in stored search keys.
+	 *
+	 * @param prefix the prefix to match
+	 * @return {@link Stream} of matching graveyard records, ordered by case-folded search key
+	 */
+	public Stream<ValidGraveyard> getMatchingPrefix(final String prefix)
+	{
+		final String foldedPrefix = prefix.replace(' ', '_').toLowerCase(Locale.ROOT);
+
+		return bySearchKey.subMap(foldedPrefix, true, foldedPrefix + Character.MAX_VALUE, true).values().stream();
+	}
+
+
+	/**
+	 * Get the names of the groups to which valid graveyard records are restricted
+	 *
+	 * @return a {@link Set} of the non-blank group names of all valid graveyard records
+	 */
+	public Set<String> getGroups()
+	{
+		return byUid.values().stream()
+				.map(graveyard -> graveyard.attributes().group())
+				.filter(Objects::nonNull)
+				.map(Group::value)
+				.filter(group -> group != null && !group.isBlank())
+				.collect(Collectors.toSet());
+	}
+
+
+	/**
+	 * Get the dense ordinal assigned to a graveyard uid, assigning the next free ordinal if none has been assigned.
+	 * Ordinals are never reassigned, so that they remain stable when a record is reloaded, updated or deleted,
+	 * and may be used as bit positions in per-player discovery sets.
+	 *
+	 * @param graveyardUid the uid of the graveyard
+	 * @return the ordinal of the graveyard
+	 */
+	public int ordinal(final UUID graveyardUid)
+	{
+		return ordinals.computeIfAbsent(graveyardUid, uid -> nextOrdinal.getAndIncrement());
+	}
+
+
+	/**
+	 * Get a count of all graveyard records in the catalog, including invalid records
+	 *
+	 * @return the count of graveyard records
+	 */
+	public int getCount()
+	{
+		return byUid.size() + invalidRecords.size();
+	}
+
+
+	private static String fold(final ValidSearchKey searchKey)
+	{
+		return searchKey.string().toLowerCase(Locale.ROOT);
+	}
+
+}
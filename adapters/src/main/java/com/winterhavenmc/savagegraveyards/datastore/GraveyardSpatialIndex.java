@@ -0,0 +1,272 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.savagegraveyards.datastore;
+
+import com.winterhavenmc.savagegraveyards.models.graveyard.ValidGraveyard;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+
+/**
+ * A per-world uniform grid of graveyard locations, with one grid cell per 512 x 512 block region.
+ * Graveyards are returned in order of increasing distance from an origin by scanning rings of cells
+ * outward from the cell containing the origin, so that only as many cells are visited as are needed
+ * to produce the requested number of results.
+ * <p>
+ * The index is updated by the {@link GraveyardCatalog} whenever a graveyard record is inserted, moved or removed.
+ * Cell contents are replaced rather than modified, so the index may be read from any thread.
+ */
+public final class GraveyardSpatialIndex
+{
+	private static final int CELL_SHIFT = 9;
+	private static final int CELL_SIZE = 1 << CELL_SHIFT;
+
+	private final Map<UUID, WorldGrid> grids = new ConcurrentHashMap<>();
+
+
+	/**
+	 * Insert a graveyard in the grid for its world
+	 *
+	 * @param graveyard the graveyard to insert
+	 */
+	synchronized void put(final ValidGraveyard graveyard)
+	{
+		grids.computeIfAbsent(graveyard.location().world().uid(), worldUid -> new WorldGrid()).put(graveyard);
+	}
+
+
+	/**
+	 * Remove a graveyard from the grid for its world
+	 *
+	 * @param graveyard the graveyard to remove
+	 */
+	synchronized void remove(final ValidGraveyard graveyard)
+	{
+		final WorldGrid grid = grids.get(graveyard.location().world().uid());
+
+		if (grid != null)
+		{
+			grid.remove(graveyard);
+		}
+	}
+
+
+	/**
+	 * Remove all graveyards from the index
+	 */
+	synchronized void clear()
+	{
+		grids.clear();
+	}
+
+
+	/**
+	 * Get all graveyards in a world, lazily ordered by increasing distance from an origin
+	 *
+	 * @param worldUid the uid of the world
+	 * @param x the x coordinate of the origin
+	 * @param y the y coordinate of the origin
+	 * @param z the z coordinate of the origin
+	 * @return a sequential, ordered {@link Stream} of graveyards, nearest first
+	 */
+	public Stream<ValidGraveyard> nearest(final UUID worldUid, final double x, final double y, final double z)
+	{
+		final WorldGrid grid = grids.get(worldUid);
+
+		if (grid == null || grid.isEmpty())
+		{
+			return Stream.empty();
+		}
+
+		final Iterator<ValidGraveyard> iterator = new NearestIterator(grid, x, y, z);
+		return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator,
+				Spliterator.ORDERED | Spliterator.NONNULL), false);
+	}
+
+
+	private static int cell(final double coordinate)
+	{
+		return ((int) Math.floor(coordinate)) >> CELL_SHIFT;
+	}
+
+
+	private static long cellKey(final int cellX, final int cellZ)
+	{
+		return ((long) cellX << 32) | (cellZ & 0xFFFFFFFFL);
+	}
+
+
+	/**
+	 * The grid cells for a single world. Bounds only ever grow, which is sufficient for terminating a ring scan.
+	 */
+	private static final class WorldGrid
+	{
+		private final Map<Long, List<ValidGraveyard>> cells = new ConcurrentHashMap<>();
+		private volatile int minCellX = Integer.MAX_VALUE;
+		private volatile int maxCellX = Integer.MIN_VALUE;
+		private volatile int minCellZ = Integer.MAX_VALUE;
+		private volatile int maxCellZ = Integer.MIN_VALUE;
+
+
+		void put(final ValidGraveyard graveyard)
+		{
+			final int cellX = cell(graveyard.location().x());
+			final int cellZ = cell(graveyard.location().z());
+
+			cells.compute(cellKey(cellX, cellZ), (key, existing) ->
+			{
+				final List<ValidGraveyard> list = (existing == null) ? new ArrayList<>(1) : new ArrayList<>(existing);
+				list.add(graveyard);
+				return List.copyOf(list);
+			});
+
+			minCellX = Math.min(minCellX, cellX);
+			maxCellX = Math.max(maxCellX, cellX);
+			minCellZ = Math.min(minCellZ, cellZ);
+			maxCellZ = Math.max(maxCellZ, cellZ);
+		}
+
+
+		void remove(final ValidGraveyard graveyard)
+		{
+			cells.computeIfPresent(cellKey(cell(graveyard.location().x()), cell(graveyard.location().z())), (key, existing) ->
+			{
+				final List<ValidGraveyard> list = new ArrayList<>(existing);
+				list.removeIf(entry -> entry.uid().equals(graveyard.uid()));
+				return (list.isEmpty()) ? null : List.copyOf(list);
+			});
+		}
+
+
+		boolean isEmpty()
+		{
+			return cells.isEmpty();
+		}
+
+
+		List<ValidGraveyard> get(final int cellX, final int cellZ)
+		{
+			return cells.getOrDefault(cellKey(cellX, cellZ), List.of());
+		}
+	}
+
+
+	/**
+	 * Iterates the graveyards of a world grid in order of increasing distance from an origin. After rings
+	 * 0 through n of cells around the origin cell have been scanned, every graveyard not yet scanned is at least
+	 * n * CELL_SIZE blocks away, so any queued candidate closer than that may be returned.
+	 */
+	private static final class NearestIterator implements Iterator<ValidGraveyard>
+	{
+		private final WorldGrid grid;
+		private final double x;
+		private final double y;
+		private final double z;
+		private final int originCellX;
+		private final int originCellZ;
+		private final int maxRing;
+		private final PriorityQueue<Candidate> queue = new PriorityQueue<>(Comparator.comparingDouble(Candidate::distanceSquared));
+		private int nextRing = 0;
+
+
+		NearestIterator(final WorldGrid grid, final double x, final double y, final double z)
+		{
+			this.grid = grid;
+			this.x = x;
+			this.y = y;
+			this.z = z;
+			this.originCellX = cell(x);
+			this.originCellZ = cell(z);
+			this.maxRing = Math.max(
+					Math.max(Math.abs(originCellX - grid.minCellX), Math.abs(grid.maxCellX - originCellX)),
+					Math.max(Math.abs(originCellZ - grid.minCellZ), Math.abs(grid.maxCellZ - originCellZ)));
+		}
+
+
+		@Override
+		public boolean hasNext()
+		{
+			while (nextRing <= maxRing && (queue.isEmpty() || queue.peek().distanceSquared() > safeDistanceSquared()))
+			{
+				scanRing(nextRing++);
+			}
+
+			return !queue.isEmpty();
+		}
+
+
+		@Override
+		public ValidGraveyard next()
+		{
+			if (!hasNext())
+			{
+				throw new NoSuchElementException();
+			}
+
+			return queue.poll().graveyard();
+		}
+
+
+		private double safeDistanceSquared()
+		{
+			final double safeDistance = (double) (nextRing - 1) * CELL_SIZE;
+			return (safeDistance <= 0) ? 0 : safeDistance * safeDistance;
+		}
+
+
+		private void scanRing(final int ring)
+		{
+			if (ring == 0)
+			{
+				enqueue(grid.get(originCellX, originCellZ));
+				return;
+			}
+
+			for (int offset = -ring; offset <= ring; offset++)
+			{
+				enqueue(grid.get(originCellX + offset, originCellZ - ring));
+				enqueue(grid.get(originCellX + offset, originCellZ + ring));
+			}
+
+			for (int offset = -ring + 1; offset <= ring - 1; offset++)
+			{
+				enqueue(grid.get(originCellX - ring, originCellZ + offset));
+				enqueue(grid.get(originCellX + ring, originCellZ + offset));
+			}
+		}
+
+
+		private void enqueue(final List<ValidGraveyard> graveyards)
+		{
+			for (ValidGraveyard graveyard : graveyards)
+			{
+				final double dx = graveyard.location().x() - x;
+				final double dy = graveyard.location().y() - y;
+				final double dz = graveyard.location().z() - z;
+				queue.add(new Candidate(graveyard, dx * dx + dy * dy + dz * dz));
+			}
+		}
+	}
+
+
+	private record Candidate(ValidGraveyard graveyard, double distanceSquared) { }
+
+}
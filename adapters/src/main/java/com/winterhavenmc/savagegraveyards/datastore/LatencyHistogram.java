@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.savagegraveyards.datastore;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+
+/**
+ * A lock-free latency histogram with microsecond resolution. Each power of two is divided into eight buckets,
+ * so a reported percentile is at most one eighth greater than the latency it stands for. Latencies may be
+ * recorded from any thread; percentiles read while latencies are being recorded are approximate.
+ */
+final class LatencyHistogram
+{
+	private static final int SUB_BUCKET_BITS = 3;
+	private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+	private static final int BUCKET_COUNT = (Long.SIZE - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+	private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+	private final AtomicLong count = new AtomicLong();
+	private final AtomicLong maxMicros = new AtomicLong();
+
+
+	/**
+	 * Record a latency
+	 *
+	 * @param nanos the latency in nanoseconds
+	 */
+	void record(final long nanos)
+	{
+		final long micros = Math.max(0, TimeUnit.NANOSECONDS.toMicros(nanos));
+		counts.incrementAndGet(bucketIndex(micros));
+		maxMicros.accumulateAndGet(micros, Math::max);
+		count.incrementAndGet();
+	}
+
+
+	/**
+	 * Get the number of latencies recorded
+	 *
+	 * @return the number of latencies recorded
+	 */
+	long count()
+	{
+		return count.get();
+	}
+
+
+	/**
+	 * Get the greatest latency recorded
+	 *
+	 * @return the greatest latency in microseconds, or zero if no latencies have been recorded
+	 */
+	long maxMicros()
+	{
+		return maxMicros.get();
+	}
+
+
+	/**
+	 * Get the latency at a percentile
+	 *
+	 * @param percentile the percentile, from 0 to 100
+	 * @return the upper bound of the bucket containing the percentile in microseconds, no greater than the
+	 * greatest latency recorded, or zero if no latencies have been recorded
+	 */
+	long percentileMicros(final double percentile)
+	{
+		final long total = count.get();
+		if (total == 0)
+		{
+			return 0;
+		}
+
+		final long rank = Math.max(1, (long) Math.ceil(total * percentile / 100.0));
+		long cumulative = 0;
+		for (int index = 0; index < BUCKET_COUNT; index++)
+		{
+			cumulative += counts.get(index);
+			if (cumulative >= rank)
+			{
+				return Math.min(upperBound(index), maxMicros.get());
+			}
+		}
+		return maxMicros.get();
+	}
+
+
+	static int bucketIndex(final long micros)
+	{
+		if (micros < SUB_BUCKETS)
+		{
+			return (int) micros;
+		}
+
+		final int exponent = (Long.SIZE - 1) - Long.numberOfLeadingZeros(micros);
+		final int subBucket = (int) (micros >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+		return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+	}
+
+
+	static long upperBound(final int index)
+	{
+		if (index < SUB_BUCKETS)
+		{
+			return index;
+		}
+
+		final int shift = index / SUB_BUCKETS - 1;
+		final long lowerBound = (long) (SUB_BUCKETS + index % SUB_BUCKETS) << shift;
+		return lowerBound + (1L << shift) - 1;
+	}
+
+}
@@ -0,0 +1,218 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.savagegraveyards.datastore;
+
+import com.winterhavenmc.library.messagebuilder.models.configuration.ConfigRepository;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.function.LongSupplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+
+/**
+ * A debugging aid that watches for datastore operations performed on the server thread. The time each operation
+ * blocks the server thread is added to a rolling one-minute total. An operation that blocks for longer than the
+ * budget is logged with the stack trace of its caller; repeated calls from the same place are logged at most
+ * once per minute, with a count of the calls that were not logged.
+ */
+public final class MainThreadWatchdog implements QueryObserver
+{
+	private static final int WINDOW_SECONDS = 60;
+	private static final long REPORT_INTERVAL_MILLIS = TimeUnit.MINUTES.toMillis(1);
+	private static final int SIGNATURE_FRAMES = 8;
+	private static final String PLUGIN_PACKAGE = "com.winterhavenmc.savagegraveyards.";
+	private static final String DATASTORE_PACKAGE = PLUGIN_PACKAGE + "datastore.";
+	private static final String[] CALLER_PACKAGES = {
+			PLUGIN_PACKAGE + "commands.",
+			PLUGIN_PACKAGE + "listeners.",
+			PLUGIN_PACKAGE + "tasks." };
+
+	private final String datastoreName;
+	private final long budgetNanos;
+	private final BooleanSupplier primaryThread;
+	private final LongSupplier clock;
+	private final ConfigRepository configRepository;
+	private final Logger logger;
+
+	private final long[] windowSeconds = new long[WINDOW_SECONDS];
+	private final long[] windowNanos = new long[WINDOW_SECONDS];
+	private final Map<String, Report> reports = new ConcurrentHashMap<>();
+
+
+	/**
+	 * The time a call site was last logged, and the number of calls from it over budget since then
+	 */
+	private static final class Report
+	{
+		private long loggedMillis;
+		private long suppressed;
+	}
+
+
+	/**
+	 * Class constructor
+	 *
+	 * @param datastoreName the name of the datastore, for log messages
+	 * @param budget the time an operation may block the server thread before it is logged
+	 * @param primaryThread reports whether the current thread is the server thread
+	 * @param clock the current time in epoch milliseconds
+	 * @param configRepository the config repository, used for log message localization
+	 * @param logger the plugin logger
+	 */
+	public MainThreadWatchdog(final String datastoreName,
+	                          final Duration budget,
+	                          final BooleanSupplier primaryThread,
+	                          final LongSupplier clock,
+	                          final ConfigRepository configRepository,
+	                          final Logger logger)
+	{
+		this.datastoreName = datastoreName;
+		this.budgetNanos = budget.toNanos();
+		this.primaryThread = primaryThread;
+		this.clock = clock;
+		this.configRepository = configRepository;
+		this.logger = logger;
+	}
+
+
+	@Override
+	public void completed(final String query, final long durationNanos)
+	{
+		if (!primaryThread.getAsBoolean())
+		{
+			return;
+		}
+
+		final long nowMillis = clock.getAsLong();
+		accumulate(TimeUnit.MILLISECONDS.toSeconds(nowMillis), durationNanos);
+
+		if (durationNanos > budgetNanos)
+		{
+			report(query, durationNanos, nowMillis);
+		}
+	}
+
+
+	/**
+	 * Get the time the server thread was blocked by datastore operations in the last minute
+	 *
+	 * @return the blocked time in milliseconds
+	 */
+	public synchronized long blockedMillisLastMinute()
+	{
+		final long nowSecond = TimeUnit.MILLISECONDS.toSeconds(clock.getAsLong());
+		long totalNanos = 0;
+		for (int slot = 0; slot < WINDOW_SECONDS; slot++)
+		{
+			if (nowSecond - windowSeconds[slot] < WINDOW_SECONDS)
+			{
+				totalNanos += windowNanos[slot];
+			}
+		}
+		return TimeUnit.NANOSECONDS.toMillis(totalNanos);
+	}
+
+
+	private synchronized void accumulate(final long second, final long durationNanos)
+	{
+		final int slot = (int) (second % WINDOW_SECONDS);
+		if (windowSeconds[slot] != second)
+		{
+			windowSeconds[slot] = second;
+			windowNanos[slot] = 0;
+		}
+		windowNanos[slot] += durationNanos;
+	}
+
+
+	private void report(final String query, final long durationNanos, final long nowMillis)
+	{
+		final StackTraceElement[] stackTrace = callerStackTrace(new Throwable().getStackTrace());
+		final String signature = query + Arrays.stream(stackTrace)
+				.limit(SIGNATURE_FRAMES)
+				.map(StackTraceElement::toString)
+				.collect(Collectors.joining("|", "@", ""));
+
+		final long suppressed;
+		final Report report = reports.computeIfAbsent(signature, key -> new Report());
+		synchronized (report)
+		{
+			if (report.loggedMillis != 0 && nowMillis - report.loggedMillis < REPORT_INTERVAL_MILLIS)
+			{
+				report.suppressed++;
+				return;
+			}
+			suppressed = report.suppressed;
+			report.loggedMillis = nowMillis;
+			report.suppressed = 0;
+		}
+
+		final Throwable trace = new Throwable(query);
+		trace.setStackTrace(stackTrace);
+		logger.log(Level.WARNING, DatastoreMessage.MAIN_THREAD_BLOCKING_WARNING.getLocalizedMessage(configRepository.locale(),
+				datastoreName, query, TimeUnit.NANOSECONDS.toMillis(durationNanos), caller(stackTrace), suppressed), trace);
+	}
+
+
+	/**
+	 * Remove the frames of the datastore wrappers from a stack trace, so that it begins with the caller of the datastore
+	 *
+	 * @param stackTrace the stack trace captured in the watchdog
+	 * @return the stack trace from the first frame outside the datastore package
+	 */
+	static StackTraceElement[] callerStackTrace(final StackTraceElement[] stackTrace)
+	{
+		int first = 0;
+		while (first < stackTrace.length && stackTrace[first].getClassName().startsWith(DATASTORE_PACKAGE))
+		{
+			first++;
+		}
+		return Arrays.copyOfRange(stackTrace, first, stackTrace.length);
+	}
+
+
+	/**
+	 * Find the subcommand, listener or task that called the datastore
+	 *
+	 * @param stackTrace the stack trace of the caller
+	 * @return the class and method of the nearest plugin command, listener or task frame, or of the first frame
+	 */
+	static String caller(final StackTraceElement[] stackTrace)
+	{
+		return Arrays.stream(stackTrace)
+				.filter(element -> Arrays.stream(CALLER_PACKAGES).anyMatch(element.getClassName()::startsWith))
+				.findFirst()
+				.or(() -> Arrays.stream(stackTrace).findFirst())
+				.map(element -> simpleName(element.getClassName()) + "." + element.getMethodName())
+				.orElse("unknown");
+	}
+
+
+	private static String simpleName(final String className)
+	{
+		return className.substring(className.lastIndexOf('.') + 1);
+	}
+
+}
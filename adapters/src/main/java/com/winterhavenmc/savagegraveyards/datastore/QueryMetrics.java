@@ -0,0 +1,226 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.savagegraveyards.datastore;
+
+import com.winterhavenmc.library.messagebuilder.models.configuration.ConfigRepository;
+import com.winterhavenmc.savagegraveyards.models.graveyard.ValidGraveyard;
+import com.winterhavenmc.savagegraveyards.models.searchkey.ValidSearchKey;
+
+import org.bukkit.command.CommandSender;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+
+/**
+ * Records the latency, call count and error count of named datastore operations, and logs each operation that
+ * takes longer than the slow query threshold, with its parameters. Operations may be timed from any thread.
+ * <p>
+ * An operation is counted as an error if it throws. An operation that has logged its own failure reports it by
+ * throwing a {@link DatastoreException}, which {@link #attempt} replaces with the default result of the operation.
+ */
+public final class QueryMetrics
+{
+	private final String datastoreName;
+	private final long slowQueryNanos;
+	private final QueryObserver observer;
+	private final ConfigRepository configRepository;
+	private final Logger logger;
+	private final Map<String, Query> queries = new ConcurrentHashMap<>();
+
+
+	/**
+	 * Latency histogram and error count of one named operation
+	 */
+	private static final class Query
+	{
+		private final LatencyHistogram histogram = new LatencyHistogram();
+		private final LongAdder errors = new LongAdder();
+	}
+
+
+	/**
+	 * Class constructor
+	 *
+	 * @param datastoreName the name of the datastore, for log messages
+	 * @param slowQueryThreshold the latency above which an operation is logged, or zero to log no operations
+	 * @param observer an observer of each completed operation
+	 * @param configRepository the config repository, used for log message localization
+	 * @param logger the plugin logger
+	 */
+	public QueryMetrics(final String datastoreName,
+	                    final Duration slowQueryThreshold,
+	                    final QueryObserver observer,
+	                    final ConfigRepository configRepository,
+	                    final Logger logger)
+	{
+		this.datastoreName = datastoreName;
+		this.slowQueryNanos = slowQueryThreshold.toNanos();
+		this.observer = observer;
+		this.configRepository = configRepository;
+		this.logger = logger;
+	}
+
+
+	/**
+	 * Perform an operation, recording its latency
+	 *
+	 * @param query the name of the operation
+	 * @param operation the operation to perform
+	 * @param parameters the parameters of the operation, logged if the operation is slow
+	 * @return the result of the operation
+	 * @param <T> the type of the result
+	 */
+	public <T> T time(final String query, final Supplier<T> operation, final Object... parameters)
+	{
+		final long startNanos = System.nanoTime();
+		boolean failed = true;
+		try
+		{
+			final T result = operation.get();
+			failed = false;
+			return result;
+		}
+		finally
+		{
+			record(query, System.nanoTime() - startNanos, failed, parameters);
+		}
+	}
+
+
+	/**
+	 * Perform an operation that may fail with a {@link DatastoreException}, recording its latency. A failure is
+	 * counted as an error of the operation, and the fallback result is returned in place of its result.
+	 *
+	 * @param query the name of the operation
+	 * @param operation the operation to perform
+	 * @param fallback a supplier of the result to return if the operation fails
+	 * @param parameters the parameters of the operation, logged if the operation is slow
+	 * @return the result of the operation, or the fallback result if it failed
+	 * @param <T> the type of the result
+	 */
+	public <T> T attempt(final String query, final Supplier<T> operation, final Supplier<? extends T> fallback,
+	                     final Object... parameters)
+	{
+		try
+		{
+			return time(query, operation, parameters);
+		}
+		catch (DatastoreException datastoreException)
+		{
+			return fallback.get();
+		}
+	}
+
+
+	/**
+	 * Perform an operation that returns no result, recording its latency. A {@link DatastoreException} thrown by
+	 * the operation is counted as an error of the operation, and is not rethrown.
+	 *
+	 * @param query the name of the operation
+	 * @param operation the operation to perform
+	 * @param parameters the parameters of the operation, logged if the operation is slow
+	 */
+	public void run(final String query, final Runnable operation, final Object... parameters)
+	{
+		attempt(query, () ->
+		{
+			operation.run();
+			return null;
+		}, () -> null, parameters);
+	}
+
+
+	/**
+	 * Get the statistics of each operation performed
+	 *
+	 * @return a list of statistics, ordered by operation name
+	 */
+	public List<QueryStatistics> statistics()
+	{
+		return queries.entrySet().stream()
+				.map(entry -> statistics(entry.getKey(), entry.getValue()))
+				.sorted(Comparator.comparing(QueryStatistics::query))
+				.toList();
+	}
+
+
+	private QueryStatistics statistics(final String name, final Query query)
+	{
+		return new QueryStatistics(name,
+				query.histogram.count(),
+				query.errors.sum(),
+				Duration.ofNanos(TimeUnit.MICROSECONDS.toNanos(query.histogram.percentileMicros(50))),
+				Duration.ofNanos(TimeUnit.MICROSECONDS.toNanos(query.histogram.percentileMicros(95))),
+				Duration.ofNanos(TimeUnit.MICROSECONDS.toNanos(query.histogram.percentileMicros(99))),
+				Duration.ofNanos(TimeUnit.MICROSECONDS.toNanos(query.histogram.maxMicros())));
+	}
+
+
+	private void record(final String name, final long durationNanos, final boolean failed, final Object[] parameters)
+	{
+		final Query query = queries.computeIfAbsent(name, key -> new Query());
+		query.histogram.record(durationNanos);
+		if (failed)
+		{
+			query.errors.increment();
+		}
+
+		if (slowQueryNanos > 0 && durationNanos > slowQueryNanos)
+		{
+			logger.warning(DatastoreMessage.SLOW_QUERY_WARNING.getLocalizedMessage(configRepository.locale(),
+					datastoreName, name, TimeUnit.NANOSECONDS.toMillis(durationNanos), describe(parameters)));
+		}
+
+		observer.completed(name, durationNanos);
+	}
+
+
+	/**
+	 * Describe the parameters of an operation for the slow query log, briefly and without exposing large collections
+	 *
+	 * @param parameters the parameters of the operation
+	 * @return the parameters, separated by commas
+	 */
+	static String describe(final Object[] parameters)
+	{
+		return Arrays.stream(parameters)
+				.map(parameter -> switch (parameter)
+				{
+					case null -> "null";
+					case CommandSender sender -> sender.getName();
+					case PlayerQuery query -> query.playerUid().toString();
+					case ValidGraveyard graveyard -> graveyard.searchKey().string();
+					case ValidSearchKey searchKey -> searchKey.string();
+					case Collection<?> collection -> collection.size() + " records";
+					default -> String.valueOf(parameter);
+				})
+				.collect(Collectors.joining(", "));
+	}
+
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.savagegraveyards.datastore;
+
+
+/**
+ * An observer of each datastore operation timed by {@link QueryMetrics}, called on the thread that performed the
+ * operation, after it has completed
+ */
+@FunctionalInterface
+public interface QueryObserver
+{
+	/**
+	 * An observer that ignores all operations
+	 */
+	QueryObserver NONE = (query, durationNanos) -> { };
+
+
+	/**
+	 * Observe a completed operation
+	 *
+	 * @param query the name of the operation
+	 * @param durationNanos the latency of the operation in nanoseconds
+	 */
+	void completed(String query, long durationNanos);
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.savagegraveyards.datastore;
+
+import com.winterhavenmc.savagegraveyards.models.discovery.ValidDiscovery;
+
+import java.util.Collection;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+
+/**
+ * A {@link DiscoveryRepository} that records the latency of each operation of another discovery repository in
+ * {@link QueryMetrics}. The latency of {@link #forEach(Consumer)} includes the time spent in the consumer.
+ * An operation that fails with a {@link DatastoreException} returns false or zero.
+ */
+public final class TimedDiscoveryRepository implements DiscoveryRepository
+{
+	private final DiscoveryRepository discoveries;
+	private final QueryMetrics metrics;
+
+
+	public TimedDiscoveryRepository(final DiscoveryRepository discoveries, final QueryMetrics metrics)
+	{
+		this.discoveries = discoveries;
+		this.metrics = metrics;
+	}
+
+
+	@Override
+	public boolean save(final ValidDiscovery discovery)
+	{
+		return metrics.attempt("discoveries.save", () -> discoveries.save(discovery), () -> false, discovery);
+	}
+
+
+	@Override
+	public int saveAll(final Collection<ValidDiscovery> discoveryCollection)
+	{
+		return metrics.attempt("discoveries.saveAll", () -> discoveries.saveAll(discoveryCollection), () -> 0, discoveryCollection);
+	}
+
+
+	@Override
+	public boolean delete(final UUID graveyardUid, final UUID playerUid)
+	{
+		return metrics.attempt("discoveries.delete", () -> discoveries.delete(graveyardUid, playerUid), () -> false, graveyardUid, playerUid);
+	}
+
+
+	@Override
+	public long forEach(final Consumer<? super ValidDiscovery> consumer)
+	{
+		return metrics.attempt("discoveries.forEach", () -> discoveries.forEach(consumer), () -> 0L);
+	}
+
+
+	@Override
+	public void loadPlayer(final UUID playerUid)
+	{
+		metrics.run("discoveries.loadPlayer", () -> discoveries.loadPlayer(playerUid), playerUid);
+	}
+
+
+	@Override
+	public void unloadPlayer(final UUID playerUid)
+	{
+		metrics.run("discoveries.unloadPlayer", () -> discoveries.unloadPlayer(playerUid), playerUid);
+	}
+
+}
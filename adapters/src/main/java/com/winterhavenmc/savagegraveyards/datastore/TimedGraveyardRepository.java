@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.savagegraveyards.datastore;
+
+import com.winterhavenmc.savagegraveyards.models.FailReason;
+import com.winterhavenmc.savagegraveyards.models.Parameter;
+import com.winterhavenmc.savagegraveyards.models.graveyard.Graveyard;
+import com.winterhavenmc.savagegraveyards.models.graveyard.InvalidGraveyard;
+import com.winterhavenmc.savagegraveyards.models.graveyard.ValidGraveyard;
+import com.winterhavenmc.savagegraveyards.models.searchkey.ValidSearchKey;
+
+import org.bukkit.entity.Player;
+
+import java.util.*;
+import java.util.stream.Stream;
+
+
+/**
+ * A {@link GraveyardRepository} that records the latency of each operation of another graveyard repository in
+ * {@link QueryMetrics}. Streams are collected within the timed operation, so that any datastore query made while
+ * the stream is consumed, such as selecting a player's discoveries, is included in its latency and error count.
+ * An operation that fails with a {@link DatastoreException} returns an empty result for a query, an invalid graveyard
+ * for a save, and the graveyard as it was given or found for an update or delete.
+ */
+public final class TimedGraveyardRepository implements GraveyardRepository
+{
+	private final GraveyardRepository graveyards;
+	private final QueryMetrics metrics;
+
+
+	public TimedGraveyardRepository(final GraveyardRepository graveyards, final QueryMetrics metrics)
+	{
+		this.graveyards = graveyards;
+		this.metrics = metrics;
+	}
+
+
+	@Override
+	public Graveyard get(final ValidSearchKey searchKey)
+	{
+		return metrics.time("graveyards.get", () -> graveyards.get(searchKey), searchKey);
+	}
+
+
+	@Override
+	public Graveyard get(final UUID graveyardUid)
+	{
+		return metrics.time("graveyards.getByUid", () -> graveyards.get(graveyardUid), graveyardUid);
+	}
+
+
+	@Override
+	public Stream<Graveyard> getAll()
+	{
+		return metrics.time("graveyards.getAll", () -> graveyards.getAll().toList()).stream();
+	}
+
+
+	@Override
+	public int getCount()
+	{
+		return metrics.time("graveyards.getCount", graveyards::getCount);
+	}
+
+
+	@Override
+	public Graveyard save(final ValidGraveyard graveyard)
+	{
+		return metrics.attempt("graveyards.save", () -> graveyards.save(graveyard),
+				() -> new InvalidGraveyard(graveyard.displayName(), "∅", FailReason.INSERT_FAILED, Parameter.GRAVEYARD), graveyard);
+	}
+
+
+	@Override
+	public int saveAll(final Collection<ValidGraveyard> graveyardCollection)
+	{
+		return metrics.attempt("graveyards.saveAll", () -> graveyards.saveAll(graveyardCollection), () -> 0, graveyardCollection);
+	}
+
+
+	@Override
+	public Optional<ValidGraveyard> getNearestGraveyard(final PlayerQuery query)
+	{
+		return metrics.attempt("graveyards.getNearestGraveyard", () -> graveyards.getNearestGraveyard(query), Optional::empty, query);
+	}
+
+
+	@Override
+	public List<ValidGraveyard> getNearestGraveyards(final PlayerQuery query)
+	{
+		return metrics.attempt("graveyards.getNearestGraveyards", () -> graveyards.getNearestGraveyards(query), List::of, query);
+	}
+
+
+	@Override
+	public Set<String> getGroups()
+	{
+		return metrics.time("graveyards.getGroups", graveyards::getGroups);
+	}
+
+
+	@Override
+	public List<String> getMatchingNames(final String prefix)
+	{
+		return metrics.time("graveyards.getMatchingNames", () -> graveyards.getMatchingNames(prefix), prefix);
+	}
+
+
+	@Override
+	public List<String> getMatchingKeys(final String prefix)
+	{
+		return metrics.time("graveyards.getMatchingKeys", () -> graveyards.getMatchingKeys(prefix), prefix);
+	}
+
+
+	@Override
+	public Stream<ValidGraveyard> getUndiscoveredGraveyards(final PlayerQuery query)
+	{
+		return metrics.attempt("graveyards.getUndiscoveredGraveyards",
+				() -> graveyards.getUndiscoveredGraveyards(query).toList(), List::<ValidGraveyard>of, query).stream();
+	}
+
+
+	@Override
+	public Stream<ValidGraveyard> getUndiscoveredGraveyardsInRange(final Player player, final int defaultRange)
+	{
+		return metrics.attempt("graveyards.getUndiscoveredGraveyardsInRange",
+				() -> graveyards.getUndiscoveredGraveyardsInRange(player, defaultRange).toList(), List::<ValidGraveyard>of, player, defaultRange).stream();
+	}
+
+
+	@Override
+	public Set<String> getUndiscoveredKeys(final PlayerQuery query)
+	{
+		return metrics.attempt("graveyards.getUndiscoveredKeys", () -> graveyards.getUndiscoveredKeys(query), Set::of, query);
+	}
+
+
+	@Override
+	public Graveyard update(final ValidGraveyard graveyard)
+	{
+		return metrics.attempt("graveyards.update", () -> graveyards.update(graveyard), () -> graveyard, graveyard);
+	}
+
+
+	@Override
+	public Graveyard update(final ValidSearchKey searchKey, final ValidGraveyard graveyard)
+	{
+		return metrics.attempt("graveyards.update", () -> graveyards.update(searchKey, graveyard), () -> graveyard, searchKey, graveyard);
+	}
+
+
+	@Override
+	public Graveyard delete(final ValidSearchKey searchKey)
+	{
+		return metrics.attempt("graveyards.delete", () -> graveyards.delete(searchKey), () -> graveyards.get(searchKey), searchKey);
+	}
+
+}
@@ -0,0 +1,702 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.savagegraveyards.datastore.journal;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.*;
+
+
+/**
+ * An append-only journal of discovery records in a memory-mapped file. The journal is scanned once when it is
+ * opened, to rebuild a per-player index of discovered graveyards, and is then only appended to.
+ * <p>
+ * The file begins with a {@value #HEADER_SIZE} byte header, followed by records of {@value #RECORD_SIZE} bytes:
+ * <pre>
+ * offset  size  field
+ *      0     1  type (0 marks the end of the journal)
+ *      4     4  ordinal (definitions), or graveyard ordinal (discoveries and tombstones)
+ *      8     8  uid most significant bits (definitions), or player ordinal (discoveries and tombstones)
+ *     16     8  uid least significant bits (definitions), or epoch seconds (discoveries and tombstones)
+ * </pre>
+ * Players and graveyards are assigned ordinals by definition records, which precede the first record that refers
+ * to them. A tombstone cancels any earlier discovery of the same graveyard by the same player. The type byte of
+ * a record is written last, so a record that was not completely written marks the end of the journal.
+ * <p>
+ * {@link #compact()} rewrites the journal with only the live discovery records. The compacted journal is first
+ * written to a separate file, so that an interrupted compaction is completed when the journal is next opened.
+ * The journal is rewritten in place rather than replaced, because a mapped file may not be replaced on all platforms.
+ * When the journal is opened, a compacted journal is copied over it only if the journal does not already begin
+ * with the compacted journal, so that records appended after a completed rewrite are kept.
+ * <p>
+ * All methods are synchronized, except that {@link #compact()} and {@link #force()} write to disk without
+ * holding the lock, so that appends from the server thread are not blocked by file I/O.
+ */
+public final class DiscoveryJournal implements AutoCloseable
+{
+	static final int HEADER_SIZE = 16;
+	static final int RECORD_SIZE = 24;
+
+	private static final int MAGIC = 0x53474A31; // "SGJ1"
+	private static final int FORMAT_VERSION = 1;
+	private static final int INITIAL_CAPACITY = 1 << 20;
+	private static final int COMPACTION_MINIMUM_DEAD_RECORDS = 1024;
+
+	private static final byte END = 0;
+	private static final byte PLAYER = 1;
+	private static final byte GRAVEYARD = 2;
+	private static final byte DISCOVERY = 3;
+	private static final byte TOMBSTONE = 4;
+
+	private final Object compactionLock = new Object();
+	private final Path compactPath;
+	private final Path tempPath;
+	private final FileChannel channel;
+	private final boolean created;
+
+	private MappedByteBuffer buffer;
+	private int end = HEADER_SIZE;
+
+	private final List<UUID> players = new ArrayList<>();
+	private final Map<UUID, Integer> playerOrdinals = new HashMap<>();
+	private final List<UUID> graveyards = new ArrayList<>();
+	private final Map<UUID, Integer> graveyardOrdinals = new HashMap<>();
+	private final Map<Integer, BitSet> discoveries = new HashMap<>();
+	private int liveCount;
+	private int discoveryRecordCount;
+
+
+	private DiscoveryJournal(final Path path) throws IOException
+	{
+		this.compactPath = path.resolveSibling(path.getFileName() + ".compact");
+		this.tempPath = path.resolveSibling(path.getFileName() + ".tmp");
+
+		// complete a compaction that was interrupted after the compacted journal was written
+		Files.deleteIfExists(tempPath);
+		if (Files.exists(compactPath))
+		{
+			if (!startsWith(path, Files.readAllBytes(compactPath)))
+			{
+				Files.copy(compactPath, path, StandardCopyOption.REPLACE_EXISTING);
+			}
+			Files.delete(compactPath);
+		}
+
+		this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+		this.created = channel.size() < HEADER_SIZE;
+		this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(channel.size(), INITIAL_CAPACITY));
+
+		if (created)
+		{
+			buffer.putInt(0, MAGIC);
+			buffer.putInt(4, FORMAT_VERSION);
+		}
+		else if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != FORMAT_VERSION)
+		{
+			channel.close();
+			throw new IOException("Unrecognized discovery journal format: " + path);
+		}
+
+		scan();
+	}
+
+
+	/**
+	 * Test if a file begins with the given bytes
+	 *
+	 * @param path the path of the file
+	 * @param prefix the bytes expected at the start of the file
+	 * @return {@code true} if the file exists and its first bytes are equal to the prefix
+	 * @throws IOException if the file could not be read
+	 */
+	private static boolean startsWith(final Path path, final byte[] prefix) throws IOException
+	{
+		if (!Files.exists(path) || Files.size(path) < prefix.length)
+		{
+			return false;
+		}
+
+		try (final FileChannel fileChannel = FileChannel.open(path, StandardOpenOption.READ))
+		{
+			final ByteBuffer head = ByteBuffer.allocate(prefix.length);
+			while (head.hasRemaining())
+			{
+				if (fileChannel.read(head) < 0) { return false; }
+			}
+			return Arrays.equals(head.array(), prefix);
+		}
+	}
+
+
+	/**
+	 * Open a discovery journal, creating the file if it does not exist
+	 *
+	 * @param path the path of the journal file
+	 * @return the opened journal, with its index rebuilt from the file
+	 * @throws IOException if the file could not be opened, or is not a discovery journal
+	 */
+	public static DiscoveryJournal open(final Path path) throws IOException
+	{
+		return new DiscoveryJournal(path);
+	}
+
+
+	/**
+	 * Test if the journal file was created when it was opened
+	 *
+	 * @return {@code true} if the journal file did not exist before it was opened
+	 */
+	public boolean isCreated()
+	{
+		return created;
+	}
+
+
+	/**
+	 * Rebuild the in-memory index from the records in the mapped file
+	 */
+	private void scan()
+	{
+		int position = HEADER_SIZE;
+
+		while (position + RECORD_SIZE <= buffer.capacity())
+		{
+			final byte type = buffer.get(position);
+			final int a = buffer.getInt(position + 4);
+			final long b = buffer.getLong(position + 8);
+			final long c = buffer.getLong(position + 16);
+
+			switch (type)
+			{
+				case PLAYER -> define(players, playerOrdinals, a, new UUID(b, c));
+				case GRAVEYARD -> define(graveyards, graveyardOrdinals, a, new UUID(b, c));
+				case DISCOVERY -> applyDiscovery(a, (int) b);
+				case TOMBSTONE -> applyTombstone(a, (int) b);
+				default ->
+				{
+					// end of journal, or a record that was not completely written
+					end = position;
+					return;
+				}
+			}
+
+			position += RECORD_SIZE;
+		}
+
+		end = position;
+	}
+
+
+	private static void define(final List<UUID> uids, final Map<UUID, Integer> ordinals, final int ordinal, final UUID uid)
+	{
+		while (uids.size() <= ordinal)
+		{
+			uids.add(null);
+		}
+		uids.set(ordinal, uid);
+		ordinals.put(uid, ordinal);
+	}
+
+
+	private boolean applyDiscovery(final int graveyardOrdinal, final int playerOrdinal)
+	{
+		discoveryRecordCount++;
+
+		final BitSet bitSet = discoveries.computeIfAbsent(playerOrdinal, ignored -> new BitSet());
+		if (bitSet.get(graveyardOrdinal))
+		{
+			return false;
+		}
+
+		bitSet.set(graveyardOrdinal);
+		liveCount++;
+		return true;
+	}
+
+
+	private boolean applyTombstone(final int graveyardOrdinal, final int playerOrdinal)
+	{
+		discoveryRecordCount++;
+
+		final BitSet bitSet = discoveries.get(playerOrdinal);
+		if (bitSet == null || !bitSet.get(graveyardOrdinal))
+		{
+			return false;
+		}
+
+		bitSet.clear(graveyardOrdinal);
+		if (bitSet.isEmpty())
+		{
+			discoveries.remove(playerOrdinal);
+		}
+		liveCount--;
+		return true;
+	}
+
+
+	/**
+	 * Append a discovery record, unless the player has already discovered the graveyard
+	 *
+	 * @param graveyardUid the uid of the graveyard discovered
+	 * @param playerUid the uid of the player discovering
+	 * @param timestamp the time of the discovery
+	 * @return {@code true} if the discovery was appended, or {@code false} if it already exists
+	 * @throws IOException if the journal could not be extended
+	 */
+	public synchronized boolean append(final UUID graveyardUid, final UUID playerUid, final Instant timestamp) throws IOException
+	{
+		if (contains(graveyardUid, playerUid))
+		{
+			return false;
+		}
+
+		final int graveyardOrdinal = ordinal(graveyards, graveyardOrdinals, GRAVEYARD, graveyardUid);
+		final int playerOrdinal = ordinal(players, playerOrdinals, PLAYER, playerUid);
+
+		write(DISCOVERY, graveyardOrdinal, playerOrdinal, timestamp.getEpochSecond());
+		return applyDiscovery(graveyardOrdinal, playerOrdinal);
+	}
+
+
+	/**
+	 * Append a tombstone record, if the player has discovered the graveyard
+	 *
+	 * @param graveyardUid the uid of the graveyard
+	 * @param playerUid the uid of the player
+	 * @return {@code true} if the discovery was removed, or {@code false} if it did not exist
+	 * @throws IOException if the journal could not be extended
+	 */
+	public synchronized boolean remove(final UUID graveyardUid, final UUID playerUid) throws IOException
+	{
+		if (!contains(graveyardUid, playerUid))
+		{
+			return false;
+		}
+
+		final int graveyardOrdinal = graveyardOrdinals.get(graveyardUid);
+		final int playerOrdinal = playerOrdinals.get(playerUid);
+
+		write(TOMBSTONE, graveyardOrdinal, playerOrdinal, Instant.now().getEpochSecond());
+		return applyTombstone(graveyardOrdinal, playerOrdinal);
+	}
+
+
+	/**
+	 * Append a tombstone record for every live discovery of a graveyard, as when the graveyard has been deleted
+	 *
+	 * @param graveyardUid the uid of the graveyard
+	 * @return the number of discoveries removed
+	 * @throws IOException if the journal could not be extended
+	 */
+	public synchronized int removeGraveyard(final UUID graveyardUid) throws IOException
+	{
+		final Integer graveyardOrdinal = graveyardOrdinals.get(graveyardUid);
+		if (graveyardOrdinal == null)
+		{
+			return 0;
+		}
+
+		final List<Integer> playerOrdinals = new ArrayList<>();
+		discoveries.forEach((playerOrdinal, bitSet) ->
+		{
+			if (bitSet.get(graveyardOrdinal))
+			{
+				playerOrdinals.add(playerOrdinal);
+			}
+		});
+
+		final long epochSecond = Instant.now().getEpochSecond();
+		for (int playerOrdinal : playerOrdinals)
+		{
+			write(TOMBSTONE, graveyardOrdinal, playerOrdinal, epochSecond);
+			applyTombstone(graveyardOrdinal, playerOrdinal);
+		}
+
+		return playerOrdinals.size();
+	}
+
+
+	/**
+	 * Test if a player has discovered a graveyard
+	 *
+	 * @param graveyardUid the uid of the graveyard
+	 * @param playerUid the uid of the player
+	 * @return {@code true} if the journal holds a live discovery of the graveyard by the player
+	 */
+	public synchronized boolean contains(final UUID graveyardUid, final UUID playerUid)
+	{
+		final Integer playerOrdinal = playerOrdinals.get(playerUid);
+		final Integer graveyardOrdinal = graveyardOrdinals.get(graveyardUid);
+
+		if (playerOrdinal == null || graveyardOrdinal == null)
+		{
+			return false;
+		}
+
+		final BitSet bitSet = discoveries.get(playerOrdinal);
+		return bitSet != null && bitSet.get(graveyardOrdinal);
+	}
+
+
+	/**
+	 * Get the uids of the graveyards discovered by a player
+	 *
+	 * @param playerUid the uid of the player
+	 * @return a {@link Set} of discovered graveyard uids, which is empty if the player has no discoveries
+	 */
+	public synchronized Set<UUID> discovered(final UUID playerUid)
+	{
+		final Integer playerOrdinal = playerOrdinals.get(playerUid);
+		final BitSet bitSet = (playerOrdinal == null) ? null : discoveries.get(playerOrdinal);
+
+		if (bitSet == null)
+		{
+			return Set.of();
+		}
+
+		final Set<UUID> returnSet = new HashSet<>();
+		bitSet.stream().forEach(graveyardOrdinal -> returnSet.add(graveyards.get(graveyardOrdinal)));
+		return returnSet;
+	}
+
+
+	/**
+	 * Pass each live discovery to a visitor, with the timestamp of its most recent discovery record. The journal
+	 * is scanned backwards from its end, as for compaction, and the journal cannot be written until the scan
+	 * is complete.
+	 *
+	 * @param visitor the visitor of each live discovery
+	 * @return the number of discoveries visited
+	 */
+	public synchronized int forEach(final DiscoveryVisitor visitor)
+	{
+		int count = 0;
+
+		final Map<Integer, BitSet> visited = new HashMap<>();
+		for (int source = end - RECORD_SIZE; source >= HEADER_SIZE; source -= RECORD_SIZE)
+		{
+			if (buffer.get(source) != DISCOVERY) { continue; }
+
+			final int graveyardOrdinal = buffer.getInt(source + 4);
+			final int playerOrdinal = (int) buffer.getLong(source + 8);
+			final BitSet live = discoveries.get(playerOrdinal);
+			final BitSet done = visited.computeIfAbsent(playerOrdinal, ignored -> new BitSet());
+
+			if (live != null && live.get(graveyardOrdinal) && !done.get(graveyardOrdinal))
+			{
+				done.set(graveyardOrdinal);
+				visitor.visit(graveyards.get(graveyardOrdinal), players.get(playerOrdinal),
+						Instant.ofEpochSecond(buffer.getLong(source + 16)));
+				count++;
+			}
+		}
+
+		return count;
+	}
+
+
+	/**
+	 * A visitor of the live discoveries in a journal
+	 */
+	@FunctionalInterface
+	public interface DiscoveryVisitor
+	{
+		void visit(UUID graveyardUid, UUID playerUid, Instant timestamp);
+	}
+
+
+	/**
+	 * Get the ordinal of a player or graveyard, appending a definition record if it has none
+	 */
+	private int ordinal(final List<UUID> uids, final Map<UUID, Integer> ordinals, final byte type, final UUID uid) throws IOException
+	{
+		final Integer existing = ordinals.get(uid);
+		if (existing != null)
+		{
+			return existing;
+		}
+
+		final int ordinal = uids.size();
+		write(type, ordinal, uid.getMostSignificantBits(), uid.getLeastSignificantBits());
+		define(uids, ordinals, ordinal, uid);
+		return ordinal;
+	}
+
+
+	private void write(final byte type, final int a, final long b, final long c) throws IOException
+	{
+		if (end + RECORD_SIZE > buffer.capacity())
+		{
+			buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) buffer.capacity() * 2);
+		}
+
+		putRecord(buffer, end, type, a, b, c);
+		end += RECORD_SIZE;
+	}
+
+
+	private static void putRecord(final ByteBuffer target, final int position, final byte type, final int a, final long b, final long c)
+	{
+		target.putInt(position + 4, a);
+		target.putLong(position + 8, b);
+		target.putLong(position + 16, c);
+		target.put(position, type); // written last, so that a partial record marks the end of the journal
+	}
+
+
+	/**
+	 * Test if the journal holds enough superseded records to be worth compacting
+	 *
+	 * @return {@code true} if superseded records outnumber live discoveries, and exceed a minimum count
+	 */
+	public synchronized boolean needsCompaction()
+	{
+		final int deadCount = discoveryRecordCount - liveCount;
+		return deadCount >= COMPACTION_MINIMUM_DEAD_RECORDS && deadCount > liveCount;
+	}
+
+
+	/**
+	 * Rewrite the journal with its definitions and live discovery records only. The journal is scanned backwards,
+	 * so that the most recent record of each live discovery is kept.
+	 * <p>
+	 * The compacted journal is built from a snapshot taken under the lock, and is written to disk outside it.
+	 * Records appended meanwhile are copied after the snapshot, also outside the lock, until none remain to be
+	 * copied; the lock is then held only while the journal is rewritten in memory, and the rewritten journal is
+	 * written to disk after it is released.
+	 *
+	 * @return the number of records removed
+	 * @throws IOException if the compacted journal could not be written
+	 */
+	public int compact() throws IOException
+	{
+		synchronized (compactionLock)
+		{
+			final ByteBuffer compacted;
+			final int snapshotEnd;
+			final int snapshotRecordCount;
+			final int snapshotLiveCount;
+			synchronized (this)
+			{
+				compacted = snapshot();
+				snapshotEnd = end;
+				snapshotRecordCount = discoveryRecordCount;
+				snapshotLiveCount = liveCount;
+			}
+
+			// write the compacted journal durably before rewriting the journal in place
+			final ByteArrayOutputStream carried = new ByteArrayOutputStream();
+			int removed;
+			MappedByteBuffer rewritten;
+			try (final FileChannel tempChannel = FileChannel.open(tempPath, StandardOpenOption.CREATE,
+					StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE))
+			{
+				writeFully(tempChannel, compacted.duplicate());
+				tempChannel.force(true);
+
+				int copiedEnd = snapshotEnd;
+				while (true)
+				{
+					final ByteBuffer tail;
+					synchronized (this)
+					{
+						if (end == copiedEnd)
+						{
+							Files.move(tempPath, compactPath, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+							removed = (snapshotEnd - compacted.limit()) / RECORD_SIZE;
+							rewrite(compacted, carried.toByteArray());
+							discoveryRecordCount = snapshotLiveCount + discoveryRecordCount - snapshotRecordCount;
+							rewritten = buffer;
+							break;
+						}
+
+						tail = buffer.slice(copiedEnd, end - copiedEnd);
+						copiedEnd = end;
+					}
+
+					// records appended since the snapshot, copied from the mapped buffer outside the lock
+					final byte[] bytes = new byte[tail.remaining()];
+					tail.get(bytes);
+					carried.writeBytes(bytes);
+					writeFully(tempChannel, ByteBuffer.wrap(bytes));
+					tempChannel.force(true);
+				}
+			}
+
+			rewritten.force();
+			Files.delete(compactPath);
+			return removed;
+		}
+	}
+
+
+	/**
+	 * Build a compacted copy of the journal, holding its definitions and the most recent record of each live
+	 * discovery
+	 *
+	 * @return a buffer holding the compacted journal, with its limit at the end of the last record
+	 */
+	private ByteBuffer snapshot()
+	{
+		final int recordCount = players.size() + graveyards.size() + liveCount;
+		final ByteBuffer compacted = ByteBuffer.allocate(HEADER_SIZE + recordCount * RECORD_SIZE);
+		compacted.putInt(0, MAGIC);
+		compacted.putInt(4, FORMAT_VERSION);
+
+		int position = HEADER_SIZE;
+		for (int ordinal = 0; ordinal < players.size(); ordinal++)
+		{
+			putRecord(compacted, position, PLAYER, ordinal, players.get(ordinal).getMostSignificantBits(), players.get(ordinal).getLeastSignificantBits());
+			position += RECORD_SIZE;
+		}
+		for (int ordinal = 0; ordinal < graveyards.size(); ordinal++)
+		{
+			putRecord(compacted, position, GRAVEYARD, ordinal, graveyards.get(ordinal).getMostSignificantBits(), graveyards.get(ordinal).getLeastSignificantBits());
+			position += RECORD_SIZE;
+		}
+
+		final Map<Integer, BitSet> written = new HashMap<>();
+		for (int source = end - RECORD_SIZE; source >= HEADER_SIZE; source -= RECORD_SIZE)
+		{
+			if (buffer.get(source) != DISCOVERY) { continue; }
+
+			final int graveyardOrdinal = buffer.getInt(source + 4);
+			final int playerOrdinal = (int) buffer.getLong(source + 8);
+			final BitSet live = discoveries.get(playerOrdinal);
+			final BitSet done = written.computeIfAbsent(playerOrdinal, ignored -> new BitSet());
+
+			if (live != null && live.get(graveyardOrdinal) && !done.get(graveyardOrdinal))
+			{
+				done.set(graveyardOrdinal);
+				putRecord(compacted, position, DISCOVERY, graveyardOrdinal, playerOrdinal, buffer.getLong(source + 16));
+				position += RECORD_SIZE;
+			}
+		}
+
+		compacted.limit(position);
+		return compacted;
+	}
+
+
+	/**
+	 * Rewrite the mapped journal with a compacted journal followed by the records appended since it was built.
+	 * The compacted journal is written last, so that the journal begins with the whole compacted journal only
+	 * once the rewrite is complete.
+	 *
+	 * @param compacted the compacted journal
+	 * @param carried the records appended since the compacted journal was built
+	 */
+	private void rewrite(final ByteBuffer compacted, final byte[] carried)
+	{
+		final int previousEnd = end;
+		final int carriedStart = compacted.limit();
+		final int rewrittenEnd = carriedStart + carried.length;
+
+		for (int stale = rewrittenEnd; stale < previousEnd; stale += RECORD_SIZE)
+		{
+			buffer.put(stale, END);
+		}
+		buffer.put(carriedStart, carried);
+		buffer.put(0, compacted, 0, carriedStart);
+
+		end = rewrittenEnd;
+	}
+
+
+	private static void writeFully(final FileChannel target, final ByteBuffer source) throws IOException
+	{
+		while (source.hasRemaining())
+		{
+			target.write(source);
+		}
+	}
+
+
+	/**
+	 * Write any changes in the mapped region to the journal file. The lock is not held while the mapped region
+	 * is written, so that appends are not blocked.
+	 */
+	public void force()
+	{
+		final MappedByteBuffer target;
+		synchronized (this)
+		{
+			target = buffer;
+		}
+
+		target.force();
+	}
+
+
+	/**
+	 * Write a copy of the journal to a file, as for a backup. The records are copied under the lock, so that the
+	 * copy is consistent, and are written to the file outside it.
+	 *
+	 * @param target the path of the file to be written
+	 * @throws IOException if the file could not be written
+	 */
+	public void writeSnapshot(final Path target) throws IOException
+	{
+		final byte[] bytes;
+		synchronized (this)
+		{
+			bytes = new byte[end];
+			buffer.get(0, bytes);
+		}
+
+		try (final FileChannel targetChannel = FileChannel.open(target, StandardOpenOption.CREATE,
+				StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE))
+		{
+			writeFully(targetChannel, ByteBuffer.wrap(bytes));
+			targetChannel.force(true);
+		}
+	}
+
+
+	/**
+	 * Get the number of live discoveries in the journal
+	 *
+	 * @return the count of discoveries that have not been removed
+	 */
+	public synchronized int size()
+	{
+		return liveCount;
+	}
+
+
+	/**
+	 * Write any changes to the journal file and close it
+	 *
+	 * @throws IOException if the file could not be closed
+	 */
+	@Override
+	public synchronized void close() throws IOException
+	{
+		buffer.force();
+		channel.close();
+	}
+
+}
@@ -0,0 +1,378 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.savagegraveyards.datastore.journal;
+
+import com.winterhavenmc.library.messagebuilder.models.configuration.ConfigRepository;
+import com.winterhavenmc.savagegraveyards.datastore.DatastoreException;
+import com.winterhavenmc.savagegraveyards.datastore.DatastoreMessage;
+import com.winterhavenmc.savagegraveyards.datastore.DiscoveryCache;
+import com.winterhavenmc.savagegraveyards.datastore.DiscoveryRepository;
+import com.winterhavenmc.savagegraveyards.datastore.DiscoverySource;
+import com.winterhavenmc.savagegraveyards.datastore.RepositoryEvent;
+import com.winterhavenmc.savagegraveyards.datastore.RepositoryEventBus;
+import com.winterhavenmc.savagegraveyards.models.discovery.Discovery;
+import com.winterhavenmc.savagegraveyards.models.discovery.ValidDiscovery;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.logging.Logger;
+
+
+/**
+ * A discovery repository backed by a {@link DiscoveryJournal}. All discoveries are held in memory, so players'
+ * discoveries are loaded without a datastore query, and are also supplied to graveyard queries as a
+ * {@link DiscoverySource}. The journal is compacted on a background thread when it holds more superseded
+ * records than live ones, and is otherwise written to disk at the same interval.
+ * <p>
+ * The journal has no foreign keys, so discoveries of graveyards that do not exist are rejected before they are
+ * appended, and the repository appends tombstones for a deleted graveyard's discoveries on its background thread,
+ * when the deletion is published.
+ */
+public final class JournalDiscoveryRepository implements DiscoveryRepository, DiscoverySource, AutoCloseable
+{
+	private static final long SHUTDOWN_TIMEOUT_SECONDS = 10;
+
+	private final DiscoveryJournal journal;
+	private final DiscoveryCache discoveryCache;
+	private final Predicate<UUID> graveyardExists;
+	private final RepositoryEventBus eventBus;
+	private final ConfigRepository configRepository;
+	private final Logger logger;
+	private final ScheduledExecutorService maintenanceExecutor;
+	private final RepositoryEventBus.Subscription graveyardDeletions;
+
+
+	/**
+	 * Class constructor
+	 *
+	 * @param journal the opened discovery journal
+	 * @param discoveryCache the cache of online players' discoveries
+	 * @param graveyardExists a test of whether a graveyard uid belongs to an existing graveyard
+	 * @param eventBus the event bus on which discovery changes are published
+	 * @param compactInterval the interval at which the journal is checked for compaction
+	 * @param configRepository the config repository, used for log message localization
+	 * @param logger the plugin logger
+	 */
+	public JournalDiscoveryRepository(final DiscoveryJournal journal,
+	                                  final DiscoveryCache discoveryCache,
+	                                  final Predicate<UUID> graveyardExists,
+	                                  final RepositoryEventBus eventBus,
+	                                  final Duration compactInterval,
+	                                  final ConfigRepository configRepository,
+	                                  final Logger logger)
+	{
+		this.journal = journal;
+		this.discoveryCache = discoveryCache;
+		this.graveyardExists = graveyardExists;
+		this.eventBus = eventBus;
+		this.configRepository = configRepository;
+		this.logger = logger;
+
+		this.maintenanceExecutor = Executors.newSingleThreadScheduledExecutor(runnable ->
+		{
+			final Thread thread = new Thread(runnable, "SavageGraveyards-Journal");
+			thread.setDaemon(true);
+			return thread;
+		});
+
+		final long intervalMillis = Math.max(1000, compactInterval.toMillis());
+		maintenanceExecutor.scheduleWithFixedDelay(this::maintain, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+
+		this.graveyardDeletions = eventBus.subscribe(RepositoryEvent.GraveyardDeleted.class,
+				event -> removeGraveyard(event.graveyard().uid()), maintenanceExecutor);
+	}
+
+
+	/**
+	 * Append a discovery to the journal
+	 *
+	 * @param discovery the discovery to be saved
+	 * @return true if the discovery was appended, false if it already existed or its graveyard does not exist
+	 * @throws DatastoreException if the discovery could not be written
+	 */
+	@Override
+	public boolean save(final ValidDiscovery discovery)
+	{
+		if (!isOfExistingGraveyard(discovery)) return false;
+
+		final Instant timestamp = (discovery.getTimestamp() != null) ? discovery.getTimestamp() : Instant.now();
+
+		try
+		{
+			if (journal.append(discovery.graveyardUid(), discovery.playerUid(), timestamp))
+			{
+				discoveryCache.add(discovery.playerUid(), discovery.graveyardUid());
+				eventBus.publish(new RepositoryEvent.DiscoveryAdded(discovery));
+				return true;
+			}
+		}
+		catch (IOException ioException)
+		{
+			logger.warning(DatastoreMessage.JOURNAL_WRITE_ERROR.getLocalizedMessage(configRepository.locale()));
+			logger.warning(ioException.getLocalizedMessage());
+			throw new DatastoreException(ioException);
+		}
+
+		return false;
+	}
+
+
+	/**
+	 * Append a collection of discoveries to the journal, and write the journal to disk once they are appended.
+	 * The journal has no transactions, so discoveries appended before a write error are kept. Discoveries of
+	 * graveyards that do not exist are skipped.
+	 *
+	 * @param discoveries the discoveries to be saved
+	 * @return the number of discoveries appended
+	 * @throws DatastoreException if a discovery could not be written
+	 */
+	@Override
+	public int saveAll(final Collection<ValidDiscovery> discoveries)
+	{
+		if (discoveries == null || discoveries.isEmpty()) return 0;
+
+		int count = 0;
+
+		try
+		{
+			for (ValidDiscovery discovery : discoveries)
+			{
+				if (!isOfExistingGraveyard(discovery)) continue;
+
+				final Instant timestamp = (discovery.getTimestamp() != null) ? discovery.getTimestamp() : Instant.now();
+				if (journal.append(discovery.graveyardUid(), discovery.playerUid(), timestamp))
+				{
+					discoveryCache.add(discovery.playerUid(), discovery.graveyardUid());
+					eventBus.publish(new RepositoryEvent.DiscoveryAdded(discovery));
+					count++;
+				}
+			}
+		}
+		catch (IOException ioException)
+		{
+			logger.warning(DatastoreMessage.JOURNAL_WRITE_ERROR.getLocalizedMessage(configRepository.locale()));
+			logger.warning(ioException.getLocalizedMessage());
+			throw new DatastoreException(ioException);
+		}
+		finally
+		{
+			journal.force();
+		}
+
+		return count;
+	}
+
+
+	/**
+	 * Append a tombstone for a discovery to the journal
+	 *
+	 * @param graveyardUid the graveyardUid of the discovery record to be deleted
+	 * @param playerUid the playerUid of the discovery record to be deleted
+	 * @return true if the discovery was removed, false if it did not exist
+	 * @throws DatastoreException if the tombstone could not be written
+	 */
+	@Override
+	public boolean delete(final UUID graveyardUid, final UUID playerUid)
+	{
+		if (graveyardUid == null) return false;
+		if (playerUid == null) return false;
+
+		try
+		{
+			if (journal.remove(graveyardUid, playerUid))
+			{
+				discoveryCache.remove(playerUid, graveyardUid);
+				eventBus.publish(new RepositoryEvent.DiscoveryRemoved(graveyardUid, playerUid));
+				return true;
+			}
+		}
+		catch (IOException ioException)
+		{
+			logger.warning(DatastoreMessage.JOURNAL_WRITE_ERROR.getLocalizedMessage(configRepository.locale()));
+			logger.warning(ioException.getLocalizedMessage());
+			throw new DatastoreException(ioException);
+		}
+
+		return false;
+	}
+
+
+	/**
+	 * Pass each live discovery in the journal to a consumer
+	 *
+	 * @param consumer the consumer of each discovery record
+	 * @return the number of discovery records passed to the consumer
+	 */
+	@Override
+	public long forEach(final Consumer<? super ValidDiscovery> consumer)
+	{
+		return journal.forEach((graveyardUid, playerUid, timestamp) ->
+		{
+			if (Discovery.of(graveyardUid, playerUid, timestamp) instanceof ValidDiscovery validDiscovery)
+			{
+				consumer.accept(validDiscovery);
+			}
+		});
+	}
+
+
+	/**
+	 * Place a player's discovered graveyard uids from the journal index in the discovery cache
+	 *
+	 * @param playerUid the uid of the player to load
+	 */
+	@Override
+	public void loadPlayer(final UUID playerUid)
+	{
+		if (playerUid == null) return;
+
+		discoveryCache.beginLoad(playerUid);
+		discoveryCache.completeLoad(playerUid, journal.discovered(playerUid));
+	}
+
+
+	@Override
+	public void unloadPlayer(final UUID playerUid)
+	{
+		if (playerUid == null) return;
+
+		discoveryCache.evict(playerUid);
+	}
+
+
+	@Override
+	public Optional<Set<UUID>> discoveredGraveyards(final UUID playerUid)
+	{
+		return Optional.of(journal.discovered(playerUid));
+	}
+
+
+	/**
+	 * Test if a discovery's graveyard exists, logging a warning if it does not
+	 *
+	 * @param discovery the discovery to be tested
+	 * @return true if the graveyard of the discovery exists
+	 */
+	private boolean isOfExistingGraveyard(final ValidDiscovery discovery)
+	{
+		if (graveyardExists.test(discovery.graveyardUid())) return true;
+
+		logger.warning(DatastoreMessage.JOURNAL_UNKNOWN_GRAVEYARD_ERROR.getLocalizedMessage(configRepository.locale(),
+				discovery.graveyardUid()));
+		return false;
+	}
+
+
+	/**
+	 * Write a consistent copy of the journal to a file, for a backup of the datastore
+	 *
+	 * @param target the path of the file to be written
+	 * @throws IOException if the file could not be written
+	 */
+	public void writeSnapshot(final Path target) throws IOException
+	{
+		journal.writeSnapshot(target);
+	}
+
+
+	/**
+	 * Append tombstones for all discoveries of a deleted graveyard
+	 *
+	 * @param graveyardUid the uid of the deleted graveyard
+	 */
+	private void removeGraveyard(final UUID graveyardUid)
+	{
+		try
+		{
+			journal.removeGraveyard(graveyardUid);
+		}
+		catch (IOException ioException)
+		{
+			logger.warning(DatastoreMessage.JOURNAL_WRITE_ERROR.getLocalizedMessage(configRepository.locale()));
+			logger.warning(ioException.getLocalizedMessage());
+		}
+	}
+
+
+	/**
+	 * Compact the journal if enough records have been superseded, otherwise write changes to disk
+	 */
+	private void maintain()
+	{
+		try
+		{
+			if (journal.needsCompaction())
+			{
+				final int removed = journal.compact();
+				logger.info(DatastoreMessage.JOURNAL_COMPACTED_NOTICE.getLocalizedMessage(configRepository.locale(), removed));
+			}
+			else
+			{
+				journal.force();
+			}
+		}
+		catch (IOException ioException)
+		{
+			logger.warning(DatastoreMessage.JOURNAL_COMPACT_ERROR.getLocalizedMessage(configRepository.locale()));
+			logger.warning(ioException.getLocalizedMessage());
+		}
+	}
+
+
+	/**
+	 * Stop background maintenance, and write and close the journal
+	 */
+	@Override
+	public void close()
+	{
+		// deletions already handed to the executor are still written before it terminates
+		graveyardDeletions.close();
+		maintenanceExecutor.shutdown();
+
+		try
+		{
+			maintenanceExecutor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+		}
+		catch (InterruptedException interruptedException)
+		{
+			Thread.currentThread().interrupt();
+		}
+
+		try
+		{
+			journal.close();
+		}
+		catch (IOException ioException)
+		{
+			logger.warning(DatastoreMessage.JOURNAL_CLOSE_ERROR.getLocalizedMessage(configRepository.locale()));
+			logger.warning(ioException.getLocalizedMessage());
+		}
+	}
+
+}
@@ -0,0 +1,443 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.savagegraveyards.datastore.mysql;
+
+import com.winterhavenmc.library.messagebuilder.models.configuration.ConfigRepository;
+import com.winterhavenmc.savagegraveyards.datastore.DatastoreMessage;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+import static com.winterhavenmc.savagegraveyards.datastore.DatastoreMessage.MYSQL_DATASTORE_NAME;
+
+
+/**
+ * A log of graveyard and discovery changes, shared by all servers that use the same MySQL datastore.
+ * <p>
+ * The repositories append a change in the same transaction as each insert, update or delete. Each server polls
+ * the log on a background thread, and applies changes made by other servers to its graveyard catalog and
+ * discovery cache. A change names the graveyard, and for discoveries the player, that changed; applying it
+ * re-reads the current record from the datastore, so a change may be applied more than once, or out of order,
+ * without harm.
+ * <p>
+ * Sequence numbers are assigned when a change is inserted, but changes become visible when their transaction
+ * commits, so a change with a lower sequence number may appear after a higher one. A gap in the sequence is
+ * therefore held open, and the changes after it are applied again at each poll, until the gap is filled or
+ * {@link #GAP_TIMEOUT} has passed. A server that falls more than the resync threshold behind, or whose next
+ * change has already been removed from the log, reloads all graveyard records and cached discoveries instead.
+ */
+public final class MysqlChangeLog implements AutoCloseable
+{
+	static final Duration GAP_TIMEOUT = Duration.ofSeconds(5);
+	private static final Duration PRUNE_INTERVAL = Duration.ofMinutes(1);
+	private static final long SHUTDOWN_TIMEOUT_SECONDS = 5;
+
+	/**
+	 * The kind of record that changed
+	 */
+	public enum Kind
+	{
+		GRAVEYARD(1),
+		DISCOVERY(2);
+
+		private final int code;
+
+		Kind(final int code)
+		{
+			this.code = code;
+		}
+
+		static Kind of(final int code)
+		{
+			return (code == DISCOVERY.code) ? DISCOVERY : GRAVEYARD;
+		}
+	}
+
+
+	private record Change(long seq, UUID nodeUid, Kind kind, UUID graveyardUid, UUID playerUid, long created) { }
+
+
+	private final DataSource dataSource;
+	private final MysqlSettings.ChangeLogSettings settings;
+	private final ConfigRepository configRepository;
+	private final Logger logger;
+	private final UUID nodeUid = UUID.randomUUID();
+
+	private MysqlGraveyardRepository graveyardRepository;
+	private MysqlDiscoveryRepository discoveryRepository;
+	private ScheduledExecutorService pollExecutor;
+
+	// poll state, accessed only by the poll thread once started
+	private long watermark;
+	private long gapSince;
+	private long lastPrune;
+
+	// statistics, read by other threads
+	private final AtomicLong lagEntries = new AtomicLong();
+	private final AtomicLong lagMillis = new AtomicLong();
+	private final AtomicLong appliedCount = new AtomicLong();
+	private final AtomicLong resyncCount = new AtomicLong();
+
+
+	public MysqlChangeLog(final DataSource dataSource,
+	                      final MysqlSettings.ChangeLogSettings settings,
+	                      final ConfigRepository configRepository,
+	                      final Logger logger)
+	{
+		this.dataSource = dataSource;
+		this.settings = settings;
+		this.configRepository = configRepository;
+		this.logger = logger;
+	}
+
+
+	/**
+	 * Test if changes are recorded in the log
+	 *
+	 * @return true if the change log is enabled, false if not
+	 */
+	public boolean isEnabled()
+	{
+		return settings.enabled();
+	}
+
+
+	/**
+	 * Record the position of the end of the log. Called before records are first loaded, so that changes made
+	 * while they are loading are applied by the first poll.
+	 *
+	 * @param connection a connection to the datastore
+	 * @throws SQLException if the log could not be read
+	 */
+	public void initialize(final Connection connection) throws SQLException
+	{
+		if (!isEnabled()) return;
+
+		watermark = selectBounds(connection)[1];
+	}
+
+
+	/**
+	 * Append a change to the log, if the log is enabled. The change is written using the caller's connection,
+	 * so that it is committed or rolled back with the change it records.
+	 *
+	 * @param connection the connection on which the change was made
+	 * @param kind the kind of record that changed
+	 * @param graveyardUid the uid of the graveyard that changed, or that was discovered
+	 * @param playerUid the uid of the discovering player, or null for a graveyard change
+	 * @throws SQLException if the change could not be appended
+	 */
+	public void append(final Connection connection,
+	                   final Kind kind,
+	                   final UUID graveyardUid,
+	                   final UUID playerUid) throws SQLException
+	{
+		if (!isEnabled()) return;
+
+		try (final PreparedStatement statement = connection.prepareStatement(MysqlQueries.getQuery("InsertChange")))
+		{
+			statement.setLong(1, nodeUid.getMostSignificantBits());
+			statement.setLong(2, nodeUid.getLeastSignificantBits());
+			statement.setInt(3, kind.code);
+			statement.setLong(4, graveyardUid.getMostSignificantBits());
+			statement.setLong(5, graveyardUid.getLeastSignificantBits());
+			if (playerUid != null)
+			{
+				statement.setLong(6, playerUid.getMostSignificantBits());
+				statement.setLong(7, playerUid.getLeastSignificantBits());
+			}
+			else
+			{
+				statement.setNull(6, Types.BIGINT);
+				statement.setNull(7, Types.BIGINT);
+			}
+			statement.setLong(8, System.currentTimeMillis());
+			statement.executeUpdate();
+		}
+	}
+
+
+	/**
+	 * Start polling the log, if the log is enabled
+	 *
+	 * @param graveyardRepository the repository whose catalog is kept current
+	 * @param discoveryRepository the repository whose discovery cache is kept current
+	 */
+	public void start(final MysqlGraveyardRepository graveyardRepository,
+	                  final MysqlDiscoveryRepository discoveryRepository)
+	{
+		this.graveyardRepository = graveyardRepository;
+		this.discoveryRepository = discoveryRepository;
+
+		if (!isEnabled()) return;
+
+		pollExecutor = Executors.newSingleThreadScheduledExecutor(runnable ->
+		{
+			final Thread thread = new Thread(runnable, "SavageGraveyards-ChangeLog");
+			thread.setDaemon(true);
+			return thread;
+		});
+
+		pollExecutor.scheduleWithFixedDelay(this::pollSafely, settings.pollInterval(), settings.pollInterval(), TimeUnit.MILLISECONDS);
+	}
+
+
+	/**
+	 * Poll the log, logging any error, so that a failed poll does not cancel later polls
+	 */
+	private void pollSafely()
+	{
+		try
+		{
+			poll();
+		}
+		catch (SQLException | RuntimeException exception)
+		{
+			logger.warning(DatastoreMessage.CHANGE_LOG_POLL_ERROR.getLocalizedMessage(configRepository.locale(), MYSQL_DATASTORE_NAME));
+			logger.warning(exception.getLocalizedMessage());
+		}
+	}
+
+
+	/**
+	 * Apply changes made by other servers since the last poll, or reload all records if this server is too far behind
+	 *
+	 * @throws SQLException if the log could not be read
+	 */
+	void poll() throws SQLException
+	{
+		final long now = System.currentTimeMillis();
+		final List<Change> changes;
+
+		try (final Connection connection = dataSource.getConnection())
+		{
+			final long[] bounds = selectBounds(connection);
+			final long minSeq = bounds[0];
+			final long maxSeq = bounds[1];
+
+			lagEntries.set(Math.max(0L, maxSeq - watermark));
+
+			// the next change was removed from the log, the sequence was reset, or there are too many changes
+			// to apply one at a time
+			if ((minSeq > watermark + 1 && maxSeq > watermark)
+					|| (maxSeq > 0 && maxSeq < watermark)
+					|| maxSeq - watermark > settings.resyncThreshold())
+			{
+				resync(maxSeq);
+				return;
+			}
+
+			changes = selectChangesAfter(connection, watermark);
+
+			if (now - lastPrune >= PRUNE_INTERVAL.toMillis())
+			{
+				prune(connection, now);
+				lastPrune = now;
+			}
+		}
+
+		long expected = watermark + 1;
+		boolean contiguous = true;
+		long highest = watermark;
+
+		for (Change change : changes)
+		{
+			if (change.seq() != expected)
+			{
+				contiguous = false;
+			}
+
+			if (!change.nodeUid().equals(nodeUid))
+			{
+				apply(change);
+				lagMillis.set(Math.max(0L, System.currentTimeMillis() - change.created()));
+			}
+
+			if (contiguous)
+			{
+				watermark = change.seq();
+				expected = change.seq() + 1;
+			}
+			highest = change.seq();
+		}
+
+		if (contiguous)
+		{
+			gapSince = 0;
+		}
+		else if (gapSince == 0)
+		{
+			gapSince = now;
+		}
+		else if (now - gapSince >= GAP_TIMEOUT.toMillis())
+		{
+			// the missing changes were rolled back, or are no longer expected
+			watermark = highest;
+			gapSince = 0;
+		}
+	}
+
+
+	/**
+	 * Apply a change made by another server to the local caches
+	 *
+	 * @param change the change to apply
+	 */
+	private void apply(final Change change)
+	{
+		switch (change.kind())
+		{
+			case GRAVEYARD -> graveyardRepository.refresh(change.graveyardUid());
+			case DISCOVERY -> discoveryRepository.refresh(change.graveyardUid(), change.playerUid());
+		}
+		appliedCount.incrementAndGet();
+	}
+
+
+	/**
+	 * Reload all graveyard records and cached discoveries, and continue from the current end of the log
+	 *
+	 * @param maxSeq the sequence number of the last change in the log
+	 */
+	private void resync(final long maxSeq)
+	{
+		logger.info(DatastoreMessage.CHANGE_LOG_RESYNC_NOTICE
+				.getLocalizedMessage(configRepository.locale(), Math.abs(maxSeq - watermark), MYSQL_DATASTORE_NAME));
+
+		graveyardRepository.loadCatalog();
+		discoveryRepository.reloadCachedPlayers();
+		watermark = maxSeq;
+		gapSince = 0;
+		lagEntries.set(0L);
+		resyncCount.incrementAndGet();
+	}
+
+
+	private long[] selectBounds(final Connection connection) throws SQLException
+	{
+		try (final PreparedStatement statement = connection.prepareStatement(MysqlQueries.getQuery("SelectChangeLogBounds"));
+		     final ResultSet resultSet = statement.executeQuery())
+		{
+			return (resultSet.next())
+					? new long[] { resultSet.getLong("MinSeq"), resultSet.getLong("MaxSeq") }
+					: new long[] { 0L, 0L };
+		}
+	}
+
+
+	private List<Change> selectChangesAfter(final Connection connection, final long seq) throws SQLException
+	{
+		final List<Change> returnList = new ArrayList<>();
+
+		try (final PreparedStatement statement = connection.prepareStatement(MysqlQueries.getQuery("SelectChangesAfter")))
+		{
+			statement.setLong(1, seq);
+			statement.setInt(2, settings.batchSize());
+
+			try (final ResultSet resultSet = statement.executeQuery())
+			{
+				while (resultSet.next())
+				{
+					final long playerUidMsb = resultSet.getLong("PlayerUidMsb");
+					final UUID playerUid = (resultSet.wasNull())
+							? null
+							: new UUID(playerUidMsb, resultSet.getLong("PlayerUidLsb"));
+
+					returnList.add(new Change(
+							resultSet.getLong("Seq"),
+							new UUID(resultSet.getLong("NodeUidMsb"), resultSet.getLong("NodeUidLsb")),
+							Kind.of(resultSet.getInt("Kind")),
+							new UUID(resultSet.getLong("GraveyardUidMsb"), resultSet.getLong("GraveyardUidLsb")),
+							playerUid,
+							resultSet.getLong("Created")));
+				}
+			}
+		}
+
+		return returnList;
+	}
+
+
+	private void prune(final Connection connection, final long now) throws SQLException
+	{
+		try (final PreparedStatement statement = connection.prepareStatement(MysqlQueries.getQuery("DeleteChangesBefore")))
+		{
+			statement.setLong(1, now - Duration.ofMinutes(settings.retention()).toMillis());
+			statement.executeUpdate();
+		}
+	}
+
+
+	/**
+	 * Get change log statistics, for display
+	 *
+	 * @return an ordered map of statistic names to their current values
+	 */
+	public Map<String, String> statistics()
+	{
+		final Map<String, String> returnMap = new LinkedHashMap<>();
+
+		if (isEnabled())
+		{
+			returnMap.put("change_log_node", nodeUid.toString());
+			returnMap.put("change_log_lag_entries", String.valueOf(lagEntries.get()));
+			returnMap.put("change_log_lag_ms", String.valueOf(lagMillis.get()));
+			returnMap.put("change_log_applied", String.valueOf(appliedCount.get()));
+			returnMap.put("change_log_resyncs", String.valueOf(resyncCount.get()));
+		}
+
+		return returnMap;
+	}
+
+
+	/**
+	 * Stop polling the log
+	 */
+	@Override
+	public void close()
+	{
+		if (pollExecutor == null) return;
+
+		pollExecutor.shutdown();
+
+		try
+		{
+			pollExecutor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+		}
+		catch (InterruptedException interruptedException)
+		{
+			Thread.currentThread().interrupt();
+		}
+	}
+
+}
@@ -0,0 +1,374 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.savagegraveyards.datastore.mysql;
+
+import com.winterhavenmc.library.messagebuilder.adapters.resources.configuration.BukkitConfigRepository;
+import com.winterhavenmc.library.messagebuilder.models.configuration.ConfigRepository;
+
+import com.winterhavenmc.savagegraveyards.datastore.AsyncDiscoveryRepository;
+import com.winterhavenmc.savagegraveyards.datastore.AsyncGraveyardRepository;
+import com.winterhavenmc.savagegraveyards.datastore.ConnectionProvider;
+import com.winterhavenmc.savagegraveyards.datastore.DatastoreBackup;
+import com.winterhavenmc.savagegraveyards.datastore.DatastoreEventBus;
+import com.winterhavenmc.savagegraveyards.datastore.DatastoreExecutor;
+import com.winterhavenmc.savagegraveyards.datastore.DatastoreMessage;
+import com.winterhavenmc.savagegraveyards.datastore.DiscoveryCache;
+import com.winterhavenmc.savagegraveyards.datastore.DiscoveryRepository;
+import com.winterhavenmc.savagegraveyards.datastore.ExecutorDiscoveryRepository;
+import com.winterhavenmc.savagegraveyards.datastore.ExecutorGraveyardRepository;
+import com.winterhavenmc.savagegraveyards.datastore.GraveyardCatalog;
+import com.winterhavenmc.savagegraveyards.datastore.GraveyardRepository;
+import com.winterhavenmc.savagegraveyards.datastore.MainThreadWatchdog;
+import com.winterhavenmc.savagegraveyards.datastore.QueryMetrics;
+import com.winterhavenmc.savagegraveyards.datastore.QueryObserver;
+import com.winterhavenmc.savagegraveyards.datastore.QueryStatistics;
+import com.winterhavenmc.savagegraveyards.datastore.RepositoryEventBus;
+import com.winterhavenmc.savagegraveyards.datastore.TimedDiscoveryRepository;
+import com.winterhavenmc.savagegraveyards.datastore.TimedGraveyardRepository;
+import com.winterhavenmc.savagegraveyards.datastore.sqlite.schema.Version4;
+
+import com.winterhavenmc.savagegraveyards.models.Config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+import org.bukkit.plugin.Plugin;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+
+import static com.winterhavenmc.savagegraveyards.datastore.DatastoreMessage.MYSQL_DATASTORE_NAME;
+
+
+/**
+ * A connection provider for a MySQL or MariaDB server, with connections pooled by HikariCP. Graveyard records are
+ * held in the in-memory catalog and player discoveries in the discovery cache, as with the SQLite datastore.
+ */
+public final class MysqlConnectionProvider implements ConnectionProvider
+{
+	public static final String DATASTORE_TYPE = "mysql";
+	private static final String POOL_NAME = "SavageGraveyards-MySQL";
+
+	private final Plugin plugin;
+	private final ConfigRepository configRepository;
+	private MysqlSettings settings;
+	private HikariDataSource dataSource;
+	private boolean initialized;
+
+	private final GraveyardCatalog graveyardCatalog = new GraveyardCatalog();
+	private final DiscoveryCache discoveryCache;
+	private final RepositoryEventBus eventBus;
+	private MysqlGraveyardRepository graveyardRepository;
+	private MysqlDiscoveryRepository discoveryRepository;
+	private MysqlChangeLog changeLog;
+	private DatastoreExecutor datastoreExecutor;
+	private QueryMetrics queryMetrics;
+	private MainThreadWatchdog watchdog;
+	private GraveyardRepository timedGraveyardRepository;
+	private DiscoveryRepository timedDiscoveryRepository;
+	private AsyncGraveyardRepository asyncGraveyardRepository;
+	private AsyncDiscoveryRepository asyncDiscoveryRepository;
+
+
+	private MysqlConnectionProvider(final Plugin plugin)
+	{
+		this.plugin = plugin;
+		this.configRepository = BukkitConfigRepository.create(plugin);
+		this.discoveryCache = new DiscoveryCache(graveyardCatalog, Config.DISCOVERY_CACHE_SIZE.getInt(plugin.getConfig()));
+		this.eventBus = new DatastoreEventBus(configRepository, plugin.getLogger());
+	}
+
+
+	public static ConnectionProvider create(final Plugin plugin)
+	{
+		ConnectionProvider connectionProvider = new MysqlConnectionProvider(plugin);
+		return connectionProvider.connect();
+	}
+
+
+	/**
+	 * Initialize datastore
+	 */
+	@Override
+	public ConnectionProvider connect()
+	{
+		// initialize data store
+		try
+		{
+			this.initialize();
+		}
+		catch (Exception exception)
+		{
+			plugin.getLogger().severe("Could not initialize the datastore!");
+			plugin.getLogger().severe(exception.getLocalizedMessage());
+		}
+
+		// return initialized data store
+		return this;
+	}
+
+
+	/**
+	 * Close the connection pool
+	 */
+	@Override
+	public void close()
+	{
+		// stop reading changes made by other servers
+		if (changeLog != null)
+		{
+			changeLog.close();
+		}
+
+		// complete any asynchronous operations in progress
+		if (datastoreExecutor != null)
+		{
+			datastoreExecutor.close();
+		}
+
+		if (dataSource != null)
+		{
+			dataSource.close();
+			plugin.getLogger().info(DatastoreMessage.DATASTORE_CLOSED_NOTICE.getLocalizedMessage(configRepository.locale(), MYSQL_DATASTORE_NAME));
+		}
+
+		this.initialized = false;
+	}
+
+
+	/**
+	 * Get instance of GraveyardRepository
+	 *
+	 * @return {@link GraveyardRepository}
+	 */
+	@Override
+	public GraveyardRepository graveyards()
+	{
+		return this.timedGraveyardRepository;
+	}
+
+
+	/**
+	 * Get instance of DiscoveryRepository
+	 *
+	 * @return {@link DiscoveryRepository}
+	 */
+	@Override
+	public DiscoveryRepository discoveries()
+	{
+		return this.timedDiscoveryRepository;
+	}
+
+
+	/**
+	 * Get instance of AsyncGraveyardRepository
+	 *
+	 * @return {@link AsyncGraveyardRepository}
+	 */
+	@Override
+	public AsyncGraveyardRepository asyncGraveyards()
+	{
+		return this.asyncGraveyardRepository;
+	}
+
+
+	/**
+	 * Get instance of AsyncDiscoveryRepository
+	 *
+	 * @return {@link AsyncDiscoveryRepository}
+	 */
+	@Override
+	public AsyncDiscoveryRepository asyncDiscoveries()
+	{
+		return this.asyncDiscoveryRepository;
+	}
+
+
+	/**
+	 * Get the bus on which graveyard and discovery changes are published
+	 *
+	 * @return {@link RepositoryEventBus}
+	 */
+	@Override
+	public RepositoryEventBus events()
+	{
+		return this.eventBus;
+	}
+
+
+	/**
+	 * Get the MySQL connection settings, followed by connection pool, change log and discovery cache statistics
+	 *
+	 * @return an ordered map of setting names to their current values
+	 */
+	@Override
+	public Map<String, String> settings()
+	{
+		if (!initialized)
+		{
+			return Map.of();
+		}
+
+		final Map<String, String> returnMap = settings.read();
+		final HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+		if (pool != null)
+		{
+			returnMap.put("pool_active", String.valueOf(pool.getActiveConnections()));
+			returnMap.put("pool_idle", String.valueOf(pool.getIdleConnections()));
+			returnMap.put("pool_waiting", String.valueOf(pool.getThreadsAwaitingConnection()));
+		}
+		returnMap.putAll(changeLog.statistics());
+		returnMap.putAll(discoveryCache.statistics());
+		return returnMap;
+	}
+
+
+	/**
+	 * Get the latency statistics of each repository operation performed since the datastore was opened
+	 *
+	 * @return a list of statistics, ordered by operation name
+	 */
+	@Override
+	public List<QueryStatistics> queryStatistics()
+	{
+		return (queryMetrics != null) ? queryMetrics.statistics() : List.of();
+	}
+
+
+	/**
+	 * Get the time the server thread was blocked by datastore operations in the last minute
+	 *
+	 * @return the blocked time in milliseconds, or an empty {@link OptionalLong} if the watchdog is not enabled
+	 */
+	@Override
+	public OptionalLong mainThreadBlockedMillis()
+	{
+		return (watchdog != null) ? OptionalLong.of(watchdog.blockedMillisLastMinute()) : OptionalLong.empty();
+	}
+
+
+	/**
+	 * Backups of a MySQL datastore are made with the server's own tools, and are not supported by the plugin
+	 *
+	 * @return an empty {@link Optional}
+	 */
+	@Override
+	public Optional<DatastoreBackup> backups()
+	{
+		return Optional.empty();
+	}
+
+
+	/**
+	 * The MySQL datastore has no settings that are applied when the plugin configuration is reloaded
+	 */
+	@Override
+	public void reload()
+	{
+	}
+
+
+	/**
+	 * Initialize datastore
+	 */
+	private void initialize() throws SQLException
+	{
+		// if data store is already initialized, log and return
+		if (this.initialized)
+		{
+			plugin.getLogger().info(DatastoreMessage.DATASTORE_INITIALIZED_ERROR.getLocalizedMessage(configRepository.locale(), MYSQL_DATASTORE_NAME));
+			return;
+		}
+
+		// open connection pool; the pool fails fast if the server cannot be reached
+		settings = MysqlSettings.of(plugin.getConfig().getConfigurationSection(MysqlSettings.CONFIG_SECTION));
+		dataSource = new HikariDataSource(hikariConfig(settings));
+
+		changeLog = new MysqlChangeLog(dataSource, settings.changeLog(), configRepository, plugin.getLogger());
+
+		// create tables and record schema version; changes are read from the end of the change log, since the
+		// catalog is loaded after this point
+		try (final Connection connection = dataSource.getConnection())
+		{
+			new MysqlSchemaUpdater(configRepository, plugin.getLogger()).update(connection);
+			changeLog.initialize(connection);
+		}
+
+		// instantiate repositories; graveyard rows have the same columns as the current SQLite schema
+		discoveryRepository = new MysqlDiscoveryRepository(dataSource, configRepository, discoveryCache, changeLog, eventBus, plugin.getLogger());
+		graveyardRepository = new MysqlGraveyardRepository(dataSource, configRepository, new Version4.GraveyardRowMapper(),
+				graveyardCatalog, discoveryCache, changeLog, eventBus, plugin.getLogger());
+
+		// load all graveyard records into in-memory catalog
+		graveyardRepository.loadCatalog();
+
+		// apply changes made by other servers sharing the datastore
+		changeLog.start(graveyardRepository, discoveryRepository);
+
+		// record the latency of repository operations, and watch for operations on the server thread if enabled
+		if (Config.MAIN_THREAD_WATCHDOG.getBoolean(plugin.getConfig()))
+		{
+			watchdog = new MainThreadWatchdog(MYSQL_DATASTORE_NAME, Duration.ofMillis(Config.MAIN_THREAD_BUDGET.getLong(plugin.getConfig())),
+					plugin.getServer()::isPrimaryThread, System::currentTimeMillis, configRepository, plugin.getLogger());
+		}
+		queryMetrics = new QueryMetrics(MYSQL_DATASTORE_NAME, Duration.ofMillis(Config.SLOW_QUERY_THRESHOLD.getLong(plugin.getConfig())),
+				(watchdog != null) ? watchdog : QueryObserver.NONE, configRepository, plugin.getLogger());
+		timedGraveyardRepository = new TimedGraveyardRepository(graveyardRepository, queryMetrics);
+		timedDiscoveryRepository = new TimedDiscoveryRepository(discoveryRepository, queryMetrics);
+
+		// instantiate asynchronous repositories, backed by datastore threads
+		datastoreExecutor = new DatastoreExecutor(configRepository, plugin.getLogger(), Config.DATASTORE_THREADS.getInt(plugin.getConfig()));
+		asyncGraveyardRepository = new ExecutorGraveyardRepository(timedGraveyardRepository, datastoreExecutor);
+		asyncDiscoveryRepository = new ExecutorDiscoveryRepository(timedDiscoveryRepository, datastoreExecutor);
+
+		// set initialized field true
+		this.initialized = true;
+
+		// log success
+		plugin.getLogger().info(DatastoreMessage.DATASTORE_INITIALIZED_NOTICE.getLocalizedMessage(configRepository.locale(), MYSQL_DATASTORE_NAME));
+	}
+
+
+	/**
+	 * Create the connection pool configuration for the settings
+	 *
+	 * @param settings the MySQL connection settings
+	 * @return the pool configuration
+	 */
+	private static HikariConfig hikariConfig(final MysqlSettings settings)
+	{
+		final HikariConfig hikariConfig = new HikariConfig();
+		hikariConfig.setPoolName(POOL_NAME);
+		hikariConfig.setDriverClassName("org.mariadb.jdbc.Driver");
+		hikariConfig.setJdbcUrl(settings.jdbcUrl());
+		hikariConfig.setUsername(settings.username());
+		hikariConfig.setPassword(settings.password());
+		hikariConfig.setMaximumPoolSize(settings.poolSize());
+		hikariConfig.setMinimumIdle(1);
+		hikariConfig.setConnectionTimeout(settings.connectionTimeout());
+		settings.properties().forEach(hikariConfig::addDataSourceProperty);
+		return hikariConfig;
+	}
+
+}
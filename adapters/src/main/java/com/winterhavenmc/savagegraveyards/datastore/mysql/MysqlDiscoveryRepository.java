@@ -0,0 +1,379 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.savagegraveyards.datastore.mysql;
+
+import com.winterhavenmc.library.messagebuilder.models.configuration.ConfigRepository;
+
+import com.winterhavenmc.savagegraveyards.datastore.DatastoreException;
+import com.winterhavenmc.savagegraveyards.datastore.DatastoreMessage;
+import com.winterhavenmc.savagegraveyards.datastore.DiscoveryCache;
+import com.winterhavenmc.savagegraveyards.datastore.DiscoveryRepository;
+import com.winterhavenmc.savagegraveyards.datastore.RepositoryEvent;
+import com.winterhavenmc.savagegraveyards.datastore.RepositoryEventBus;
+import com.winterhavenmc.savagegraveyards.datastore.sqlite.SqliteDiscoveryQueryExecutor;
+import com.winterhavenmc.savagegraveyards.datastore.sqlite.schema.RowMapper;
+import com.winterhavenmc.savagegraveyards.datastore.sqlite.schema.Version4;
+import com.winterhavenmc.savagegraveyards.models.discovery.Discovery;
+import com.winterhavenmc.savagegraveyards.models.discovery.ValidDiscovery;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+
+import static com.winterhavenmc.savagegraveyards.datastore.DatastoreMessage.MYSQL_DATASTORE_NAME;
+
+
+public final class MysqlDiscoveryRepository implements DiscoveryRepository
+{
+	// rows are fetched from the server in blocks of this size when all records are read
+	private static final int CURSOR_FETCH_SIZE = 1000;
+
+	private final DataSource dataSource;
+	private final ConfigRepository configRepository;
+	private final Logger logger;
+	private final DiscoveryCache discoveryCache;
+	private final MysqlChangeLog changeLog;
+	private final RepositoryEventBus eventBus;
+	private final SqliteDiscoveryQueryExecutor queryExecutor = new SqliteDiscoveryQueryExecutor();
+	private final RowMapper<Discovery> discoveryRowMapper = new Version4.DiscoveryRowMapper();
+
+
+	/**
+	 * Class constructor
+	 */
+	public MysqlDiscoveryRepository(final DataSource dataSource,
+	                                final ConfigRepository configRepository,
+	                                final DiscoveryCache discoveryCache,
+	                                final MysqlChangeLog changeLog,
+	                                final RepositoryEventBus eventBus,
+	                                final Logger logger)
+	{
+		this.dataSource = dataSource;
+		this.configRepository = configRepository;
+		this.discoveryCache = discoveryCache;
+		this.changeLog = changeLog;
+		this.eventBus = eventBus;
+		this.logger = logger;
+	}
+
+
+	/**
+	 * Insert discovery record in the MySQL datastore. Discoveries already known to the discovery cache are not
+	 * sent to the server, and duplicate discoveries are ignored by the insert.
+	 *
+	 * @param discovery the discovery to be inserted
+	 * @return true if a record was inserted, false if not
+	 */
+	@Override
+	public boolean save(final ValidDiscovery discovery)
+	{
+		if (discoveryCache.isKnown(discovery.playerUid(), discovery.graveyardUid()))
+		{
+			return false;
+		}
+
+		int rowsAffected = 0;
+
+		try (final Connection connection = dataSource.getConnection();
+		     final PreparedStatement playerStatement = connection.prepareStatement(MysqlQueries.getQuery("InsertPlayer"));
+		     final PreparedStatement discoveryStatement = connection.prepareStatement(MysqlQueries.getQuery("InsertDiscovery")))
+		{
+			connection.setAutoCommit(false);
+			queryExecutor.insertPlayer(discovery.playerUid(), playerStatement);
+			rowsAffected = queryExecutor.insertDiscovery(discovery, discoveryStatement);
+			if (rowsAffected > 0)
+			{
+				changeLog.append(connection, MysqlChangeLog.Kind.DISCOVERY, discovery.graveyardUid(), discovery.playerUid());
+			}
+			connection.commit();
+
+			if (rowsAffected > 0)
+			{
+				discoveryCache.add(discovery.playerUid(), discovery.graveyardUid());
+				eventBus.publish(new RepositoryEvent.DiscoveryAdded(discovery));
+			}
+		}
+		catch (SQLException sqlException)
+		{
+			logger.warning(DatastoreMessage.INSERT_DISCOVERY_ERROR.getLocalizedMessage(configRepository.locale(), MYSQL_DATASTORE_NAME));
+			logger.warning(sqlException.getLocalizedMessage());
+			throw new DatastoreException(sqlException);
+		}
+
+		return rowsAffected > 0;
+	}
+
+
+	/**
+	 * Insert a collection of discovery records in a single transaction. Discoveries that already exist, or whose
+	 * graveyard does not exist, are ignored by the insert. Each discovery inserted is appended to the change log
+	 * in the same transaction, and once it is committed, is added to the discovery cache and published.
+	 *
+	 * @param discoveries the discoveries to be inserted
+	 * @return the number of discoveries inserted
+	 * @throws DatastoreException if the transaction failed
+	 */
+	@Override
+	public int saveAll(final Collection<ValidDiscovery> discoveries)
+	{
+		if (discoveries == null || discoveries.isEmpty()) return 0;
+
+		final List<ValidDiscovery> batch = List.copyOf(discoveries);
+		final List<ValidDiscovery> inserted = new ArrayList<>();
+
+		try (final Connection connection = dataSource.getConnection();
+		     final PreparedStatement playerStatement = connection.prepareStatement(MysqlQueries.getQuery("InsertPlayer"));
+		     final PreparedStatement discoveryStatement = connection.prepareStatement(MysqlQueries.getQuery("InsertDiscovery")))
+		{
+			connection.setAutoCommit(false);
+
+			for (ValidDiscovery discovery : batch)
+			{
+				queryExecutor.addPlayerBatch(discovery.playerUid(), playerStatement);
+				queryExecutor.addDiscoveryBatch(discovery, discoveryStatement);
+			}
+
+			// player ids must be assigned before the discoveries that reference them are inserted
+			playerStatement.executeBatch();
+			final int[] rowsAffected = discoveryStatement.executeBatch();
+
+			for (int i = 0; i < batch.size() && i < rowsAffected.length; i++)
+			{
+				if (rowsAffected[i] > 0 || rowsAffected[i] == Statement.SUCCESS_NO_INFO)
+				{
+					changeLog.append(connection, MysqlChangeLog.Kind.DISCOVERY, batch.get(i).graveyardUid(), batch.get(i).playerUid());
+					inserted.add(batch.get(i));
+				}
+			}
+			connection.commit();
+		}
+		catch (SQLException sqlException)
+		{
+			logger.warning(DatastoreMessage.INSERT_DISCOVERY_BATCH_ERROR.getLocalizedMessage(configRepository.locale(), batch.size(), MYSQL_DATASTORE_NAME));
+			logger.warning(sqlException.getLocalizedMessage());
+			throw new DatastoreException(sqlException);
+		}
+
+		for (ValidDiscovery discovery : inserted)
+		{
+			discoveryCache.add(discovery.playerUid(), discovery.graveyardUid());
+			eventBus.publish(new RepositoryEvent.DiscoveryAdded(discovery));
+		}
+
+		return inserted.size();
+	}
+
+
+	@Override
+	public boolean delete(final UUID graveyardUid, final UUID playerUid)
+	{
+		if (graveyardUid == null) return false;
+		if (playerUid == null) return false;
+
+		int rowsAffected = 0;
+
+		try (final Connection connection = dataSource.getConnection();
+		     final PreparedStatement statement = connection.prepareStatement(MysqlQueries.getQuery("DeleteDiscovery")))
+		{
+			connection.setAutoCommit(false);
+			rowsAffected = queryExecutor.deleteDiscovery(graveyardUid, playerUid, statement);
+			if (rowsAffected > 0)
+			{
+				changeLog.append(connection, MysqlChangeLog.Kind.DISCOVERY, graveyardUid, playerUid);
+			}
+			connection.commit();
+
+			if (rowsAffected > 0)
+			{
+				discoveryCache.remove(playerUid, graveyardUid);
+				eventBus.publish(new RepositoryEvent.DiscoveryRemoved(graveyardUid, playerUid));
+			}
+		}
+		catch (SQLException sqlException)
+		{
+			logger.warning(DatastoreMessage.DELETE_DISCOVERY_RECORD_ERROR.getLocalizedMessage(configRepository.locale(), MYSQL_DATASTORE_NAME));
+			logger.warning(sqlException.getLocalizedMessage());
+			throw new DatastoreException(sqlException);
+		}
+
+		return rowsAffected > 0;
+	}
+
+
+	/**
+	 * Pass every discovery record in the MySQL datastore to a consumer, as rows are read from a cursor.
+	 * Rows are fetched from the server in blocks, so the full result is never held in memory.
+	 *
+	 * @param consumer the consumer of each discovery record
+	 * @return the number of discovery records passed to the consumer
+	 */
+	@Override
+	public long forEach(final Consumer<? super ValidDiscovery> consumer)
+	{
+		long count = 0;
+
+		try (final Connection connection = dataSource.getConnection();
+		     final PreparedStatement statement = connection.prepareStatement(MysqlQueries.getQuery("SelectAllDiscoveryRecords"),
+				     ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY))
+		{
+			statement.setFetchSize(CURSOR_FETCH_SIZE);
+
+			try (final ResultSet resultSet = queryExecutor.selectAllDiscoveries(statement))
+			{
+				while (resultSet.next())
+				{
+					if (discoveryRowMapper.map(resultSet, "SelectAllDiscoveryRecords") instanceof ValidDiscovery validDiscovery)
+					{
+						consumer.accept(validDiscovery);
+						count++;
+					}
+				}
+			}
+		}
+		catch (SQLException sqlException)
+		{
+			logger.warning(DatastoreMessage.SELECT_ALL_DISCOVERIES_ERROR.getLocalizedMessage(configRepository.locale(), MYSQL_DATASTORE_NAME));
+			logger.warning(sqlException.getLocalizedMessage());
+			throw new DatastoreException(sqlException);
+		}
+
+		return count;
+	}
+
+
+	/**
+	 * Select a player's discovered graveyard uids from the MySQL datastore and place them in the discovery cache
+	 *
+	 * @param playerUid the uid of the player to load
+	 */
+	@Override
+	public void loadPlayer(final UUID playerUid)
+	{
+		if (playerUid == null) return;
+
+		discoveryCache.beginLoad(playerUid);
+
+		final List<UUID> graveyardUids = new ArrayList<>();
+
+		try (final Connection connection = dataSource.getConnection();
+		     final PreparedStatement statement = connection.prepareStatement(MysqlQueries.getQuery("SelectDiscoveredGraveyardUids"));
+		     final ResultSet resultSet = queryExecutor.selectDiscoveredGraveyardUids(playerUid, statement))
+		{
+			while (resultSet.next())
+			{
+				graveyardUids.add(new UUID(resultSet.getLong("UidMsb"), resultSet.getLong("UidLsb")));
+			}
+		}
+		catch (SQLException sqlException)
+		{
+			logger.warning(DatastoreMessage.SELECT_PLAYER_DISCOVERIES_ERROR.getLocalizedMessage(configRepository.locale(), MYSQL_DATASTORE_NAME));
+			logger.warning(sqlException.getLocalizedMessage());
+			discoveryCache.evict(playerUid);
+			throw new DatastoreException(sqlException);
+		}
+
+		discoveryCache.completeLoad(playerUid, graveyardUids);
+	}
+
+
+	/**
+	 * Bring a cached player's discovery of a graveyard up to date with the datastore, after it was changed by
+	 * another server. Players who are not cached are not affected, and no event is published for them; an event
+	 * is published only if the cached discovery changed, since a change may be applied more than once.
+	 *
+	 * @param graveyardUid the uid of the graveyard
+	 * @param playerUid the uid of the player
+	 */
+	void refresh(final UUID graveyardUid, final UUID playerUid)
+	{
+		if (graveyardUid == null || playerUid == null || !discoveryCache.contains(playerUid)) return;
+
+		try (final Connection connection = dataSource.getConnection();
+		     final PreparedStatement statement = connection.prepareStatement(MysqlQueries.getQuery("SelectDiscoveryExists")))
+		{
+			statement.setLong(1, graveyardUid.getMostSignificantBits());
+			statement.setLong(2, graveyardUid.getLeastSignificantBits());
+			statement.setLong(3, playerUid.getMostSignificantBits());
+			statement.setLong(4, playerUid.getLeastSignificantBits());
+
+			try (final ResultSet resultSet = statement.executeQuery())
+			{
+				final boolean known = discoveryCache.isKnown(playerUid, graveyardUid);
+
+				if (resultSet.next())
+				{
+					discoveryCache.add(playerUid, graveyardUid);
+					if (!known && Discovery.of(graveyardUid, playerUid, Instant.ofEpochSecond(resultSet.getLong("Timestamp")))
+							instanceof ValidDiscovery validDiscovery)
+					{
+						eventBus.publish(new RepositoryEvent.DiscoveryAdded(validDiscovery));
+					}
+				}
+				else
+				{
+					discoveryCache.remove(playerUid, graveyardUid);
+					if (known)
+					{
+						eventBus.publish(new RepositoryEvent.DiscoveryRemoved(graveyardUid, playerUid));
+					}
+				}
+			}
+		}
+		catch (SQLException sqlException)
+		{
+			logger.warning(DatastoreMessage.SELECT_PLAYER_DISCOVERIES_ERROR.getLocalizedMessage(configRepository.locale(), MYSQL_DATASTORE_NAME));
+			logger.warning(sqlException.getLocalizedMessage());
+
+			// the cached discoveries can no longer be trusted
+			discoveryCache.evict(playerUid);
+		}
+	}
+
+
+	/**
+	 * Reload the discoveries of every cached player from the datastore
+	 */
+	void reloadCachedPlayers()
+	{
+		for (UUID playerUid : discoveryCache.players())
+		{
+			discoveryCache.evict(playerUid);
+			loadPlayer(playerUid);
+		}
+	}
+
+
+	@Override
+	public void unloadPlayer(final UUID playerUid)
+	{
+		if (playerUid == null) return;
+
+		discoveryCache.evict(playerUid);
+	}
+
+}
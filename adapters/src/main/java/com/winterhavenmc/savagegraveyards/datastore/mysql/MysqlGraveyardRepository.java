@@ -0,0 +1,628 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.savagegraveyards.datastore.mysql;
+
+import com.winterhavenmc.library.messagebuilder.models.configuration.ConfigRepository;
+import com.winterhavenmc.savagegraveyards.datastore.DatastoreException;
+import com.winterhavenmc.savagegraveyards.datastore.DatastoreMessage;
+import com.winterhavenmc.savagegraveyards.datastore.DiscoveryCache;
+import com.winterhavenmc.savagegraveyards.datastore.GraveyardCatalog;
+import com.winterhavenmc.savagegraveyards.datastore.GraveyardRepository;
+import com.winterhavenmc.savagegraveyards.datastore.PlayerQuery;
+import com.winterhavenmc.savagegraveyards.datastore.RepositoryEvent;
+import com.winterhavenmc.savagegraveyards.datastore.RepositoryEventBus;
+import com.winterhavenmc.savagegraveyards.datastore.sqlite.SqliteGraveyardQueryExecutor;
+import com.winterhavenmc.savagegraveyards.datastore.sqlite.schema.RowMapper;
+import com.winterhavenmc.savagegraveyards.models.FailReason;
+import com.winterhavenmc.savagegraveyards.models.Parameter;
+import com.winterhavenmc.savagegraveyards.models.displayname.DisplayName;
+import com.winterhavenmc.savagegraveyards.models.graveyard.Graveyard;
+import com.winterhavenmc.savagegraveyards.models.graveyard.InvalidGraveyard;
+import com.winterhavenmc.savagegraveyards.models.graveyard.ValidGraveyard;
+import com.winterhavenmc.savagegraveyards.models.searchkey.ValidSearchKey;
+
+import org.bukkit.entity.Player;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.*;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static com.winterhavenmc.savagegraveyards.datastore.DatastoreMessage.MYSQL_DATASTORE_NAME;
+
+
+/**
+ * A graveyard repository backed by a MySQL or MariaDB server. All graveyard records are held in the in-memory
+ * catalog, so reads are answered without a round trip to the server; only a player's discoveries are selected,
+ * when they are not held in the discovery cache.
+ */
+public final class MysqlGraveyardRepository implements GraveyardRepository
+{
+	private final DataSource dataSource;
+	private final ConfigRepository configRepository;
+	private final Logger logger;
+	private final RowMapper<Graveyard> graveyardRowMapper;
+	private final GraveyardCatalog catalog;
+	private final DiscoveryCache discoveryCache;
+	private final MysqlChangeLog changeLog;
+	private final RepositoryEventBus eventBus;
+	private final SqliteGraveyardQueryExecutor queryExecutor = new SqliteGraveyardQueryExecutor();
+
+
+	public MysqlGraveyardRepository(final DataSource dataSource,
+	                                final ConfigRepository configRepository,
+	                                final RowMapper<Graveyard> graveyardRowMapper,
+	                                final GraveyardCatalog catalog,
+	                                final DiscoveryCache discoveryCache,
+	                                final MysqlChangeLog changeLog,
+	                                final RepositoryEventBus eventBus,
+	                                final Logger logger)
+	{
+		this.dataSource = dataSource;
+		this.configRepository = configRepository;
+		this.logger = logger;
+		this.graveyardRowMapper = graveyardRowMapper;
+		this.catalog = catalog;
+		this.discoveryCache = discoveryCache;
+		this.changeLog = changeLog;
+		this.eventBus = eventBus;
+	}
+
+
+	/**
+	 * Load all graveyard records from the datastore into the in-memory catalog
+	 */
+	public void loadCatalog()
+	{
+		catalog.load(selectAll());
+		eventBus.publish(new RepositoryEvent.GraveyardsReloaded());
+	}
+
+
+	/**
+	 * Bring a graveyard record in the in-memory catalog up to date with the datastore, after it was changed
+	 * by another server. A record that is no longer in the datastore is removed from the catalog. An event is
+	 * published only if the catalog changed, since a change may be applied more than once.
+	 *
+	 * @param graveyardUid the uid of the graveyard that changed
+	 */
+	void refresh(final UUID graveyardUid)
+	{
+		try (final Connection connection = dataSource.getConnection();
+		     final PreparedStatement statement = connection.prepareStatement(MysqlQueries.getQuery("SelectGraveyardByUid")))
+		{
+			statement.setLong(1, graveyardUid.getMostSignificantBits());
+			statement.setLong(2, graveyardUid.getLeastSignificantBits());
+
+			try (final ResultSet resultSet = statement.executeQuery())
+			{
+				final Optional<ValidGraveyard> before = catalog.get(graveyardUid);
+
+				if (resultSet.next() && graveyardRowMapper.map(resultSet, "SelectGraveyardByUid") instanceof ValidGraveyard validGraveyard)
+				{
+					catalog.put(validGraveyard);
+					if (before.isEmpty())
+					{
+						eventBus.publish(new RepositoryEvent.GraveyardCreated(validGraveyard));
+					}
+					else if (!before.get().equals(validGraveyard))
+					{
+						eventBus.publish(new RepositoryEvent.GraveyardUpdated(before.get(), validGraveyard));
+					}
+				}
+				else
+				{
+					catalog.remove(graveyardUid)
+							.ifPresent(removed -> eventBus.publish(new RepositoryEvent.GraveyardDeleted(removed)));
+				}
+			}
+		}
+		catch (SQLException sqlException)
+		{
+			logger.warning(DatastoreMessage.SELECT_GRAVEYARD_RECORD_ERROR.getLocalizedMessage(configRepository.locale(), MYSQL_DATASTORE_NAME));
+			logger.warning(sqlException.getLocalizedMessage());
+		}
+	}
+
+
+	/**
+	 * Get record
+	 *
+	 * @param searchKey the name of the Valid to be retrieved
+	 * @return Valid object or null if no matching record
+	 */
+	@Override
+	public Graveyard get(final ValidSearchKey searchKey)
+	{
+		return catalog.get(searchKey)
+				.map(Graveyard.class::cast)
+				.orElseGet(() -> new InvalidGraveyard(DisplayName.of(searchKey), "∅", FailReason.PARAMETER_NO_MATCH, Parameter.SEARCH_KEY));
+	}
+
+
+	/**
+	 * Get record
+	 *
+	 * @return Valid object or null if no matching record
+	 */
+	@Override
+	public Graveyard get(final UUID graveyardUid)
+	{
+		return catalog.get(graveyardUid)
+				.map(Graveyard.class::cast)
+				.orElseGet(() -> new InvalidGraveyard(DisplayName.NULL(), "∅", FailReason.PARAMETER_NO_MATCH, Parameter.SEARCH_KEY));
+	}
+
+
+	/**
+	 * Get all graveyard records from the in-memory catalog, ordered by search key.
+	 *
+	 * @return a {@link Stream} containing all graveyard records
+	 */
+	@Override
+	public Stream<Graveyard> getAll()
+	{
+		return catalog.getAll();
+	}
+
+
+	/**
+	 * Select all graveyard records from the datastore, maintaining order returned by the query.
+	 *
+	 * @return a {@link List} containing all graveyard records in the order they were returned by the query
+	 */
+	private List<Graveyard> selectAll()
+	{
+		final List<Graveyard> returnList = new ArrayList<>();
+
+		try (final Connection connection = dataSource.getConnection();
+		     final PreparedStatement statement = connection.prepareStatement(MysqlQueries.getQuery("SelectAllGraveyardRecords"));
+		     final ResultSet resultSet = statement.executeQuery())
+		{
+			while (resultSet.next())
+			{
+				returnList.add(graveyardRowMapper.map(resultSet, "SelectAllGraveyardRecords"));
+			}
+		}
+		catch (SQLException sqlException)
+		{
+			logger.warning(DatastoreMessage.SELECT_ALL_GRAVEYARDS_ERROR.getLocalizedMessage(configRepository.locale(), MYSQL_DATASTORE_NAME));
+			logger.warning(sqlException.getLocalizedMessage());
+		}
+
+		return returnList;
+	}
+
+
+	/**
+	 * Returns a list of enabled, valid graveyards in the player's current world for which
+	 * the player has permission, returned in order of proximity to the player's location.
+	 *
+	 * @param query the captured state of the player whose location is used as the origin
+	 * @return a list of graveyards that match the criteria
+	 */
+	@Override
+	public List<ValidGraveyard> getNearestGraveyards(final PlayerQuery query)
+	{
+		if (query == null) { return List.of(); }
+
+		return nearestAvailable(query).toList();
+	}
+
+
+	/**
+	 * Gets closest graveyard to player's current location
+	 *
+	 * @param query the captured state of the player for whom to retrieve the nearest graveyard
+	 * @return Valid object
+	 */
+	@Override
+	public Optional<ValidGraveyard> getNearestGraveyard(final PlayerQuery query)
+	{
+		if (query == null) { return Optional.empty(); }
+
+		return nearestAvailable(query).findFirst();
+	}
+
+
+	/**
+	 * Get the names of the groups to which graveyards in the in-memory catalog are restricted
+	 *
+	 * @return a {@link Set} of group names
+	 */
+	@Override
+	public Set<String> getGroups()
+	{
+		return catalog.getGroups();
+	}
+
+
+	/**
+	 * Walks the spatial index outward from the player's location, yielding enabled graveyards that are not hidden
+	 * from the player and that belong to a group the player is a member of. The player's discoveries are only
+	 * selected from the datastore if a hidden graveyard is encountered before the walk is finished.
+	 *
+	 * @param query the captured state of the player whose location is used as the origin
+	 * @return a lazily evaluated {@link Stream} of graveyards, nearest first
+	 */
+	private Stream<ValidGraveyard> nearestAvailable(final PlayerQuery query)
+	{
+		final DiscoveredUids discovered = new DiscoveredUids(query.playerUid());
+
+		return catalog.getNearest(query.worldUid(), query.x(), query.y(), query.z())
+				.filter(valid -> valid.attributes().enabled().value())
+				.filter(valid -> !valid.attributes().hidden().value() || discovered.contains(valid.uid()))
+				// check if graveyard has group and player is in group
+				.filter(valid -> query.permits(valid.attributes().group()));
+	}
+
+
+	/**
+	 * Select the uids of all graveyards discovered by a player
+	 *
+	 * @param playerUid the uid of the player
+	 * @return a {@link Set} of discovered graveyard uids
+	 */
+	private Set<UUID> selectDiscoveredUids(final UUID playerUid)
+	{
+		final Set<UUID> returnSet = new HashSet<>();
+
+		try (final Connection connection = dataSource.getConnection();
+		     final PreparedStatement statement = connection.prepareStatement(MysqlQueries.getQuery("SelectDiscoveredGraveyardUids"));
+		     final ResultSet resultSet = queryExecutor.selectDiscoveredGraveyardUids(playerUid, statement))
+		{
+			while (resultSet.next())
+			{
+				returnSet.add(new UUID(resultSet.getLong("UidMsb"), resultSet.getLong("UidLsb")));
+			}
+		}
+		catch (SQLException sqlException)
+		{
+			logger.warning(DatastoreMessage.SELECT_PLAYER_DISCOVERIES_ERROR.getLocalizedMessage(configRepository.locale(), MYSQL_DATASTORE_NAME));
+			logger.warning(sqlException.getLocalizedMessage());
+			throw new DatastoreException(sqlException);
+		}
+
+		return returnSet;
+	}
+
+
+	/**
+	 * A player's discovered graveyard uids, taken from the discovery cache, or selected from the datastore on first use
+	 */
+	private final class DiscoveredUids
+	{
+		private final UUID playerUid;
+		private BitSet cached;
+		private Set<UUID> uids;
+
+		private DiscoveredUids(final UUID playerUid)
+		{
+			this.playerUid = playerUid;
+		}
+
+		private boolean contains(final UUID graveyardUid)
+		{
+			if (cached == null && uids == null)
+			{
+				discoveryCache.get(playerUid).ifPresentOrElse(
+						bitSet -> cached = bitSet,
+						() -> uids = selectDiscoveredUids(playerUid));
+			}
+			return (cached != null)
+					? cached.get(catalog.ordinal(graveyardUid))
+					: uids.contains(graveyardUid);
+		}
+	}
+
+
+	/**
+	 * Retrieves a list of graveyard names that match a given prefix from the in-memory catalog.
+	 * Matches are case-insensitive, and match against stored searchKeys while treating
+	 * spaces and underscores as equivalent.
+	 *
+	 * @param prefix the prefix to match
+	 * @return List of Strings containing graveyard names matched by prefix
+	 */
+	@Override
+	public List<String> getMatchingNames(final String prefix)
+	{
+		if (prefix == null) { return List.of(); }
+
+		return catalog.getMatchingPrefix(prefix)
+				.map(graveyard -> graveyard.searchKey().string().replace("_", " "))
+				.toList();
+	}
+
+
+	/**
+	 * Get graveyard searchKeys that prefix match string
+	 *
+	 * @param prefix the prefix to match
+	 * @return String collection of names with matching prefix
+	 */
+	@Override
+	public List<String> getMatchingKeys(final String prefix)
+	{
+		if (prefix == null) return Collections.emptyList();
+
+		return catalog.getMatchingPrefix(prefix)
+				.map(graveyard -> graveyard.searchKey().string())
+				.toList();
+	}
+
+
+	/**
+	 * Get a count of graveyards in the in-memory catalog
+	 *
+	 * @return the count of graveyard records in the datastore
+	 */
+	@Override
+	public int getCount()
+	{
+		return catalog.getCount();
+	}
+
+
+	/**
+	 * Get undiscovered graveyards for player, computed from the in-memory catalog and the player's discoveries
+	 *
+	 * @param query the captured state of the player for whom to retrieve undiscovered Graveyards
+	 * @return Stream of Valid objects that are undiscovered for player
+	 */
+	@Override
+	public Stream<ValidGraveyard> getUndiscoveredGraveyards(final PlayerQuery query)
+	{
+		if (query == null) return Stream.empty();
+
+		return undiscoveredInWorld(query).toList().stream();
+	}
+
+
+	/**
+	 * Get undiscovered graveyards for player. The MySQL datastore has no discovery range index, so all
+	 * undiscovered graveyards in the player's world are returned, and callers check the exact distance.
+	 *
+	 * @param player the player for whom to retrieve undiscovered Graveyards
+	 * @param defaultRange the discovery range used for graveyards with a negative discovery range
+	 * @return Stream of Valid objects that are undiscovered for player
+	 */
+	@Override
+	public Stream<ValidGraveyard> getUndiscoveredGraveyardsInRange(final Player player, final int defaultRange)
+	{
+		return getUndiscoveredGraveyards(player);
+	}
+
+
+	/**
+	 * Get undiscovered graveyard keys for player, computed from the in-memory catalog and the player's discoveries
+	 *
+	 * @param query the captured state of the player for whom to retrieve undiscovered Valid keys
+	 * @return HashSet of Valid search keys that are undiscovered for player
+	 */
+	@Override
+	public Set<String> getUndiscoveredKeys(final PlayerQuery query)
+	{
+		if (query == null) return Collections.emptySet();
+
+		return undiscoveredInWorld(query)
+				.map(graveyard -> graveyard.searchKey().string())
+				.collect(Collectors.toSet());
+	}
+
+
+	/**
+	 * Select enabled, hidden graveyards in the player's current world that are not discovered
+	 *
+	 * @param query the captured state of the player whose world is searched
+	 * @return {@link Stream} of undiscovered graveyards
+	 */
+	private Stream<ValidGraveyard> undiscoveredInWorld(final PlayerQuery query)
+	{
+		final DiscoveredUids discovered = new DiscoveredUids(query.playerUid());
+
+		return catalog.getByWorld(query.worldUid())
+				.filter(graveyard -> graveyard.attributes().enabled().value())
+				.filter(graveyard -> graveyard.attributes().hidden().value())
+				.filter(graveyard -> !discovered.contains(graveyard.uid()));
+	}
+
+
+	@Override
+	public Graveyard save(final ValidGraveyard graveyard)
+	{
+		try (final Connection connection = dataSource.getConnection();
+		     final PreparedStatement statement = connection.prepareStatement(MysqlQueries.getQuery("InsertGraveyard")))
+		{
+			connection.setAutoCommit(false);
+			queryExecutor.insertGraveyard(graveyard, statement);
+			changeLog.append(connection, MysqlChangeLog.Kind.GRAVEYARD, graveyard.uid(), null);
+			connection.commit();
+			catalog.put(graveyard);
+			eventBus.publish(new RepositoryEvent.GraveyardCreated(graveyard));
+		}
+		catch (SQLException sqlException)
+		{
+			logger.warning(DatastoreMessage.INSERT_GRAVEYARD_ERROR.getLocalizedMessage(configRepository.locale(), MYSQL_DATASTORE_NAME));
+			logger.warning(sqlException.getLocalizedMessage());
+			throw new DatastoreException(sqlException);
+		}
+
+		return graveyard;
+	}
+
+
+	/**
+	 * Insert or update a collection of graveyard records in a single transaction. A graveyard whose uid is in the
+	 * catalog replaces that record, by the search key it is currently stored under. Each change is appended to the
+	 * change log in the same transaction, and once it is committed, the catalog is updated and each change is
+	 * published to the event bus.
+	 *
+	 * @param graveyards the graveyard records to save
+	 * @return the number of graveyard records inserted or updated
+	 * @throws DatastoreException if the transaction failed
+	 */
+	@Override
+	public int saveAll(final Collection<ValidGraveyard> graveyards)
+	{
+		if (graveyards == null || graveyards.isEmpty()) return 0;
+
+		final List<ValidGraveyard> inserted = new ArrayList<>();
+		final List<Replacement> replaced = new ArrayList<>();
+		for (ValidGraveyard graveyard : graveyards)
+		{
+			catalog.get(graveyard.uid()).ifPresentOrElse(
+					existing -> replaced.add(new Replacement(existing, graveyard)),
+					() -> inserted.add(graveyard));
+		}
+
+		try (final Connection connection = dataSource.getConnection();
+		     final PreparedStatement updateStatement = connection.prepareStatement(MysqlQueries.getQuery("UpdateGraveyard"));
+		     final PreparedStatement insertStatement = connection.prepareStatement(MysqlQueries.getQuery("InsertGraveyard")))
+		{
+			connection.setAutoCommit(false);
+
+			for (Replacement replacement : replaced)
+			{
+				queryExecutor.addGraveyardUpdateBatch(replacement.before().searchKey(), replacement.after(), updateStatement);
+				changeLog.append(connection, MysqlChangeLog.Kind.GRAVEYARD, replacement.after().uid(), null);
+			}
+			for (ValidGraveyard graveyard : inserted)
+			{
+				queryExecutor.addGraveyardBatch(graveyard, insertStatement);
+				changeLog.append(connection, MysqlChangeLog.Kind.GRAVEYARD, graveyard.uid(), null);
+			}
+
+			// updates are executed first, so that a renamed graveyard releases its search key before the inserts
+			updateStatement.executeBatch();
+			insertStatement.executeBatch();
+			connection.commit();
+		}
+		catch (SQLException sqlException)
+		{
+			logger.warning(DatastoreMessage.SAVE_GRAVEYARD_BATCH_ERROR.getLocalizedMessage(configRepository.locale(), graveyards.size(), MYSQL_DATASTORE_NAME));
+			logger.warning(sqlException.getLocalizedMessage());
+			throw new DatastoreException(sqlException);
+		}
+
+		for (Replacement replacement : replaced)
+		{
+			catalog.remove(replacement.before().uid());
+			catalog.put(replacement.after());
+			eventBus.publish(new RepositoryEvent.GraveyardUpdated(replacement.before(), replacement.after()));
+		}
+		for (ValidGraveyard graveyard : inserted)
+		{
+			catalog.put(graveyard);
+			eventBus.publish(new RepositoryEvent.GraveyardCreated(graveyard));
+		}
+
+		return replaced.size() + inserted.size();
+	}
+
+
+	/**
+	 * A graveyard record to be replaced in a batch, and its replacement
+	 */
+	private record Replacement(ValidGraveyard before, ValidGraveyard after) { }
+
+
+	/**
+	 * Update record
+	 *
+	 * @param graveyard the Valid to update in the datastore
+	 * @return the graveyard
+	 */
+	@Override
+	public Graveyard update(final ValidGraveyard graveyard)
+	{
+		return update(graveyard.searchKey(), graveyard);
+	}
+
+
+	@Override
+	public Graveyard update(final ValidSearchKey oldSearchKey, final ValidGraveyard graveyard)
+	{
+		try (final Connection connection = dataSource.getConnection();
+		     final PreparedStatement statement = connection.prepareStatement(MysqlQueries.getQuery("UpdateGraveyard")))
+		{
+			connection.setAutoCommit(false);
+			if (queryExecutor.updateGraveyard(oldSearchKey, graveyard, statement) > 0)
+			{
+				changeLog.append(connection, MysqlChangeLog.Kind.GRAVEYARD, graveyard.uid(), null);
+				connection.commit();
+				final Optional<ValidGraveyard> before = catalog.remove(oldSearchKey);
+				catalog.put(graveyard);
+				eventBus.publish(before.isPresent()
+						? new RepositoryEvent.GraveyardUpdated(before.get(), graveyard)
+						: new RepositoryEvent.GraveyardCreated(graveyard));
+			}
+		}
+		catch (SQLException sqlException)
+		{
+			logger.warning(DatastoreMessage.UPDATE_GRAVEYARD_RECORD_ERROR.getLocalizedMessage(configRepository.locale(), MYSQL_DATASTORE_NAME));
+			logger.warning(sqlException.getLocalizedMessage());
+			throw new DatastoreException(sqlException);
+		}
+
+		return graveyard;
+	}
+
+
+	/**
+	 * Delete record
+	 *
+	 * @param searchKey display name or search key of record to be deleted
+	 * @return Deleted graveyard record
+	 */
+	@Override
+	public Graveyard delete(final ValidSearchKey searchKey)
+	{
+		// return deleted record or invalid if not found
+		if (get(searchKey) instanceof ValidGraveyard validGraveyard)
+		{
+			try (final Connection connection = dataSource.getConnection();
+			     final PreparedStatement statement = connection.prepareStatement(MysqlQueries.getQuery("DeleteGraveyard")))
+			{
+				connection.setAutoCommit(false);
+				queryExecutor.deleteGraveyard(searchKey, statement);
+				changeLog.append(connection, MysqlChangeLog.Kind.GRAVEYARD, validGraveyard.uid(), null);
+				connection.commit();
+				catalog.remove(validGraveyard.uid());
+				eventBus.publish(new RepositoryEvent.GraveyardDeleted(validGraveyard));
+			}
+			catch (SQLException sqlException)
+			{
+				logger.warning(DatastoreMessage.DELETE_GRAVEYARD_RECORD_ERROR.getLocalizedMessage(configRepository.locale(), MYSQL_DATASTORE_NAME));
+				logger.warning(sqlException.getLocalizedMessage());
+				throw new DatastoreException(sqlException);
+			}
+			return validGraveyard;
+		}
+		else
+		{
+			return new InvalidGraveyard(DisplayName.of(searchKey.string()), "∅", FailReason.VALUE_NOT_FOUND, Parameter.GRAVEYARD);
+		}
+	}
+
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.savagegraveyards.datastore.mysql;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Properties;
+
+/**
+ * Fetch MySQL dialect database queries from properties file
+ */
+public final class MysqlQueries
+{
+	private static final String propFileName = "mysql/queries.properties";
+	private static Properties properties;
+
+
+	/**
+	 * Private class constructor to prevent instantiation
+	 */
+	private MysqlQueries()
+	{
+		throw new AssertionError();
+	}
+
+	private static synchronized Properties getQueries()
+	{
+		// singleton
+		if (properties == null)
+		{
+			properties = new Properties();
+			try (InputStream inputStream = MysqlQueries.class.getResourceAsStream("/" + propFileName))
+			{
+				properties.load(inputStream);
+			}
+			catch (IOException exception)
+			{
+				throw new RuntimeException(exception);
+			}
+		}
+
+		return properties;
+	}
+
+	public static String getQuery(final String query)
+	{
+		return getQueries().getProperty(query);
+	}
+
+}
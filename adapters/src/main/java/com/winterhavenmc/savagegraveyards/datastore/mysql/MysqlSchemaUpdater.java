@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.savagegraveyards.datastore.mysql;
+
+import com.winterhavenmc.library.messagebuilder.models.configuration.ConfigRepository;
+import com.winterhavenmc.savagegraveyards.datastore.DatastoreMessage;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.logging.Logger;
+
+import static com.winterhavenmc.savagegraveyards.datastore.DatastoreMessage.MYSQL_DATASTORE_NAME;
+
+
+/**
+ * Creates the MySQL datastore tables, and records the schema version in the SchemaVersion table. The MySQL schema
+ * is versioned independently of the SQLite schema; version 1 holds the same data as SQLite schema version 4, and
+ * version 2 adds the ChangeLog table read by servers sharing the datastore.
+ */
+public final class MysqlSchemaUpdater
+{
+	public static final int VERSION = 2;
+
+	private final ConfigRepository configRepository;
+	private final Logger logger;
+
+
+	public MysqlSchemaUpdater(final ConfigRepository configRepository, final Logger logger)
+	{
+		this.configRepository = configRepository;
+		this.logger = logger;
+	}
+
+
+	/**
+	 * Create any missing tables, and record the current schema version for a new datastore. Later schema versions
+	 * apply their changes here, before the new version is recorded.
+	 *
+	 * @param connection a connection to the datastore
+	 * @return the schema version of the datastore
+	 */
+	public int update(final Connection connection)
+	{
+		createTable(connection, "CreateSchemaVersionTable", DatastoreMessage.CREATE_SCHEMA_VERSION_TABLE_ERROR);
+		createTable(connection, "CreateGraveyardTable", DatastoreMessage.CREATE_GRAVEYARD_TABLE_ERROR);
+		createTable(connection, "CreatePlayerTable", DatastoreMessage.CREATE_PLAYER_TABLE_ERROR);
+		createTable(connection, "CreateDiscoveryTable", DatastoreMessage.CREATE_DISCOVERY_TABLE_ERROR);
+		createTable(connection, "CreateChangeLogTable", DatastoreMessage.CREATE_CHANGE_LOG_TABLE_ERROR);
+
+		final int version = getSchemaVersion(connection);
+
+		if (version > VERSION)
+		{
+			logger.warning(DatastoreMessage.SCHEMA_VERSION_NEWER_WARNING
+					.getLocalizedMessage(configRepository.locale(), MYSQL_DATASTORE_NAME, version, VERSION));
+			return version;
+		}
+
+		if (version < VERSION)
+		{
+			setSchemaVersion(connection, VERSION);
+		}
+
+		logger.info(DatastoreMessage.SCHEMA_UP_TO_DATE_NOTICE.getLocalizedMessage(configRepository.locale(), MYSQL_DATASTORE_NAME));
+		return VERSION;
+	}
+
+
+	/**
+	 * Get the schema version recorded in the datastore
+	 *
+	 * @param connection a connection to the datastore
+	 * @return the schema version, or zero if no version is recorded
+	 */
+	public int getSchemaVersion(final Connection connection)
+	{
+		try (final PreparedStatement statement = connection.prepareStatement(MysqlQueries.getQuery("SelectSchemaVersion"));
+		     final ResultSet resultSet = statement.executeQuery())
+		{
+			return (resultSet.next()) ? resultSet.getInt("Version") : 0;
+		}
+		catch (SQLException sqlException)
+		{
+			logger.warning(DatastoreMessage.SCHEMA_VERSION_ERROR.getLocalizedMessage(configRepository.locale()));
+			logger.warning(sqlException.getLocalizedMessage());
+			return 0;
+		}
+	}
+
+
+	private void setSchemaVersion(final Connection connection, final int version)
+	{
+		try (final PreparedStatement statement = connection.prepareStatement(MysqlQueries.getQuery("UpsertSchemaVersion")))
+		{
+			statement.setInt(1, version);
+			statement.executeUpdate();
+		}
+		catch (SQLException sqlException)
+		{
+			logger.warning(DatastoreMessage.SCHEMA_UPDATE_ERROR.getLocalizedMessage(configRepository.locale(), MYSQL_DATASTORE_NAME));
+			logger.warning(sqlException.getLocalizedMessage());
+		}
+	}
+
+
+	private void createTable(final Connection connection, final String queryKey, final DatastoreMessage errorMessage)
+	{
+		try (final Statement statement = connection.createStatement())
+		{
+			statement.executeUpdate(MysqlQueries.getQuery(queryKey));
+		}
+		catch (SQLException sqlException)
+		{
+			logger.warning(errorMessage.getLocalizedMessage(configRepository.locale(), MYSQL_DATASTORE_NAME));
+			logger.warning(sqlException.getLocalizedMessage());
+		}
+	}
+
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.savagegraveyards.datastore.mysql;
+
+import org.bukkit.configuration.ConfigurationSection;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+
+/**
+ * The MySQL connection settings, taken from the {@code datastore.mysql} section of the plugin configuration.
+ * Entries in the {@code properties} subsection are passed to the JDBC driver as data source properties,
+ * and the {@code change-log} subsection configures change log replication between servers.
+ */
+public record MysqlSettings(String host,
+                            int port,
+                            String database,
+                            String username,
+                            String password,
+                            int poolSize,
+                            long connectionTimeout,
+                            Map<String, String> properties,
+                            ChangeLogSettings changeLog)
+{
+	public static final String CONFIG_SECTION = "datastore.mysql";
+	public static final String DEFAULT_HOST = "localhost";
+	public static final int DEFAULT_PORT = 3306;
+	public static final String DEFAULT_DATABASE = "savagegraveyards";
+	public static final int DEFAULT_POOL_SIZE = 4;
+	public static final long DEFAULT_CONNECTION_TIMEOUT = 5000L;
+
+
+	/**
+	 * Change log settings. Changes are polled every {@code pollInterval} milliseconds, at most {@code batchSize}
+	 * at a time. A server more than {@code resyncThreshold} changes behind reloads all records, and changes are
+	 * removed from the log after {@code retention} minutes.
+	 */
+	public record ChangeLogSettings(boolean enabled,
+	                                long pollInterval,
+	                                int batchSize,
+	                                long resyncThreshold,
+	                                long retention)
+	{
+		public static final ChangeLogSettings DISABLED = new ChangeLogSettings(false, 1000L, 500, 10000L, 60L);
+
+		static ChangeLogSettings of(final ConfigurationSection section)
+		{
+			if (section == null)
+			{
+				return DISABLED;
+			}
+
+			return new ChangeLogSettings(
+					section.getBoolean("enabled", DISABLED.enabled()),
+					Math.max(100L, section.getLong("poll-interval", DISABLED.pollInterval())),
+					Math.max(1, section.getInt("batch-size", DISABLED.batchSize())),
+					Math.max(1L, section.getLong("resync-threshold", DISABLED.resyncThreshold())),
+					Math.max(1L, section.getLong("retention", DISABLED.retention())));
+		}
+	}
+
+
+	/**
+	 * Create settings from the {@code datastore.mysql} configuration section
+	 *
+	 * @param section the configuration section, which may be null
+	 * @return the resolved settings
+	 */
+	public static MysqlSettings of(final ConfigurationSection section)
+	{
+		if (section == null)
+		{
+			return new MysqlSettings(DEFAULT_HOST, DEFAULT_PORT, DEFAULT_DATABASE, "", "",
+					DEFAULT_POOL_SIZE, DEFAULT_CONNECTION_TIMEOUT, Map.of(), ChangeLogSettings.DISABLED);
+		}
+
+		final Map<String, String> properties = new LinkedHashMap<>();
+		final ConfigurationSection propertySection = section.getConfigurationSection("properties");
+		if (propertySection != null)
+		{
+			for (String key : propertySection.getKeys(false))
+			{
+				properties.put(key, propertySection.getString(key));
+			}
+		}
+
+		return new MysqlSettings(
+				section.getString("host", DEFAULT_HOST),
+				section.getInt("port", DEFAULT_PORT),
+				section.getString("database", DEFAULT_DATABASE),
+				section.getString("username", ""),
+				section.getString("password", ""),
+				Math.max(1, section.getInt("pool-size", DEFAULT_POOL_SIZE)),
+				Math.max(250L, section.getLong("connection-timeout", DEFAULT_CONNECTION_TIMEOUT)),
+				Map.copyOf(properties),
+				ChangeLogSettings.of(section.getConfigurationSection("change-log")));
+	}
+
+
+	/**
+	 * Get the JDBC url for these settings
+	 *
+	 * @return the JDBC url
+	 */
+	public String jdbcUrl()
+	{
+		return "jdbc:mariadb://" + host + ":" + port + "/" + database;
+	}
+
+
+	/**
+	 * Get the settings for display. The password is not included.
+	 *
+	 * @return an ordered map of setting names to their values
+	 */
+	public Map<String, String> read()
+	{
+		final Map<String, String> returnMap = new LinkedHashMap<>();
+		returnMap.put("type", "mysql");
+		returnMap.put("url", jdbcUrl());
+		returnMap.put("username", username);
+		returnMap.put("pool_size", String.valueOf(poolSize));
+		returnMap.put("connection_timeout", String.valueOf(connectionTimeout));
+		returnMap.put("change_log", String.valueOf(changeLog.enabled()));
+		return returnMap;
+	}
+
+}
@@ -0,0 +1,549 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.savagegraveyards.datastore.sqlite;
+
+import com.winterhavenmc.library.messagebuilder.models.configuration.ConfigRepository;
+
+import com.winterhavenmc.savagegraveyards.datastore.DatastoreBackup;
+import com.winterhavenmc.savagegraveyards.datastore.DatastoreMessage;
+import com.winterhavenmc.savagegraveyards.datastore.journal.JournalDiscoveryRepository;
+import com.winterhavenmc.savagegraveyards.datastore.sqlite.SqliteSettings.BackupSettings;
+import com.winterhavenmc.savagegraveyards.datastore.sqlite.schema.Schema;
+
+import org.sqlite.SQLiteConfig;
+import org.sqlite.SQLiteConnection;
+import org.sqlite.core.DB;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+import static com.winterhavenmc.savagegraveyards.datastore.DatastoreMessage.DATASTORE_NAME;
+
+
+/**
+ * Online backups of the SQLite datastore, written with the SQLite backup API on a background thread while the
+ * datastore remains in use. Each step copies a limited number of pages, followed by a pause, so that datastore
+ * writes are not kept waiting. Backups are written to the backups directory of the plugin data folder, and the
+ * oldest backup files are removed once the configured number is exceeded. If discoveries are stored in the
+ * discovery journal, a copy of the journal is written beside each backup file, with the same name.
+ * <p>
+ * A backup is restored by staging it beside the datastore file, and its journal copy, if any, beside the journal
+ * file. The staged file is validated again, and replaces the datastore file and the journal file, when the
+ * datastore is next opened at server start.
+ */
+public final class SqliteBackup implements DatastoreBackup, AutoCloseable
+{
+	static final String DIRECTORY_NAME = "backups";
+	static final String STAGED_RESTORE_SUFFIX = ".restore";
+
+	private static final String FILE_PREFIX = "graveyards-";
+	private static final String FILE_SUFFIX = ".db";
+	private static final String JOURNAL_SUFFIX = ".journal";
+	private static final String PARTIAL_SUFFIX = ".part";
+	private static final String REPLACED_PREFIX = "replaced-";
+	private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+	private static final long SHUTDOWN_TIMEOUT_SECONDS = 30;
+	private static final int BUSY_SLEEP_MILLIS = 100;
+	private static final int BUSY_RETRIES = 100;
+	private static final int MAX_PAUSED_RESTARTS = 3;
+	private static final int SQLITE_OK = 0;
+
+	private final Path dataFile;
+	private final Path journalFile;
+	private final JournalDiscoveryRepository journal;
+	private final Path directory;
+	private final SqliteSettings settings;
+	private final BackupSettings backup;
+	private final ConfigRepository configRepository;
+	private final Logger logger;
+	private final ScheduledExecutorService backupExecutor;
+
+
+	/**
+	 * Class constructor
+	 *
+	 * @param dataFile the path of the datastore file
+	 * @param journalFile the path of the discovery journal file
+	 * @param journal the journal discovery repository, or {@code null} if discoveries are stored in the datastore
+	 * @param settings the connection settings, including the backup settings
+	 * @param configRepository the config repository, used for log message localization
+	 * @param logger the plugin logger
+	 */
+	public SqliteBackup(final Path dataFile,
+	                    final Path journalFile,
+	                    final JournalDiscoveryRepository journal,
+	                    final SqliteSettings settings,
+	                    final ConfigRepository configRepository,
+	                    final Logger logger)
+	{
+		this.dataFile = dataFile;
+		this.journalFile = journalFile;
+		this.journal = journal;
+		this.directory = dataFile.resolveSibling(DIRECTORY_NAME);
+		this.settings = settings;
+		this.backup = settings.backup();
+		this.configRepository = configRepository;
+		this.logger = logger;
+
+		// scheduled and requested backups share a single thread, so that they never overlap
+		this.backupExecutor = Executors.newSingleThreadScheduledExecutor(runnable ->
+		{
+			final Thread thread = new Thread(runnable, "SavageGraveyards-Backup");
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+
+	/**
+	 * Schedule backups at the configured interval, if an interval is configured
+	 */
+	public void start()
+	{
+		if (backup.interval() > 0)
+		{
+			backupExecutor.scheduleWithFixedDelay(this::backupSafely, backup.interval(), backup.interval(), TimeUnit.MINUTES);
+		}
+	}
+
+
+	/**
+	 * Stop scheduled backups, waiting for a backup in progress to complete
+	 */
+	@Override
+	public void close()
+	{
+		backupExecutor.shutdown();
+		try
+		{
+			if (!backupExecutor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS))
+			{
+				backupExecutor.shutdownNow();
+			}
+		}
+		catch (InterruptedException interruptedException)
+		{
+			backupExecutor.shutdownNow();
+			Thread.currentThread().interrupt();
+		}
+	}
+
+
+	@Override
+	public CompletableFuture<BackupResult> backup()
+	{
+		return CompletableFuture.supplyAsync(() ->
+		{
+			try
+			{
+				return write();
+			}
+			catch (SQLException | IOException exception)
+			{
+				logger.warning(DatastoreMessage.BACKUP_ERROR.getLocalizedMessage(configRepository.locale(), DATASTORE_NAME));
+				logger.warning(exception.getLocalizedMessage());
+				throw new IllegalStateException(exception.getLocalizedMessage(), exception);
+			}
+		}, backupExecutor);
+	}
+
+
+	@Override
+	public CompletableFuture<RestoreStatus> stageRestore(final String fileName)
+	{
+		return CompletableFuture.supplyAsync(() ->
+		{
+			final Optional<Path> source = resolve(fileName);
+			if (source.isEmpty() || !Files.isRegularFile(source.get()))
+			{
+				return RestoreStatus.NOT_FOUND;
+			}
+
+			final Optional<String> problem = validate(source.get(), configRepository, logger);
+			if (problem.isPresent())
+			{
+				logger.warning(DatastoreMessage.RESTORE_INVALID_ERROR.getLocalizedMessage(configRepository.locale(), fileName, problem.get()));
+				return RestoreStatus.INVALID;
+			}
+
+			try
+			{
+				final Path journalCopy = journalBackup(source.get());
+				if (Files.isRegularFile(journalCopy))
+				{
+					Files.copy(journalCopy, stagedRestore(journalFile), StandardCopyOption.REPLACE_EXISTING);
+				}
+				else
+				{
+					Files.deleteIfExists(stagedRestore(journalFile));
+					if (journal != null)
+					{
+						logger.warning(DatastoreMessage.RESTORE_NO_JOURNAL_WARNING.getLocalizedMessage(configRepository.locale(), fileName));
+					}
+				}
+
+				Files.copy(source.get(), stagedRestore(dataFile), StandardCopyOption.REPLACE_EXISTING);
+				logger.info(DatastoreMessage.RESTORE_STAGED_NOTICE.getLocalizedMessage(configRepository.locale(), fileName, DATASTORE_NAME));
+				return RestoreStatus.STAGED;
+			}
+			catch (IOException ioException)
+			{
+				logger.warning(DatastoreMessage.RESTORE_ERROR.getLocalizedMessage(configRepository.locale(), DATASTORE_NAME));
+				logger.warning(ioException.getLocalizedMessage());
+				return RestoreStatus.FAILED;
+			}
+		}, backupExecutor);
+	}
+
+
+	@Override
+	public List<String> list()
+	{
+		return backupFiles().stream()
+				.map(path -> path.getFileName().toString())
+				.toList();
+	}
+
+
+	/**
+	 * Replace the datastore file with a staged backup, if one is present and valid, and the discovery journal file
+	 * with the staged copy of the journal, if the backup has one. This must be called before any connection to the
+	 * datastore is opened, and before the journal is opened. The replaced files are moved to the backups directory.
+	 *
+	 * @param dataFile the path of the datastore file
+	 * @param journalFile the path of the discovery journal file
+	 * @param configRepository the config repository, used for log message localization
+	 * @param logger the plugin logger
+	 */
+	public static void restoreStaged(final Path dataFile, final Path journalFile,
+	                                 final ConfigRepository configRepository, final Logger logger)
+	{
+		final Path staged = stagedRestore(dataFile);
+		final Path stagedJournal = stagedRestore(journalFile);
+		if (!Files.isRegularFile(staged))
+		{
+			return;
+		}
+
+		try
+		{
+			final Optional<String> problem = validate(staged, configRepository, logger);
+			if (problem.isPresent())
+			{
+				logger.warning(DatastoreMessage.RESTORE_INVALID_ERROR.getLocalizedMessage(configRepository.locale(),
+						staged.getFileName(), problem.get()));
+				Files.delete(staged);
+				Files.deleteIfExists(stagedJournal);
+				return;
+			}
+
+			final Path directory = Files.createDirectories(dataFile.resolveSibling(DIRECTORY_NAME));
+			final Path replaced = directory.resolve(REPLACED_PREFIX + FILE_PREFIX + LocalDateTime.now().format(TIMESTAMP_FORMAT) + FILE_SUFFIX);
+
+			// the journal is replaced first, so that a restored datastore is never paired with the replaced journal
+			if (Files.isRegularFile(stagedJournal))
+			{
+				final Path replacedJournal = journalBackup(replaced);
+				if (Files.exists(journalFile))
+				{
+					Files.move(journalFile, replacedJournal);
+				}
+				Files.deleteIfExists(journalFile.resolveSibling(journalFile.getFileName() + ".compact"));
+				Files.deleteIfExists(journalFile.resolveSibling(journalFile.getFileName() + ".tmp"));
+				Files.move(stagedJournal, journalFile);
+
+				logger.info(DatastoreMessage.RESTORE_JOURNAL_COMPLETE_NOTICE.getLocalizedMessage(configRepository.locale(),
+						replacedJournal.getFileName()));
+			}
+
+			// the datastore was closed at shutdown, so its write-ahead log has been checkpointed and may be discarded
+			if (Files.exists(dataFile))
+			{
+				Files.move(dataFile, replaced);
+			}
+			Files.deleteIfExists(dataFile.resolveSibling(dataFile.getFileName() + "-wal"));
+			Files.deleteIfExists(dataFile.resolveSibling(dataFile.getFileName() + "-shm"));
+			Files.move(staged, dataFile);
+
+			logger.info(DatastoreMessage.RESTORE_COMPLETE_NOTICE.getLocalizedMessage(configRepository.locale(),
+					DATASTORE_NAME, replaced.getFileName()));
+		}
+		catch (IOException ioException)
+		{
+			logger.warning(DatastoreMessage.RESTORE_ERROR.getLocalizedMessage(configRepository.locale(), DATASTORE_NAME));
+			logger.warning(ioException.getLocalizedMessage());
+		}
+	}
+
+
+	/**
+	 * Write a backup, logging the result or any error, so that a failed backup does not cancel later backups
+	 */
+	private void backupSafely()
+	{
+		try
+		{
+			write();
+		}
+		catch (SQLException | IOException | RuntimeException exception)
+		{
+			logger.warning(DatastoreMessage.BACKUP_ERROR.getLocalizedMessage(configRepository.locale(), DATASTORE_NAME));
+			logger.warning(exception.getLocalizedMessage());
+		}
+	}
+
+
+	/**
+	 * Write a backup of the datastore to a new file, and remove the oldest backup files
+	 *
+	 * @return the result of the backup
+	 * @throws SQLException if the datastore could not be read or the backup could not be written
+	 * @throws IOException if the backup file could not be moved into place
+	 */
+	BackupResult write() throws SQLException, IOException
+	{
+		final long startNanos = System.nanoTime();
+
+		Files.createDirectories(directory);
+		final String fileName = FILE_PREFIX + LocalDateTime.now().format(TIMESTAMP_FORMAT) + FILE_SUFFIX;
+		final Path target = directory.resolve(fileName);
+		final Path partial = directory.resolve(fileName + PARTIAL_SUFFIX);
+		final Path journalTarget = journalBackup(target);
+		final Path journalPartial = directory.resolve(journalTarget.getFileName() + PARTIAL_SUFFIX);
+		Files.deleteIfExists(partial);
+		Files.deleteIfExists(journalPartial);
+
+		final SQLiteConfig sqliteConfig = new SQLiteConfig();
+		sqliteConfig.setReadOnly(true);
+
+		try (final Connection connection = DriverManager.getConnection("jdbc:sqlite:" + dataFile, sqliteConfig.toProperties()))
+		{
+			settings.applyReadOnly(connection);
+			final DB db = connection.unwrap(SQLiteConnection.class).getDatabase();
+
+			// the driver sleeps only while the datastore is busy, so the pause between steps is made by the observer
+			final int result = db.backup("main", partial.toString(), new StepPause(backup.stepPause()),
+					BUSY_SLEEP_MILLIS, BUSY_RETRIES, backup.pagesPerStep());
+			if (result != SQLITE_OK)
+			{
+				throw new SQLException("backup failed with result code " + result);
+			}
+		}
+		catch (SQLException sqlException)
+		{
+			Files.deleteIfExists(partial);
+			throw sqlException;
+		}
+
+		// the journal copy is taken once the datastore copy is complete, and is in place before the backup is listed
+		if (journal != null)
+		{
+			try
+			{
+				journal.writeSnapshot(journalPartial);
+				Files.move(journalPartial, journalTarget, StandardCopyOption.ATOMIC_MOVE);
+			}
+			catch (IOException ioException)
+			{
+				Files.deleteIfExists(journalPartial);
+				Files.deleteIfExists(partial);
+				throw ioException;
+			}
+		}
+
+		Files.move(partial, target, StandardCopyOption.ATOMIC_MOVE);
+
+		final BackupResult backupResult = new BackupResult(fileName, Files.size(target), Duration.ofNanos(System.nanoTime() - startNanos));
+		logger.info(DatastoreMessage.BACKUP_COMPLETE_NOTICE.getLocalizedMessage(configRepository.locale(),
+				DATASTORE_NAME, fileName, backupResult.size() / 1024, backupResult.elapsed().toMillis()));
+
+		prune();
+		return backupResult;
+	}
+
+
+	/**
+	 * Remove the oldest backup files, keeping the configured number
+	 */
+	private void prune()
+	{
+		final List<Path> files = backupFiles();
+		for (Path path : files.subList(Math.min(backup.keep(), files.size()), files.size()))
+		{
+			try
+			{
+				Files.deleteIfExists(path);
+				Files.deleteIfExists(journalBackup(path));
+			}
+			catch (IOException ioException)
+			{
+				logger.warning(DatastoreMessage.BACKUP_PRUNE_ERROR.getLocalizedMessage(configRepository.locale(), DATASTORE_NAME));
+				logger.warning(ioException.getLocalizedMessage());
+			}
+		}
+	}
+
+
+	/**
+	 * Get the existing backup files, newest first. Backup file names sort in the order they were written.
+	 */
+	private List<Path> backupFiles()
+	{
+		if (!Files.isDirectory(directory))
+		{
+			return Collections.emptyList();
+		}
+
+		try (Stream<Path> paths = Files.list(directory))
+		{
+			return paths.filter(Files::isRegularFile)
+					.filter(path -> path.getFileName().toString().startsWith(FILE_PREFIX))
+					.filter(path -> path.getFileName().toString().endsWith(FILE_SUFFIX))
+					.sorted(Comparator.comparing((Path path) -> path.getFileName().toString()).reversed())
+					.toList();
+		}
+		catch (IOException ioException)
+		{
+			return Collections.emptyList();
+		}
+	}
+
+
+	private Optional<Path> resolve(final String fileName)
+	{
+		final Path path = directory.resolve(fileName).normalize();
+		return (path.getParent() != null && path.getParent().equals(directory.normalize()))
+				? Optional.of(path)
+				: Optional.empty();
+	}
+
+
+	private static Path stagedRestore(final Path file)
+	{
+		return file.resolveSibling(file.getFileName() + STAGED_RESTORE_SUFFIX);
+	}
+
+
+	/**
+	 * Get the path of the journal copy written beside a backup file
+	 */
+	static Path journalBackup(final Path backupFile)
+	{
+		final String fileName = backupFile.getFileName().toString();
+		return backupFile.resolveSibling(fileName.substring(0, fileName.length() - FILE_SUFFIX.length()) + JOURNAL_SUFFIX);
+	}
+
+
+	/**
+	 * Check that a file is an intact SQLite database with a schema version this plugin can open
+	 *
+	 * @return a description of the problem, or an empty {@link Optional} if the file may be restored
+	 */
+	static Optional<String> validate(final Path file, final ConfigRepository configRepository, final Logger logger)
+	{
+		final SQLiteConfig sqliteConfig = new SQLiteConfig();
+		sqliteConfig.setReadOnly(true);
+
+		try (final Connection connection = DriverManager.getConnection("jdbc:sqlite:" + file, sqliteConfig.toProperties());
+		     final Statement statement = connection.createStatement())
+		{
+			try (final ResultSet resultSet = statement.executeQuery("PRAGMA quick_check"))
+			{
+				if (!resultSet.next() || !"ok".equalsIgnoreCase(resultSet.getString(1)))
+				{
+					return Optional.of("the integrity check failed");
+				}
+			}
+
+			final int version = SqliteConnectionProvider.getSchemaVersion(connection, configRepository, logger);
+			if (version != Schema.VERSION)
+			{
+				return Optional.of("the schema version is " + version + ", but version " + Schema.VERSION + " is required");
+			}
+
+			return Optional.empty();
+		}
+		catch (SQLException sqlException)
+		{
+			return Optional.of(sqlException.getLocalizedMessage());
+		}
+	}
+
+
+	/**
+	 * Pauses between backup steps. The backup is restarted when the datastore is written by another connection
+	 * between steps, so after a few restarts the remaining steps are taken without pausing, and the backup
+	 * completes before the next write.
+	 */
+	private static final class StepPause implements DB.ProgressObserver
+	{
+		private final long pauseMillis;
+		private int lastRemaining = Integer.MAX_VALUE;
+		private int restarts;
+
+
+		private StepPause(final long pauseMillis)
+		{
+			this.pauseMillis = pauseMillis;
+		}
+
+
+		@Override
+		public void progress(final int remaining, final int pageCount)
+		{
+			if (remaining > lastRemaining)
+			{
+				restarts++;
+			}
+			lastRemaining = remaining;
+
+			if (remaining > 0 && pauseMillis > 0 && restarts < MAX_PAUSED_RESTARTS && !Thread.currentThread().isInterrupted())
+			{
+				try
+				{
+					Thread.sleep(pauseMillis);
+				}
+				catch (InterruptedException interruptedException)
+				{
+					Thread.currentThread().interrupt();
+				}
+			}
+		}
+	}
+
+}
@@ -22,16 +22,46 @@ import com.winterhavenmc.library.messagebuilder.models.configuration.ConfigRepos
 
 import com.winterhavenmc.savagegraveyards.datastore.DatastoreMessage;
 import com.winterhavenmc.savagegraveyards.datastore.sqlite.schema.*;
+import com.winterhavenmc.savagegraveyards.datastore.AsyncDiscoveryRepository;
+import com.winterhavenmc.savagegraveyards.datastore.AsyncGraveyardRepository;
 import com.winterhavenmc.savagegraveyards.datastore.ConnectionProvider;
+import com.winterhavenmc.savagegraveyards.datastore.DatastoreBackup;
+import com.winterhavenmc.savagegraveyards.datastore.DatastoreEventBus;
+import com.winterhavenmc.savagegraveyards.datastore.DatastoreExecutor;
+import com.winterhavenmc.savagegraveyards.datastore.DiscoveryCache;
 import com.winterhavenmc.savagegraveyards.datastore.DiscoveryRepository;
+import com.winterhavenmc.savagegraveyards.datastore.DiscoverySource;
+import com.winterhavenmc.savagegraveyards.datastore.ExecutorDiscoveryRepository;
+import com.winterhavenmc.savagegraveyards.datastore.ExecutorGraveyardRepository;
+import com.winterhavenmc.savagegraveyards.datastore.GraveyardCatalog;
 import com.winterhavenmc.savagegraveyards.datastore.GraveyardRepository;
-
+import com.winterhavenmc.savagegraveyards.datastore.MainThreadWatchdog;
+import com.winterhavenmc.savagegraveyards.datastore.QueryMetrics;
+import com.winterhavenmc.savagegraveyards.datastore.QueryObserver;
+import com.winterhavenmc.savagegraveyards.datastore.QueryStatistics;
+import com.winterhavenmc.savagegraveyards.datastore.RepositoryEventBus;
+import com.winterhavenmc.savagegraveyards.datastore.TimedDiscoveryRepository;
+import com.winterhavenmc.savagegraveyards.datastore.TimedGraveyardRepository;
+import com.winterhavenmc.savagegraveyards.datastore.journal.DiscoveryJournal;
+import com.winterhavenmc.savagegraveyards.datastore.journal.JournalDiscoveryRepository;
+
+import com.winterhavenmc.savagegraveyards.models.Config;
 import com.winterhavenmc.savagegraveyards.models.discovery.Discovery;
 import com.winterhavenmc.savagegraveyards.models.graveyard.Graveyard;
+import org.bukkit.OfflinePlayer;
 import org.bukkit.plugin.Plugin;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.sql.*;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.UUID;
 import java.util.logging.Logger;
 
 import static com.winterhavenmc.savagegraveyards.datastore.DatastoreMessage.DATASTORE_NAME;
@@ -44,10 +74,30 @@ public final class SqliteConnectionProvider implements ConnectionProvider
 	private final ConfigRepository configRepository;
 	private final String dataFilePath;
 	private Connection connection;
+	private SqliteStatementCache statementCache;
+	private SqliteReadPool readPool;
+	private SqliteSettings settings;
 	private boolean initialized;
 
-	private SqliteDiscoveryRepository discoveryRepository;
+	private static final String JOURNAL_STORAGE = "journal";
+	private static final String JOURNAL_FILE_NAME = "discoveries.journal";
+
+	private final GraveyardCatalog graveyardCatalog = new GraveyardCatalog();
+	private final DiscoveryCache discoveryCache;
+	private final RepositoryEventBus eventBus;
+	private SqliteDiscoveryWriter discoveryWriter;
+	private SqliteMaintenance maintenance;
+	private SqliteBackup backup;
+	private DiscoveryRepository discoveryRepository;
+	private JournalDiscoveryRepository journalRepository;
 	private SqliteGraveyardRepository graveyardRepository;
+	private DatastoreExecutor datastoreExecutor;
+	private QueryMetrics queryMetrics;
+	private MainThreadWatchdog watchdog;
+	private GraveyardRepository timedGraveyardRepository;
+	private DiscoveryRepository timedDiscoveryRepository;
+	private AsyncGraveyardRepository asyncGraveyardRepository;
+	private AsyncDiscoveryRepository asyncDiscoveryRepository;
 
 
 	private SqliteConnectionProvider(final Plugin plugin)
@@ -55,6 +105,8 @@ public final class SqliteConnectionProvider implements ConnectionProvider
 		this.plugin = plugin;
 		this.configRepository = BukkitConfigRepository.create(plugin);
 		this.dataFilePath = plugin.getDataFolder() + File.separator + "graveyards.db";
+		this.discoveryCache = new DiscoveryCache(graveyardCatalog, Config.DISCOVERY_CACHE_SIZE.getInt(plugin.getConfig()));
+		this.eventBus = new DatastoreEventBus(configRepository, plugin.getLogger());
 	}
 
 
@@ -138,6 +190,52 @@ public final class SqliteConnectionProvider implements ConnectionProvider
 	@Override
 	public void close()
 	{
+		// stop background maintenance, and complete any backup in progress
+		if (maintenance != null)
+		{
+			maintenance.close();
+		}
+
+		if (backup != null)
+		{
+			backup.close();
+		}
+
+		// complete any asynchronous operations in progress
+		if (datastoreExecutor != null)
+		{
+			datastoreExecutor.close();
+		}
+
+		// write and close the discovery journal, if journal storage is in use
+		if (journalRepository != null)
+		{
+			journalRepository.close();
+		}
+
+		// write any queued discoveries before closing
+		if (discoveryWriter != null)
+		{
+			discoveryWriter.close();
+		}
+
+		// close read connections
+		if (readPool != null)
+		{
+			readPool.close();
+		}
+
+		// close cached statements
+		if (statementCache != null)
+		{
+			statementCache.close();
+			if (Config.DEBUG.getBoolean(plugin.getConfig()))
+			{
+				plugin.getLogger().info(DatastoreMessage.STATEMENT_CACHE_STATISTICS_NOTICE.getLocalizedMessage(configRepository.locale(),
+						statementCache.getPrepareCount(), statementCache.getReuseCount()));
+			}
+		}
+
 		try
 		{
 			connection.close();
@@ -161,7 +259,7 @@ public final class SqliteConnectionProvider implements ConnectionProvider
 	@Override
 	public GraveyardRepository graveyards()
 	{
-		return this.graveyardRepository;
+		return this.timedGraveyardRepository;
 	}
 
 
@@ -173,7 +271,113 @@ public final class SqliteConnectionProvider implements ConnectionProvider
 	@Override
 	public DiscoveryRepository discoveries()
 	{
-		return this.discoveryRepository;
+		return this.timedDiscoveryRepository;
+	}
+
+
+	/**
+	 * Get instance of AsyncGraveyardRepository
+	 *
+	 * @return {@link AsyncGraveyardRepository}
+	 */
+	@Override
+	public AsyncGraveyardRepository asyncGraveyards()
+	{
+		return this.asyncGraveyardRepository;
+	}
+
+
+	/**
+	 * Get instance of AsyncDiscoveryRepository
+	 *
+	 * @return {@link AsyncDiscoveryRepository}
+	 */
+	@Override
+	public AsyncDiscoveryRepository asyncDiscoveries()
+	{
+		return this.asyncDiscoveryRepository;
+	}
+
+
+	/**
+	 * Get the bus on which graveyard and discovery changes are published
+	 *
+	 * @return {@link RepositoryEventBus}
+	 */
+	@Override
+	public RepositoryEventBus events()
+	{
+		return this.eventBus;
+	}
+
+
+	/**
+	 * Get the online backups of the SQLite datastore
+	 *
+	 * @return {@link DatastoreBackup}, or an empty {@link Optional} if the datastore is not initialized
+	 */
+	@Override
+	public Optional<DatastoreBackup> backups()
+	{
+		return Optional.ofNullable(this.backup);
+	}
+
+
+	/**
+	 * Rebuild the discovery range index if the default discovery range was changed in the reloaded configuration
+	 */
+	@Override
+	public void reload()
+	{
+		if (graveyardRepository == null) { return; }
+
+		graveyardRepository.reloadRangeIndex(Config.DISCOVERY_RANGE.getInt(plugin.getConfig()));
+	}
+
+
+	/**
+	 * Get the SQLite settings in effect on the datastore connection, followed by read pool, maintenance
+	 * and discovery cache statistics
+	 *
+	 * @return an ordered map of setting names to their current values
+	 */
+	@Override
+	public Map<String, String> settings()
+	{
+		if (!initialized)
+		{
+			return Map.of();
+		}
+
+		final Map<String, String> returnMap = settings.read(connection, configRepository, plugin.getLogger());
+		returnMap.putAll(readPool.statistics());
+		returnMap.putAll(maintenance.statistics());
+		returnMap.putAll(discoveryCache.statistics());
+		return returnMap;
+	}
+
+
+	/**
+	 * Get the latency statistics of each repository operation performed since the datastore was opened
+	 *
+	 * @return a list of statistics, ordered by operation name
+	 */
+	@Override
+	public List<QueryStatistics> queryStatistics()
+	{
+		return (queryMetrics != null) ? queryMetrics.statistics() : List.of();
+	}
+
+
+	/**
+	 * Get the time the server thread was blocked by datastore operations in the last minute
+	 *
+	 * @return the blocked time in milliseconds, or an empty {@link OptionalLong} if the watchdog is not enabled
+	 */
+	@Override
+	public OptionalLong mainThreadBlockedMillis()
+	{
+		return (watchdog != null) ? OptionalLong.of(watchdog.blockedMillisLastMinute()) : OptionalLong.empty();
 	}
 
 
@@ -198,23 +402,96 @@ public final class SqliteConnectionProvider implements ConnectionProvider
 		String jdbc = "jdbc:sqlite";
 		String dbUrl = jdbc + ":" + dataFilePath;
 
+		// replace the database file with a staged backup, before any connection is opened
+		SqliteBackup.restoreStaged(Path.of(dataFilePath), plugin.getDataFolder().toPath().resolve(JOURNAL_FILE_NAME),
+				configRepository, plugin.getLogger());
+
 		// create a database connection
 		connection = DriverManager.getConnection(dbUrl);
 
 		// enable foreign keys
 		enableForeignKeys(connection, configRepository);
 
+		// apply configured performance settings
+		settings = SqliteSettings.of(plugin.getConfig().getConfigurationSection(SqliteSettings.CONFIG_SECTION), configRepository, plugin.getLogger());
+		applySettings(connection, configRepository);
+
 		// update schema if necessary
 		SchemaUpdater schemaUpdater = SchemaUpdater.create(plugin, connection, configRepository);
 		createTables(schemaUpdater);
 		schemaUpdater.update();
 
+		// read the schema version once, for selecting the row mappers
+		final int schemaVersion = getSchemaVersion(connection, configRepository, plugin.getLogger());
+
+		// convert to incremental auto-vacuum before other connections are opened, if maintenance is enabled
+		if (settings.maintenance().enabled())
+		{
+			SqliteMaintenance.enableIncrementalVacuum(connection, configRepository, plugin.getLogger());
+		}
+
+		// create statement cache for the connection
+		statementCache = new SqliteStatementCache(connection);
+
+		// open read-only connections for reads that may run off the main thread
+		readPool = new SqliteReadPool(dbUrl, settings, statementCache, configRepository, plugin.getLogger());
+
+		// open discovery journal, if journal storage is selected
+		journalRepository = openJournal(schemaVersion);
+
+		// start discovery writer, if write-behind is enabled and discoveries are stored in the sqlite datastore
+		discoveryWriter = new SqliteDiscoveryWriter(dbUrl, configRepository, discoveryCache, eventBus, settings,
+				Config.DISCOVERY_BATCH_SIZE.getInt(plugin.getConfig()),
+				Duration.ofMillis(Config.DISCOVERY_FLUSH_INTERVAL.getLong(plugin.getConfig())),
+				plugin.getLogger());
+		if (journalRepository == null && Config.DISCOVERY_WRITE_BEHIND.getBoolean(plugin.getConfig()))
+		{
+			discoveryWriter.start();
+		}
+
 		// instantiate discovery repository
-		discoveryRepository = new SqliteDiscoveryRepository(connection, configRepository, plugin.getLogger());
+		discoveryRepository = (journalRepository != null)
+				? journalRepository
+				: new SqliteDiscoveryRepository(statementCache, readPool, configRepository, discoveryCache, discoveryWriter, eventBus, plugin.getLogger());
+		final DiscoverySource discoverySource = (journalRepository != null)
+				? journalRepository
+				: DiscoverySource.NONE;
 
 		// instantiate graveyard repository, with new row mapper for schema
-		RowMapper<Graveyard> graveyardRowMapper = selectGraveyardRowMapper(getSchemaVersion(connection, configRepository, plugin.getLogger()));
-		graveyardRepository = new SqliteGraveyardRepository(connection, configRepository, graveyardRowMapper, plugin.getLogger());
+		RowMapper<Graveyard> graveyardRowMapper = selectGraveyardRowMapper(schemaVersion);
+		graveyardRepository = new SqliteGraveyardRepository(statementCache, readPool, configRepository, graveyardRowMapper, graveyardCatalog, discoveryCache, discoverySource, eventBus, plugin.getLogger());
+
+		// load all graveyard records into in-memory catalog
+		graveyardRepository.loadCatalog();
+
+		// create or refresh the discovery range index
+		graveyardRepository.initializeRangeIndex(Config.DISCOVERY_RANGE.getInt(plugin.getConfig()));
+
+		// record the latency of repository operations, and watch for operations on the server thread if enabled
+		if (Config.MAIN_THREAD_WATCHDOG.getBoolean(plugin.getConfig()))
+		{
+			watchdog = new MainThreadWatchdog(DATASTORE_NAME, Duration.ofMillis(Config.MAIN_THREAD_BUDGET.getLong(plugin.getConfig())),
+					plugin.getServer()::isPrimaryThread, System::currentTimeMillis, configRepository, plugin.getLogger());
+		}
+		queryMetrics = new QueryMetrics(DATASTORE_NAME, Duration.ofMillis(Config.SLOW_QUERY_THRESHOLD.getLong(plugin.getConfig())),
+				(watchdog != null) ? watchdog : QueryObserver.NONE, configRepository, plugin.getLogger());
+		timedGraveyardRepository = new TimedGraveyardRepository(graveyardRepository, queryMetrics);
+		timedDiscoveryRepository = new TimedDiscoveryRepository(discoveryRepository, queryMetrics);
+
+		// instantiate asynchronous repositories, backed by datastore threads
+		datastoreExecutor = new DatastoreExecutor(configRepository, plugin.getLogger(), Config.DATASTORE_THREADS.getInt(plugin.getConfig()));
+		asyncGraveyardRepository = new ExecutorGraveyardRepository(timedGraveyardRepository, datastoreExecutor);
+		asyncDiscoveryRepository = new ExecutorDiscoveryRepository(timedDiscoveryRepository, datastoreExecutor);
+
+		// schedule background maintenance; discoveries are removed only if they are stored in the sqlite datastore
+		maintenance = new SqliteMaintenance(dbUrl, settings, discoveryCache, eventBus, journalRepository == null,
+				this::lastPlayed, configRepository, plugin.getLogger());
+		maintenance.start();
+
+		// schedule online backups
+		backup = new SqliteBackup(Path.of(dataFilePath), plugin.getDataFolder().toPath().resolve(JOURNAL_FILE_NAME),
+				journalRepository, settings, configRepository, plugin.getLogger());
+		backup.start();
 
 		// set initialized field true
 		this.initialized = true;
@@ -224,13 +501,75 @@ public final class SqliteConnectionProvider implements ConnectionProvider
 	}
 
 
+	/**
+	 * Open the discovery journal, if journal storage is selected in the config. When the journal file is created,
+	 * the discovery records in the SQLite datastore are copied into it. If the journal cannot be opened or the
+	 * records cannot be copied, discoveries are stored in the SQLite datastore.
+	 *
+	 * @param schemaVersion the schema version of the datastore, for selecting the discovery row mapper
+	 * @return the journal discovery repository, or {@code null} if discoveries are stored in the SQLite datastore
+	 */
+	private JournalDiscoveryRepository openJournal(final int schemaVersion)
+	{
+		if (!JOURNAL_STORAGE.equalsIgnoreCase(Config.DISCOVERY_STORAGE.getString(plugin.getConfig())))
+		{
+			return null;
+		}
+
+		final Path journalPath = plugin.getDataFolder().toPath().resolve(JOURNAL_FILE_NAME);
+
+		try
+		{
+			final DiscoveryJournal journal = DiscoveryJournal.open(journalPath);
+
+			if (journal.isCreated() && !new SqliteJournalImporter(connection,
+					selectDiscoveryRowMapper(schemaVersion),
+					configRepository, plugin.getLogger()).copyTo(journal))
+			{
+				// remove the partial journal, so that the copy is attempted again at the next start
+				journal.close();
+				Files.deleteIfExists(journalPath);
+				plugin.getLogger().warning(DatastoreMessage.JOURNAL_OPEN_ERROR.getLocalizedMessage(configRepository.locale(), DATASTORE_NAME));
+				return null;
+			}
+
+			return new JournalDiscoveryRepository(journal, discoveryCache,
+					graveyardUid -> graveyardCatalog.get(graveyardUid).isPresent(), eventBus,
+					Duration.ofMinutes(Config.DISCOVERY_JOURNAL_COMPACT_INTERVAL.getLong(plugin.getConfig())),
+					configRepository, plugin.getLogger());
+		}
+		catch (IOException ioException)
+		{
+			plugin.getLogger().warning(DatastoreMessage.JOURNAL_OPEN_ERROR.getLocalizedMessage(configRepository.locale(), DATASTORE_NAME));
+			plugin.getLogger().warning(ioException.getLocalizedMessage());
+			return null;
+		}
+	}
+
+
+	/**
+	 * Get the time a player last played on the server, for discovery retention. Online players are treated
+	 * as playing now.
+	 *
+	 * @param playerUid the uid of the player
+	 * @return the time the player last played, in epoch milliseconds, or zero if the player has never played
+	 */
+	private long lastPlayed(final UUID playerUid)
+	{
+		final OfflinePlayer player = plugin.getServer().getOfflinePlayer(playerUid);
+		return (player.isOnline()) ? System.currentTimeMillis() : player.getLastPlayed();
+	}
+
+
 	public static RowMapper<Graveyard> selectGraveyardRowMapper(final int version)
 	{
 		return switch (version)
 		{
 			case 0 -> new Version0.GraveyardRowMapper();
 			case 1 -> new Version1.GraveyardRowMapper();
-			default -> new Version2.GraveyardRowMapper();
+			case 2 -> new Version2.GraveyardRowMapper();
+			case 3 -> new Version3.GraveyardRowMapper();
+			default -> new Version4.GraveyardRowMapper();
 		};
 	}
 
@@ -241,7 +580,9 @@ public final class SqliteConnectionProvider implements ConnectionProvider
 		{
 			case 0 -> new Version0.DiscoveryRowMapper();
 			case 1 -> new Version1.DiscoveryRowMapper();
-			default -> new Version2.DiscoveryRowMapper();
+			case 2 -> new Version2.DiscoveryRowMapper();
+			case 3 -> new Version3.DiscoveryRowMapper();
+			default -> new Version4.DiscoveryRowMapper();
 		};
 	}
 
@@ -256,6 +597,7 @@ public final class SqliteConnectionProvider implements ConnectionProvider
 
 		// create tables if necessary
 		createGraveyardTable(connection, configRepository);
+		createPlayerTable(connection, configRepository);
 		createDiscoveryTable(connection, configRepository);
 	}
 
@@ -273,6 +615,20 @@ public final class SqliteConnectionProvider implements ConnectionProvider
 	}
 
 
+	private void applySettings(final Connection connection, final ConfigRepository configRepository)
+	{
+		try
+		{
+			settings.apply(connection);
+		}
+		catch (SQLException sqlException)
+		{
+			plugin.getLogger().warning(DatastoreMessage.SQLITE_SETTINGS_APPLY_ERROR.getLocalizedMessage(configRepository.locale(), DATASTORE_NAME));
+			plugin.getLogger().warning(sqlException.getLocalizedMessage());
+		}
+	}
+
+
 	private void createGraveyardTable(final Connection connection, final ConfigRepository configRepository)
 	{
 		try (final Statement statement = connection.createStatement())
@@ -287,6 +643,20 @@ public final class SqliteConnectionProvider implements ConnectionProvider
 	}
 
 
+	private void createPlayerTable(final Connection connection, final ConfigRepository configRepository)
+	{
+		try (final Statement statement = connection.createStatement())
+		{
+			statement.executeUpdate(SqliteQueries.getQuery("CreatePlayerTable"));
+		}
+		catch (SQLException sqlException)
+		{
+			plugin.getLogger().warning(DatastoreMessage.CREATE_PLAYER_TABLE_ERROR.getLocalizedMessage(configRepository.locale(), DATASTORE_NAME));
+			plugin.getLogger().warning(sqlException.getLocalizedMessage());
+		}
+	}
+
+
 	private void createDiscoveryTable(final Connection connection, final ConfigRepository configRepository)
 	{
 		try (final Statement statement = connection.createStatement())
@@ -22,24 +22,62 @@ import com.winterhavenmc.savagegraveyards.models.discovery.ValidDiscovery;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.sql.Timestamp;
 import java.time.Instant;
 import java.util.UUID;
 
 
 public final class SqliteDiscoveryQueryExecutor
 {
+	public int insertPlayer(final UUID playerUid,
+	                        final PreparedStatement preparedStatement) throws SQLException
+	{
+		bindPlayer(playerUid, preparedStatement);
+		return preparedStatement.executeUpdate();
+	}
+
+
+	public void addPlayerBatch(final UUID playerUid,
+	                           final PreparedStatement preparedStatement) throws SQLException
+	{
+		bindPlayer(playerUid, preparedStatement);
+		preparedStatement.addBatch();
+	}
+
+
+	private void bindPlayer(final UUID playerUid,
+	                        final PreparedStatement preparedStatement) throws SQLException
+	{
+		preparedStatement.setLong(1, playerUid.getMostSignificantBits());
+		preparedStatement.setLong(2, playerUid.getLeastSignificantBits());
+	}
+
+
 	public int insertDiscovery(final ValidDiscovery validDiscovery,
 	                           final PreparedStatement preparedStatement) throws SQLException
+	{
+		bindDiscovery(validDiscovery, preparedStatement);
+		return preparedStatement.executeUpdate();
+	}
+
+
+	public void addDiscoveryBatch(final ValidDiscovery validDiscovery,
+	                              final PreparedStatement preparedStatement) throws SQLException
+	{
+		bindDiscovery(validDiscovery, preparedStatement);
+		preparedStatement.addBatch();
+	}
+
+
+	private void bindDiscovery(final ValidDiscovery validDiscovery,
+	                           final PreparedStatement preparedStatement) throws SQLException
 	{
 		preparedStatement.setLong(     1, validDiscovery.graveyardUid().getMostSignificantBits());
 		preparedStatement.setLong(     2, validDiscovery.graveyardUid().getLeastSignificantBits());
 		preparedStatement.setLong(     3, validDiscovery.playerUid().getMostSignificantBits());
 		preparedStatement.setLong(     4, validDiscovery.playerUid().getLeastSignificantBits());
-		preparedStatement.setTimestamp(5, (validDiscovery.getTimestamp() != null)
-				? Timestamp.from(validDiscovery.getTimestamp())
-				: Timestamp.from(Instant.now()));
-		return preparedStatement.executeUpdate();
+		preparedStatement.setLong(     5, (validDiscovery.getTimestamp() != null)
+				? validDiscovery.getTimestamp().getEpochSecond()
+				: Instant.now().getEpochSecond());
 	}
 
 
@@ -66,6 +104,14 @@ public final class SqliteDiscoveryQueryExecutor
 	}
 
 
+	public ResultSet selectDiscoveredGraveyardUids(final UUID playerUid, final PreparedStatement preparedStatement) throws SQLException
+	{
+		preparedStatement.setLong(1, playerUid.getMostSignificantBits());
+		preparedStatement.setLong(2, playerUid.getLeastSignificantBits());
+		return preparedStatement.executeQuery();
+	}
+
+
 	public ResultSet selectAllDiscoveries(final PreparedStatement preparedStatement) throws SQLException
 	{
 		return preparedStatement.executeQuery();
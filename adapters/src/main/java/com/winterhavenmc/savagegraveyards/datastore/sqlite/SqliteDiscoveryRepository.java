@@ -19,14 +19,27 @@ package com.winterhavenmc.savagegraveyards.datastore.sqlite;
 
 import com.winterhavenmc.library.messagebuilder.models.configuration.ConfigRepository;
 
+import com.winterhavenmc.savagegraveyards.datastore.DatastoreException;
 import com.winterhavenmc.savagegraveyards.datastore.DatastoreMessage;
+import com.winterhavenmc.savagegraveyards.datastore.DiscoveryCache;
 import com.winterhavenmc.savagegraveyards.datastore.DiscoveryRepository;
+import com.winterhavenmc.savagegraveyards.datastore.RepositoryEvent;
+import com.winterhavenmc.savagegraveyards.datastore.RepositoryEventBus;
+import com.winterhavenmc.savagegraveyards.datastore.sqlite.SqliteStatementCache.CachedStatement;
+import com.winterhavenmc.savagegraveyards.datastore.sqlite.schema.RowMapper;
+import com.winterhavenmc.savagegraveyards.datastore.sqlite.schema.Version4;
+import com.winterhavenmc.savagegraveyards.models.discovery.Discovery;
 import com.winterhavenmc.savagegraveyards.models.discovery.ValidDiscovery;
 
 import java.sql.Connection;
-import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
 import java.util.logging.Logger;
 
 import static com.winterhavenmc.savagegraveyards.datastore.DatastoreMessage.DATASTORE_NAME;
@@ -34,69 +47,293 @@ import static com.winterhavenmc.savagegraveyards.datastore.DatastoreMessage.DATA
 
 public final class SqliteDiscoveryRepository implements DiscoveryRepository
 {
-	private final Connection connection;
+	private final SqliteStatementCache statementCache;
+	private final SqliteReadPool readPool;
 	private final ConfigRepository configRepository;
 	private final Logger logger;
+	private final DiscoveryCache discoveryCache;
+	private final SqliteDiscoveryWriter discoveryWriter;
+	private final RepositoryEventBus eventBus;
 	private final SqliteDiscoveryQueryExecutor queryExecutor = new SqliteDiscoveryQueryExecutor();
+	private final RowMapper<Discovery> discoveryRowMapper = new Version4.DiscoveryRowMapper();
 
 
 	/**
 	 * Class constructor
 	 */
-	public SqliteDiscoveryRepository(final Connection connection,
+	public SqliteDiscoveryRepository(final SqliteStatementCache statementCache,
+	                                 final SqliteReadPool readPool,
 	                                 final ConfigRepository configRepository,
+	                                 final DiscoveryCache discoveryCache,
+	                                 final SqliteDiscoveryWriter discoveryWriter,
+	                                 final RepositoryEventBus eventBus,
 	                                 final Logger logger)
 	{
-		this.connection = connection;
+		this.statementCache = statementCache;
+		this.readPool = readPool;
 		this.configRepository = configRepository;
+		this.discoveryCache = discoveryCache;
+		this.discoveryWriter = discoveryWriter;
+		this.eventBus = eventBus;
 		this.logger = logger;
 	}
 
 
 	/**
-	 * Insert discovery record in the SQLite datastore
+	 * Insert discovery record in the SQLite datastore. If the discovery writer is running, the record is
+	 * queued to be written in a later batch, and is written synchronously only if the queue is full. A queued
+	 * discovery is published to the event bus by the writer, once its batch has been committed.
 	 * @param discovery the discovery to be inserted
 	 * @return true if successful, false if not
 	 */
 	@Override
 	public boolean save(final ValidDiscovery discovery)
 	{
+		if (discoveryWriter.isRunning())
+		{
+			if (discoveryCache.isKnown(discovery.playerUid(), discovery.graveyardUid()))
+			{
+				return false;
+			}
+
+			if (discoveryWriter.offer(discovery))
+			{
+				return true;
+			}
+		}
+
 		int rowsAffected = 0;
 
-		try (final PreparedStatement preparedStatement = connection.prepareStatement(SqliteQueries.getQuery("InsertDiscovery")))
+		try (final SqliteStatementCache.Exclusive exclusive = statementCache.exclusive();
+		     final CachedStatement playerStatement = statementCache.acquire("InsertPlayer");
+		     final CachedStatement cachedStatement = statementCache.acquire("InsertDiscovery"))
 		{
-			rowsAffected = queryExecutor.insertDiscovery(discovery, preparedStatement);
+			queryExecutor.insertPlayer(discovery.playerUid(), playerStatement.statement());
+			rowsAffected = queryExecutor.insertDiscovery(discovery, cachedStatement.statement());
+			if (rowsAffected > 0)
+			{
+				discoveryCache.add(discovery.playerUid(), discovery.graveyardUid());
+				eventBus.publish(new RepositoryEvent.DiscoveryAdded(discovery));
+			}
 		}
 		catch (SQLException sqlException)
 		{
 			logger.warning(DatastoreMessage.INSERT_DISCOVERY_ERROR.getLocalizedMessage(configRepository.locale(), DATASTORE_NAME));
 			logger.warning(sqlException.getLocalizedMessage());
+			throw new DatastoreException(sqlException);
 		}
 
 		return rowsAffected > 0;
 	}
 
 
+	/**
+	 * Insert a collection of discovery records in a single transaction on the writer connection. Discoveries that
+	 * already exist, or whose graveyard does not exist, are ignored by the insert. Once the transaction is committed,
+	 * each discovery that was inserted is added to the discovery cache and published to the event bus.
+	 *
+	 * @param discoveries the discoveries to be inserted
+	 * @return the number of discoveries inserted
+	 * @throws DatastoreException if the transaction failed
+	 */
+	@Override
+	public int saveAll(final Collection<ValidDiscovery> discoveries)
+	{
+		if (discoveries == null || discoveries.isEmpty()) return 0;
+
+		final List<ValidDiscovery> batch = List.copyOf(discoveries);
+		final List<ValidDiscovery> inserted = new ArrayList<>();
+		final Connection connection = statementCache.connection();
+
+		// the writer connection is held until auto-commit is restored, so that no other statement joins the transaction
+		try (final SqliteStatementCache.Exclusive exclusive = statementCache.exclusive())
+		{
+			try (final CachedStatement playerStatement = statementCache.acquire("InsertPlayer");
+			     final CachedStatement cachedStatement = statementCache.acquire("InsertDiscoveryIgnore"))
+			{
+				connection.setAutoCommit(false);
+
+				for (ValidDiscovery discovery : batch)
+				{
+					queryExecutor.addPlayerBatch(discovery.playerUid(), playerStatement.statement());
+					queryExecutor.addDiscoveryBatch(discovery, cachedStatement.statement());
+				}
+
+				// player ids must be assigned before the discoveries that reference them are inserted
+				playerStatement.statement().executeBatch();
+				final int[] rowsAffected = cachedStatement.statement().executeBatch();
+				connection.commit();
+
+				for (int i = 0; i < batch.size() && i < rowsAffected.length; i++)
+				{
+					if (rowsAffected[i] > 0 || rowsAffected[i] == Statement.SUCCESS_NO_INFO)
+					{
+						inserted.add(batch.get(i));
+					}
+				}
+			}
+			catch (SQLException sqlException)
+			{
+				logger.warning(DatastoreMessage.INSERT_DISCOVERY_BATCH_ERROR.getLocalizedMessage(configRepository.locale(), batch.size(), DATASTORE_NAME));
+				logger.warning(sqlException.getLocalizedMessage());
+				rollback(connection);
+				throw new DatastoreException(sqlException);
+			}
+			finally
+			{
+				restoreAutoCommit(connection);
+			}
+		}
+
+		for (ValidDiscovery discovery : inserted)
+		{
+			discoveryCache.add(discovery.playerUid(), discovery.graveyardUid());
+			eventBus.publish(new RepositoryEvent.DiscoveryAdded(discovery));
+		}
+
+		return inserted.size();
+	}
+
+
+	private void rollback(final Connection connection)
+	{
+		try
+		{
+			connection.rollback();
+		}
+		catch (SQLException sqlException)
+		{
+			logger.warning(sqlException.getLocalizedMessage());
+		}
+	}
+
+
+	private void restoreAutoCommit(final Connection connection)
+	{
+		try
+		{
+			connection.setAutoCommit(true);
+		}
+		catch (SQLException sqlException)
+		{
+			logger.warning(sqlException.getLocalizedMessage());
+		}
+	}
+
+
 	@Override
 	public boolean delete(final UUID graveyardUid, final UUID playerUid)
 	{
 		if (graveyardUid == null) return false;
 		if (playerUid == null) return false;
 
+		// write any queued discoveries first, so that a queued insert cannot follow this delete
+		discoveryWriter.flush();
+
 		int rowsAffected = 0;
 
-		try (final PreparedStatement preparedStatement = connection.prepareStatement(SqliteQueries.getQuery("DeleteDiscovery")))
+		try (final SqliteStatementCache.Exclusive exclusive = statementCache.exclusive();
+		     final CachedStatement cachedStatement = statementCache.acquire("DeleteDiscovery"))
 		{
-			rowsAffected = queryExecutor.deleteDiscovery(graveyardUid, playerUid, preparedStatement);
+			rowsAffected = queryExecutor.deleteDiscovery(graveyardUid, playerUid, cachedStatement.statement());
+			if (rowsAffected > 0)
+			{
+				discoveryCache.remove(playerUid, graveyardUid);
+				eventBus.publish(new RepositoryEvent.DiscoveryRemoved(graveyardUid, playerUid));
+			}
 		}
 		catch (SQLException e)
 		{
 			// output simple error message
 			logger.warning(DatastoreMessage.DELETE_DISCOVERY_RECORD_ERROR.getLocalizedMessage(configRepository.locale(), DATASTORE_NAME));
 			logger.warning(e.getLocalizedMessage());
+			throw new DatastoreException(e);
 		}
 
 		return rowsAffected > 0;
 	}
 
+
+	/**
+	 * Pass every discovery record in the SQLite datastore to a consumer, as rows are read from a cursor on a read
+	 * connection opened for the scan, so that an export does not hold a pooled read connection. Queued discoveries
+	 * are written first, so that they are included.
+	 *
+	 * @param consumer the consumer of each discovery record
+	 * @return the number of discovery records passed to the consumer
+	 */
+	@Override
+	public long forEach(final Consumer<? super ValidDiscovery> consumer)
+	{
+		discoveryWriter.flush();
+
+		long count = 0;
+
+		try (final SqliteReadPool.Lease lease = readPool.scan();
+		     final CachedStatement cachedStatement = lease.statements().acquire(discoveryRowMapper.queryKey());
+		     final ResultSet resultSet = queryExecutor.selectAllDiscoveries(cachedStatement.statement()))
+		{
+			while (resultSet.next())
+			{
+				if (discoveryRowMapper.map(resultSet, discoveryRowMapper.queryKey()) instanceof ValidDiscovery validDiscovery)
+				{
+					consumer.accept(validDiscovery);
+					count++;
+				}
+			}
+		}
+		catch (SQLException sqlException)
+		{
+			logger.warning(DatastoreMessage.SELECT_ALL_DISCOVERIES_ERROR.getLocalizedMessage(configRepository.locale(), DATASTORE_NAME));
+			logger.warning(sqlException.getLocalizedMessage());
+			throw new DatastoreException(sqlException);
+		}
+
+		return count;
+	}
+
+
+	/**
+	 * Select a player's discovered graveyard uids from the SQLite datastore and place them in the discovery cache
+	 *
+	 * @param playerUid the uid of the player to load
+	 */
+	@Override
+	public void loadPlayer(final UUID playerUid)
+	{
+		if (playerUid == null) return;
+
+		discoveryCache.beginLoad(playerUid);
+
+		final List<UUID> graveyardUids = new ArrayList<>();
+
+		try (final SqliteReadPool.Lease lease = readPool.checkout();
+		     final CachedStatement cachedStatement = lease.statements().acquire("SelectDiscoveredGraveyardUids");
+		     final ResultSet resultSet = queryExecutor.selectDiscoveredGraveyardUids(playerUid, cachedStatement.statement()))
+		{
+			while (resultSet.next())
+			{
+				graveyardUids.add(new UUID(resultSet.getLong("UidMsb"), resultSet.getLong("UidLsb")));
+			}
+		}
+		catch (SQLException sqlException)
+		{
+			logger.warning(DatastoreMessage.SELECT_PLAYER_DISCOVERIES_ERROR.getLocalizedMessage(configRepository.locale(), DATASTORE_NAME));
+			logger.warning(sqlException.getLocalizedMessage());
+			discoveryCache.evict(playerUid);
+			throw new DatastoreException(sqlException);
+		}
+
+		discoveryCache.completeLoad(playerUid, graveyardUids);
+	}
+
+
+	@Override
+	public void unloadPlayer(final UUID playerUid)
+	{
+		if (playerUid == null) return;
+
+		discoveryCache.evict(playerUid);
+	}
+
 }
@@ -0,0 +1,389 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.savagegraveyards.datastore.sqlite;
+
+import com.winterhavenmc.library.messagebuilder.models.configuration.ConfigRepository;
+
+import com.winterhavenmc.savagegraveyards.datastore.DatastoreMessage;
+import com.winterhavenmc.savagegraveyards.datastore.DiscoveryCache;
+import com.winterhavenmc.savagegraveyards.datastore.RepositoryEvent;
+import com.winterhavenmc.savagegraveyards.datastore.RepositoryEventBus;
+import com.winterhavenmc.savagegraveyards.datastore.sqlite.SqliteStatementCache.CachedStatement;
+import com.winterhavenmc.savagegraveyards.models.discovery.ValidDiscovery;
+
+import org.sqlite.SQLiteConfig;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Logger;
+
+import static com.winterhavenmc.savagegraveyards.datastore.DatastoreMessage.DATASTORE_NAME;
+
+
+/**
+ * A write-behind writer for discovery records. Discoveries are placed on a bounded queue and written by a
+ * dedicated thread on its own connection, in batches of up to the configured size, each inside a single
+ * transaction. A batch is written once it is full or once the flush interval has elapsed since its first record.
+ * <p>
+ * Accepted discoveries are recorded in the {@link DiscoveryCache} until written, so that reads made in the meantime
+ * see them. If the queue is full, {@link #offer} returns {@code false} and the caller should write synchronously.
+ */
+public final class SqliteDiscoveryWriter
+{
+	private static final int QUEUE_CAPACITY_FACTOR = 16;
+
+	private final String dbUrl;
+	private final ConfigRepository configRepository;
+	private final Logger logger;
+	private final DiscoveryCache discoveryCache;
+	private final RepositoryEventBus eventBus;
+	private final SqliteSettings settings;
+	private final int batchSize;
+	private final long flushIntervalNanos;
+	private final BlockingQueue<ValidDiscovery> queue;
+	private final ReentrantLock writeLock = new ReentrantLock(true);
+	private final Object available = new Object();
+	private final SqliteDiscoveryQueryExecutor queryExecutor = new SqliteDiscoveryQueryExecutor();
+
+	private Connection connection;
+	private SqliteStatementCache statementCache;
+	private Thread thread;
+	private volatile boolean running;
+
+
+	/**
+	 * Class constructor
+	 *
+	 * @param dbUrl the jdbc url of the SQLite datastore
+	 * @param configRepository the config repository, used for log message localization
+	 * @param discoveryCache the discovery cache that records pending writes
+	 * @param eventBus the event bus on which written discoveries are published
+	 * @param settings the connection settings to apply to the writer connection
+	 * @param batchSize the maximum number of records written in a single transaction
+	 * @param flushInterval the maximum time a record waits for a batch to fill before it is written
+	 * @param logger the plugin logger
+	 */
+	public SqliteDiscoveryWriter(final String dbUrl,
+	                             final ConfigRepository configRepository,
+	                             final DiscoveryCache discoveryCache,
+	                             final RepositoryEventBus eventBus,
+	                             final SqliteSettings settings,
+	                             final int batchSize,
+	                             final Duration flushInterval,
+	                             final Logger logger)
+	{
+		this.dbUrl = dbUrl;
+		this.configRepository = configRepository;
+		this.discoveryCache = discoveryCache;
+		this.eventBus = eventBus;
+		this.settings = settings;
+		this.batchSize = Math.max(1, batchSize);
+		this.flushIntervalNanos = Math.max(0L, flushInterval.toNanos());
+		this.queue = new ArrayBlockingQueue<>(this.batchSize * QUEUE_CAPACITY_FACTOR);
+		this.logger = logger;
+	}
+
+
+	/**
+	 * Open the writer connection and start the writer thread. If the connection cannot be opened,
+	 * the writer remains stopped and all offers are refused.
+	 */
+	public void start()
+	{
+		try
+		{
+			final SQLiteConfig sqliteConfig = new SQLiteConfig();
+			sqliteConfig.enforceForeignKeys(true);
+			connection = DriverManager.getConnection(dbUrl, sqliteConfig.toProperties());
+			settings.apply(connection);
+			statementCache = new SqliteStatementCache(connection);
+		}
+		catch (SQLException sqlException)
+		{
+			logger.warning(DatastoreMessage.DISCOVERY_WRITER_START_ERROR.getLocalizedMessage(configRepository.locale(), DATASTORE_NAME));
+			logger.warning(sqlException.getLocalizedMessage());
+			return;
+		}
+
+		running = true;
+		thread = new Thread(this::drain, "SavageGraveyards-DiscoveryWriter");
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+
+	/**
+	 * Test if the writer is accepting discoveries
+	 *
+	 * @return {@code true} if the writer thread is running, {@code false} if not
+	 */
+	public boolean isRunning()
+	{
+		return running;
+	}
+
+
+	/**
+	 * Place a discovery on the write queue
+	 *
+	 * @param discovery the discovery to be written
+	 * @return {@code true} if the discovery was accepted, {@code false} if the writer is stopped, the discovery
+	 * is already pending, or the queue is full
+	 */
+	public boolean offer(final ValidDiscovery discovery)
+	{
+		if (!running) return false;
+
+		if (!discoveryCache.addPendingWrite(discovery.playerUid(), discovery.graveyardUid()))
+		{
+			return false;
+		}
+
+		if (!queue.offer(discovery))
+		{
+			discoveryCache.removePendingWrite(discovery.playerUid(), discovery.graveyardUid());
+			return false;
+		}
+
+		discoveryCache.add(discovery.playerUid(), discovery.graveyardUid());
+		synchronized (available)
+		{
+			available.notifyAll();
+		}
+		return true;
+	}
+
+
+	/**
+	 * Write all queued discoveries on the calling thread, waiting for any batch in progress to complete first
+	 */
+	public void flush()
+	{
+		if (connection == null) return;
+
+		writeLock.lock();
+		try
+		{
+			final List<ValidDiscovery> batch = new ArrayList<>(batchSize);
+			while (queue.drainTo(batch, batchSize) > 0)
+			{
+				write(batch);
+				batch.clear();
+			}
+		}
+		finally
+		{
+			writeLock.unlock();
+		}
+	}
+
+
+	/**
+	 * Stop the writer thread, write any remaining queued discoveries, and close the writer connection
+	 */
+	public void close()
+	{
+		if (connection == null) return;
+
+		running = false;
+		synchronized (available)
+		{
+			available.notifyAll();
+		}
+
+		try
+		{
+			thread.join();
+		}
+		catch (InterruptedException interruptedException)
+		{
+			Thread.currentThread().interrupt();
+		}
+
+		flush();
+		statementCache.close();
+
+		try
+		{
+			connection.close();
+		}
+		catch (SQLException sqlException)
+		{
+			logger.warning(DatastoreMessage.DATASTORE_CLOSE_ERROR.getLocalizedMessage(configRepository.locale(), DATASTORE_NAME));
+			logger.warning(sqlException.getLocalizedMessage());
+		}
+
+		connection = null;
+	}
+
+
+	/**
+	 * Writer thread loop. The thread waits for a batch to fill without holding the write lock, and takes records
+	 * from the queue only while it holds the lock to write them, so that {@link #flush} is never kept waiting for
+	 * a batch to be collected, and never misses a record that has been taken from the queue.
+	 */
+	private void drain()
+	{
+		final long pollNanos = Math.max(flushIntervalNanos, TimeUnit.MILLISECONDS.toNanos(50));
+
+		while (running)
+		{
+			try
+			{
+				if (!await(pollNanos)) continue;
+			}
+			catch (InterruptedException interruptedException)
+			{
+				Thread.currentThread().interrupt();
+				running = false;
+			}
+
+			writeLock.lock();
+			try
+			{
+				final List<ValidDiscovery> batch = new ArrayList<>(batchSize);
+				queue.drainTo(batch, batchSize);
+				if (!batch.isEmpty())
+				{
+					write(batch);
+				}
+			}
+			finally
+			{
+				writeLock.unlock();
+			}
+		}
+	}
+
+
+	/**
+	 * Wait for a record to be queued, and then for the batch to fill until the flush interval has elapsed
+	 *
+	 * @param pollNanos the time to wait for a first record
+	 * @return {@code true} if records are queued, {@code false} if the wait for a first record timed out
+	 * @throws InterruptedException if the writer thread is interrupted while waiting
+	 */
+	private boolean await(final long pollNanos) throws InterruptedException
+	{
+		synchronized (available)
+		{
+			long deadline = System.nanoTime() + pollNanos;
+			while (queue.isEmpty() && running)
+			{
+				final long remaining = deadline - System.nanoTime();
+				if (remaining <= 0) return false;
+				TimeUnit.NANOSECONDS.timedWait(available, remaining);
+			}
+
+			deadline = System.nanoTime() + flushIntervalNanos;
+			while (queue.size() < batchSize && running)
+			{
+				final long remaining = deadline - System.nanoTime();
+				if (remaining <= 0) break;
+				TimeUnit.NANOSECONDS.timedWait(available, remaining);
+			}
+
+			return !queue.isEmpty();
+		}
+	}
+
+
+	/**
+	 * Insert a batch of discoveries in a single transaction. Once the transaction is committed, each discovery
+	 * that was inserted is published to the event bus. If the transaction fails, the discoveries are removed
+	 * from the discovery cache, so that they may be discovered again.
+	 *
+	 * @param batch the discoveries to insert
+	 */
+	private void write(final List<ValidDiscovery> batch)
+	{
+		try (final CachedStatement playerStatement = statementCache.acquire("InsertPlayer");
+		     final CachedStatement cachedStatement = statementCache.acquire("InsertDiscoveryIgnore"))
+		{
+			connection.setAutoCommit(false);
+
+			for (ValidDiscovery discovery : batch)
+			{
+				queryExecutor.addPlayerBatch(discovery.playerUid(), playerStatement.statement());
+				queryExecutor.addDiscoveryBatch(discovery, cachedStatement.statement());
+			}
+
+			// player ids must be assigned before the discoveries that reference them are inserted
+			playerStatement.statement().executeBatch();
+			final int[] rowsAffected = cachedStatement.statement().executeBatch();
+			connection.commit();
+
+			// discoveries already in the datastore are ignored by the insert, and are not published
+			for (int i = 0; i < batch.size() && i < rowsAffected.length; i++)
+			{
+				if (rowsAffected[i] > 0 || rowsAffected[i] == Statement.SUCCESS_NO_INFO)
+				{
+					eventBus.publish(new RepositoryEvent.DiscoveryAdded(batch.get(i)));
+				}
+			}
+		}
+		catch (SQLException sqlException)
+		{
+			logger.warning(DatastoreMessage.INSERT_DISCOVERY_BATCH_ERROR.getLocalizedMessage(configRepository.locale(), batch.size(), DATASTORE_NAME));
+			logger.warning(sqlException.getLocalizedMessage());
+			rollback();
+			batch.forEach(discovery -> discoveryCache.remove(discovery.playerUid(), discovery.graveyardUid()));
+		}
+		finally
+		{
+			restoreAutoCommit();
+			batch.forEach(discovery -> discoveryCache.removePendingWrite(discovery.playerUid(), discovery.graveyardUid()));
+		}
+	}
+
+
+	private void rollback()
+	{
+		try
+		{
+			connection.rollback();
+		}
+		catch (SQLException sqlException)
+		{
+			logger.warning(sqlException.getLocalizedMessage());
+		}
+	}
+
+
+	private void restoreAutoCommit()
+	{
+		try
+		{
+			connection.setAutoCommit(true);
+		}
+		catch (SQLException sqlException)
+		{
+			logger.warning(sqlException.getLocalizedMessage());
+		}
+	}
+
+}
@@ -17,9 +17,9 @@
 
 package com.winterhavenmc.savagegraveyards.datastore.sqlite;
 
+import com.winterhavenmc.savagegraveyards.datastore.PlayerQuery;
 import com.winterhavenmc.savagegraveyards.models.graveyard.ValidGraveyard;
 import com.winterhavenmc.savagegraveyards.models.searchkey.ValidSearchKey;
-import org.bukkit.entity.Player;
 
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
@@ -29,52 +29,63 @@ import java.util.UUID;
 
 public final class SqliteGraveyardQueryExecutor
 {
-	public ResultSet selectUndiscoveredKeys(final Player player, final PreparedStatement preparedStatement) throws SQLException
+	public ResultSet selectUndiscoveredKeys(final PlayerQuery query, final PreparedStatement preparedStatement) throws SQLException
 	{
-		preparedStatement.setLong(1, player.getWorld().getUID().getMostSignificantBits());
-		preparedStatement.setLong(2, player.getWorld().getUID().getLeastSignificantBits());
-		preparedStatement.setLong(3, player.getUniqueId().getMostSignificantBits());
-		preparedStatement.setLong(4, player.getUniqueId().getLeastSignificantBits());
+		preparedStatement.setLong(1, query.worldUid().getMostSignificantBits());
+		preparedStatement.setLong(2, query.worldUid().getLeastSignificantBits());
+		preparedStatement.setLong(3, query.playerUid().getMostSignificantBits());
+		preparedStatement.setLong(4, query.playerUid().getLeastSignificantBits());
 		return preparedStatement.executeQuery();
 	}
 
 
-	public ResultSet selectNearestGraveyard(final Player player, final PreparedStatement preparedStatement) throws SQLException
+	public ResultSet selectDiscoveredGraveyardUids(final UUID playerUid, final PreparedStatement preparedStatement) throws SQLException
 	{
-		preparedStatement.setLong(  1, player.getWorld().getUID().getMostSignificantBits());
-		preparedStatement.setLong(  2, player.getWorld().getUID().getLeastSignificantBits());
-		preparedStatement.setLong(  3, player.getUniqueId().getMostSignificantBits());
-		preparedStatement.setLong(  4, player.getUniqueId().getLeastSignificantBits());
-		preparedStatement.setDouble(5, player.getLocation().getX());
-		preparedStatement.setDouble(6, player.getLocation().getY());
-		preparedStatement.setDouble(7, player.getLocation().getZ());
+		preparedStatement.setLong(1, playerUid.getMostSignificantBits());
+		preparedStatement.setLong(2, playerUid.getLeastSignificantBits());
 		return preparedStatement.executeQuery();
 	}
 
 
-	public ResultSet SelectNearestGraveyards(final Player player, final PreparedStatement preparedStatement) throws SQLException
+	public ResultSet selectUndiscoveredGraveyards(final PlayerQuery query, final PreparedStatement preparedStatement) throws SQLException
 	{
-		preparedStatement.setLong(  1, player.getWorld().getUID().getMostSignificantBits());
-		preparedStatement.setLong(  2, player.getWorld().getUID().getLeastSignificantBits());
-		preparedStatement.setLong(  3, player.getUniqueId().getMostSignificantBits());
-		preparedStatement.setLong(  4, player.getUniqueId().getLeastSignificantBits());
-		preparedStatement.setDouble(5, player.getLocation().getX());
-		preparedStatement.setDouble(6, player.getLocation().getY());
-		preparedStatement.setDouble(7, player.getLocation().getZ());
+		preparedStatement.setLong(1, query.worldUid().getMostSignificantBits());
+		preparedStatement.setLong(2, query.worldUid().getLeastSignificantBits());
+		preparedStatement.setLong(3, query.playerUid().getMostSignificantBits());
+		preparedStatement.setLong(4, query.playerUid().getLeastSignificantBits());
 		return preparedStatement.executeQuery();
 	}
 
 
-	public ResultSet selectUndiscoveredGraveyards(final Player player, final PreparedStatement preparedStatement) throws SQLException
+	public ResultSet selectGraveyardUidsInRange(final PlayerQuery query, final PreparedStatement preparedStatement) throws SQLException
 	{
-		preparedStatement.setLong(1, player.getWorld().getUID().getMostSignificantBits());
-		preparedStatement.setLong(2, player.getWorld().getUID().getLeastSignificantBits());
-		preparedStatement.setLong(3, player.getUniqueId().getMostSignificantBits());
-		preparedStatement.setLong(4, player.getUniqueId().getLeastSignificantBits());
+		preparedStatement.setDouble(1, query.x());
+		preparedStatement.setDouble(2, query.y());
+		preparedStatement.setDouble(3, query.z());
+		preparedStatement.setLong(4, query.worldUid().getMostSignificantBits());
+		preparedStatement.setLong(5, query.worldUid().getLeastSignificantBits());
 		return preparedStatement.executeQuery();
 	}
 
 
+	public int upsertAllGraveyardRanges(final int defaultRange, final PreparedStatement preparedStatement) throws SQLException
+	{
+		preparedStatement.setInt(1, defaultRange);
+		return preparedStatement.executeUpdate();
+	}
+
+
+	public int upsertGraveyardRange(final UUID graveyardUid,
+	                                final int defaultRange,
+	                                final PreparedStatement preparedStatement) throws SQLException
+	{
+		preparedStatement.setInt(1, defaultRange);
+		preparedStatement.setLong(2, graveyardUid.getMostSignificantBits());
+		preparedStatement.setLong(3, graveyardUid.getLeastSignificantBits());
+		return preparedStatement.executeUpdate();
+	}
+
+
 	public ResultSet selectMatchingGraveyardKeys(final String prefix, final PreparedStatement preparedStatement) throws SQLException
 	{
 		preparedStatement.setString(1, prefix + "%");
@@ -99,6 +110,22 @@ public final class SqliteGraveyardQueryExecutor
 
 	public int insertGraveyard(final ValidGraveyard graveyard,
 	                           final PreparedStatement preparedStatement) throws SQLException
+	{
+		bindGraveyard(graveyard, preparedStatement);
+		return preparedStatement.executeUpdate();
+	}
+
+
+	public void addGraveyardBatch(final ValidGraveyard graveyard,
+	                              final PreparedStatement preparedStatement) throws SQLException
+	{
+		bindGraveyard(graveyard, preparedStatement);
+		preparedStatement.addBatch();
+	}
+
+
+	private void bindGraveyard(final ValidGraveyard graveyard,
+	                           final PreparedStatement preparedStatement) throws SQLException
 	{
 		preparedStatement.setString( 1, graveyard.searchKey().string());
 		preparedStatement.setString( 2, graveyard.displayName().colorString());
@@ -120,7 +147,6 @@ public final class SqliteGraveyardQueryExecutor
 		preparedStatement.setDouble(18, graveyard.location().z());
 		preparedStatement.setFloat( 19, graveyard.location().yaw());
 		preparedStatement.setFloat( 20, graveyard.location().pitch());
-		return preparedStatement.executeUpdate();
 	}
 
 
@@ -129,31 +155,22 @@ public final class SqliteGraveyardQueryExecutor
 	                           final ValidGraveyard graveyard,
 	                           final PreparedStatement preparedStatement) throws SQLException
 	{
-		preparedStatement.setString( 1, graveyard.searchKey().string());
-		preparedStatement.setString( 2, graveyard.displayName().colorString());
-		preparedStatement.setLong(   3, graveyard.uid().getMostSignificantBits());
-		preparedStatement.setLong(   4, graveyard.uid().getLeastSignificantBits());
-		preparedStatement.setBoolean(5, graveyard.attributes().enabled().value());
-		preparedStatement.setBoolean(6, graveyard.attributes().hidden().value());
-		preparedStatement.setInt(    7, graveyard.attributes().discoveryRange().value());
-		preparedStatement.setString( 8, graveyard.attributes().discoveryMessage().value());
-		preparedStatement.setString( 9, graveyard.attributes().respawnMessage().value());
-		preparedStatement.setString(10, graveyard.attributes().group().value());
-		preparedStatement.setInt(   11, graveyard.attributes().safetyRange().value());
-		preparedStatement.setLong(  12, graveyard.attributes().safetyTime().value().toSeconds());
-		preparedStatement.setString(13, graveyard.location().world().name());
-		preparedStatement.setLong(  14, graveyard.location().world().uid().getMostSignificantBits());
-		preparedStatement.setLong(  15, graveyard.location().world().uid().getLeastSignificantBits());
-		preparedStatement.setDouble(16, graveyard.location().x());
-		preparedStatement.setDouble(17, graveyard.location().y());
-		preparedStatement.setDouble(18, graveyard.location().z());
-		preparedStatement.setFloat( 19, graveyard.location().yaw());
-		preparedStatement.setFloat( 20, graveyard.location().pitch());
+		bindGraveyard(graveyard, preparedStatement);
 		preparedStatement.setString(21, searchKey.string());
 		return preparedStatement.executeUpdate();
 	}
 
 
+	public void addGraveyardUpdateBatch(final ValidSearchKey searchKey,
+	                                    final ValidGraveyard graveyard,
+	                                    final PreparedStatement preparedStatement) throws SQLException
+	{
+		bindGraveyard(graveyard, preparedStatement);
+		preparedStatement.setString(21, searchKey.string());
+		preparedStatement.addBatch();
+	}
+
+
 	@SuppressWarnings("UnusedReturnValue")
 	public int deleteGraveyard(final ValidSearchKey searchKey, final PreparedStatement preparedStatement) throws SQLException
 	{
@@ -18,8 +18,16 @@
 package com.winterhavenmc.savagegraveyards.datastore.sqlite;
 
 import com.winterhavenmc.library.messagebuilder.models.configuration.ConfigRepository;
+import com.winterhavenmc.savagegraveyards.datastore.DatastoreException;
 import com.winterhavenmc.savagegraveyards.datastore.DatastoreMessage;
+import com.winterhavenmc.savagegraveyards.datastore.DiscoveryCache;
+import com.winterhavenmc.savagegraveyards.datastore.DiscoverySource;
+import com.winterhavenmc.savagegraveyards.datastore.GraveyardCatalog;
 import com.winterhavenmc.savagegraveyards.datastore.GraveyardRepository;
+import com.winterhavenmc.savagegraveyards.datastore.PlayerQuery;
+import com.winterhavenmc.savagegraveyards.datastore.RepositoryEvent;
+import com.winterhavenmc.savagegraveyards.datastore.RepositoryEventBus;
+import com.winterhavenmc.savagegraveyards.datastore.sqlite.SqliteStatementCache.CachedStatement;
 import com.winterhavenmc.savagegraveyards.datastore.sqlite.schema.*;
 import com.winterhavenmc.savagegraveyards.models.FailReason;
 import com.winterhavenmc.savagegraveyards.models.Parameter;
@@ -29,15 +37,15 @@ import com.winterhavenmc.savagegraveyards.models.graveyard.Graveyard;
 import com.winterhavenmc.savagegraveyards.models.graveyard.InvalidGraveyard;
 import com.winterhavenmc.savagegraveyards.models.graveyard.ValidGraveyard;
 import com.winterhavenmc.savagegraveyards.models.searchkey.ValidSearchKey;
-import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
 
 import java.sql.Connection;
-import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.*;
+import java.util.function.Predicate;
 import java.util.logging.Logger;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import static com.winterhavenmc.savagegraveyards.datastore.DatastoreMessage.DATASTORE_NAME;
@@ -47,104 +55,199 @@ public final class SqliteGraveyardRepository implements GraveyardRepository
 {
 	private final ConfigRepository configRepository;
 	private final Logger logger;
-	private final Connection connection;
+	private final SqliteStatementCache statementCache;
+	private final SqliteReadPool readPool;
 	private final RowMapper<Graveyard> graveyardRowMapper;
+	private final GraveyardCatalog catalog;
+	private final DiscoveryCache discoveryCache;
+	private final DiscoverySource discoverySource;
+	private final RepositoryEventBus eventBus;
 	private final SqliteGraveyardQueryExecutor queryExecutor = new SqliteGraveyardQueryExecutor();
+	private volatile boolean rangeIndexAvailable;
+	private volatile int rangeIndexDefault;
 
 
-	public SqliteGraveyardRepository(final Connection connection,
+	public SqliteGraveyardRepository(final SqliteStatementCache statementCache,
+	                                 final SqliteReadPool readPool,
 	                                 final ConfigRepository configRepository,
 	                                 final RowMapper<Graveyard> graveyardRowMapper,
+	                                 final GraveyardCatalog catalog,
+	                                 final DiscoveryCache discoveryCache,
+	                                 final DiscoverySource discoverySource,
+	                                 final RepositoryEventBus eventBus,
 	                                 final Logger logger)
 	{
 		this.configRepository = configRepository;
 		this.logger = logger;
-		this.connection = connection;
+		this.statementCache = statementCache;
+		this.readPool = readPool;
 
 		this.graveyardRowMapper = graveyardRowMapper;
+		this.catalog = catalog;
+		this.discoveryCache = discoveryCache;
+		this.discoverySource = discoverySource;
+		this.eventBus = eventBus;
 	}
 
 
 	/**
-	 * Get record
+	 * Load all graveyard records from the datastore into the in-memory catalog
+	 */
+	public void loadCatalog()
+	{
+		catalog.load(selectAll());
+		eventBus.publish(new RepositoryEvent.GraveyardsReloaded());
+	}
+
+
+	/**
+	 * Create the discovery range R*Tree index if it does not exist, and bring its bounding boxes up to date
+	 * with the graveyard table. If the index cannot be created, range queries fall back to a scan of all
+	 * undiscovered graveyards in the player's world.
 	 *
-	 * @param searchKey the name of the Valid to be retrieved
-	 * @return Valid object or null if no matching record
+	 * @param defaultRange the discovery range used for graveyards with a negative discovery range
 	 */
-	@Override
-	public Graveyard get(final ValidSearchKey searchKey)
+	public void initializeRangeIndex(final int defaultRange)
 	{
-		try (final PreparedStatement preparedStatement = connection.prepareStatement(SqliteQueries.getQuery("SelectGraveyard")))
+		try (final SqliteStatementCache.Exclusive exclusive = statementCache.exclusive();
+		     final CachedStatement createTable = statementCache.acquire("CreateGraveyardRangeTable");
+		     final CachedStatement createTrigger = statementCache.acquire("CreateGraveyardRangeDeleteTrigger");
+		     final CachedStatement deleteOrphans = statementCache.acquire("DeleteOrphanGraveyardRanges"))
 		{
-			preparedStatement.setString(1, searchKey.string());
-
-			try (final ResultSet resultSet = preparedStatement.executeQuery())
-			{
-				// only zero or one record can match the unique search key
-				if (resultSet.next())
-				{
-					return graveyardRowMapper.map(resultSet);
-				}
-			}
+			createTable.statement().executeUpdate();
+			createTrigger.statement().executeUpdate();
+			deleteOrphans.statement().executeUpdate();
+			rangeIndexAvailable = true;
 		}
 		catch (SQLException sqlException)
 		{
-			logger.warning(DatastoreMessage.SELECT_GRAVEYARD_RECORD_ERROR.getLocalizedMessage(configRepository.locale(), DATASTORE_NAME));
+			logger.warning(DatastoreMessage.CREATE_RANGE_INDEX_ERROR.getLocalizedMessage(configRepository.locale(), DATASTORE_NAME));
 			logger.warning(sqlException.getLocalizedMessage());
+			rangeIndexAvailable = false;
+			return;
 		}
 
-		return new InvalidGraveyard(DisplayName.of(searchKey), "∅", FailReason.PARAMETER_NO_MATCH, Parameter.SEARCH_KEY);
+		rebuildRangeIndex(defaultRange);
 	}
 
 
 	/**
-	 * Get record
+	 * Rebuild the discovery range index if the default discovery range has changed, as when the plugin
+	 * configuration is reloaded
 	 *
-	 * @return Valid object or null if no matching record
+	 * @param defaultRange the discovery range used for graveyards with a negative discovery range
 	 */
-	@Override
-	public Graveyard get(final UUID graveyardUid)
+	public void reloadRangeIndex(final int defaultRange)
 	{
-		try (final PreparedStatement preparedStatement = connection.prepareStatement(SqliteQueries.getQuery("SelectGraveyardByUid")))
+		if (rangeIndexAvailable && defaultRange != rangeIndexDefault)
 		{
-			preparedStatement.setLong(1, graveyardUid.getMostSignificantBits());
-			preparedStatement.setLong(2, graveyardUid.getLeastSignificantBits());
+			rebuildRangeIndex(defaultRange);
+		}
+	}
 
-			try (final ResultSet resultSet = preparedStatement.executeQuery())
-			{
-				// only zero or one record can match the graveyard uid
-				if (resultSet.next())
-				{
-					return graveyardRowMapper.map(resultSet);
-				}
-			}
+
+	/**
+	 * Recompute the bounding box of every graveyard in the discovery range index
+	 *
+	 * @param defaultRange the discovery range used for graveyards with a negative discovery range
+	 */
+	private void rebuildRangeIndex(final int defaultRange)
+	{
+		try (final SqliteStatementCache.Exclusive exclusive = statementCache.exclusive();
+		     final CachedStatement cachedStatement = statementCache.acquire("UpsertAllGraveyardRanges"))
+		{
+			queryExecutor.upsertAllGraveyardRanges(defaultRange, cachedStatement.statement());
+			rangeIndexDefault = defaultRange;
+		}
+		catch (SQLException sqlException)
+		{
+			logger.warning(DatastoreMessage.UPDATE_RANGE_INDEX_ERROR.getLocalizedMessage(configRepository.locale(), DATASTORE_NAME));
+			logger.warning(sqlException.getLocalizedMessage());
+			rangeIndexAvailable = false;
+		}
+	}
+
+
+	/**
+	 * Recompute the bounding box of a single graveyard in the discovery range index
+	 *
+	 * @param graveyardUid the uid of the graveyard that was inserted or updated
+	 */
+	private void upsertRange(final UUID graveyardUid)
+	{
+		if (!rangeIndexAvailable) { return; }
+
+		try (final SqliteStatementCache.Exclusive exclusive = statementCache.exclusive();
+		     final CachedStatement cachedStatement = statementCache.acquire("UpsertGraveyardRange"))
+		{
+			queryExecutor.upsertGraveyardRange(graveyardUid, rangeIndexDefault, cachedStatement.statement());
 		}
 		catch (SQLException sqlException)
 		{
-			logger.warning(DatastoreMessage.SELECT_GRAVEYARD_RECORD_ERROR.getLocalizedMessage(configRepository.locale(), DATASTORE_NAME));
+			logger.warning(DatastoreMessage.UPDATE_RANGE_INDEX_ERROR.getLocalizedMessage(configRepository.locale(), DATASTORE_NAME));
 			logger.warning(sqlException.getLocalizedMessage());
+			rangeIndexAvailable = false;
 		}
+	}
 
-		return new InvalidGraveyard(DisplayName.NULL(), "∅", FailReason.PARAMETER_NO_MATCH, Parameter.SEARCH_KEY);
+
+	/**
+	 * Get record
+	 *
+	 * @param searchKey the name of the Valid to be retrieved
+	 * @return Valid object or null if no matching record
+	 */
+	@Override
+	public Graveyard get(final ValidSearchKey searchKey)
+	{
+		return catalog.get(searchKey)
+				.map(Graveyard.class::cast)
+				.orElseGet(() -> new InvalidGraveyard(DisplayName.of(searchKey), "∅", FailReason.PARAMETER_NO_MATCH, Parameter.SEARCH_KEY));
 	}
 
 
 	/**
-	 * Select all graveyard records from the datastore, maintaining order returned by the query.
+	 * Get record
 	 *
-	 * @return a {@link List} containing all graveyard records in the order they were returned by the query
+	 * @return Valid object or null if no matching record
+	 */
+	@Override
+	public Graveyard get(final UUID graveyardUid)
+	{
+		return catalog.get(graveyardUid)
+				.map(Graveyard.class::cast)
+				.orElseGet(() -> new InvalidGraveyard(DisplayName.NULL(), "∅", FailReason.PARAMETER_NO_MATCH, Parameter.SEARCH_KEY));
+	}
+
+
+	/**
+	 * Get all graveyard records from the in-memory catalog, ordered by search key.
+	 *
+	 * @return a {@link Stream} containing all graveyard records
 	 */
 	@Override
 	public Stream<Graveyard> getAll()
+	{
+		return catalog.getAll();
+	}
+
+
+	/**
+	 * Select all graveyard records from the datastore, maintaining order returned by the query.
+	 *
+	 * @return a {@link List} containing all graveyard records in the order they were returned by the query
+	 */
+	private List<Graveyard> selectAll()
 	{
 		final List<Graveyard> returnList = new ArrayList<>();
 
-		try (final PreparedStatement preparedStatement = connection.prepareStatement(SqliteQueries.getQuery(graveyardRowMapper.queryKey()));
-		     final ResultSet resultSet = preparedStatement.executeQuery())
+		try (final SqliteReadPool.Lease lease = readPool.checkout();
+		     final CachedStatement cachedStatement = lease.statements().acquire(graveyardRowMapper.queryKey());
+		     final ResultSet resultSet = cachedStatement.statement().executeQuery())
 		{
 			while (resultSet.next())
 			{
-				returnList.add(graveyardRowMapper.map(resultSet));
+				returnList.add(graveyardRowMapper.map(resultSet, graveyardRowMapper.queryKey()));
 			}
 		}
 		catch (SQLException sqlException)
@@ -153,7 +256,7 @@ public final class SqliteGraveyardRepository implements GraveyardRepository
 			logger.warning(sqlException.getLocalizedMessage());
 		}
 
-		return returnList.stream();
+		return returnList;
 	}
 
 
@@ -161,91 +264,133 @@ public final class SqliteGraveyardRepository implements GraveyardRepository
 	 * Returns a list of enabled, valid graveyards in the player's current world for which
 	 * the player has permission, returned in order of proximity to the player's location.
 	 *
-	 * @param player the player whose location is used as the origin, and permissions are checked
+	 * @param query the captured state of the player whose location is used as the origin
 	 * @return a list of graveyards that match the criteria
 	 */
 	@Override
-	public List<ValidGraveyard> getNearestGraveyards(final Player player)
+	public List<ValidGraveyard> getNearestGraveyards(final PlayerQuery query)
 	{
-		if (player == null) { return List.of(); }
+		if (query == null) { return List.of(); }
+
+		return nearestAvailable(query).toList();
+	}
+
+
+	/**
+	 * Gets closest graveyard to player's current location
+	 *
+	 * @param query the captured state of the player for whom to retrieve the nearest graveyard
+	 * @return Valid object
+	 */
+	@Override
+	public Optional<ValidGraveyard> getNearestGraveyard(final PlayerQuery query)
+	{
+		if (query == null) { return Optional.empty(); }
+
+		return nearestAvailable(query).findFirst();
+	}
 
-		final List<ValidGraveyard> returnList = new ArrayList<>();
 
-		try (final PreparedStatement preparedStatement = connection.prepareStatement(SqliteQueries.getQuery("SelectNearestGraveyards"));
-		     final ResultSet resultSet = queryExecutor.SelectNearestGraveyards(player, preparedStatement))
+	/**
+	 * Get the names of the groups to which graveyards in the in-memory catalog are restricted
+	 *
+	 * @return a {@link Set} of group names
+	 */
+	@Override
+	public Set<String> getGroups()
+	{
+		return catalog.getGroups();
+	}
+
+
+	/**
+	 * Walks the spatial index outward from the player's location, yielding enabled graveyards that are not hidden
+	 * from the player and that belong to a group the player is a member of. The player's discoveries are only
+	 * selected from the datastore if a hidden graveyard is encountered before the walk is finished.
+	 *
+	 * @param query the captured state of the player whose location is used as the origin
+	 * @return a lazily evaluated {@link Stream} of graveyards, nearest first
+	 */
+	private Stream<ValidGraveyard> nearestAvailable(final PlayerQuery query)
+	{
+		final DiscoveredUids discovered = new DiscoveredUids(query.playerUid());
+
+		return catalog.getNearest(query.worldUid(), query.x(), query.y(), query.z())
+				.filter(valid -> valid.attributes().enabled().value())
+				.filter(valid -> !valid.attributes().hidden().value() || discovered.contains(valid.uid()))
+				// check if graveyard has group and player is in group
+				.filter(valid -> query.permits(valid.attributes().group()));
+	}
+
+
+	/**
+	 * Select the uids of all graveyards discovered by a player
+	 *
+	 * @param playerUid the uid of the player
+	 * @return a {@link Set} of discovered graveyard uids
+	 */
+	private Set<UUID> selectDiscoveredUids(final UUID playerUid)
+	{
+		final Set<UUID> returnSet = new HashSet<>();
+
+		try (final SqliteReadPool.Lease lease = readPool.checkout();
+		     final CachedStatement cachedStatement = lease.statements().acquire("SelectDiscoveredGraveyardUids");
+		     final ResultSet resultSet = queryExecutor.selectDiscoveredGraveyardUids(playerUid, cachedStatement.statement()))
 		{
 			while (resultSet.next())
 			{
-				if (graveyardRowMapper.map(resultSet) instanceof ValidGraveyard valid)
-				{
-					// check if graveyard has group and player is in group
-					if (valid.attributes().group() == null
-							|| valid.attributes().group().value().isBlank()
-							|| player.hasPermission("group." + valid.attributes().group()))
-					{
-						returnList.add(valid);
-					}
-				}
+				returnSet.add(new UUID(resultSet.getLong("UidMsb"), resultSet.getLong("UidLsb")));
 			}
 		}
 		catch (SQLException sqlException)
 		{
 			logger.warning(DatastoreMessage.SELECT_NEAREST_GRAVEYARDS_ERROR.getLocalizedMessage(configRepository.locale(), DATASTORE_NAME));
 			logger.warning(sqlException.getLocalizedMessage());
+			throw new DatastoreException(sqlException);
 		}
 
-		return returnList;
+		return returnSet;
 	}
 
 
 	/**
-	 * Gets closest graveyard to player's current location
-	 *
-	 * @param player the player for whom to retrieve the nearest Valid
-	 * @return Valid object
+	 * A player's discovered graveyard uids, taken from the discovery cache or the discovery source,
+	 * or selected from the datastore on first use
 	 */
-	@Override
-	public Optional<ValidGraveyard> getNearestGraveyard(final Player player)
+	private final class DiscoveredUids
 	{
-		if (player == null) { return Optional.empty(); }
+		private final UUID playerUid;
+		private BitSet cached;
+		private Set<UUID> uids;
 
-		try (final PreparedStatement preparedStatement = connection.prepareStatement(SqliteQueries.getQuery("SelectNearestGraveyards"));
-		     final ResultSet resultSet = queryExecutor.selectNearestGraveyard(player, preparedStatement))
+		private DiscoveredUids(final UUID playerUid)
 		{
-			while (resultSet.next())
-			{
-				if (graveyardRowMapper.map(resultSet) instanceof ValidGraveyard valid)
-				{
-					// check if graveyard has group and player is in group
-					if (valid.attributes().group() == null
-							|| valid.attributes().group().value().isBlank()
-							|| player.hasPermission("group." + valid.attributes().group()))
-					{
-						return Optional.of(valid);
-					}
-				}
-			}
+			this.playerUid = playerUid;
 		}
-		catch (SQLException sqlException)
+
+		private boolean contains(final UUID graveyardUid)
 		{
-			// output simple error message
-			this.logger.warning(DatastoreMessage.SELECT_NEAREST_GRAVEYARD_ERROR.getLocalizedMessage(configRepository.locale(), DATASTORE_NAME));
-			this.logger.warning(sqlException.getLocalizedMessage());
+			if (cached == null && uids == null)
+			{
+				discoveryCache.get(playerUid).ifPresentOrElse(
+						bitSet -> cached = bitSet,
+						() -> uids = discoverySource.discoveredGraveyards(playerUid)
+								.orElseGet(() -> selectDiscoveredUids(playerUid)));
+			}
+			return (cached != null)
+					? cached.get(catalog.ordinal(graveyardUid))
+					: uids.contains(graveyardUid) || discoveryCache.isPendingWrite(playerUid, graveyardUid);
 		}
-
-		return Optional.empty();
 	}
 
 
 	/**
-	 * Performs a sql query to retrieve a list of graveyard names that match a given prefix.
+	 * Retrieves a list of graveyard names that match a given prefix from the in-memory catalog.
 	 * Matches are case-insensitive, and match against stored searchKeys while treating
 	 * spaces and underscores as equivalent.
 	 * <p>
 	 * This method is used by command TabCompleter methods th return a list of graveyard
 	 * names that match a partially completed name prefix.
-	 * <p>
-	 * This is currently (11-Jul_2025) the only method that uses the <em>SelectGraveyardNamesMatchingPrefix</em> query.
 	 *
 	 * @param prefix the prefix to match
 	 * @return List of Strings containing graveyard names matched by prefix
@@ -255,23 +400,9 @@ public final class SqliteGraveyardRepository implements GraveyardRepository
 	{
 		if (prefix == null) { return List.of(); }
 
-		final List<String> returnList = new ArrayList<>();
-
-		try (final PreparedStatement preparedStatement = connection.prepareStatement(SqliteQueries.getQuery("SelectGraveyardNamesMatchingPrefix"));
-		     final ResultSet resultSet = queryExecutor.selectMatchingGraveyardNames(prefix, preparedStatement))
-		{
-			while (resultSet.next())
-			{
-				returnList.add(resultSet.getString("SearchKey").replace("_", " "));
-			}
-		}
-		catch (SQLException sqlException)
-		{
-			logger.warning(DatastoreMessage.SELECT_MATCHING_GRAVEYARD_NAMES_ERROR.getLocalizedMessage(configRepository.locale(), DATASTORE_NAME));
-			logger.warning(sqlException.getLocalizedMessage());
-		}
-
-		return returnList;
+		return catalog.getMatchingPrefix(prefix)
+				.map(graveyard -> graveyard.searchKey().string().replace("_", " "))
+				.toList();
 	}
 
 
@@ -286,140 +417,374 @@ public final class SqliteGraveyardRepository implements GraveyardRepository
 	{
 		if (prefix == null) return Collections.emptyList();
 
-		final List<String> returnList = new ArrayList<>();
-
-		try (final PreparedStatement preparedStatement = connection.prepareStatement(SqliteQueries.getQuery("SelectGraveyardNamesMatchingPrefix"));
-		     final ResultSet resultSet = queryExecutor.selectMatchingGraveyardKeys(prefix, preparedStatement))
-		{
-			while (resultSet.next())
-			{
-				returnList.add(resultSet.getString("SearchKey"));
-			}
-		}
-		catch (SQLException e)
-		{
-			logger.warning(DatastoreMessage.SELECT_MATCHING_GRAVEYARD_KEYS_ERROR.getLocalizedMessage(configRepository.locale(), DATASTORE_NAME));
-			logger.warning(e.getLocalizedMessage());
-		}
-
-		return returnList;
+		return catalog.getMatchingPrefix(prefix)
+				.map(graveyard -> graveyard.searchKey().string())
+				.toList();
 	}
 
 
 	/**
-	 * Select a count of graveyards in the datastore
+	 * Get a count of graveyards in the in-memory catalog
 	 *
 	 * @return the count of graveyard records in the datastore
 	 */
 	@Override
 	public int getCount()
 	{
-		int count = 0;
+		return catalog.getCount();
+	}
 
-		try (final PreparedStatement preparedStatement = connection.prepareStatement(SqliteQueries.getQuery("SelectGraveyardCount"));
-		     final ResultSet resultSet = preparedStatement.executeQuery())
+
+	/**
+	 * Get undiscovered graveyards for player. If the player's discoveries are held in the discovery cache
+	 * or the discovery source, the result is computed from the in-memory catalog without a datastore query.
+	 *
+	 * @param query the captured state of the player for whom to retrieve undiscovered Graveyards
+	 * @return Stream of Valid objects that are undiscovered for player
+	 */
+	@Override
+	public Stream<ValidGraveyard> getUndiscoveredGraveyards(final PlayerQuery query)
+	{
+		if (query == null) return Stream.empty();
+
+		final Optional<Predicate<UUID>> discovered = discoveredInMemory(query.playerUid());
+		if (discovered.isPresent())
 		{
-			if (resultSet.next())
+			return undiscoveredInWorld(query.worldUid(), discovered.get());
+		}
+
+		final Set<ValidGraveyard> returnSet = new HashSet<>();
+
+		try (final SqliteReadPool.Lease lease = readPool.checkout();
+		     final CachedStatement cachedStatement = lease.statements().acquire("SelectUndiscoveredGraveyards");
+		     final ResultSet resultSet = queryExecutor.selectUndiscoveredGraveyards(query, cachedStatement.statement()))
+		{
+			while (resultSet.next())
 			{
-				count = resultSet.getInt("GraveyardCount");
+				switch (graveyardRowMapper.map(resultSet, "SelectUndiscoveredGraveyards"))
+				{
+					case ValidGraveyard valid ->
+					{
+						if (!discoveryCache.isPendingWrite(query.playerUid(), valid.uid()))
+						{
+							returnSet.add(valid);
+						}
+					}
+					case InvalidGraveyard invalid -> logger.warning(DatastoreMessage.CREATE_GRAVEYARD_ERROR
+									.getLocalizedMessage(configRepository.locale(), invalid.displayName().noColorString(),
+											invalid.graveyardFailReason().getLocalizedMessage(configRepository.locale())));
+				}
 			}
 		}
-		catch (SQLException e)
+		catch (SQLException sqlException)
 		{
-			logger.warning(DatastoreMessage.SELECT_GRAVEYARD_COUNT_ERROR.getLocalizedMessage(configRepository.locale()));
-			logger.warning(e.getLocalizedMessage());
+			logger.warning(DatastoreMessage.SELECT_UNDISCOVERED_RECORDS_ERROR.getLocalizedMessage(configRepository.locale(), DATASTORE_NAME));
+			logger.warning(sqlException.getLocalizedMessage());
+			throw new DatastoreException(sqlException);
 		}
 
-		return count;
+		return returnSet.stream();
 	}
 
 
 	/**
-	 * Get undiscovered graveyards for player
+	 * Get undiscovered graveyards whose discovery range bounding box contains the player's position.
+	 * The bounding box is a superset of the discovery sphere, and callers should still check the exact distance.
+	 * <p>
+	 * If the player's discoveries are held in the discovery cache or the discovery source, candidates are selected
+	 * from the in-memory catalog without a datastore query. Otherwise they are selected through the discovery range
+	 * R*Tree index, whose bounding boxes are computed with the default range given when the index was initialized
+	 * or reloaded. If the index is not available, all undiscovered graveyards in the player's world are returned.
 	 *
 	 * @param player the player for whom to retrieve undiscovered Graveyards
-	 * @return Stream of Valid objects that are undiscovered for player
+	 * @param defaultRange the discovery range used for graveyards with a negative discovery range
+	 * @return Stream of Valid objects that are undiscovered for player and may be in range
 	 */
 	@Override
-	public Stream<ValidGraveyard> getUndiscoveredGraveyards(Player player)
+	public Stream<ValidGraveyard> getUndiscoveredGraveyardsInRange(final Player player, final int defaultRange)
 	{
 		if (player == null) return Stream.empty();
 
-		final Set<ValidGraveyard> returnSet = new HashSet<>();
+		// discovery is not restricted by group, so no group permissions are captured
+		final PlayerQuery query = PlayerQuery.of(player, Set.of());
+
+		final Optional<Predicate<UUID>> discovered = discoveredInMemory(query.playerUid());
+		if (discovered.isPresent())
+		{
+			return undiscoveredInWorld(query.worldUid(), discovered.get())
+					.filter(graveyard -> inRangeBox(graveyard, query, defaultRange));
+		}
 
-		try (final PreparedStatement preparedStatement = connection.prepareStatement(SqliteQueries.getQuery("SelectUndiscoveredGraveyards"));
-		     final ResultSet resultSet = queryExecutor.selectUndiscoveredGraveyards(player, preparedStatement))
+		if (!rangeIndexAvailable)
+		{
+			return getUndiscoveredGraveyards(query);
+		}
+
+		final List<UUID> candidateUids = new ArrayList<>();
+
+		try (final SqliteReadPool.Lease lease = readPool.checkout();
+		     final CachedStatement cachedStatement = lease.statements().acquire("SelectGraveyardUidsInRange");
+		     final ResultSet resultSet = queryExecutor.selectGraveyardUidsInRange(query, cachedStatement.statement()))
 		{
 			while (resultSet.next())
 			{
-				switch (graveyardRowMapper.map(resultSet))
-				{
-					case ValidGraveyard valid -> returnSet.add(valid);
-					case InvalidGraveyard invalid -> logger.warning(DatastoreMessage.CREATE_GRAVEYARD_ERROR
-									.getLocalizedMessage(configRepository.locale(), invalid.displayName().noColorString(),
-											invalid.graveyardFailReason().getLocalizedMessage(configRepository.locale())));
-				}
+				candidateUids.add(new UUID(resultSet.getLong("UidMsb"), resultSet.getLong("UidLsb")));
 			}
 		}
 		catch (SQLException sqlException)
 		{
-			logger.warning(DatastoreMessage.SELECT_UNDISCOVERED_RECORDS_ERROR.getLocalizedMessage(configRepository.locale(), DATASTORE_NAME));
+			logger.warning(DatastoreMessage.SELECT_GRAVEYARDS_IN_RANGE_ERROR.getLocalizedMessage(configRepository.locale(), DATASTORE_NAME));
 			logger.warning(sqlException.getLocalizedMessage());
+			return getUndiscoveredGraveyards(query);
 		}
 
-		return returnSet.stream();
+		final DiscoveredUids discoveredUids = new DiscoveredUids(query.playerUid());
+
+		return candidateUids.stream()
+				.map(catalog::get)
+				.flatMap(Optional::stream)
+				.filter(graveyard -> !discoveredUids.contains(graveyard.uid()));
 	}
 
 
 	/**
-	 * Get undiscovered graveyard keys for player
+	 * Test if a player's position is within the bounding box of a graveyard's discovery range, as it would be
+	 * mirrored in the discovery range index
 	 *
-	 * @param sender the CommandSender for whom to retrieve undiscovered Valid keys
+	 * @param graveyard the graveyard
+	 * @param query the captured state of the player
+	 * @param defaultRange the discovery range used for graveyards with a negative discovery range
+	 * @return true if the player's position is within the bounding box
+	 */
+	private static boolean inRangeBox(final ValidGraveyard graveyard, final PlayerQuery query, final int defaultRange)
+	{
+		final int range = (graveyard.attributes().discoveryRange().value() < 0)
+				? defaultRange
+				: graveyard.attributes().discoveryRange().value();
+
+		return Math.abs(graveyard.location().x() - query.x()) <= range
+				&& Math.abs(graveyard.location().y() - query.y()) <= range
+				&& Math.abs(graveyard.location().z() - query.z()) <= range;
+	}
+
+
+	/**
+	 * Get undiscovered graveyard keys for player. If the player's discoveries are held in the discovery cache
+	 * or the discovery source, the result is computed from the in-memory catalog without a datastore query.
+	 *
+	 * @param query the captured state of the player for whom to retrieve undiscovered Valid keys
 	 * @return HashSet of Valid search keys that are undiscovered for player
 	 */
 	@Override
-	public Set<String> getUndiscoveredKeys(final CommandSender sender)
+	public Set<String> getUndiscoveredKeys(final PlayerQuery query)
 	{
-		if (!(sender instanceof Player player)) return Collections.emptySet();
+		if (query == null) return Collections.emptySet();
+
+		final Optional<Predicate<UUID>> discovered = discoveredInMemory(query.playerUid());
+		if (discovered.isPresent())
+		{
+			return undiscoveredInWorld(query.worldUid(), discovered.get())
+					.map(graveyard -> graveyard.searchKey().string())
+					.collect(Collectors.toSet());
+		}
 
 		final Set<String> returnSet = new HashSet<>();
 
-		try (final PreparedStatement preparedStatement = connection.prepareStatement(SqliteQueries.getQuery("SelectUndiscoveredGraveyardKeys"));
-		     final ResultSet resultSet = queryExecutor.selectUndiscoveredKeys(player, preparedStatement))
+		try (final SqliteReadPool.Lease lease = readPool.checkout();
+		     final CachedStatement cachedStatement = lease.statements().acquire("SelectUndiscoveredGraveyardKeys");
+		     final ResultSet resultSet = queryExecutor.selectUndiscoveredKeys(query, cachedStatement.statement()))
 		{
 			while (resultSet.next())
 			{
-				returnSet.add(resultSet.getString("SearchKey"));
+				final UUID graveyardUid = new UUID(resultSet.getLong("UidMsb"), resultSet.getLong("UidLsb"));
+				if (!discoveryCache.isPendingWrite(query.playerUid(), graveyardUid))
+				{
+					returnSet.add(resultSet.getString("SearchKey"));
+				}
 			}
 		}
 		catch (SQLException sqlException)
 		{
 			logger.warning(DatastoreMessage.SELECT_UNDISCOVERED_KEYS_ERROR.getLocalizedMessage(configRepository.locale(), DATASTORE_NAME));
 			logger.warning(sqlException.getLocalizedMessage());
+			throw new DatastoreException(sqlException);
 		}
 
 		return returnSet;
 	}
 
 
+	/**
+	 * Get a test for a player's discovered graveyard uids, if the player's discoveries are held in the
+	 * discovery cache or the discovery source
+	 *
+	 * @param playerUid the uid of the player
+	 * @return a {@link Predicate} that tests if a graveyard uid was discovered, or an empty {@link Optional}
+	 * if the player's discoveries must be selected from the datastore
+	 */
+	private Optional<Predicate<UUID>> discoveredInMemory(final UUID playerUid)
+	{
+		final Optional<BitSet> cached = discoveryCache.get(playerUid);
+		if (cached.isPresent())
+		{
+			final BitSet bitSet = cached.get();
+			return Optional.of(graveyardUid -> bitSet.get(catalog.ordinal(graveyardUid)));
+		}
+
+		return discoverySource.discoveredGraveyards(playerUid).map(uids -> (Predicate<UUID>) uids::contains);
+	}
+
+
+	/**
+	 * Select enabled, hidden graveyards in the player's current world that are not discovered
+	 *
+	 * @param worldUid the uid of the player's current world
+	 * @param discovered a test for the player's discovered graveyard uids
+	 * @return {@link Stream} of undiscovered graveyards
+	 */
+	private Stream<ValidGraveyard> undiscoveredInWorld(final UUID worldUid, final Predicate<UUID> discovered)
+	{
+		return catalog.getByWorld(worldUid)
+				.filter(graveyard -> graveyard.attributes().enabled().value())
+				.filter(graveyard -> graveyard.attributes().hidden().value())
+				.filter(graveyard -> !discovered.test(graveyard.uid()));
+	}
+
+
 	@Override
 	public Graveyard save(final ValidGraveyard graveyard)
 	{
-		try (final PreparedStatement preparedStatement = connection.prepareStatement(SqliteQueries.getQuery("InsertGraveyard")))
+		try (final SqliteStatementCache.Exclusive exclusive = statementCache.exclusive();
+		     final CachedStatement cachedStatement = statementCache.acquire("InsertGraveyard"))
 		{
-			queryExecutor.insertGraveyard(graveyard, preparedStatement);
+			queryExecutor.insertGraveyard(graveyard, cachedStatement.statement());
+			catalog.put(graveyard);
 		}
 		catch (SQLException sqlException)
 		{
 			logger.warning(DatastoreMessage.INSERT_GRAVEYARD_ERROR.getLocalizedMessage(configRepository.locale(), DATASTORE_NAME));
 			logger.warning(sqlException.getLocalizedMessage());
-			return new InvalidGraveyard(graveyard.displayName(), "∅", FailReason.INSERT_FAILED, Parameter.GRAVEYARD);
+			throw new DatastoreException(sqlException);
 		}
 
+		upsertRange(graveyard.uid());
+		eventBus.publish(new RepositoryEvent.GraveyardCreated(graveyard));
 		return graveyard;
 	}
 
 
+	/**
+	 * Insert or update a collection of graveyard records in a single transaction on the writer connection.
+	 * A graveyard whose uid is in the catalog replaces that record, by the search key it is currently stored under.
+	 * Once the transaction is committed, the catalog and the discovery range index are updated, and each change
+	 * is published to the event bus, all while the writer connection is held, as for single graveyard writes.
+	 *
+	 * @param graveyards the graveyard records to save
+	 * @return the number of graveyard records inserted or updated
+	 * @throws DatastoreException if the transaction failed
+	 */
+	@Override
+	public int saveAll(final Collection<ValidGraveyard> graveyards)
+	{
+		if (graveyards == null || graveyards.isEmpty()) return 0;
+
+		final Connection connection = statementCache.connection();
+
+		// the writer connection is held until the catalog is updated, so that no other statement joins the transaction,
+		// and no other write changes the catalog between the classification of the batch and its commit
+		try (final SqliteStatementCache.Exclusive exclusive = statementCache.exclusive())
+		{
+			final List<ValidGraveyard> inserted = new ArrayList<>();
+			final List<Replacement> replaced = new ArrayList<>();
+			for (ValidGraveyard graveyard : graveyards)
+			{
+				catalog.get(graveyard.uid()).ifPresentOrElse(
+						existing -> replaced.add(new Replacement(existing, graveyard)),
+						() -> inserted.add(graveyard));
+			}
+
+			try (final CachedStatement updateStatement = statementCache.acquire("UpdateGraveyard");
+			     final CachedStatement insertStatement = statementCache.acquire("InsertGraveyard"))
+			{
+				connection.setAutoCommit(false);
+
+				for (Replacement replacement : replaced)
+				{
+					queryExecutor.addGraveyardUpdateBatch(replacement.before().searchKey(), replacement.after(), updateStatement.statement());
+				}
+				for (ValidGraveyard graveyard : inserted)
+				{
+					queryExecutor.addGraveyardBatch(graveyard, insertStatement.statement());
+				}
+
+				// updates are executed first, so that a renamed graveyard releases its search key before the inserts
+				updateStatement.statement().executeBatch();
+				insertStatement.statement().executeBatch();
+				connection.commit();
+			}
+			catch (SQLException sqlException)
+			{
+				logger.warning(DatastoreMessage.SAVE_GRAVEYARD_BATCH_ERROR.getLocalizedMessage(configRepository.locale(), graveyards.size(), DATASTORE_NAME));
+				logger.warning(sqlException.getLocalizedMessage());
+				rollback(connection);
+				throw new DatastoreException(sqlException);
+			}
+			finally
+			{
+				restoreAutoCommit(connection);
+			}
+
+			for (Replacement replacement : replaced)
+			{
+				catalog.remove(replacement.before().uid());
+				catalog.put(replacement.after());
+				upsertRange(replacement.after().uid());
+				eventBus.publish(new RepositoryEvent.GraveyardUpdated(replacement.before(), replacement.after()));
+			}
+			for (ValidGraveyard graveyard : inserted)
+			{
+				catalog.put(graveyard);
+				upsertRange(graveyard.uid());
+				eventBus.publish(new RepositoryEvent.GraveyardCreated(graveyard));
+			}
+
+			return replaced.size() + inserted.size();
+		}
+	}
+
+
+	/**
+	 * A graveyard record to be replaced in a batch, and its replacement
+	 */
+	private record Replacement(ValidGraveyard before, ValidGraveyard after) { }
+
+
+	private void rollback(final Connection connection)
+	{
+		try
+		{
+			connection.rollback();
+		}
+		catch (SQLException sqlException)
+		{
+			logger.warning(sqlException.getLocalizedMessage());
+		}
+	}
+
+
+	private void restoreAutoCommit(final Connection connection)
+	{
+		try
+		{
+			connection.setAutoCommit(true);
+		}
+		catch (SQLException sqlException)
+		{
+			logger.warning(sqlException.getLocalizedMessage());
+		}
+	}
+
+
 	/**
 	 * Update record
 	 *
@@ -436,14 +801,24 @@ public final class SqliteGraveyardRepository implements GraveyardRepository
 	@Override
 	public Graveyard update(final ValidSearchKey oldSearchKey, final ValidGraveyard graveyard)
 	{
-		try (final PreparedStatement preparedStatement = connection.prepareStatement(SqliteQueries.getQuery("UpdateGraveyard")))
+		try (final SqliteStatementCache.Exclusive exclusive = statementCache.exclusive();
+		     final CachedStatement cachedStatement = statementCache.acquire("UpdateGraveyard"))
 		{
-			queryExecutor.updateGraveyard(oldSearchKey, graveyard, preparedStatement);
+			if (queryExecutor.updateGraveyard(oldSearchKey, graveyard, cachedStatement.statement()) > 0)
+			{
+				final Optional<ValidGraveyard> before = catalog.remove(oldSearchKey);
+				catalog.put(graveyard);
+				upsertRange(graveyard.uid());
+				eventBus.publish(before.isPresent()
+						? new RepositoryEvent.GraveyardUpdated(before.get(), graveyard)
+						: new RepositoryEvent.GraveyardCreated(graveyard));
+			}
 		}
 		catch (SQLException sqlException)
 		{
 			logger.warning(DatastoreMessage.UPDATE_GRAVEYARD_RECORD_ERROR.getLocalizedMessage(configRepository.locale(), DATASTORE_NAME));
 			logger.warning(sqlException.getLocalizedMessage());
+			throw new DatastoreException(sqlException);
 		}
 
 		return graveyard;
@@ -462,16 +837,18 @@ public final class SqliteGraveyardRepository implements GraveyardRepository
 		// return deleted record or invalid if not found
 		if (get(searchKey) instanceof ValidGraveyard validGraveyard)
 		{
-			try (final PreparedStatement preparedStatement = connection.prepareStatement(SqliteQueries.getQuery("DeleteGraveyard")))
+			try (final SqliteStatementCache.Exclusive exclusive = statementCache.exclusive();
+			     final CachedStatement cachedStatement = statementCache.acquire("DeleteGraveyard"))
 			{
-				queryExecutor.deleteGraveyard(searchKey, preparedStatement);
-				preparedStatement.setString(1, searchKey.string());
-				preparedStatement.executeUpdate();
+				queryExecutor.deleteGraveyard(searchKey, cachedStatement.statement());
+				catalog.remove(validGraveyard.uid());
+				eventBus.publish(new RepositoryEvent.GraveyardDeleted(validGraveyard));
 			}
 			catch (SQLException sqlException)
 			{
 				logger.warning(DatastoreMessage.DELETE_GRAVEYARD_RECORD_ERROR.getLocalizedMessage(configRepository.locale(), DATASTORE_NAME));
 				logger.warning(sqlException.getLocalizedMessage());
+				throw new DatastoreException(sqlException);
 			}
 			return validGraveyard;
 		}
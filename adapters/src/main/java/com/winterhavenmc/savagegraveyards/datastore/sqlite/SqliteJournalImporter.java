@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.savagegraveyards.datastore.sqlite;
+
+import com.winterhavenmc.library.messagebuilder.models.configuration.ConfigRepository;
+import com.winterhavenmc.savagegraveyards.datastore.DatastoreMessage;
+import com.winterhavenmc.savagegraveyards.datastore.journal.DiscoveryJournal;
+import com.winterhavenmc.savagegraveyards.datastore.sqlite.schema.RowMapper;
+import com.winterhavenmc.savagegraveyards.models.FailReason;
+import com.winterhavenmc.savagegraveyards.models.Parameter;
+import com.winterhavenmc.savagegraveyards.models.discovery.Discovery;
+import com.winterhavenmc.savagegraveyards.models.discovery.InvalidDiscovery;
+import com.winterhavenmc.savagegraveyards.models.discovery.ValidDiscovery;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.logging.Logger;
+
+import static com.winterhavenmc.savagegraveyards.datastore.DatastoreMessage.DATASTORE_NAME;
+
+
+/**
+ * Copies all discovery records from the SQLite Discovery table into a newly created discovery journal. This is
+ * done once, when the journal file is first created, so that switching to journal storage keeps existing
+ * discoveries. Records are streamed from the table, without holding them all in memory.
+ */
+final class SqliteJournalImporter
+{
+	private final Connection connection;
+	private final RowMapper<Discovery> discoveryRowMapper;
+	private final ConfigRepository configRepository;
+	private final Logger logger;
+
+
+	SqliteJournalImporter(final Connection connection,
+	                      final RowMapper<Discovery> discoveryRowMapper,
+	                      final ConfigRepository configRepository,
+	                      final Logger logger)
+	{
+		this.connection = connection;
+		this.discoveryRowMapper = discoveryRowMapper;
+		this.configRepository = configRepository;
+		this.logger = logger;
+	}
+
+
+	/**
+	 * Append every discovery record in the Discovery table to the journal
+	 *
+	 * @param journal the journal, which should be empty
+	 * @return {@code true} if all records were copied, or {@code false} if the copy failed
+	 */
+	boolean copyTo(final DiscoveryJournal journal)
+	{
+		int count = 0;
+
+		try (final PreparedStatement statement = connection.prepareStatement(SqliteQueries.getQuery(discoveryRowMapper.queryKey()));
+		     final ResultSet resultSet = statement.executeQuery())
+		{
+			while (resultSet.next())
+			{
+				switch (discoveryRowMapper.map(resultSet, discoveryRowMapper.queryKey()))
+				{
+					case ValidDiscovery valid ->
+					{
+						if (journal.append(valid.graveyardUid(), valid.playerUid(), valid.getTimestamp()))
+						{
+							count++;
+						}
+					}
+					case InvalidDiscovery(FailReason failReason, Parameter ignored) -> logger
+							.warning(DatastoreMessage.CREATE_DISCOVERY_ERROR
+									.getLocalizedMessage(configRepository.locale(), failReason.getLocalizedMessage(configRepository.locale())));
+				}
+			}
+
+			journal.force();
+		}
+		catch (SQLException | IOException exception)
+		{
+			logger.warning(DatastoreMessage.JOURNAL_IMPORT_ERROR.getLocalizedMessage(configRepository.locale(), DATASTORE_NAME));
+			logger.warning(exception.getLocalizedMessage());
+			return false;
+		}
+
+		logger.info(DatastoreMessage.JOURNAL_IMPORT_NOTICE.getLocalizedMessage(configRepository.locale(), count, DATASTORE_NAME));
+		return true;
+	}
+
+}
@@ -0,0 +1,457 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.savagegraveyards.datastore.sqlite;
+
+import com.winterhavenmc.library.messagebuilder.models.configuration.ConfigRepository;
+
+import com.winterhavenmc.savagegraveyards.datastore.DatastoreMessage;
+import com.winterhavenmc.savagegraveyards.datastore.DiscoveryCache;
+import com.winterhavenmc.savagegraveyards.datastore.RepositoryEvent;
+import com.winterhavenmc.savagegraveyards.datastore.RepositoryEventBus;
+import com.winterhavenmc.savagegraveyards.datastore.sqlite.SqliteSettings.MaintenanceSettings;
+
+import org.sqlite.SQLiteConfig;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToLongFunction;
+import java.util.logging.Logger;
+
+import static com.winterhavenmc.savagegraveyards.datastore.DatastoreMessage.DATASTORE_NAME;
+
+
+/**
+ * A background maintenance job for the SQLite datastore. At each run, discovery records that have expired under
+ * the configured retention rules are removed, and free pages are returned to the file system with
+ * {@code PRAGMA incremental_vacuum}.
+ * <p>
+ * Discovery records are scanned in primary key order, one page at a time, on a dedicated connection. The expired
+ * records of each page are removed in a single short transaction, followed by a pause, so that the write lock is
+ * never held for long and other writes are not kept waiting. Free pages are returned in steps of the same size.
+ */
+public final class SqliteMaintenance implements AutoCloseable
+{
+	private static final long INITIAL_DELAY_MINUTES = 5;
+	private static final long SHUTDOWN_TIMEOUT_SECONDS = 10;
+	private static final int AUTO_VACUUM_INCREMENTAL = 2;
+
+	private final String dbUrl;
+	private final SqliteSettings settings;
+	private final MaintenanceSettings maintenance;
+	private final DiscoveryCache discoveryCache;
+	private final RepositoryEventBus eventBus;
+	private final boolean pruneDiscoveries;
+	private final ToLongFunction<UUID> lastSeen;
+	private final ConfigRepository configRepository;
+	private final Logger logger;
+
+	private ScheduledExecutorService maintenanceExecutor;
+	private volatile Result lastResult;
+
+
+	/**
+	 * The outcome of a maintenance run
+	 *
+	 * @param discoveriesRemoved the number of discovery records removed
+	 * @param pagesReclaimed the number of free pages returned to the file system
+	 * @param bytesReclaimed the size of the returned pages, in bytes
+	 * @param elapsed the duration of the run
+	 * @param completed the time at which the run completed
+	 */
+	public record Result(long discoveriesRemoved, long pagesReclaimed, long bytesReclaimed, Duration elapsed, Instant completed) { }
+
+
+	private record ExpiryRow(long playerId, long graveyardKey, UUID playerUid, UUID graveyardUid) { }
+
+
+	/**
+	 * Class constructor
+	 *
+	 * @param dbUrl the jdbc url of the SQLite datastore
+	 * @param settings the connection settings, including the maintenance settings
+	 * @param discoveryCache the discovery cache, from which removed discoveries are removed
+	 * @param eventBus the event bus on which removed discoveries are published
+	 * @param pruneDiscoveries {@code true} if discoveries are stored in the SQLite datastore and may be removed
+	 * @param lastSeen a function returning the time a player last played, in epoch milliseconds, or zero if unknown
+	 * @param configRepository the config repository, used for log message localization
+	 * @param logger the plugin logger
+	 */
+	public SqliteMaintenance(final String dbUrl,
+	                         final SqliteSettings settings,
+	                         final DiscoveryCache discoveryCache,
+	                         final RepositoryEventBus eventBus,
+	                         final boolean pruneDiscoveries,
+	                         final ToLongFunction<UUID> lastSeen,
+	                         final ConfigRepository configRepository,
+	                         final Logger logger)
+	{
+		this.dbUrl = dbUrl;
+		this.settings = settings;
+		this.maintenance = settings.maintenance();
+		this.discoveryCache = discoveryCache;
+		this.eventBus = eventBus;
+		this.pruneDiscoveries = pruneDiscoveries;
+		this.lastSeen = lastSeen;
+		this.configRepository = configRepository;
+		this.logger = logger;
+	}
+
+
+	/**
+	 * Convert a database to incremental auto-vacuum, if it is not already converted. An existing database must be
+	 * rebuilt with {@code VACUUM} for the change to take effect, so this should be called before other connections
+	 * are opened.
+	 *
+	 * @param connection the writer connection, with no transaction in progress
+	 * @param configRepository the config repository, used for log message localization
+	 * @param logger the plugin logger
+	 */
+	public static void enableIncrementalVacuum(final Connection connection,
+	                                           final ConfigRepository configRepository,
+	                                           final Logger logger)
+	{
+		try (final Statement statement = connection.createStatement())
+		{
+			if (pragma(statement, "auto_vacuum") == AUTO_VACUUM_INCREMENTAL)
+			{
+				return;
+			}
+
+			logger.info(DatastoreMessage.AUTO_VACUUM_CONVERT_NOTICE.getLocalizedMessage(configRepository.locale(), DATASTORE_NAME));
+			statement.execute("PRAGMA auto_vacuum = INCREMENTAL");
+			statement.execute("VACUUM");
+		}
+		catch (SQLException sqlException)
+		{
+			logger.warning(DatastoreMessage.AUTO_VACUUM_CONVERT_ERROR.getLocalizedMessage(configRepository.locale(), DATASTORE_NAME));
+			logger.warning(sqlException.getLocalizedMessage());
+		}
+	}
+
+
+	/**
+	 * Schedule maintenance runs at the configured interval, if maintenance is enabled
+	 */
+	public void start()
+	{
+		if (!maintenance.enabled()) return;
+
+		maintenanceExecutor = Executors.newSingleThreadScheduledExecutor(runnable ->
+		{
+			final Thread thread = new Thread(runnable, "SavageGraveyards-Maintenance");
+			thread.setDaemon(true);
+			return thread;
+		});
+
+		final long intervalMinutes = maintenance.interval();
+		maintenanceExecutor.scheduleWithFixedDelay(this::runSafely,
+				Math.min(INITIAL_DELAY_MINUTES, intervalMinutes), intervalMinutes, TimeUnit.MINUTES);
+	}
+
+
+	/**
+	 * Stop scheduled maintenance, interrupting a run in progress between transactions
+	 */
+	@Override
+	public void close()
+	{
+		if (maintenanceExecutor == null) return;
+
+		maintenanceExecutor.shutdownNow();
+		try
+		{
+			maintenanceExecutor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+		}
+		catch (InterruptedException interruptedException)
+		{
+			Thread.currentThread().interrupt();
+		}
+	}
+
+
+	/**
+	 * Perform a maintenance run, logging the result or any error, so that a failed run does not cancel later runs
+	 */
+	private void runSafely()
+	{
+		try
+		{
+			final Result result = run();
+			logger.info(DatastoreMessage.MAINTENANCE_COMPLETE_NOTICE.getLocalizedMessage(configRepository.locale(),
+					DATASTORE_NAME, result.discoveriesRemoved(), result.pagesReclaimed(),
+					result.bytesReclaimed() / 1024, result.elapsed().toMillis()));
+		}
+		catch (InterruptedException interruptedException)
+		{
+			Thread.currentThread().interrupt();
+		}
+		catch (SQLException | RuntimeException exception)
+		{
+			logger.warning(DatastoreMessage.MAINTENANCE_ERROR.getLocalizedMessage(configRepository.locale(), DATASTORE_NAME));
+			logger.warning(exception.getLocalizedMessage());
+		}
+	}
+
+
+	/**
+	 * Remove expired discovery records and return free pages to the file system
+	 *
+	 * @return the result of the run
+	 * @throws SQLException if the datastore could not be read or written
+	 * @throws InterruptedException if the run was interrupted during a pause
+	 */
+	Result run() throws SQLException, InterruptedException
+	{
+		final long startNanos = System.nanoTime();
+
+		try (final Connection connection = open())
+		{
+			final long removed = (pruneDiscoveries && maintenance.prunesDiscoveries())
+					? removeExpiredDiscoveries(connection)
+					: 0L;
+
+			final long reclaimed = incrementalVacuum(connection);
+
+			final long pageSize;
+			try (final Statement statement = connection.createStatement())
+			{
+				pageSize = pragma(statement, "page_size");
+			}
+
+			final Result result = new Result(removed, reclaimed, reclaimed * pageSize,
+					Duration.ofNanos(System.nanoTime() - startNanos), Instant.now());
+			lastResult = result;
+			return result;
+		}
+	}
+
+
+	/**
+	 * Get the result of the last maintenance run, for display
+	 *
+	 * @return an ordered map of statistic names to their values, empty if maintenance has not yet run
+	 */
+	public Map<String, String> statistics()
+	{
+		final Map<String, String> returnMap = new LinkedHashMap<>();
+		final Result result = lastResult;
+
+		if (result != null)
+		{
+			returnMap.put("maintenance_last_run", result.completed().toString());
+			returnMap.put("maintenance_discoveries_removed", String.valueOf(result.discoveriesRemoved()));
+			returnMap.put("maintenance_pages_reclaimed", String.valueOf(result.pagesReclaimed()));
+		}
+
+		return returnMap;
+	}
+
+
+	private Connection open() throws SQLException
+	{
+		final SQLiteConfig sqliteConfig = new SQLiteConfig();
+		sqliteConfig.enforceForeignKeys(true);
+		final Connection connection = DriverManager.getConnection(dbUrl, sqliteConfig.toProperties());
+		settings.apply(connection);
+		return connection;
+	}
+
+
+	private long removeExpiredDiscoveries(final Connection connection) throws SQLException, InterruptedException
+	{
+		final long inactiveBefore = (maintenance.inactivePlayerDays() > 0)
+				? System.currentTimeMillis() - Duration.ofDays(maintenance.inactivePlayerDays()).toMillis()
+				: 0L;
+		final long discoveredBefore = (maintenance.discoveredBefore() != null)
+				? maintenance.discoveredBefore().getEpochSecond()
+				: Long.MIN_VALUE;
+
+		long afterPlayerId = Long.MIN_VALUE;
+		long afterGraveyardKey = Long.MIN_VALUE;
+		long currentPlayerId = Long.MIN_VALUE;
+		boolean currentPlayerInactive = false;
+		long removed = 0;
+
+		while (true)
+		{
+			final List<ExpiryRow> expired = new ArrayList<>();
+			int pageCount = 0;
+
+			try (final PreparedStatement statement = connection.prepareStatement(SqliteQueries.getQuery("SelectDiscoveryPageAfter")))
+			{
+				statement.setLong(1, afterPlayerId);
+				statement.setLong(2, afterGraveyardKey);
+				statement.setInt(3, maintenance.chunkSize());
+
+				try (final ResultSet resultSet = statement.executeQuery())
+				{
+					while (resultSet.next())
+					{
+						pageCount++;
+						afterPlayerId = resultSet.getLong("PlayerId");
+						afterGraveyardKey = resultSet.getLong("GraveyardKey");
+
+						final UUID playerUid = new UUID(resultSet.getLong("PlayerUidMsb"), resultSet.getLong("PlayerUidLsb"));
+						final long timestamp = resultSet.getLong("Timestamp");
+						final boolean hasTimestamp = !resultSet.wasNull();
+
+						// rows are ordered by player, so each player's last seen time is looked up once
+						if (afterPlayerId != currentPlayerId)
+						{
+							currentPlayerId = afterPlayerId;
+							currentPlayerInactive = isInactive(playerUid, inactiveBefore);
+						}
+
+						if (currentPlayerInactive || (hasTimestamp && timestamp < discoveredBefore))
+						{
+							expired.add(new ExpiryRow(afterPlayerId, afterGraveyardKey, playerUid,
+									new UUID(resultSet.getLong("GraveyardUidMsb"), resultSet.getLong("GraveyardUidLsb"))));
+						}
+					}
+				}
+			}
+
+			if (!expired.isEmpty())
+			{
+				removed += delete(connection, expired);
+				pause();
+			}
+
+			if (pageCount < maintenance.chunkSize())
+			{
+				return removed;
+			}
+		}
+	}
+
+
+	private boolean isInactive(final UUID playerUid, final long inactiveBefore)
+	{
+		if (inactiveBefore == 0L) return false;
+
+		// players whose last played time is unknown are kept
+		final long lastPlayed = lastSeen.applyAsLong(playerUid);
+		return lastPlayed > 0L && lastPlayed < inactiveBefore;
+	}
+
+
+	private int delete(final Connection connection, final List<ExpiryRow> rows) throws SQLException
+	{
+		final int[] counts;
+
+		connection.setAutoCommit(false);
+		try (final PreparedStatement statement = connection.prepareStatement(SqliteQueries.getQuery("DeleteDiscoveryByKey")))
+		{
+			for (ExpiryRow row : rows)
+			{
+				statement.setLong(1, row.playerId());
+				statement.setLong(2, row.graveyardKey());
+				statement.addBatch();
+			}
+			counts = statement.executeBatch();
+			connection.commit();
+		}
+		catch (SQLException sqlException)
+		{
+			connection.rollback();
+			throw sqlException;
+		}
+		finally
+		{
+			connection.setAutoCommit(true);
+		}
+
+		// records removed by another operation since the page was read are not reported again
+		int removed = 0;
+		for (int i = 0; i < rows.size(); i++)
+		{
+			if (counts[i] > 0 || counts[i] == Statement.SUCCESS_NO_INFO)
+			{
+				final ExpiryRow row = rows.get(i);
+				discoveryCache.remove(row.playerUid(), row.graveyardUid());
+				eventBus.publish(new RepositoryEvent.DiscoveryRemoved(row.graveyardUid(), row.playerUid()));
+				removed++;
+			}
+		}
+
+		return removed;
+	}
+
+
+	private long incrementalVacuum(final Connection connection) throws SQLException, InterruptedException
+	{
+		long reclaimed = 0;
+
+		try (final Statement statement = connection.createStatement())
+		{
+			if (pragma(statement, "auto_vacuum") != AUTO_VACUUM_INCREMENTAL)
+			{
+				return 0L;
+			}
+
+			long free = pragma(statement, "freelist_count");
+			while (free > 0)
+			{
+				statement.execute("PRAGMA incremental_vacuum(" + maintenance.chunkSize() + ")");
+
+				final long remaining = pragma(statement, "freelist_count");
+				if (remaining >= free) break;
+
+				reclaimed += free - remaining;
+				free = remaining;
+
+				if (free > 0) pause();
+			}
+		}
+
+		return reclaimed;
+	}
+
+
+	private void pause() throws InterruptedException
+	{
+		if (maintenance.chunkPause() > 0)
+		{
+			Thread.sleep(maintenance.chunkPause());
+		}
+	}
+
+
+	private static long pragma(final Statement statement, final String name) throws SQLException
+	{
+		try (final ResultSet resultSet = statement.executeQuery("PRAGMA " + name))
+		{
+			return (resultSet.next()) ? resultSet.getLong(1) : 0L;
+		}
+	}
+
+}
@@ -0,0 +1,306 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.savagegraveyards.datastore.sqlite;
+
+import com.winterhavenmc.library.messagebuilder.models.configuration.ConfigRepository;
+import com.winterhavenmc.savagegraveyards.datastore.DatastoreMessage;
+
+import org.sqlite.SQLiteConfig;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+import static com.winterhavenmc.savagegraveyards.datastore.DatastoreMessage.DATASTORE_NAME;
+
+
+/**
+ * A fixed-size pool of read-only connections to the SQLite datastore. In WAL journal mode, readers do not block
+ * the writer or each other, so reads made from asynchronous tasks may run alongside main thread writes on the
+ * single writer connection. Each pooled connection has its own {@link SqliteStatementCache}.
+ * <p>
+ * If the pool size is zero, or no read connection could be opened, leases are served from the writer
+ * connection's statement cache instead, and hold the writer connection exclusively until they are closed.
+ * <p>
+ * Long scans, such as exports, are served by {@link #scan()} from a dedicated read connection that is opened for
+ * the scan, so that they do not hold a pooled connection that short reads may be waiting for.
+ */
+public final class SqliteReadPool implements AutoCloseable
+{
+	private final ConfigRepository configRepository;
+	private final Logger logger;
+	private final String dbUrl;
+	private final SqliteSettings settings;
+	private final Properties readOnlyProperties;
+	private final SqliteStatementCache writerStatements;
+	private final long timeoutMillis;
+	private final List<PooledConnection> connections = new ArrayList<>();
+	private final BlockingQueue<PooledConnection> idle;
+	private final AtomicLong checkoutCount = new AtomicLong();
+	private final AtomicLong totalWaitNanos = new AtomicLong();
+	private final AtomicLong maxWaitNanos = new AtomicLong();
+	private final AtomicLong timeoutCount = new AtomicLong();
+	private final AtomicLong scanCount = new AtomicLong();
+
+
+	/**
+	 * Class constructor
+	 *
+	 * @param dbUrl the jdbc url of the SQLite datastore
+	 * @param settings the connection settings, which supply the pool size and checkout timeout
+	 * @param writerStatements the statement cache of the writer connection, used when the pool is empty
+	 * @param configRepository the config repository, used for log message localization
+	 * @param logger the plugin logger
+	 */
+	public SqliteReadPool(final String dbUrl,
+	                      final SqliteSettings settings,
+	                      final SqliteStatementCache writerStatements,
+	                      final ConfigRepository configRepository,
+	                      final Logger logger)
+	{
+		this.configRepository = configRepository;
+		this.logger = logger;
+		this.dbUrl = dbUrl;
+		this.settings = settings;
+		this.writerStatements = writerStatements;
+		this.timeoutMillis = settings.readPoolTimeout();
+		this.idle = new ArrayBlockingQueue<>(Math.max(1, settings.readPoolSize()));
+
+		final SQLiteConfig sqliteConfig = new SQLiteConfig();
+		sqliteConfig.setReadOnly(true);
+		this.readOnlyProperties = sqliteConfig.toProperties();
+
+		for (int i = 0; i < settings.readPoolSize(); i++)
+		{
+			try
+			{
+				final Connection connection = DriverManager.getConnection(dbUrl, readOnlyProperties);
+				settings.applyReadOnly(connection);
+				final PooledConnection pooledConnection = new PooledConnection(connection, new SqliteStatementCache(connection));
+				connections.add(pooledConnection);
+				idle.add(pooledConnection);
+			}
+			catch (SQLException sqlException)
+			{
+				logger.warning(DatastoreMessage.READ_POOL_OPEN_ERROR.getLocalizedMessage(configRepository.locale(), DATASTORE_NAME));
+				logger.warning(sqlException.getLocalizedMessage());
+				break;
+			}
+		}
+	}
+
+
+	/**
+	 * Borrow a read connection, waiting up to the configured timeout for one to become idle
+	 *
+	 * @return a {@link Lease} that returns its connection to the pool when closed
+	 * @throws SQLException if no connection became idle before the timeout elapsed
+	 */
+	public Lease checkout() throws SQLException
+	{
+		if (connections.isEmpty())
+		{
+			return new Lease(null, writerStatements, writerStatements.exclusive(), false);
+		}
+
+		final long start = System.nanoTime();
+		final PooledConnection pooledConnection;
+		try
+		{
+			pooledConnection = idle.poll(timeoutMillis, TimeUnit.MILLISECONDS);
+		}
+		catch (InterruptedException interruptedException)
+		{
+			Thread.currentThread().interrupt();
+			throw new SQLException(interruptedException);
+		}
+
+		final long waitNanos = System.nanoTime() - start;
+		totalWaitNanos.addAndGet(waitNanos);
+		maxWaitNanos.accumulateAndGet(waitNanos, Math::max);
+
+		if (pooledConnection == null)
+		{
+			timeoutCount.incrementAndGet();
+			throw new SQLTimeoutException(DatastoreMessage.READ_POOL_TIMEOUT_ERROR
+					.getLocalizedMessage(configRepository.locale(), timeoutMillis));
+		}
+
+		checkoutCount.incrementAndGet();
+		return new Lease(pooledConnection, pooledConnection.statementCache(), null, false);
+	}
+
+
+	/**
+	 * Open a dedicated read connection for a long scan. The connection is not taken from the pool, and is closed
+	 * when the lease is closed. If the pool is empty, the lease is served from the writer connection.
+	 *
+	 * @return a {@link Lease} that closes its connection when closed
+	 * @throws SQLException if the connection could not be opened
+	 */
+	public Lease scan() throws SQLException
+	{
+		if (connections.isEmpty())
+		{
+			return new Lease(null, writerStatements, writerStatements.exclusive(), false);
+		}
+
+		final Connection connection = DriverManager.getConnection(dbUrl, readOnlyProperties);
+		try
+		{
+			settings.applyReadOnly(connection);
+		}
+		catch (SQLException sqlException)
+		{
+			connection.close();
+			throw sqlException;
+		}
+
+		final SqliteStatementCache statementCache = new SqliteStatementCache(connection);
+		scanCount.incrementAndGet();
+		return new Lease(new PooledConnection(connection, statementCache), statementCache, null, true);
+	}
+
+
+	/**
+	 * Get pool size and wait statistics, for display
+	 *
+	 * @return an ordered map of statistic names to values
+	 */
+	public Map<String, String> statistics()
+	{
+		final Map<String, String> returnMap = new LinkedHashMap<>();
+		final long checkouts = checkoutCount.get();
+
+		returnMap.put("read_pool_size", String.valueOf(connections.size()));
+		returnMap.put("read_pool_timeout", String.valueOf(timeoutMillis));
+		returnMap.put("read_pool_checkouts", String.valueOf(checkouts));
+		returnMap.put("read_pool_wait_avg_ms", String.format("%.3f", (checkouts == 0)
+				? 0.0
+				: totalWaitNanos.get() / (double) checkouts / 1_000_000.0));
+		returnMap.put("read_pool_wait_max_ms", String.format("%.3f", maxWaitNanos.get() / 1_000_000.0));
+		returnMap.put("read_pool_timeouts", String.valueOf(timeoutCount.get()));
+		returnMap.put("read_pool_scans", String.valueOf(scanCount.get()));
+
+		return returnMap;
+	}
+
+
+	/**
+	 * Close all pooled connections and their statement caches
+	 */
+	@Override
+	public void close()
+	{
+		for (PooledConnection pooledConnection : connections)
+		{
+			pooledConnection.statementCache().close();
+			try
+			{
+				pooledConnection.connection().close();
+			}
+			catch (SQLException sqlException)
+			{
+				logger.warning(DatastoreMessage.DATASTORE_CLOSE_ERROR.getLocalizedMessage(configRepository.locale(), DATASTORE_NAME));
+				logger.warning(sqlException.getLocalizedMessage());
+			}
+		}
+
+		connections.clear();
+		idle.clear();
+	}
+
+
+	private void closeDedicated(final PooledConnection pooledConnection)
+	{
+		pooledConnection.statementCache().close();
+		try
+		{
+			pooledConnection.connection().close();
+		}
+		catch (SQLException sqlException)
+		{
+			logger.warning(DatastoreMessage.DATASTORE_CLOSE_ERROR.getLocalizedMessage(configRepository.locale(), DATASTORE_NAME));
+			logger.warning(sqlException.getLocalizedMessage());
+		}
+	}
+
+
+	private record PooledConnection(Connection connection, SqliteStatementCache statementCache) { }
+
+
+	/**
+	 * A read connection on loan from the pool. Closing it returns the connection to the pool, or closes it
+	 * if it was opened for a scan.
+	 */
+	public final class Lease implements AutoCloseable
+	{
+		private final PooledConnection pooledConnection;
+		private final SqliteStatementCache statementCache;
+		private final SqliteStatementCache.Exclusive exclusive;
+		private final boolean dedicated;
+
+
+		private Lease(final PooledConnection pooledConnection,
+		              final SqliteStatementCache statementCache,
+		              final SqliteStatementCache.Exclusive exclusive,
+		              final boolean dedicated)
+		{
+			this.pooledConnection = pooledConnection;
+			this.statementCache = statementCache;
+			this.exclusive = exclusive;
+			this.dedicated = dedicated;
+		}
+
+
+		public SqliteStatementCache statements()
+		{
+			return statementCache;
+		}
+
+
+		@Override
+		public void close()
+		{
+			if (pooledConnection != null && dedicated)
+			{
+				closeDedicated(pooledConnection);
+			}
+			else if (pooledConnection != null)
+			{
+				idle.offer(pooledConnection);
+			}
+			if (exclusive != null)
+			{
+				exclusive.close();
+			}
+		}
+	}
+
+}
@@ -0,0 +1,382 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.savagegraveyards.datastore.sqlite;
+
+import com.winterhavenmc.library.messagebuilder.models.configuration.ConfigRepository;
+import com.winterhavenmc.savagegraveyards.datastore.DatastoreMessage;
+
+import org.bukkit.configuration.ConfigurationSection;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Logger;
+
+import static com.winterhavenmc.savagegraveyards.datastore.DatastoreMessage.DATASTORE_NAME;
+
+
+/**
+ * The SQLite connection settings applied when a connection is opened. Settings are taken from a named
+ * {@link Profile} selected in the {@code datastore.sqlite} section of the plugin configuration, and any
+ * individual setting present in that section overrides the profile value. The {@code maintenance} subsection
+ * configures the background removal of old discovery records and the return of free pages to the file system,
+ * and the {@code backup} subsection configures online backups.
+ */
+public record SqliteSettings(Profile profile,
+                             String journalMode,
+                             String synchronous,
+                             int cacheSize,
+                             long mmapSize,
+                             String tempStore,
+                             int busyTimeout,
+                             int readPoolSize,
+                             long readPoolTimeout,
+                             MaintenanceSettings maintenance,
+                             BackupSettings backup)
+{
+	public static final String CONFIG_SECTION = "datastore.sqlite";
+	public static final int DEFAULT_READ_POOL_SIZE = 2;
+	public static final long DEFAULT_READ_POOL_TIMEOUT = 1000L;
+
+	private static final Set<String> JOURNAL_MODES = Set.of("DELETE", "TRUNCATE", "PERSIST", "MEMORY", "WAL");
+	private static final Set<String> SYNCHRONOUS_MODES = Set.of("OFF", "NORMAL", "FULL", "EXTRA");
+	private static final Set<String> TEMP_STORES = Set.of("DEFAULT", "FILE", "MEMORY");
+	private static final String[] SYNCHRONOUS_NAMES = { "OFF", "NORMAL", "FULL", "EXTRA" };
+	private static final String[] TEMP_STORE_NAMES = { "DEFAULT", "FILE", "MEMORY" };
+	private static final String[] AUTO_VACUUM_NAMES = { "NONE", "FULL", "INCREMENTAL" };
+
+
+	/**
+	 * Named presets of SQLite settings. A negative cache size is a size in KiB, as SQLite interprets it.
+	 * No preset turns synchronous writes off, which risks a corrupt database on power loss; that must be
+	 * set explicitly.
+	 */
+	public enum Profile
+	{
+		SAFE("WAL", "FULL", -2000, 0L, "DEFAULT", 5000),
+		BALANCED("WAL", "NORMAL", -8000, 64L * 1024 * 1024, "MEMORY", 5000),
+		FAST("WAL", "NORMAL", -32000, 256L * 1024 * 1024, "MEMORY", 10000);
+
+		private final String journalMode;
+		private final String synchronous;
+		private final int cacheSize;
+		private final long mmapSize;
+		private final String tempStore;
+		private final int busyTimeout;
+
+
+		Profile(final String journalMode, final String synchronous, final int cacheSize,
+		        final long mmapSize, final String tempStore, final int busyTimeout)
+		{
+			this.journalMode = journalMode;
+			this.synchronous = synchronous;
+			this.cacheSize = cacheSize;
+			this.mmapSize = mmapSize;
+			this.tempStore = tempStore;
+			this.busyTimeout = busyTimeout;
+		}
+	}
+
+
+	/**
+	 * Maintenance settings. Maintenance runs every {@code interval} minutes. Discoveries of players who have not
+	 * played for {@code inactivePlayerDays} days, and discoveries made before {@code discoveredBefore}, are removed
+	 * in transactions of at most {@code chunkSize} records, with a pause of {@code chunkPause} milliseconds between
+	 * transactions. A value of zero days or a null instant disables the corresponding rule.
+	 */
+	public record MaintenanceSettings(boolean enabled,
+	                                  long interval,
+	                                  int inactivePlayerDays,
+	                                  Instant discoveredBefore,
+	                                  int chunkSize,
+	                                  long chunkPause)
+	{
+		public static final MaintenanceSettings DEFAULT = new MaintenanceSettings(true, 360L, 0, null, 500, 250L);
+
+		static MaintenanceSettings of(final ConfigurationSection section,
+		                              final ConfigRepository configRepository,
+		                              final Logger logger)
+		{
+			if (section == null)
+			{
+				return DEFAULT;
+			}
+
+			return new MaintenanceSettings(
+					section.getBoolean("enabled", DEFAULT.enabled()),
+					Math.max(1L, section.getLong("interval", DEFAULT.interval())),
+					Math.max(0, section.getInt("inactive-player-days", DEFAULT.inactivePlayerDays())),
+					instant(section, "discovered-before", configRepository, logger),
+					Math.max(1, section.getInt("chunk-size", DEFAULT.chunkSize())),
+					Math.max(0L, section.getLong("chunk-pause", DEFAULT.chunkPause())));
+		}
+
+
+		/**
+		 * Test if any discovery retention rule is enabled
+		 *
+		 * @return {@code true} if discoveries may be removed by maintenance, {@code false} if not
+		 */
+		public boolean prunesDiscoveries()
+		{
+			return inactivePlayerDays > 0 || discoveredBefore != null;
+		}
+
+
+		private static Instant instant(final ConfigurationSection section,
+		                               final String key,
+		                               final ConfigRepository configRepository,
+		                               final Logger logger)
+		{
+			final String value = section.getString(key, "");
+			if (value == null || value.isBlank())
+			{
+				return null;
+			}
+
+			try
+			{
+				return (value.contains("T"))
+						? Instant.parse(value)
+						: LocalDate.parse(value).atStartOfDay(ZoneOffset.UTC).toInstant();
+			}
+			catch (DateTimeParseException exception)
+			{
+				logger.warning(DatastoreMessage.SQLITE_SETTING_INVALID_WARNING
+						.getLocalizedMessage(configRepository.locale(), key, value, ""));
+				return null;
+			}
+		}
+	}
+
+
+	/**
+	 * Backup settings. A backup is written every {@code interval} minutes, or only on demand if the interval is zero,
+	 * and the newest {@code keep} backup files are kept. Backups copy {@code pagesPerStep} database pages at a time,
+	 * with a pause of {@code stepPause} milliseconds between steps.
+	 */
+	public record BackupSettings(long interval,
+	                             int keep,
+	                             int pagesPerStep,
+	                             int stepPause)
+	{
+		public static final BackupSettings DEFAULT = new BackupSettings(1440L, 7, 100, 50);
+
+		static BackupSettings of(final ConfigurationSection section)
+		{
+			if (section == null)
+			{
+				return DEFAULT;
+			}
+
+			return new BackupSettings(
+					Math.max(0L, section.getLong("interval", DEFAULT.interval())),
+					Math.max(1, section.getInt("keep", DEFAULT.keep())),
+					Math.max(1, section.getInt("pages-per-step", DEFAULT.pagesPerStep())),
+					Math.max(0, section.getInt("step-pause", DEFAULT.stepPause())));
+		}
+	}
+
+
+	/**
+	 * Create settings from the {@code datastore.sqlite} configuration section. An unrecognized profile name falls
+	 * back to the balanced profile, and an invalid override falls back to the profile value, with a logged warning.
+	 *
+	 * @param section the configuration section, which may be null
+	 * @param configRepository the config repository, used for log message localization
+	 * @param logger the plugin logger
+	 * @return the resolved settings
+	 */
+	public static SqliteSettings of(final ConfigurationSection section,
+	                                final ConfigRepository configRepository,
+	                                final Logger logger)
+	{
+		if (section == null)
+		{
+			return of(Profile.BALANCED);
+		}
+
+		final String profileName = section.getString("profile", Profile.BALANCED.name());
+		Profile profile;
+		try
+		{
+			profile = Profile.valueOf(profileName.toUpperCase(Locale.ROOT));
+		}
+		catch (IllegalArgumentException exception)
+		{
+			logger.warning(DatastoreMessage.SQLITE_SETTING_INVALID_WARNING
+					.getLocalizedMessage(configRepository.locale(), "profile", profileName, Profile.BALANCED.name()));
+			profile = Profile.BALANCED;
+		}
+
+		return new SqliteSettings(profile,
+				option(section, "journal-mode", profile.journalMode, JOURNAL_MODES, configRepository, logger),
+				option(section, "synchronous", profile.synchronous, SYNCHRONOUS_MODES, configRepository, logger),
+				section.getInt("cache-size", profile.cacheSize),
+				Math.max(0L, section.getLong("mmap-size", profile.mmapSize)),
+				option(section, "temp-store", profile.tempStore, TEMP_STORES, configRepository, logger),
+				Math.max(0, section.getInt("busy-timeout", profile.busyTimeout)),
+				Math.max(0, section.getInt("read-pool-size", DEFAULT_READ_POOL_SIZE)),
+				Math.max(0L, section.getLong("read-pool-timeout", DEFAULT_READ_POOL_TIMEOUT)),
+				MaintenanceSettings.of(section.getConfigurationSection("maintenance"), configRepository, logger),
+				BackupSettings.of(section.getConfigurationSection("backup")));
+	}
+
+
+	/**
+	 * Create settings from a profile, without overrides
+	 *
+	 * @param profile the profile
+	 * @return the profile settings
+	 */
+	public static SqliteSettings of(final Profile profile)
+	{
+		return new SqliteSettings(profile, profile.journalMode, profile.synchronous, profile.cacheSize,
+				profile.mmapSize, profile.tempStore, profile.busyTimeout, DEFAULT_READ_POOL_SIZE, DEFAULT_READ_POOL_TIMEOUT,
+				MaintenanceSettings.DEFAULT, BackupSettings.DEFAULT);
+	}
+
+
+	private static String option(final ConfigurationSection section,
+	                             final String key,
+	                             final String defaultValue,
+	                             final Set<String> permitted,
+	                             final ConfigRepository configRepository,
+	                             final Logger logger)
+	{
+		final String value = section.getString(key, defaultValue).toUpperCase(Locale.ROOT);
+
+		if (!permitted.contains(value))
+		{
+			logger.warning(DatastoreMessage.SQLITE_SETTING_INVALID_WARNING
+					.getLocalizedMessage(configRepository.locale(), key, value, defaultValue));
+			return defaultValue;
+		}
+
+		return value;
+	}
+
+
+	/**
+	 * Apply these settings to a connection. Values are validated when the settings are created,
+	 * so they may be safely formatted into the pragma statements.
+	 *
+	 * @param connection the connection to configure
+	 * @throws SQLException if a pragma could not be applied
+	 */
+	public void apply(final Connection connection) throws SQLException
+	{
+		try (final Statement statement = connection.createStatement())
+		{
+			statement.execute("PRAGMA busy_timeout = " + busyTimeout);
+			statement.execute("PRAGMA journal_mode = " + journalMode);
+			statement.execute("PRAGMA synchronous = " + synchronous);
+			statement.execute("PRAGMA cache_size = " + cacheSize);
+			statement.execute("PRAGMA mmap_size = " + mmapSize);
+			statement.execute("PRAGMA temp_store = " + tempStore);
+		}
+	}
+
+
+	/**
+	 * Apply the per-connection settings to a read-only connection. The journal mode and synchronous settings
+	 * are properties of the writer connection and are not applied.
+	 *
+	 * @param connection the read-only connection to configure
+	 * @throws SQLException if a pragma could not be applied
+	 */
+	public void applyReadOnly(final Connection connection) throws SQLException
+	{
+		try (final Statement statement = connection.createStatement())
+		{
+			statement.execute("PRAGMA busy_timeout = " + busyTimeout);
+			statement.execute("PRAGMA cache_size = " + cacheSize);
+			statement.execute("PRAGMA mmap_size = " + mmapSize);
+			statement.execute("PRAGMA temp_store = " + tempStore);
+		}
+	}
+
+
+	/**
+	 * Read the settings in effect on a connection, for display
+	 *
+	 * @param connection the connection to query
+	 * @param configRepository the config repository, used for log message localization
+	 * @param logger the plugin logger
+	 * @return an ordered map of setting names to their current values
+	 */
+	public Map<String, String> read(final Connection connection,
+	                                final ConfigRepository configRepository,
+	                                final Logger logger)
+	{
+		final Map<String, String> returnMap = new LinkedHashMap<>();
+		returnMap.put("profile", profile.name().toLowerCase(Locale.ROOT));
+
+		try (final Statement statement = connection.createStatement())
+		{
+			returnMap.put("journal_mode", pragma(statement, "journal_mode").toUpperCase(Locale.ROOT));
+			returnMap.put("synchronous", named(pragma(statement, "synchronous"), SYNCHRONOUS_NAMES));
+			returnMap.put("cache_size", pragma(statement, "cache_size"));
+			returnMap.put("mmap_size", pragma(statement, "mmap_size"));
+			returnMap.put("temp_store", named(pragma(statement, "temp_store"), TEMP_STORE_NAMES));
+			returnMap.put("busy_timeout", pragma(statement, "busy_timeout"));
+			returnMap.put("auto_vacuum", named(pragma(statement, "auto_vacuum"), AUTO_VACUUM_NAMES));
+			returnMap.put("freelist_count", pragma(statement, "freelist_count"));
+		}
+		catch (SQLException sqlException)
+		{
+			logger.warning(DatastoreMessage.SQLITE_SETTINGS_READ_ERROR.getLocalizedMessage(configRepository.locale(), DATASTORE_NAME));
+			logger.warning(sqlException.getLocalizedMessage());
+		}
+
+		return returnMap;
+	}
+
+
+	private static String pragma(final Statement statement, final String name) throws SQLException
+	{
+		try (final ResultSet resultSet = statement.executeQuery("PRAGMA " + name))
+		{
+			return (resultSet.next()) ? resultSet.getString(1) : "";
+		}
+	}
+
+
+	private static String named(final String value, final String[] names)
+	{
+		try
+		{
+			final int index = Integer.parseInt(value);
+			return (index >= 0 && index < names.length) ? names[index] : value;
+		}
+		catch (NumberFormatException exception)
+		{
+			return value;
+		}
+	}
+
+}
@@ -0,0 +1,235 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.savagegraveyards.datastore.sqlite;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+
+/**
+ * A cache of prepared statements for a single connection, keyed by query name. Statements are compiled the first
+ * time a query is used, and returned to the cache when the {@link CachedStatement} that holds them is closed,
+ * so that they may be reused with cleared parameters.
+ * <p>
+ * A statement is held by only one caller at a time. If a query is in use when it is requested again, as when the
+ * connection is shared by an asynchronous task, a second statement is prepared for it.
+ * <p>
+ * A connection that is shared by several threads must be held {@link #exclusive() exclusively} while statements
+ * are executed on it, so that one thread's statements cannot join a transaction begun by another.
+ */
+public final class SqliteStatementCache implements AutoCloseable
+{
+	private final Connection connection;
+	private final Map<String, Deque<PreparedStatement>> idleStatements = new HashMap<>();
+	private final AtomicLong prepareCount = new AtomicLong();
+	private final AtomicLong reuseCount = new AtomicLong();
+	private final ReentrantLock exclusiveLock = new ReentrantLock(true);
+	private boolean closed;
+
+
+	/**
+	 * Class constructor
+	 *
+	 * @param connection the connection on which statements are prepared
+	 */
+	public SqliteStatementCache(final Connection connection)
+	{
+		this.connection = connection;
+	}
+
+
+	/**
+	 * Get a prepared statement for a named query, reusing an idle cached statement if one is available
+	 *
+	 * @param queryName the name of the query in the queries properties file
+	 * @return a {@link CachedStatement} that returns its statement to the cache when closed
+	 * @throws SQLException if a new statement could not be prepared
+	 */
+	public CachedStatement acquire(final String queryName) throws SQLException
+	{
+		synchronized (this)
+		{
+			final Deque<PreparedStatement> idle = idleStatements.get(queryName);
+			final PreparedStatement cached = (idle == null) ? null : idle.pollFirst();
+
+			if (cached != null && !cached.isClosed())
+			{
+				cached.clearParameters();
+				cached.clearBatch();
+				reuseCount.incrementAndGet();
+				return new CachedStatement(queryName, cached);
+			}
+		}
+
+		final PreparedStatement prepared = connection.prepareStatement(SqliteQueries.getQuery(queryName));
+		prepareCount.incrementAndGet();
+		return new CachedStatement(queryName, prepared);
+	}
+
+
+	/**
+	 * Take exclusive use of the connection of this cache, waiting for any other thread that holds it to release it.
+	 * A thread that holds the connection may take it again, so a transaction may call methods that also take it.
+	 *
+	 * @return an {@link Exclusive} that releases the connection when closed
+	 */
+	public Exclusive exclusive()
+	{
+		exclusiveLock.lock();
+		return new Exclusive();
+	}
+
+
+	/**
+	 * Get the connection on which this cache prepares statements, for transaction control
+	 *
+	 * @return the connection of this statement cache
+	 */
+	Connection connection()
+	{
+		return connection;
+	}
+
+
+	/**
+	 * Return a statement to the cache, or close it if the cache has been closed
+	 */
+	private void release(final String queryName, final PreparedStatement preparedStatement) throws SQLException
+	{
+		synchronized (this)
+		{
+			if (!closed)
+			{
+				idleStatements.computeIfAbsent(queryName, key -> new ArrayDeque<>()).offerFirst(preparedStatement);
+				return;
+			}
+		}
+
+		preparedStatement.close();
+	}
+
+
+	/**
+	 * Close all idle cached statements. Statements in use are closed when they are released.
+	 */
+	@Override
+	public synchronized void close()
+	{
+		closed = true;
+
+		for (Deque<PreparedStatement> idle : idleStatements.values())
+		{
+			for (PreparedStatement preparedStatement : idle)
+			{
+				try
+				{
+					preparedStatement.close();
+				}
+				catch (SQLException ignored)
+				{
+					// statement will be closed with its connection
+				}
+			}
+		}
+
+		idleStatements.clear();
+	}
+
+
+	/**
+	 * Get the number of statements compiled by this cache
+	 *
+	 * @return the count of statements prepared
+	 */
+	public long getPrepareCount()
+	{
+		return prepareCount.get();
+	}
+
+
+	/**
+	 * Get the number of statement preparations avoided by reuse of a cached statement
+	 *
+	 * @return the count of statements reused
+	 */
+	public long getReuseCount()
+	{
+		return reuseCount.get();
+	}
+
+
+	/**
+	 * Exclusive use of the connection of the cache. Closing it releases the connection to other threads.
+	 */
+	public final class Exclusive implements AutoCloseable
+	{
+		private boolean released;
+
+
+		private Exclusive() { }
+
+
+		@Override
+		public void close()
+		{
+			if (!released)
+			{
+				released = true;
+				exclusiveLock.unlock();
+			}
+		}
+	}
+
+
+	/**
+	 * A prepared statement on loan from the cache. Closing it returns the statement to the cache.
+	 */
+	public final class CachedStatement implements AutoCloseable
+	{
+		private final String queryName;
+		private final PreparedStatement preparedStatement;
+
+
+		private CachedStatement(final String queryName, final PreparedStatement preparedStatement)
+		{
+			this.queryName = queryName;
+			this.preparedStatement = preparedStatement;
+		}
+
+
+		public PreparedStatement statement()
+		{
+			return preparedStatement;
+		}
+
+
+		@Override
+		public void close() throws SQLException
+		{
+			release(queryName, preparedStatement);
+		}
+	}
+
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.savagegraveyards.datastore.sqlite.schema;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+
+/**
+ * Resolves the indexes of the columns read by a row mapper. Reading a column by label searches the column names
+ * of the result set on every call, for every row; a row mapper instead resolves the index of each of its columns
+ * once, and reads every row by index. A query always returns the same columns, so resolved indexes are cached
+ * by query key for the life of the row mapper.
+ */
+public final class ColumnIndex
+{
+	private final List<String> labels;
+	private final Map<String, Columns> columnsByQuery = new ConcurrentHashMap<>();
+
+
+	private ColumnIndex(final List<String> labels)
+	{
+		this.labels = labels;
+	}
+
+
+	/**
+	 * Create a column index for the constants of a column enum, which are resolved in ordinal order
+	 *
+	 * @param columnType the class of the column enum
+	 * @param label a function returning the column label of an enum constant
+	 * @return a new column index
+	 */
+	public static <E extends Enum<E>> ColumnIndex of(final Class<E> columnType, final Function<E, String> label)
+	{
+		return new ColumnIndex(Arrays.stream(columnType.getEnumConstants()).map(label).toList());
+	}
+
+
+	/**
+	 * Resolve column indexes from the metadata of a result set, without caching
+	 *
+	 * @param resultSet the result set
+	 * @return the resolved column indexes
+	 * @throws SQLException if a column label is not present in the result set
+	 */
+	public Columns resolve(final ResultSet resultSet) throws SQLException
+	{
+		final int[] indexes = new int[labels.size()];
+		for (int i = 0; i < indexes.length; i++)
+		{
+			indexes[i] = resultSet.findColumn(labels.get(i));
+		}
+		return new Columns(indexes);
+	}
+
+
+	/**
+	 * Get the column indexes for a query, resolving them from the result set on first use of the query
+	 *
+	 * @param resultSet a result set returned by the query
+	 * @param queryKey the key of the query
+	 * @return the resolved column indexes
+	 * @throws SQLException if a column label is not present in the result set
+	 */
+	public Columns resolve(final ResultSet resultSet, final String queryKey) throws SQLException
+	{
+		Columns columns = columnsByQuery.get(queryKey);
+		if (columns == null)
+		{
+			columns = resolve(resultSet);
+			columnsByQuery.put(queryKey, columns);
+		}
+		return columns;
+	}
+
+
+	/**
+	 * Resolved column indexes, in the ordinal order of a column enum
+	 */
+	public static final class Columns
+	{
+		private final int[] indexes;
+
+
+		private Columns(final int[] indexes)
+		{
+			this.indexes = indexes;
+		}
+
+
+		/**
+		 * Get the result set index of a column
+		 *
+		 * @param column a constant of the column enum the indexes were resolved for
+		 * @return the one-based result set index of the column
+		 */
+		public int index(final Enum<?> column)
+		{
+			return indexes[column.ordinal()];
+		}
+	}
+
+}
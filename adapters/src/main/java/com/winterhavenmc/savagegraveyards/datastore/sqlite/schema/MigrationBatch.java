@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.savagegraveyards.datastore.sqlite.schema;
+
+import com.winterhavenmc.library.messagebuilder.models.configuration.ConfigRepository;
+import com.winterhavenmc.savagegraveyards.datastore.DatastoreMessage;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.logging.Logger;
+
+
+/**
+ * Counts the rows added to a batched insert statement during a migration, executing the batch each time it
+ * reaches the batch size, and logging progress each time the progress interval is passed. If a prerequisite
+ * statement is given, its batch is executed first each time, for rows that the inserted rows refer to.
+ */
+final class MigrationBatch
+{
+	private final PreparedStatement preparedStatement;
+	private final PreparedStatement prerequisiteStatement;
+	private final String tableName;
+	private final int batchSize;
+	private final int progressInterval;
+	private final ConfigRepository configRepository;
+	private final Logger logger;
+
+	private int pending;
+	private int added;
+	private int inserted;
+
+
+	MigrationBatch(final PreparedStatement preparedStatement,
+	               final String tableName,
+	               final int batchSize,
+	               final int progressInterval,
+	               final ConfigRepository configRepository,
+	               final Logger logger)
+	{
+		this(preparedStatement, null, tableName, batchSize, progressInterval, configRepository, logger);
+	}
+
+
+	MigrationBatch(final PreparedStatement preparedStatement,
+	               final PreparedStatement prerequisiteStatement,
+	               final String tableName,
+	               final int batchSize,
+	               final int progressInterval,
+	               final ConfigRepository configRepository,
+	               final Logger logger)
+	{
+		this.preparedStatement = preparedStatement;
+		this.prerequisiteStatement = prerequisiteStatement;
+		this.tableName = tableName;
+		this.batchSize = Math.max(1, batchSize);
+		this.progressInterval = Math.max(1, progressInterval);
+		this.configRepository = configRepository;
+		this.logger = logger;
+	}
+
+
+	/**
+	 * Record a row added to the statement batch, executing the batch if it is full
+	 *
+	 * @throws SQLException if the batch could not be executed
+	 */
+	void added() throws SQLException
+	{
+		pending++;
+		added++;
+
+		if (pending >= batchSize)
+		{
+			execute();
+		}
+
+		if (added % progressInterval == 0)
+		{
+			logger.info(DatastoreMessage.SCHEMA_MIGRATION_PROGRESS_NOTICE
+					.getLocalizedMessage(configRepository.locale(), added, tableName));
+		}
+	}
+
+
+	/**
+	 * Execute any rows remaining in the statement batch
+	 *
+	 * @return the total number of rows inserted
+	 * @throws SQLException if the batch could not be executed
+	 */
+	int finish() throws SQLException
+	{
+		if (pending > 0)
+		{
+			execute();
+		}
+
+		return inserted;
+	}
+
+
+	private void execute() throws SQLException
+	{
+		if (prerequisiteStatement != null)
+		{
+			prerequisiteStatement.executeBatch();
+		}
+
+		for (int result : preparedStatement.executeBatch())
+		{
+			if (result > 0)
+			{
+				inserted += result;
+			}
+			else if (result == Statement.SUCCESS_NO_INFO)
+			{
+				inserted++;
+			}
+		}
+
+		pending = 0;
+	}
+
+}
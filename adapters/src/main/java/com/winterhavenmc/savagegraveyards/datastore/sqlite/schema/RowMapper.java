@@ -23,7 +23,41 @@ import java.sql.SQLException;
 
 public interface RowMapper<T>
 {
-	T map(ResultSet resultSet) throws SQLException;
+	/**
+	 * Map the current row of a result set, reading columns by index
+	 *
+	 * @param resultSet the result set, positioned on the row to map
+	 * @param columns the column indexes resolved for the result set by the {@link #columnIndex()} of this mapper
+	 * @return the mapped record
+	 * @throws SQLException if the row could not be read
+	 */
+	T map(ResultSet resultSet, ColumnIndex.Columns columns) throws SQLException;
+
+	ColumnIndex columnIndex();
+
+
+	/**
+	 * Map the current row of a result set, resolving column indexes for this row only. Rows of a query
+	 * should be mapped with {@link #map(ResultSet, String)}, which resolves column indexes once for the query.
+	 */
+	default T map(final ResultSet resultSet) throws SQLException
+	{
+		return map(resultSet, columnIndex().resolve(resultSet));
+	}
+
+
+	/**
+	 * Map the current row of a result set returned by a query, reading columns by the indexes resolved on
+	 * first use of the query
+	 *
+	 * @param resultSet the result set, positioned on the row to map
+	 * @param queryKey the key of the query that returned the result set
+	 */
+	default T map(final ResultSet resultSet, final String queryKey) throws SQLException
+	{
+		return map(resultSet, columnIndex().resolve(resultSet, queryKey));
+	}
+
 
 	String queryKey();
 
@@ -19,5 +19,5 @@ package com.winterhavenmc.savagegraveyards.datastore.sqlite.schema;
 
 public interface Schema
 {
-	int VERSION = 2;
+	int VERSION = 4;
 }
@@ -82,4 +82,22 @@ public sealed interface SchemaUpdater permits SqliteSchemaUpdater, SqliteSchemaU
 		}
 	}
 
+
+	default boolean columnExists(final Connection connection, final String tableName, final String columnName)
+	{
+		try (PreparedStatement preparedStatement = connection.prepareStatement(SqliteQueries.getQuery("SelectTableColumn")))
+		{
+			preparedStatement.setString(1, tableName);
+			preparedStatement.setString(2, columnName);
+			try (ResultSet resultSet = preparedStatement.executeQuery())
+			{
+				return resultSet.next(); // returns true if a row is found
+			}
+		}
+		catch (SQLException sqlException)
+		{
+			return false;
+		}
+	}
+
 }
@@ -22,12 +22,14 @@ import com.winterhavenmc.savagegraveyards.datastore.sqlite.SqliteDiscoveryQueryE
 import com.winterhavenmc.savagegraveyards.datastore.sqlite.SqliteGraveyardQueryExecutor;
 import com.winterhavenmc.savagegraveyards.datastore.sqlite.SqliteQueries;
 
+import com.winterhavenmc.savagegraveyards.models.Config;
 import com.winterhavenmc.savagegraveyards.models.FailReason;
 import com.winterhavenmc.savagegraveyards.models.Parameter;
 import com.winterhavenmc.savagegraveyards.models.discovery.Discovery;
 import com.winterhavenmc.savagegraveyards.models.discovery.InvalidDiscovery;
 import com.winterhavenmc.savagegraveyards.models.discovery.ValidDiscovery;
 import com.winterhavenmc.savagegraveyards.models.graveyard.Graveyard;
+import com.winterhavenmc.savagegraveyards.models.graveyard.InvalidGraveyard;
 import com.winterhavenmc.savagegraveyards.models.graveyard.ValidGraveyard;
 
 import com.winterhavenmc.library.messagebuilder.models.configuration.ConfigRepository;
@@ -35,13 +37,16 @@ import com.winterhavenmc.library.messagebuilder.models.configuration.ConfigRepos
 import org.bukkit.plugin.Plugin;
 
 import java.sql.*;
-import java.util.*;
-import java.util.stream.Stream;
 
 import static com.winterhavenmc.savagegraveyards.datastore.DatastoreMessage.DATASTORE_NAME;
 import static com.winterhavenmc.savagegraveyards.datastore.sqlite.SqliteConnectionProvider.*;
 
 
+/**
+ * Updates the SQLite datastore to the current schema version. The update runs in a single transaction,
+ * so that a failure at any step leaves the datastore as it was. Records are streamed from the legacy tables
+ * and inserted in batches, so that large datastores are migrated without holding all records in memory.
+ */
 public final class SqliteSchemaUpdater implements SchemaUpdater
 {
 	private final Plugin plugin;
@@ -49,7 +54,8 @@ public final class SqliteSchemaUpdater implements SchemaUpdater
 	private final ConfigRepository config;
 	private final RowMapper<Graveyard> currentGraveyardRowMapper;
 	private final RowMapper<Discovery> discoveryRowMapper;
-	private final SqliteDiscoveryQueryExecutor queryExecutor;
+	private final int batchSize;
+	private final int progressInterval;
 
 
 	SqliteSchemaUpdater(final Plugin plugin,
@@ -62,7 +68,8 @@ public final class SqliteSchemaUpdater implements SchemaUpdater
 		int storageSchemaVersion = getSchemaVersion(connection, configRepository, plugin.getLogger());
 		this.currentGraveyardRowMapper = selectGraveyardRowMapper(storageSchemaVersion);
 		this.discoveryRowMapper = selectDiscoveryRowMapper(storageSchemaVersion);
-		this.queryExecutor = new SqliteDiscoveryQueryExecutor();
+		this.batchSize = Config.MIGRATION_BATCH_SIZE.getInt(plugin.getConfig());
+		this.progressInterval = Config.MIGRATION_PROGRESS_INTERVAL.getInt(plugin.getConfig());
 	}
 
 
@@ -73,20 +80,45 @@ public final class SqliteSchemaUpdater implements SchemaUpdater
 
 		if (schemaVersion < Schema.VERSION)
 		{
-			updateTables(connection);
-			setSchemaVersion(connection, plugin.getLogger(), config, Schema.VERSION);
-			cleanup(connection);
+			try
+			{
+				connection.setAutoCommit(false);
+
+				// tables were renamed and restructured in version 2; copy records from legacy tables
+				if (schemaVersion < 2)
+				{
+					updateTables(connection);
+					cleanup(connection);
+				}
+				else if (schemaVersion < 4)
+				{
+					// discoveries are stored in a compact layout from version 4
+					compactDiscoveryTable(connection);
+				}
+
+				// version 3 adds a column and indexes to the existing tables
+				updateIndexes(connection);
+
+				setSchemaVersion(connection, plugin.getLogger(), config, Schema.VERSION);
+				connection.commit();
+			}
+			catch (SQLException sqlException)
+			{
+				plugin.getLogger().warning(DatastoreMessage.SCHEMA_UPDATE_ERROR.getLocalizedMessage(config.locale(), DATASTORE_NAME));
+				plugin.getLogger().warning(sqlException.getLocalizedMessage());
+				rollback();
+			}
+			finally
+			{
+				restoreAutoCommit();
+			}
 		}
 	}
 
 
-	private void updateTables(final Connection connection)
+	private void updateTables(final Connection connection) throws SQLException
 	{
-		final int storedSchemaVersion = getSchemaVersion(connection, config, plugin.getLogger());
-		final RowMapper<Graveyard> graveyardRowMapper = selectGraveyardRowMapper(storedSchemaVersion);
-		final RowMapper<Discovery> discoveryRowMapper = selectDiscoveryRowMapper(storedSchemaVersion);
-
-		if (tableExists(connection, graveyardRowMapper.tableName()))
+		if (tableExists(connection, currentGraveyardRowMapper.tableName()))
 		{
 			updateGraveyardTableSchema(connection);
 		}
@@ -98,195 +130,203 @@ public final class SqliteSchemaUpdater implements SchemaUpdater
 	}
 
 
-	private void cleanup(final Connection connection)
+	/**
+	 * Add the case-folded search key column to the graveyard table, if not already present, and create the
+	 * indexes used by the search key and world queries, and by graveyard deletes cascading to discoveries.
+	 * If existing search keys differ only by case, the search key index is created without a unique constraint.
+	 */
+	private void updateIndexes(final Connection connection) throws SQLException
 	{
-		try (final Statement statement = connection.createStatement())
+		if (!columnExists(connection, "Graveyard", "SearchKeyFolded"))
 		{
-			statement.executeUpdate(SqliteQueries.getQuery("DropGraveyardsTable")); // table renamed to 'graveyard'
-		}
-		catch (SQLException sqlException)
-		{
-			plugin.getLogger().warning(DatastoreMessage.DROP_GRAVEYARD_TABLE_ERROR.getLocalizedMessage(config.locale(), DATASTORE_NAME));
+			executeUpdate(connection, "AddGraveyardSearchKeyFoldedColumn");
 		}
 
-		try (final Statement statement = connection.createStatement())
+		try
 		{
-			statement.executeUpdate(SqliteQueries.getQuery("DropDiscoveredTable")); // table renamed to 'discovery'
+			executeUpdate(connection, "CreateGraveyardSearchKeyFoldedIndex");
 		}
 		catch (SQLException sqlException)
 		{
-			plugin.getLogger().warning(DatastoreMessage.DROP_DISCOVERY_TABLE_ERROR.getLocalizedMessage(config.locale(), DATASTORE_NAME));
+			plugin.getLogger().warning(DatastoreMessage.SCHEMA_SEARCH_KEY_NOT_UNIQUE_WARNING.getLocalizedMessage(config.locale(), DATASTORE_NAME));
+			executeUpdate(connection, "CreateGraveyardSearchKeyFoldedIndexNonUnique");
 		}
+
+		executeUpdate(connection, "CreateGraveyardWorldIndex");
+		executeUpdate(connection, "DropDiscoveryPlayerIndex"); // superseded by the version 4 primary key
+		executeUpdate(connection, "CreateDiscoveryGraveyardIndex");
 	}
 
 
-	private void updateGraveyardTableSchema(final Connection connection)
+	/**
+	 * Convert the version 2 and 3 discovery table to the version 4 layout. Player uids are copied to the Player
+	 * table, and discovery rows are copied with a player id and a timestamp in epoch seconds, in set-based
+	 * statements. The old table is then dropped.
+	 *
+	 * @param connection the datastore connection, with a transaction in progress
+	 * @throws SQLException if the records could not be copied
+	 */
+	private void compactDiscoveryTable(final Connection connection) throws SQLException
 	{
-		Stream<ValidGraveyard> existingGraveyardRecords = getAllGraveyardRecords(currentGraveyardRowMapper);
-
-		try (final Statement statement = connection.createStatement())
+		if (!tableExists(connection, "Discovery") || columnExists(connection, "Discovery", "PlayerId"))
 		{
-			statement.executeUpdate(SqliteQueries.getQuery("CreateGraveyardTable"));
+			return;
 		}
-		catch (SQLException sqlException)
+
+		executeUpdate(connection, "DropDiscoveryPlayerIndex");
+		executeUpdate(connection, "RenameDiscoveryTableV3");
+		executeUpdate(connection, "CreatePlayerTable");
+		executeUpdate(connection, "CreateDiscoveryTable");
+		executeUpdate(connection, "MigratePlayersV3");
+		int count = executeUpdate(connection, "MigrateDiscoveriesV3");
+		executeUpdate(connection, "DropDiscoveryTableV3");
+
+		plugin.getLogger().info(DatastoreMessage.SCHEMA_DISCOVERY_RECORDS_MIGRATED_NOTICE.getLocalizedMessage(config.locale(), count, Schema.VERSION));
+	}
+
+
+	private int executeUpdate(final Connection connection, final String queryKey) throws SQLException
+	{
+		try (final Statement statement = connection.createStatement())
 		{
-			plugin.getLogger().warning(DatastoreMessage.SCHEMA_UPDATE_ERROR.getLocalizedMessage(config.locale(), DATASTORE_NAME));
-			plugin.getLogger().warning(sqlException.getLocalizedMessage());
+			return statement.executeUpdate(SqliteQueries.getQuery(queryKey));
 		}
+	}
 
-		int count = saveAllGraveyards(existingGraveyardRecords);
 
-		plugin.getLogger().info(DatastoreMessage.SCHEMA_GRAVEYARD_RECORDS_MIGRATED_NOTICE
-				.getLocalizedMessage(config.locale(), count, Schema.VERSION));
+	private void cleanup(final Connection connection) throws SQLException
+	{
+		executeUpdate(connection, "DropGraveyardsTable"); // table renamed to 'graveyard'
+		executeUpdate(connection, "DropDiscoveredTable"); // table renamed to 'discovery'
 	}
 
 
-	/**
-	 * Select a collection of all valid graveyards from the Sqlite datastore
-	 *
-	 * @return A {@link Stream} of all ValidGraveyard records in the Sqlite datastore
-	 * @param graveyardRowMapper the row mapper to use for the schema version to be used
-	 */
-	public Stream<ValidGraveyard> getAllGraveyardRecords(RowMapper<Graveyard> graveyardRowMapper)
+	private void updateGraveyardTableSchema(final Connection connection) throws SQLException
 	{
-		final List<ValidGraveyard> returnList = new ArrayList<>();
+		executeUpdate(connection, "CreateGraveyardTable");
 
-		try (final PreparedStatement preparedStatement = connection.prepareStatement(SqliteQueries.getQuery(graveyardRowMapper.queryKey()));
-		     final ResultSet resultSet = preparedStatement.executeQuery())
-		{
-			while (resultSet.next())
-			{
-				if (graveyardRowMapper.map(resultSet) instanceof ValidGraveyard validGraveyard)
-				{
-					returnList.add(validGraveyard);
-				}
-			}
-		}
-		catch (SQLException sqlException)
-		{
-			plugin.getLogger().warning(DatastoreMessage.SELECT_ALL_GRAVEYARDS_ERROR.getLocalizedMessage(config.locale(), DATASTORE_NAME));
-			plugin.getLogger().warning(sqlException.getLocalizedMessage());
-		}
+		int count = migrateGraveyardRecords(connection);
 
-		return returnList.stream();
+		plugin.getLogger().info(DatastoreMessage.SCHEMA_GRAVEYARD_RECORDS_MIGRATED_NOTICE
+				.getLocalizedMessage(config.locale(), count, Schema.VERSION));
 	}
 
 
 	/**
-	 * Insert a {@link Stream} of ValidGraveyard records into the Sqlite datastore
+	 * Stream all graveyard records from the legacy table into the current table, in batches
 	 *
-	 * @param graveyards a stream of graveyard records
-	 * @return int - the number of records successfully inserted
+	 * @param connection the datastore connection, with a transaction in progress
+	 * @return the number of records inserted
+	 * @throws SQLException if a record could not be read or inserted
 	 */
-	private int saveAllGraveyards(final Stream<ValidGraveyard> graveyards)
+	private int migrateGraveyardRecords(final Connection connection) throws SQLException
 	{
-		if (graveyards == null) return 0;
-
-		int count = 0;
-
-		SqliteGraveyardQueryExecutor graveyardQueryExecutor = new SqliteGraveyardQueryExecutor();
+		final SqliteGraveyardQueryExecutor graveyardQueryExecutor = new SqliteGraveyardQueryExecutor();
 
-		//TODO: use summing collector with stream to get count
-		for (ValidGraveyard graveyard : graveyards.toList())
+		try (final PreparedStatement selectStatement = connection.prepareStatement(SqliteQueries.getQuery(currentGraveyardRowMapper.queryKey()));
+		     final PreparedStatement insertStatement = connection.prepareStatement(SqliteQueries.getQuery("InsertGraveyard"));
+		     final ResultSet resultSet = selectStatement.executeQuery())
 		{
-			try (final PreparedStatement preparedStatement = connection.prepareStatement(SqliteQueries.getQuery("InsertGraveyard")))
-			{
-				count += graveyardQueryExecutor.insertGraveyard(graveyard, preparedStatement);
-			}
-			catch (SQLException sqlException)
+			final MigrationBatch batch = new MigrationBatch(insertStatement, currentGraveyardRowMapper.tableName(),
+					batchSize, progressInterval, config, plugin.getLogger());
+
+			while (resultSet.next())
 			{
-				plugin.getLogger().warning(DatastoreMessage.INSERT_GRAVEYARD_ERROR.getLocalizedMessage(config.locale(), DATASTORE_NAME));
-				plugin.getLogger().warning(sqlException.getLocalizedMessage());
+				switch (currentGraveyardRowMapper.map(resultSet, currentGraveyardRowMapper.queryKey()))
+				{
+					case ValidGraveyard valid ->
+					{
+						graveyardQueryExecutor.addGraveyardBatch(valid, insertStatement);
+						batch.added();
+					}
+					case InvalidGraveyard invalid -> plugin.getLogger().warning(DatastoreMessage.CREATE_GRAVEYARD_ERROR
+							.getLocalizedMessage(config.locale(), invalid.displayName().noColorString(),
+									invalid.graveyardFailReason().getLocalizedMessage(config.locale())));
+				}
 			}
+
+			return batch.finish();
 		}
-		return count;
 	}
 
 
-	private void updateDiscoveryTableSchema(final Connection connection)
+	private void updateDiscoveryTableSchema(final Connection connection) throws SQLException
 	{
-		Collection<ValidDiscovery> existingDiscoveryRecords = getAllDiscoveryRecords();
-		try (final Statement statement = connection.createStatement())
-		{
-			statement.executeUpdate(SqliteQueries.getQuery("CreateDiscoveryTable"));
-		}
-		catch (SQLException sqlException)
-		{
-			plugin.getLogger().warning(DatastoreMessage.SCHEMA_UPDATE_ERROR.getLocalizedMessage(config.locale(), DATASTORE_NAME));
-			plugin.getLogger().warning(sqlException.getLocalizedMessage());
-		}
+		executeUpdate(connection, "CreatePlayerTable");
+		executeUpdate(connection, "CreateDiscoveryTable");
+
+		int count = migrateDiscoveryRecords(connection);
 
-		int count = saveAllDiscoveries(existingDiscoveryRecords);
 		plugin.getLogger().info(DatastoreMessage.SCHEMA_DISCOVERY_RECORDS_MIGRATED_NOTICE.getLocalizedMessage(config.locale(), count, Schema.VERSION));
 	}
 
 
 	/**
-	 * Select a collection of all valid discoveries from the Sqlite datastore
+	 * Stream all discovery records from the legacy table into the current table, in batches. Each player is
+	 * assigned an id before the batch of discoveries that refer to it is inserted. Records for graveyards that
+	 * were not migrated are skipped.
 	 *
-	 * @return A {@link Stream} of all ValidDiscovery records in the Sqlite datastore
+	 * @param connection the datastore connection, with a transaction in progress
+	 * @return the number of records inserted
+	 * @throws SQLException if a record could not be read or inserted
 	 */
-	public Set<ValidDiscovery> getAllDiscoveryRecords()
+	private int migrateDiscoveryRecords(final Connection connection) throws SQLException
 	{
-		final Set<ValidDiscovery> returnSet = new HashSet<>();
+		final SqliteDiscoveryQueryExecutor queryExecutor = new SqliteDiscoveryQueryExecutor();
 
-		try (final PreparedStatement preparedStatement = connection.prepareStatement(SqliteQueries.getQuery(discoveryRowMapper.queryKey()));
-		     final ResultSet resultSet = queryExecutor.selectAllDiscoveries(preparedStatement))
+		try (final PreparedStatement selectStatement = connection.prepareStatement(SqliteQueries.getQuery(discoveryRowMapper.queryKey()));
+		     final PreparedStatement playerStatement = connection.prepareStatement(SqliteQueries.getQuery("InsertPlayer"));
+		     final PreparedStatement insertStatement = connection.prepareStatement(SqliteQueries.getQuery("MigrateDiscovery"));
+		     final ResultSet resultSet = queryExecutor.selectAllDiscoveries(selectStatement))
 		{
+			final MigrationBatch batch = new MigrationBatch(insertStatement, playerStatement, discoveryRowMapper.tableName(),
+					batchSize, progressInterval, config, plugin.getLogger());
+
 			while (resultSet.next())
 			{
-				switch (discoveryRowMapper.map(resultSet))
+				switch (discoveryRowMapper.map(resultSet, discoveryRowMapper.queryKey()))
 				{
-					case ValidDiscovery valid -> returnSet.add(valid);
+					case ValidDiscovery valid ->
+					{
+						queryExecutor.addPlayerBatch(valid.playerUid(), playerStatement);
+						queryExecutor.addDiscoveryBatch(valid, insertStatement);
+						batch.added();
+					}
 					case InvalidDiscovery(FailReason failReason, Parameter ignored) -> plugin.getLogger()
 							.warning(DatastoreMessage.CREATE_DISCOVERY_ERROR
 									.getLocalizedMessage(config.locale(), failReason.getLocalizedMessage(config.locale())));
-					default -> throw new IllegalStateException("Unexpected value: " + discoveryRowMapper.map(resultSet));
 				}
 			}
+
+			return batch.finish();
+		}
+	}
+
+
+	private void rollback()
+	{
+		try
+		{
+			connection.rollback();
+			plugin.getLogger().warning(DatastoreMessage.SCHEMA_MIGRATION_ROLLBACK_ERROR.getLocalizedMessage(config.locale(), DATASTORE_NAME));
 		}
 		catch (SQLException sqlException)
 		{
-			plugin.getLogger().warning(DatastoreMessage.SELECT_ALL_DISCOVERIES_ERROR.getLocalizedMessage(config.locale(), DATASTORE_NAME));
 			plugin.getLogger().warning(sqlException.getLocalizedMessage());
 		}
-
-		return returnSet;
 	}
 
 
-	/**
-	 * Insert discovery records
-	 *
-	 * @param discoveries collection of valid records to be inserted
-	 * @return number of records successfully inserted
-	 */
-	private int saveAllDiscoveries(final Collection<ValidDiscovery> discoveries)
+	private void restoreAutoCommit()
 	{
-		SqliteDiscoveryQueryExecutor queryExecutor = new SqliteDiscoveryQueryExecutor();
-
-		if (discoveries == null)
+		try
 		{
-			plugin.getLogger().warning(DatastoreMessage.INSERT_DISCOVERIES_NULL_ERROR.getLocalizedMessage(config.locale()));
-			return 0;
+			connection.setAutoCommit(true);
 		}
-
-		int count = 0;
-
-		for (ValidDiscovery validDiscovery : discoveries)
+		catch (SQLException sqlException)
 		{
-			try (final PreparedStatement preparedStatement = connection.prepareStatement(SqliteQueries.getQuery("InsertDiscovery")))
-			{
-				count += queryExecutor.insertDiscovery(validDiscovery, preparedStatement);
-			}
-			catch (SQLException sqlException)
-			{
-				plugin.getLogger().warning(DatastoreMessage.INSERT_DISCOVERY_ERROR.getLocalizedMessage(config.locale(), DATASTORE_NAME));
-				plugin.getLogger().warning(sqlException.getLocalizedMessage());
-			}
+			plugin.getLogger().warning(sqlException.getLocalizedMessage());
 		}
-
-		return count;
 	}
 
 }
@@ -45,17 +45,21 @@ public class Version0 implements Schema
 {
 	public static final class GraveyardRowMapper implements RowMapper<Graveyard>
 	{
+		private final ColumnIndex columnIndex = ColumnIndex.of(Column.class, Column::label);
+
+
 		/**
 		 * Maps columns of a database query ResultSet to fields of a newly created graveyard object
 		 *
 		 * @param resultSet the query result set
+		 * @param columns the column indexes resolved for the result set
 		 * @return an instance of {@code ValidGraveyard} if field mapping was successful, or {@code InvalidGraveyard} if not
 		 * @throws SQLException if the sql query fails
 		 */
 		@Override
-		public Graveyard map(final ResultSet resultSet) throws SQLException
+		public Graveyard map(final ResultSet resultSet, final ColumnIndex.Columns columns) throws SQLException
 		{
-			DisplayName graveyardName = DisplayName.of(resultSet.getString(Column.GRAVEYARD_NAME.label()));
+			DisplayName graveyardName = DisplayName.of(resultSet.getString(columns.index(Column.GRAVEYARD_NAME)));
 
 			// return InvalidGraveyard if display name is invalid
 			return switch (graveyardName)
@@ -65,8 +69,8 @@ public class Version0 implements Schema
 				case ValidDisplayName validGraveyardName ->
 				{
 					// get graveyardUid from query result set
-					UUID graveyardUid = new UUID(resultSet.getLong(Column.GRAVEYARD_UID_MSB.label()),
-							resultSet.getLong(Column.GRAVEYARD_UID_LSB.label()));
+					UUID graveyardUid = new UUID(resultSet.getLong(columns.index(Column.GRAVEYARD_UID_MSB)),
+							resultSet.getLong(columns.index(Column.GRAVEYARD_UID_LSB)));
 
 					// if invalid uuid returned, create and assign random uuid to graveyard
 					if (graveyardUid.equals(INVALID_UUID))
@@ -76,24 +80,24 @@ public class Version0 implements Schema
 
 					// get graveyard location from query result set
 					final ConfirmedLocation location = ConfirmedLocation.of(
-							resultSet.getString(Column.WORLD_NAME.label()),
-							new UUID(resultSet.getLong(Column.WORLD_UID_MSB.label()), resultSet.getLong(Column.WORLD_UID_LSB.label())),
-							resultSet.getDouble(Column.X.label()),
-							resultSet.getDouble(Column.Y.label()),
-							resultSet.getDouble(Column.Z.label()),
-							resultSet.getFloat(Column.YAW.label()),
-							resultSet.getFloat(Column.PITCH.label()));
+							resultSet.getString(columns.index(Column.WORLD_NAME)),
+							new UUID(resultSet.getLong(columns.index(Column.WORLD_UID_MSB)), resultSet.getLong(columns.index(Column.WORLD_UID_LSB))),
+							resultSet.getDouble(columns.index(Column.X)),
+							resultSet.getDouble(columns.index(Column.Y)),
+							resultSet.getDouble(columns.index(Column.Z)),
+							resultSet.getFloat(columns.index(Column.YAW)),
+							resultSet.getFloat(columns.index(Column.PITCH)));
 
 					// get graveyard attributes from query result set
 					final Attributes attributes = new Attributes(
-							Enabled.of(resultSet.getBoolean(Attribute.ENABLED.attributeName())),
-							Hidden.of(resultSet.getBoolean(Attribute.HIDDEN.attributeName())),
-							DiscoveryRange.of(resultSet.getInt(Attribute.DISCOVERY_RANGE.attributeName())),
-							DiscoveryMessage.of(resultSet.getString(Attribute.DISCOVERY_MESSAGE.attributeName())),
-							RespawnMessage.of(resultSet.getString(Attribute.RESPAWN_MESSAGE.attributeName())),
-							Group.of(resultSet.getString(Attribute.GROUP_NAME.attributeName())),
-							SafetyRange.of(resultSet.getInt(Attribute.SAFETY_RANGE.attributeName())),
-							SafetyTime.of(Duration.ofSeconds(resultSet.getInt(Attribute.SAFETY_TIME.attributeName()))));
+							Enabled.of(resultSet.getBoolean(columns.index(Column.ENABLED))),
+							Hidden.of(resultSet.getBoolean(columns.index(Column.HIDDEN))),
+							DiscoveryRange.of(resultSet.getInt(columns.index(Column.DISCOVERY_RANGE))),
+							DiscoveryMessage.of(resultSet.getString(columns.index(Column.DISCOVERY_MESSAGE))),
+							RespawnMessage.of(resultSet.getString(columns.index(Column.RESPAWN_MESSAGE))),
+							Group.of(resultSet.getString(columns.index(Column.GROUP_NAME))),
+							SafetyRange.of(resultSet.getInt(columns.index(Column.SAFETY_RANGE))),
+							SafetyTime.of(Duration.ofSeconds(resultSet.getInt(columns.index(Column.SAFETY_TIME)))));
 
 					// return ValidGraveyard if location is valid, else return InvalidGraveyard
 					yield switch (location)
@@ -108,6 +112,13 @@ public class Version0 implements Schema
 		}
 
 
+		@Override
+		public ColumnIndex columnIndex()
+		{
+			return columnIndex;
+		}
+
+
 		public String queryKey()
 		{
 			return Table.QUERY_KEY.string();
@@ -151,24 +162,7 @@ public class Version0 implements Schema
 			Y("Y"),
 			Z("Z"),
 			YAW("Yaw"),
-			PITCH("Pitch");
-
-			private final String label;
-
-			Column(final String label)
-			{
-				this.label = label;
-			}
-
-			String label()
-			{
-				return this.label;
-			}
-		}
-
-
-		private enum Attribute
-		{
+			PITCH("Pitch"),
 			ENABLED("Enabled"),
 			HIDDEN("Hidden"),
 			DISCOVERY_RANGE("DiscoveryRange"),
@@ -178,16 +172,16 @@ public class Version0 implements Schema
 			SAFETY_RANGE("SafetyRange"),
 			SAFETY_TIME("SafetyTime");
 
-			private final String attributeName;
+			private final String label;
 
-			Attribute(final String attributeName)
+			Column(final String label)
 			{
-				this.attributeName = attributeName;
+				this.label = label;
 			}
 
-			public String attributeName()
+			String label()
 			{
-				return this.attributeName;
+				return this.label;
 			}
 		}
 
@@ -195,20 +189,24 @@ public class Version0 implements Schema
 
 	public static final class DiscoveryRowMapper implements RowMapper<Discovery>
 	{
+		private final ColumnIndex columnIndex = ColumnIndex.of(Column.class, Column::label);
+
+
 		/**
 		 * Map result set to Discovery object
 		 *
 		 * @param resultSet the result set to map
+		 * @param columns the column indexes resolved for the result set
 		 * @return a new discovery, which may be of type valid or invalid
 		 * @throws SQLException if result set or column labels are invalid
 		 */
-		public Discovery map(final ResultSet resultSet) throws SQLException
+		public Discovery map(final ResultSet resultSet, final ColumnIndex.Columns columns) throws SQLException
 		{
 			// get graveyard uid
-			UUID graveyardUid = new UUID(resultSet.getLong(Column.GRAVEYARD_UID_MSB.label()), resultSet.getLong(Column.GRAVEYARD_UID_LSB.label()));
+			UUID graveyardUid = new UUID(resultSet.getLong(columns.index(Column.GRAVEYARD_UID_MSB)), resultSet.getLong(columns.index(Column.GRAVEYARD_UID_LSB)));
 
 			// map player uid else return invalid discovery
-			return getPlayerUid(resultSet.getString(Column.PLAYER_UID_STRING.label()))
+			return getPlayerUid(resultSet.getString(columns.index(Column.PLAYER_UID_STRING)))
 					.map(uuid -> Discovery.of(graveyardUid, uuid, Instant.now()))
 					.orElseGet(() -> new InvalidDiscovery(PARAMETER_INVALID, PLAYER_UID));
 		}
@@ -227,6 +225,13 @@ public class Version0 implements Schema
 		}
 
 
+		@Override
+		public ColumnIndex columnIndex()
+		{
+			return columnIndex;
+		}
+
+
 		public String tableName()
 		{
 			return Table.NAME.string();
@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.savagegraveyards.datastore.sqlite.schema;
+
+import com.winterhavenmc.savagegraveyards.models.discovery.Discovery;
+import com.winterhavenmc.savagegraveyards.models.graveyard.Graveyard;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+
+/**
+ * Schema version 3 adds a case-folded search key column and indexes for the hot queries, without changing
+ * the columns read into graveyard and discovery records. Rows are therefore mapped as in {@link Version2}.
+ */
+public class Version3 implements Schema
+{
+	public static final class DiscoveryRowMapper implements RowMapper<Discovery>
+	{
+		private final Version2.DiscoveryRowMapper delegate = new Version2.DiscoveryRowMapper();
+
+
+		@Override
+		public Discovery map(final ResultSet resultSet, final ColumnIndex.Columns columns) throws SQLException
+		{
+			return delegate.map(resultSet, columns);
+		}
+
+
+		@Override
+		public ColumnIndex columnIndex()
+		{
+			return delegate.columnIndex();
+		}
+
+
+		@Override
+		public String queryKey()
+		{
+			return Table.QUERY_KEY.string();
+		}
+
+
+		@Override
+		public String tableName()
+		{
+			return Table.NAME.string();
+		}
+
+
+		private enum Table
+		{
+			NAME("Discovery"),
+			QUERY_KEY("SelectAllDiscoveryRecordsV3");
+
+			private final String string;
+
+			Table(final String string)
+			{
+				this.string = string;
+			}
+
+			String string()
+			{
+				return this.string;
+			}
+		}
+	}
+
+
+	public static final class GraveyardRowMapper implements RowMapper<Graveyard>
+	{
+		private final Version2.GraveyardRowMapper delegate = new Version2.GraveyardRowMapper();
+
+
+		@Override
+		public Graveyard map(final ResultSet resultSet, final ColumnIndex.Columns columns) throws SQLException
+		{
+			return delegate.map(resultSet, columns);
+		}
+
+
+		@Override
+		public ColumnIndex columnIndex()
+		{
+			return delegate.columnIndex();
+		}
+
+
+		@Override
+		public String queryKey()
+		{
+			return Table.QUERY_KEY.string();
+		}
+
+
+		@Override
+		public String tableName()
+		{
+			return Table.NAME.string();
+		}
+
+
+		private enum Table
+		{
+			NAME("Graveyard"),
+			QUERY_KEY("SelectAllGraveyardRecords");
+
+			private final String string;
+
+			Table(final String string)
+			{
+				this.string = string;
+			}
+
+			String string()
+			{
+				return this.string;
+			}
+		}
+	}
+
+}
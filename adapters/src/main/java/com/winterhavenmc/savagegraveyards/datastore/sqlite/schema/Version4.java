@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.savagegraveyards.datastore.sqlite.schema;
+
+import com.winterhavenmc.savagegraveyards.models.discovery.Discovery;
+import com.winterhavenmc.savagegraveyards.models.graveyard.Graveyard;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.UUID;
+
+
+/**
+ * Schema version 4 stores discoveries compactly: player uids are stored once in the Player table and referenced
+ * by integer id, the Discovery table is keyed by (PlayerId, GraveyardKey) without a rowid, and timestamps are
+ * stored as epoch seconds. Graveyard rows are mapped as in {@link Version3}.
+ */
+public class Version4 implements Schema
+{
+	public static final class DiscoveryRowMapper implements RowMapper<Discovery>
+	{
+		private final ColumnIndex columnIndex = ColumnIndex.of(Column.class, Column::label);
+
+
+		@Override
+		public Discovery map(final ResultSet resultSet, final ColumnIndex.Columns columns) throws SQLException
+		{
+			UUID graveyardUid = new UUID(resultSet.getLong(columns.index(Column.GRAVEYARD_UID_MSB)), resultSet.getLong(columns.index(Column.GRAVEYARD_UID_LSB)));
+			UUID playerUid = new UUID(resultSet.getLong(columns.index(Column.PLAYER_UID_MSB)), resultSet.getLong(columns.index(Column.PLAYER_UID_LSB)));
+			long epochSeconds = resultSet.getLong(columns.index(Column.TIMESTAMP));
+			Instant timestamp = (resultSet.wasNull()) ? null : Instant.ofEpochSecond(epochSeconds);
+
+			return Discovery.of(graveyardUid, playerUid, timestamp);
+		}
+
+
+		@Override
+		public ColumnIndex columnIndex()
+		{
+			return columnIndex;
+		}
+
+
+		@Override
+		public String queryKey()
+		{
+			return Table.QUERY_KEY.string();
+		}
+
+
+		@Override
+		public String tableName()
+		{
+			return Table.NAME.string();
+		}
+
+
+		private enum Table
+		{
+			NAME("Discovery"),
+			QUERY_KEY("SelectAllDiscoveryRecordsV4");
+
+			private final String string;
+
+			Table(final String string)
+			{
+				this.string = string;
+			}
+
+			String string()
+			{
+				return this.string;
+			}
+		}
+
+
+		private enum Column
+		{
+			GRAVEYARD_UID_MSB("GraveyardUidMsb"),
+			GRAVEYARD_UID_LSB("GraveyardUidLsb"),
+			PLAYER_UID_MSB("PlayerUidMsb"),
+			PLAYER_UID_LSB("PlayerUidLsb"),
+			TIMESTAMP("Timestamp");
+
+			private final String label;
+
+			Column(final String label)
+			{
+				this.label = label;
+			}
+
+			String label()
+			{
+				return this.label;
+			}
+		}
+	}
+
+
+	public static final class GraveyardRowMapper implements RowMapper<Graveyard>
+	{
+		private final Version3.GraveyardRowMapper delegate = new Version3.GraveyardRowMapper();
+
+
+		@Override
+		public Graveyard map(final ResultSet resultSet, final ColumnIndex.Columns columns) throws SQLException
+		{
+			return delegate.map(resultSet, columns);
+		}
+
+
+		@Override
+		public ColumnIndex columnIndex()
+		{
+			return delegate.columnIndex();
+		}
+
+
+		@Override
+		public String queryKey()
+		{
+			return delegate.queryKey();
+		}
+
+
+		@Override
+		public String tableName()
+		{
+			return delegate.tableName();
+		}
+	}
+
+}
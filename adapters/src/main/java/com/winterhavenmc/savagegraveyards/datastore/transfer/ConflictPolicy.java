@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.savagegraveyards.datastore.transfer;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Optional;
+
+
+/**
+ * How an imported graveyard is saved when a graveyard with the same uid or name already exists
+ */
+public enum ConflictPolicy
+{
+	/**
+	 * The imported graveyard is not saved
+	 */
+	SKIP,
+
+	/**
+	 * The existing graveyard is replaced by the imported graveyard, keeping the uid of the existing graveyard
+	 */
+	OVERWRITE,
+
+	/**
+	 * The imported graveyard is saved as a new graveyard, with a numbered name and a new uid if they are in use
+	 */
+	RENAME;
+
+
+	/**
+	 * Match a conflict policy by name, ignoring case
+	 *
+	 * @param name the name of the policy
+	 * @return the matching policy, or an empty {@link Optional} if no policy matches
+	 */
+	public static Optional<ConflictPolicy> of(final String name)
+	{
+		return Arrays.stream(values())
+				.filter(policy -> policy.name().equalsIgnoreCase(name))
+				.findFirst();
+	}
+
+
+	/**
+	 * Get the name of this policy as typed in commands
+	 *
+	 * @return the lower case name of the policy
+	 */
+	public String commandName()
+	{
+		return name().toLowerCase(Locale.ROOT);
+	}
+
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.savagegraveyards.datastore.transfer;
+
+import com.winterhavenmc.savagegraveyards.datastore.DiscoveryRepository;
+import com.winterhavenmc.savagegraveyards.datastore.GraveyardRepository;
+import com.winterhavenmc.savagegraveyards.models.graveyard.Graveyard;
+import com.winterhavenmc.savagegraveyards.models.graveyard.ValidGraveyard;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.function.LongConsumer;
+
+
+/**
+ * Writes all graveyard and discovery records to an export file. Graveyards are written from the in-memory catalog,
+ * and discoveries are written as they are read from a datastore cursor, so that discovery records are never
+ * collected in memory. This class performs blocking file and datastore operations, and should be used from an
+ * asynchronous task.
+ */
+public final class DatastoreExporter
+{
+	private final GraveyardRepository graveyards;
+	private final DiscoveryRepository discoveries;
+	private final int progressInterval;
+
+
+	/**
+	 * Class constructor
+	 *
+	 * @param graveyards the graveyard repository
+	 * @param discoveries the discovery repository
+	 * @param progressInterval the number of records written between progress reports, or zero for none
+	 */
+	public DatastoreExporter(final GraveyardRepository graveyards,
+	                         final DiscoveryRepository discoveries,
+	                         final int progressInterval)
+	{
+		this.graveyards = graveyards;
+		this.discoveries = discoveries;
+		this.progressInterval = progressInterval;
+	}
+
+
+	/**
+	 * Write all graveyards, followed by all discoveries
+	 *
+	 * @param writer the writer of the export file
+	 * @param progress called with the total number of records written, at each progress interval
+	 * @return the number of graveyard and discovery records written
+	 * @throws IOException if the export file could not be written
+	 */
+	public Result export(final TransferFormat.RecordWriter writer, final LongConsumer progress) throws IOException
+	{
+		final Progress written = new Progress(progress);
+
+		long graveyardCount = 0;
+		final Iterator<Graveyard> iterator = graveyards.getAll().iterator();
+		while (iterator.hasNext())
+		{
+			if (iterator.next() instanceof ValidGraveyard validGraveyard)
+			{
+				writer.write(validGraveyard);
+				graveyardCount++;
+				written.increment();
+			}
+		}
+
+		final long discoveryCount;
+		try
+		{
+			discoveryCount = discoveries.forEach(discovery ->
+			{
+				try
+				{
+					writer.write(discovery);
+					written.increment();
+				}
+				catch (IOException ioException)
+				{
+					throw new UncheckedIOException(ioException);
+				}
+			});
+		}
+		catch (UncheckedIOException exception)
+		{
+			throw exception.getCause();
+		}
+
+		return new Result(graveyardCount, discoveryCount);
+	}
+
+
+	/**
+	 * The number of records written by an export
+	 */
+	public record Result(long graveyards, long discoveries) { }
+
+
+	/**
+	 * A count of records, reported at each progress interval
+	 */
+	private final class Progress
+	{
+		private final LongConsumer consumer;
+		private long count;
+
+		private Progress(final LongConsumer consumer)
+		{
+			this.consumer = consumer;
+		}
+
+		private void increment()
+		{
+			count++;
+			if (progressInterval > 0 && count % progressInterval == 0)
+			{
+				consumer.accept(count);
+			}
+		}
+	}
+
+}
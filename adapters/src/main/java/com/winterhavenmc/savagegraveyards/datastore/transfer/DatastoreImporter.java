@@ -0,0 +1,325 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.savagegraveyards.datastore.transfer;
+
+import com.winterhavenmc.library.messagebuilder.models.configuration.ConfigRepository;
+import com.winterhavenmc.savagegraveyards.datastore.AsyncDiscoveryRepository;
+import com.winterhavenmc.savagegraveyards.datastore.AsyncGraveyardRepository;
+import com.winterhavenmc.savagegraveyards.datastore.DatastoreMessage;
+import com.winterhavenmc.savagegraveyards.datastore.GraveyardRepository;
+import com.winterhavenmc.savagegraveyards.models.discovery.Discovery;
+import com.winterhavenmc.savagegraveyards.models.discovery.ValidDiscovery;
+import com.winterhavenmc.savagegraveyards.models.displayname.DisplayName;
+import com.winterhavenmc.savagegraveyards.models.displayname.ValidDisplayName;
+import com.winterhavenmc.savagegraveyards.models.graveyard.ValidGraveyard;
+import com.winterhavenmc.savagegraveyards.models.searchkey.ValidSearchKey;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.function.LongConsumer;
+import java.util.logging.Logger;
+
+
+/**
+ * Reads graveyard and discovery records from an import file, and saves them in batches. Each batch is saved in a
+ * single transaction on a datastore thread, so that other datastore operations may run between batches. Only one
+ * batch of records is held in memory at a time, along with the uids of the imported graveyards.
+ * <p>
+ * Imported graveyards that conflict with an existing graveyard, by uid or by name, are saved according to the
+ * {@link ConflictPolicy}. Imported discoveries are saved for the graveyard their imported graveyard was saved as,
+ * and are skipped if their graveyard does not exist. Existing discoveries are not changed.
+ * <p>
+ * An importer holds the state of a single import, and should not be reused. This class performs blocking file and
+ * datastore operations, and should be used from an asynchronous task.
+ */
+public final class DatastoreImporter
+{
+	private final GraveyardRepository graveyards;
+	private final AsyncGraveyardRepository asyncGraveyards;
+	private final AsyncDiscoveryRepository asyncDiscoveries;
+	private final ConflictPolicy policy;
+	private final int batchSize;
+	private final int progressInterval;
+	private final ConfigRepository configRepository;
+	private final Logger logger;
+
+	private final Map<UUID, ValidGraveyard> pendingGraveyards = new LinkedHashMap<>();
+	private final Map<String, UUID> pendingKeys = new HashMap<>();
+	private final Map<UUID, UUID> savedUids = new HashMap<>();
+	private final List<ValidDiscovery> pendingDiscoveries = new ArrayList<>();
+
+	private long graveyardCount;
+	private long discoveryCount;
+	private long skippedCount;
+
+
+	/**
+	 * Class constructor
+	 *
+	 * @param graveyards the graveyard repository, used to find conflicting graveyards in the catalog
+	 * @param asyncGraveyards the asynchronous graveyard repository, used to save graveyard batches
+	 * @param asyncDiscoveries the asynchronous discovery repository, used to save discovery batches
+	 * @param policy the policy for imported graveyards that conflict with existing graveyards
+	 * @param batchSize the number of records saved in each transaction
+	 * @param progressInterval the number of records read between progress reports, or zero for none
+	 * @param configRepository the config repository, used for log message localization
+	 * @param logger the plugin logger, to which records that could not be read are reported
+	 */
+	public DatastoreImporter(final GraveyardRepository graveyards,
+	                         final AsyncGraveyardRepository asyncGraveyards,
+	                         final AsyncDiscoveryRepository asyncDiscoveries,
+	                         final ConflictPolicy policy,
+	                         final int batchSize,
+	                         final int progressInterval,
+	                         final ConfigRepository configRepository,
+	                         final Logger logger)
+	{
+		this.graveyards = graveyards;
+		this.asyncGraveyards = asyncGraveyards;
+		this.asyncDiscoveries = asyncDiscoveries;
+		this.policy = policy;
+		this.batchSize = Math.max(1, batchSize);
+		this.progressInterval = progressInterval;
+		this.configRepository = configRepository;
+		this.logger = logger;
+	}
+
+
+	/**
+	 * Read and save all records from an import file
+	 *
+	 * @param reader the reader of the import file
+	 * @param progress called with the total number of records read, at each progress interval
+	 * @return the number of graveyard and discovery records saved, and the number of records skipped
+	 * @throws IOException if the import file could not be read
+	 * @throws java.util.concurrent.CompletionException if a batch could not be submitted to the datastore
+	 */
+	public Result importFrom(final TransferFormat.RecordReader reader, final LongConsumer progress) throws IOException
+	{
+		long readCount = 0;
+
+		TransferRecord record;
+		while ((record = reader.next()) != null)
+		{
+			switch (record)
+			{
+				case TransferRecord.GraveyardRecord(ValidGraveyard graveyard) -> addGraveyard(graveyard);
+				case TransferRecord.DiscoveryRecord(ValidDiscovery discovery) -> addDiscovery(discovery);
+				case TransferRecord.Invalid(long lineNumber, String reason) ->
+				{
+					logger.warning(DatastoreMessage.IMPORT_INVALID_RECORD_NOTICE
+							.getLocalizedMessage(configRepository.locale(), lineNumber, reason));
+					skippedCount++;
+				}
+			}
+
+			readCount++;
+			if (progressInterval > 0 && readCount % progressInterval == 0)
+			{
+				progress.accept(readCount);
+			}
+		}
+
+		saveGraveyards();
+		saveDiscoveries();
+
+		return new Result(graveyardCount, discoveryCount, skippedCount);
+	}
+
+
+	/**
+	 * Resolve an imported graveyard against existing and pending graveyards, and add it to the pending batch
+	 */
+	private void addGraveyard(final ValidGraveyard imported)
+	{
+		final Optional<UUID> uidConflict = existingUid(imported.uid());
+		final Optional<UUID> nameConflict = uidOfName(imported.searchKey()).filter(uid -> !uid.equals(imported.uid()));
+
+		if (uidConflict.isEmpty() && nameConflict.isEmpty())
+		{
+			addPending(imported, imported);
+			return;
+		}
+
+		switch (policy)
+		{
+			case SKIP -> skip(imported, uidConflict);
+			case OVERWRITE ->
+			{
+				// a graveyard cannot replace two existing graveyards
+				if (uidConflict.isPresent() && nameConflict.isPresent())
+				{
+					skip(imported, uidConflict);
+				}
+				else
+				{
+					final UUID uid = uidConflict.orElseGet(nameConflict::get);
+					addPending(imported, new ValidGraveyard(uid, imported.displayName(), imported.attributes(), imported.location()));
+				}
+			}
+			case RENAME ->
+			{
+				final UUID uid = (uidConflict.isPresent()) ? UUID.randomUUID() : imported.uid();
+				final ValidDisplayName displayName = (uidOfName(imported.searchKey()).isPresent())
+						? unusedName(imported.displayName())
+						: imported.displayName();
+				addPending(imported, new ValidGraveyard(uid, displayName, imported.attributes(), imported.location()));
+			}
+		}
+	}
+
+
+	private void skip(final ValidGraveyard imported, final Optional<UUID> uidConflict)
+	{
+		// discoveries of a skipped graveyard that has the uid of an existing graveyard are kept for the existing one
+		uidConflict.ifPresent(uid -> savedUids.put(imported.uid(), uid));
+		skippedCount++;
+	}
+
+
+	private void addPending(final ValidGraveyard imported, final ValidGraveyard graveyard)
+	{
+		final ValidGraveyard displaced = pendingGraveyards.put(graveyard.uid(), graveyard);
+		if (displaced != null)
+		{
+			pendingKeys.remove(fold(displaced.searchKey()));
+		}
+		pendingKeys.put(fold(graveyard.searchKey()), graveyard.uid());
+		savedUids.put(imported.uid(), graveyard.uid());
+
+		if (pendingGraveyards.size() >= batchSize)
+		{
+			saveGraveyards();
+		}
+	}
+
+
+	/**
+	 * Get the uid of an existing or pending graveyard with a uid
+	 */
+	private Optional<UUID> existingUid(final UUID uid)
+	{
+		return (pendingGraveyards.containsKey(uid) || graveyards.get(uid) instanceof ValidGraveyard)
+				? Optional.of(uid)
+				: Optional.empty();
+	}
+
+
+	/**
+	 * Get the uid of an existing or pending graveyard with a name
+	 */
+	private Optional<UUID> uidOfName(final ValidSearchKey searchKey)
+	{
+		final UUID pendingUid = pendingKeys.get(fold(searchKey));
+		if (pendingUid != null)
+		{
+			return Optional.of(pendingUid);
+		}
+
+		return (graveyards.get(searchKey) instanceof ValidGraveyard existing)
+				? Optional.of(existing.uid())
+				: Optional.empty();
+	}
+
+
+	/**
+	 * Number a display name, with the lowest number that gives a name not in use
+	 */
+	private ValidDisplayName unusedName(final ValidDisplayName displayName)
+	{
+		for (int number = 2; ; number++)
+		{
+			if (DisplayName.of(displayName.colorString() + " " + number) instanceof ValidDisplayName numbered
+					&& uidOfName(numbered.searchKey()).isEmpty())
+			{
+				return numbered;
+			}
+		}
+	}
+
+
+	/**
+	 * Add an imported discovery to the pending batch, for the graveyard its imported graveyard was saved as
+	 */
+	private void addDiscovery(final ValidDiscovery imported)
+	{
+		// graveyards must be saved before the discoveries that refer to them
+		saveGraveyards();
+
+		final UUID graveyardUid = savedUids.getOrDefault(imported.graveyardUid(), imported.graveyardUid());
+
+		if (!(graveyards.get(graveyardUid) instanceof ValidGraveyard))
+		{
+			skippedCount++;
+			return;
+		}
+
+		if (graveyardUid.equals(imported.graveyardUid()))
+		{
+			pendingDiscoveries.add(imported);
+		}
+		else if (Discovery.of(graveyardUid, imported.playerUid(), imported.getTimestamp()) instanceof ValidDiscovery discovery)
+		{
+			pendingDiscoveries.add(discovery);
+		}
+
+		if (pendingDiscoveries.size() >= batchSize)
+		{
+			saveDiscoveries();
+		}
+	}
+
+
+	private void saveGraveyards()
+	{
+		if (pendingGraveyards.isEmpty()) return;
+
+		final int saved = asyncGraveyards.saveAll(List.copyOf(pendingGraveyards.values())).join();
+		graveyardCount += saved;
+		skippedCount += pendingGraveyards.size() - saved;
+
+		pendingGraveyards.clear();
+		pendingKeys.clear();
+	}
+
+
+	private void saveDiscoveries()
+	{
+		if (pendingDiscoveries.isEmpty()) return;
+
+		// discoveries that already exist are not saved, and are counted as skipped
+		final int saved = asyncDiscoveries.saveAll(List.copyOf(pendingDiscoveries)).join();
+		discoveryCount += saved;
+		skippedCount += pendingDiscoveries.size() - saved;
+
+		pendingDiscoveries.clear();
+	}
+
+
+	private static String fold(final ValidSearchKey searchKey)
+	{
+		return searchKey.string().toLowerCase(Locale.ROOT);
+	}
+
+
+	/**
+	 * The number of records saved by an import, and the number of records that were skipped
+	 */
+	public record Result(long graveyards, long discoveries, long skipped) { }
+
+}
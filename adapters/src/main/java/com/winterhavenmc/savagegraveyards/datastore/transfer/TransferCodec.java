@@ -0,0 +1,204 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.savagegraveyards.datastore.transfer;
+
+import com.winterhavenmc.savagegraveyards.models.discovery.Discovery;
+import com.winterhavenmc.savagegraveyards.models.discovery.ValidDiscovery;
+import com.winterhavenmc.savagegraveyards.models.displayname.DisplayName;
+import com.winterhavenmc.savagegraveyards.models.displayname.ValidDisplayName;
+import com.winterhavenmc.savagegraveyards.models.graveyard.Graveyard;
+import com.winterhavenmc.savagegraveyards.models.graveyard.ValidGraveyard;
+import com.winterhavenmc.savagegraveyards.models.graveyard.attributes.*;
+import com.winterhavenmc.savagegraveyards.models.location.ConfirmedLocation;
+import com.winterhavenmc.savagegraveyards.models.location.ValidLocation;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+
+
+/**
+ * Converts graveyard and discovery records to and from named fields, independent of the file format.
+ * Each record has a {@code type} field, followed by the fields of its type in a fixed order.
+ */
+final class TransferCodec
+{
+	static final String TYPE = "type";
+	static final String GRAVEYARD_TYPE = "graveyard";
+	static final String DISCOVERY_TYPE = "discovery";
+
+	static final List<String> GRAVEYARD_FIELDS = List.of(TYPE, "uid", "name", "enabled", "hidden",
+			"discovery_range", "discovery_message", "respawn_message", "group", "safety_range", "safety_time",
+			"world_name", "world_uid", "x", "y", "z", "yaw", "pitch");
+
+	static final List<String> DISCOVERY_FIELDS = List.of(TYPE, "graveyard_uid", "player_uid", "timestamp");
+
+
+	private TransferCodec() { }
+
+
+	/**
+	 * Get the fields of a graveyard record, in order
+	 *
+	 * @param graveyard the graveyard
+	 * @return an ordered map of field names to values, which are strings, numbers or booleans
+	 */
+	static Map<String, Object> encode(final ValidGraveyard graveyard)
+	{
+		final Map<String, Object> fields = new LinkedHashMap<>();
+		fields.put(TYPE, GRAVEYARD_TYPE);
+		fields.put("uid", graveyard.uid().toString());
+		fields.put("name", graveyard.displayName().colorString());
+		fields.put("enabled", graveyard.attributes().enabled().value());
+		fields.put("hidden", graveyard.attributes().hidden().value());
+		fields.put("discovery_range", graveyard.attributes().discoveryRange().value());
+		fields.put("discovery_message", nullToEmpty(graveyard.attributes().discoveryMessage().value()));
+		fields.put("respawn_message", nullToEmpty(graveyard.attributes().respawnMessage().value()));
+		fields.put("group", nullToEmpty(graveyard.attributes().group().value()));
+		fields.put("safety_range", graveyard.attributes().safetyRange().value());
+		fields.put("safety_time", graveyard.attributes().safetyTime().value().toSeconds());
+		fields.put("world_name", graveyard.location().world().name());
+		fields.put("world_uid", graveyard.location().world().uid().toString());
+		fields.put("x", graveyard.location().x());
+		fields.put("y", graveyard.location().y());
+		fields.put("z", graveyard.location().z());
+		fields.put("yaw", graveyard.location().yaw());
+		fields.put("pitch", graveyard.location().pitch());
+		return fields;
+	}
+
+
+	/**
+	 * Get the fields of a discovery record, in order
+	 *
+	 * @param discovery the discovery
+	 * @return an ordered map of field names to values
+	 */
+	static Map<String, Object> encode(final ValidDiscovery discovery)
+	{
+		final Map<String, Object> fields = new LinkedHashMap<>();
+		fields.put(TYPE, DISCOVERY_TYPE);
+		fields.put("graveyard_uid", discovery.graveyardUid().toString());
+		fields.put("player_uid", discovery.playerUid().toString());
+		fields.put("timestamp", (discovery.getTimestamp() != null) ? discovery.getTimestamp().getEpochSecond() : Instant.now().getEpochSecond());
+		return fields;
+	}
+
+
+	/**
+	 * Create a record from its fields
+	 *
+	 * @param lineNumber the line number of the record in the file, for error reporting
+	 * @param field a function returning the string value of a named field, or {@code null} if it is absent
+	 * @return a graveyard or discovery record, or an invalid record if the fields could not be decoded
+	 */
+	static TransferRecord decode(final long lineNumber, final Function<String, String> field)
+	{
+		try
+		{
+			final String type = required(field, TYPE);
+			return switch (type)
+			{
+				case GRAVEYARD_TYPE -> decodeGraveyard(lineNumber, field);
+				case DISCOVERY_TYPE -> decodeDiscovery(lineNumber, field);
+				default -> new TransferRecord.Invalid(lineNumber, "unknown record type '" + type + "'");
+			};
+		}
+		catch (IllegalArgumentException exception)
+		{
+			return new TransferRecord.Invalid(lineNumber, exception.getMessage());
+		}
+	}
+
+
+	private static TransferRecord decodeGraveyard(final long lineNumber, final Function<String, String> field)
+	{
+		final UUID uid = UUID.fromString(required(field, "uid"));
+
+		if (!(DisplayName.of(required(field, "name")) instanceof ValidDisplayName displayName))
+		{
+			return new TransferRecord.Invalid(lineNumber, "invalid graveyard name");
+		}
+
+		if (!(ConfirmedLocation.of(required(field, "world_name"), UUID.fromString(required(field, "world_uid")),
+				Double.parseDouble(required(field, "x")),
+				Double.parseDouble(required(field, "y")),
+				Double.parseDouble(required(field, "z")),
+				Float.parseFloat(required(field, "yaw")),
+				Float.parseFloat(required(field, "pitch"))) instanceof ValidLocation location))
+		{
+			return new TransferRecord.Invalid(lineNumber, "invalid graveyard location");
+		}
+
+		final Attributes attributes = new Attributes(
+				Enabled.of(Boolean.parseBoolean(required(field, "enabled"))),
+				Hidden.of(Boolean.parseBoolean(required(field, "hidden"))),
+				DiscoveryRange.of(Integer.parseInt(required(field, "discovery_range"))),
+				DiscoveryMessage.of(optional(field, "discovery_message")),
+				RespawnMessage.of(optional(field, "respawn_message")),
+				Group.of(optional(field, "group")),
+				SafetyRange.of(Integer.parseInt(required(field, "safety_range"))),
+				SafetyTime.of(Duration.ofSeconds(Long.parseLong(required(field, "safety_time")))));
+
+		return (Graveyard.of(displayName, uid, location, attributes) instanceof ValidGraveyard graveyard)
+				? new TransferRecord.GraveyardRecord(graveyard)
+				: new TransferRecord.Invalid(lineNumber, "invalid graveyard");
+	}
+
+
+	private static TransferRecord decodeDiscovery(final long lineNumber, final Function<String, String> field)
+	{
+		final UUID graveyardUid = UUID.fromString(required(field, "graveyard_uid"));
+		final UUID playerUid = UUID.fromString(required(field, "player_uid"));
+		final String timestamp = field.apply("timestamp");
+
+		return (Discovery.of(graveyardUid, playerUid, (timestamp == null || timestamp.isBlank())
+				? null
+				: Instant.ofEpochSecond(Long.parseLong(timestamp))) instanceof ValidDiscovery discovery)
+				? new TransferRecord.DiscoveryRecord(discovery)
+				: new TransferRecord.Invalid(lineNumber, "invalid discovery");
+	}
+
+
+	private static String required(final Function<String, String> field, final String name)
+	{
+		final String value = field.apply(name);
+		if (value == null || value.isBlank())
+		{
+			throw new IllegalArgumentException("missing field '" + name + "'");
+		}
+		return value.trim();
+	}
+
+
+	private static String optional(final Function<String, String> field, final String name)
+	{
+		return nullToEmpty(field.apply(name));
+	}
+
+
+	private static String nullToEmpty(final String value)
+	{
+		return (value == null) ? "" : value;
+	}
+
+}
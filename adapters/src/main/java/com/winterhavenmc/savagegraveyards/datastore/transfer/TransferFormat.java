@@ -0,0 +1,352 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.savagegraveyards.datastore.transfer;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonPrimitive;
+import com.winterhavenmc.savagegraveyards.models.discovery.ValidDiscovery;
+import com.winterhavenmc.savagegraveyards.models.graveyard.ValidGraveyard;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+
+/**
+ * The file formats of the export and import commands. Records are written one per line, graveyards first,
+ * so that a file may be written and read as a stream without holding its records in memory.
+ * <ul>
+ *     <li>{@link #NDJSON} writes each record as a JSON object on a single line.</li>
+ *     <li>{@link #CSV} writes each record as comma separated values, with the record type in the first column.
+ *     Lines beginning with {@code #} are comments, and name the columns of each record type.</li>
+ * </ul>
+ */
+public enum TransferFormat
+{
+	NDJSON("ndjson")
+			{
+				@Override
+				public RecordWriter writer(final BufferedWriter writer)
+				{
+					return new RecordWriter()
+					{
+						@Override
+						public void write(final ValidGraveyard graveyard) throws IOException
+						{
+							writeObject(TransferCodec.encode(graveyard));
+						}
+
+						@Override
+						public void write(final ValidDiscovery discovery) throws IOException
+						{
+							writeObject(TransferCodec.encode(discovery));
+						}
+
+						private void writeObject(final Map<String, Object> fields) throws IOException
+						{
+							final JsonObject jsonObject = new JsonObject();
+							fields.forEach((name, value) -> jsonObject.add(name, switch (value)
+							{
+								case Number number -> new JsonPrimitive(number);
+								case Boolean bool -> new JsonPrimitive(bool);
+								default -> new JsonPrimitive(value.toString());
+							}));
+							writer.write(jsonObject.toString());
+							writer.newLine();
+						}
+
+						@Override
+						public void close() throws IOException
+						{
+							writer.close();
+						}
+					};
+				}
+
+				@Override
+				public RecordReader reader(final BufferedReader reader)
+				{
+					return new RecordReader()
+					{
+						private long lineNumber;
+
+						@Override
+						public TransferRecord next() throws IOException
+						{
+							String line;
+							do
+							{
+								line = reader.readLine();
+								lineNumber++;
+							}
+							while (line != null && line.isBlank());
+
+							if (line == null) return null;
+
+							final JsonObject jsonObject;
+							try
+							{
+								final JsonElement jsonElement = JsonParser.parseString(line);
+								if (!jsonElement.isJsonObject())
+								{
+									return new TransferRecord.Invalid(lineNumber, "not a JSON object");
+								}
+								jsonObject = jsonElement.getAsJsonObject();
+							}
+							catch (JsonParseException exception)
+							{
+								return new TransferRecord.Invalid(lineNumber, "malformed JSON");
+							}
+
+							return TransferCodec.decode(lineNumber, name ->
+							{
+								final JsonElement value = jsonObject.get(name);
+								return (value != null && value.isJsonPrimitive()) ? value.getAsString() : null;
+							});
+						}
+
+						@Override
+						public void close() throws IOException
+						{
+							reader.close();
+						}
+					};
+				}
+			},
+
+	CSV("csv")
+			{
+				@Override
+				public RecordWriter writer(final BufferedWriter writer) throws IOException
+				{
+					writer.write("# " + String.join(",", TransferCodec.GRAVEYARD_FIELDS));
+					writer.newLine();
+					writer.write("# " + String.join(",", TransferCodec.DISCOVERY_FIELDS));
+					writer.newLine();
+
+					return new RecordWriter()
+					{
+						@Override
+						public void write(final ValidGraveyard graveyard) throws IOException
+						{
+							writeRow(TransferCodec.encode(graveyard));
+						}
+
+						@Override
+						public void write(final ValidDiscovery discovery) throws IOException
+						{
+							writeRow(TransferCodec.encode(discovery));
+						}
+
+						private void writeRow(final Map<String, Object> fields) throws IOException
+						{
+							boolean first = true;
+							for (Object value : fields.values())
+							{
+								if (!first) writer.write(',');
+								writer.write(quote(value.toString()));
+								first = false;
+							}
+							writer.newLine();
+						}
+
+						@Override
+						public void close() throws IOException
+						{
+							writer.close();
+						}
+					};
+				}
+
+				@Override
+				public RecordReader reader(final BufferedReader reader)
+				{
+					return new RecordReader()
+					{
+						private long lineNumber;
+
+						@Override
+						public TransferRecord next() throws IOException
+						{
+							String line;
+							do
+							{
+								line = reader.readLine();
+								lineNumber++;
+							}
+							while (line != null && (line.isBlank() || line.startsWith("#")));
+
+							if (line == null) return null;
+
+							final long recordLineNumber = lineNumber;
+							final List<String> values = new ArrayList<>();
+							final StringBuilder value = new StringBuilder();
+							boolean quoted = false;
+
+							// a quoted value may continue on following lines
+							while (true)
+							{
+								for (int i = 0; i < line.length(); i++)
+								{
+									final char c = line.charAt(i);
+									if (quoted)
+									{
+										if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') { value.append('"'); i++; }
+										else if (c == '"') { quoted = false; }
+										else { value.append(c); }
+									}
+									else if (c == '"') { quoted = true; }
+									else if (c == ',') { values.add(value.toString()); value.setLength(0); }
+									else { value.append(c); }
+								}
+
+								if (!quoted) break;
+
+								line = reader.readLine();
+								lineNumber++;
+								if (line == null)
+								{
+									return new TransferRecord.Invalid(recordLineNumber, "unterminated quoted value");
+								}
+								value.append('\n');
+							}
+							values.add(value.toString());
+
+							final List<String> names = switch (values.getFirst().trim())
+							{
+								case TransferCodec.GRAVEYARD_TYPE -> TransferCodec.GRAVEYARD_FIELDS;
+								case TransferCodec.DISCOVERY_TYPE -> TransferCodec.DISCOVERY_FIELDS;
+								default -> List.of(TransferCodec.TYPE);
+							};
+
+							return TransferCodec.decode(recordLineNumber, name ->
+							{
+								final int index = names.indexOf(name);
+								return (index >= 0 && index < values.size()) ? values.get(index) : null;
+							});
+						}
+
+						@Override
+						public void close() throws IOException
+						{
+							reader.close();
+						}
+					};
+				}
+			};
+
+	private final String extension;
+
+
+	TransferFormat(final String extension)
+	{
+		this.extension = extension;
+	}
+
+
+	/**
+	 * Get the file name extension of this format
+	 *
+	 * @return the file name extension, without a leading period
+	 */
+	public String extension()
+	{
+		return extension;
+	}
+
+
+	/**
+	 * Select a format by the extension of a file name. Files without a {@code .csv} extension are NDJSON.
+	 *
+	 * @param path the path of the file
+	 * @return the format of the file
+	 */
+	public static TransferFormat of(final Path path)
+	{
+		return (path.getFileName().toString().toLowerCase(Locale.ROOT).endsWith("." + CSV.extension))
+				? CSV
+				: NDJSON;
+	}
+
+
+	/**
+	 * Create a writer of records in this format
+	 *
+	 * @param writer the destination of the records, which is closed when the record writer is closed
+	 * @return a record writer
+	 * @throws IOException if the writer could not be started
+	 */
+	public abstract RecordWriter writer(BufferedWriter writer) throws IOException;
+
+
+	/**
+	 * Create a reader of records in this format
+	 *
+	 * @param reader the source of the records, which is closed when the record reader is closed
+	 * @return a record reader
+	 */
+	public abstract RecordReader reader(BufferedReader reader);
+
+
+	private static String quote(final String value)
+	{
+		if (value.isEmpty()
+				|| value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0
+				|| !value.equals(value.trim()))
+		{
+			return '"' + value.replace("\"", "\"\"") + '"';
+		}
+		return value;
+	}
+
+
+	/**
+	 * A writer of graveyard and discovery records to a file
+	 */
+	public interface RecordWriter extends Closeable
+	{
+		void write(ValidGraveyard graveyard) throws IOException;
+
+		void write(ValidDiscovery discovery) throws IOException;
+	}
+
+
+	/**
+	 * A reader of records from a file, one record at a time
+	 */
+	public interface RecordReader extends Closeable
+	{
+		/**
+		 * Read the next record
+		 *
+		 * @return the next record, or {@code null} at the end of the file
+		 * @throws IOException if the file could not be read
+		 */
+		TransferRecord next() throws IOException;
+	}
+
+}
@@ -0,0 +1,35 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.savagegraveyards.datastore.transfer;
+
+import com.winterhavenmc.savagegraveyards.models.discovery.ValidDiscovery;
+import com.winterhavenmc.savagegraveyards.models.graveyard.ValidGraveyard;
+
+
+/**
+ * A record read from an export file, implemented as a sealed interface. A line that cannot be decoded
+ * is represented by an {@link Invalid} record, so that an import may continue past it.
+ */
+public sealed interface TransferRecord
+{
+	record GraveyardRecord(ValidGraveyard graveyard) implements TransferRecord { }
+
+	record DiscoveryRecord(ValidDiscovery discovery) implements TransferRecord { }
+
+	record Invalid(long lineNumber, String reason) implements TransferRecord { }
+}
@@ -17,7 +17,9 @@
 
 package com.winterhavenmc.savagegraveyards.listeners;
 
+import com.winterhavenmc.savagegraveyards.datastore.AsyncDiscoveryRepository;
 import com.winterhavenmc.savagegraveyards.datastore.ConnectionProvider;
+import com.winterhavenmc.savagegraveyards.datastore.DiscoveryRepository;
 import com.winterhavenmc.savagegraveyards.datastore.GraveyardRepository;
 import com.winterhavenmc.savagegraveyards.tasks.safety.SafetyManager;
 import com.winterhavenmc.savagegraveyards.models.Config;
@@ -34,11 +36,13 @@ import org.bukkit.event.EventPriority;
 import org.bukkit.event.entity.EntityTargetEvent.TargetReason;
 import org.bukkit.event.entity.EntityTargetLivingEntityEvent;
 import org.bukkit.event.entity.PlayerDeathEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
 import org.bukkit.event.player.PlayerRespawnEvent;
 import org.bukkit.plugin.Plugin;
 
 import java.util.HashSet;
-import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
 
@@ -51,6 +55,8 @@ public final class BukkitEventListener implements EventListener
 	private final Plugin plugin;
 	private final MessageBuilder messageBuilder;
 	private final GraveyardRepository graveyards;
+	private final DiscoveryRepository discoveries;
+	private final AsyncDiscoveryRepository asyncDiscoveries;
 	private final SafetyManager safetyManager;
 
 	private final Set<UUID> deathTriggeredRespawn = new HashSet<>();
@@ -69,9 +75,14 @@ public final class BukkitEventListener implements EventListener
 		this.plugin = plugin;
 		this.messageBuilder = messageBuilder;
 		this.graveyards = connectionProvider.graveyards();
+		this.discoveries = connectionProvider.discoveries();
+		this.asyncDiscoveries = connectionProvider.asyncDiscoveries();
 		this.safetyManager = safetyManager;
 
 		plugin.getServer().getPluginManager().registerEvents(this, plugin);
+
+		// load discoveries for any players already online, as after a plugin reload
+		plugin.getServer().getOnlinePlayers().forEach(player -> loadDiscoveries(player.getUniqueId()));
 	}
 
 
@@ -195,11 +206,11 @@ public final class BukkitEventListener implements EventListener
 			if (messageBuilder.worlds().isEnabled(player.getWorld().getUID()) && player.hasPermission("graveyard.respawn"))
 			{
 				// get nearest valid graveyard for player
-				List<ValidGraveyard> nearestGraveyards = graveyards.getNearestGraveyards(player);
+				Optional<ValidGraveyard> optionalGraveyard = graveyards.getNearestGraveyard(player);
 
-				if (!nearestGraveyards.isEmpty())
+				if (optionalGraveyard.isPresent())
 				{
-					ValidGraveyard nearestGraveyard = nearestGraveyards.getFirst();
+					ValidGraveyard nearestGraveyard = optionalGraveyard.get();
 
 					// unwrap optional location
 					Location location = nearestGraveyard.getLocation();
@@ -252,4 +263,36 @@ public final class BukkitEventListener implements EventListener
 		}
 	}
 
+
+	/**
+	 * Player join event handler. Loads the player's discoveries into memory asynchronously.
+	 *
+	 * @param event the event handled by this method
+	 */
+	@EventHandler(priority = EventPriority.MONITOR)
+	@Override
+	public void onPlayerJoin(final PlayerJoinEvent event)
+	{
+		loadDiscoveries(event.getPlayer().getUniqueId());
+	}
+
+
+	/**
+	 * Player quit event handler. Releases the player's discoveries held in memory.
+	 *
+	 * @param event the event handled by this method
+	 */
+	@EventHandler(priority = EventPriority.MONITOR)
+	@Override
+	public void onPlayerQuit(final PlayerQuitEvent event)
+	{
+		discoveries.unloadPlayer(event.getPlayer().getUniqueId());
+	}
+
+
+	private void loadDiscoveries(final UUID playerUid)
+	{
+		asyncDiscoveries.loadPlayer(playerUid);
+	}
+
 }
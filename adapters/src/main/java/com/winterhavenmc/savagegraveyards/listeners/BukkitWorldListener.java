@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.savagegraveyards.listeners;
+
+import com.winterhavenmc.savagegraveyards.models.world.WorldRegistry;
+
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.world.WorldLoadEvent;
+import org.bukkit.event.world.WorldUnloadEvent;
+import org.bukkit.plugin.Plugin;
+
+
+/**
+ * Keeps the {@link WorldRegistry} up to date as worlds are loaded and unloaded, as by a world management plugin,
+ * so that graveyard locations report the current availability of their world
+ */
+public final class BukkitWorldListener implements Listener
+{
+	/**
+	 * class constructor
+	 */
+	public BukkitWorldListener(final Plugin plugin)
+	{
+		plugin.getServer().getPluginManager().registerEvents(this, plugin);
+
+		// worlds loaded before the plugin was enabled
+		plugin.getServer().getWorlds().forEach(WorldRegistry::loaded);
+	}
+
+
+	/**
+	 * World load event handler
+	 *
+	 * @param event the event handled by this method
+	 */
+	@EventHandler(priority = EventPriority.MONITOR)
+	public void onWorldLoad(final WorldLoadEvent event)
+	{
+		WorldRegistry.loaded(event.getWorld());
+	}
+
+
+	/**
+	 * World unload event handler; the unload may be cancelled by another plugin, so only a completed unload is handled
+	 *
+	 * @param event the event handled by this method
+	 */
+	@EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+	public void onWorldUnload(final WorldUnloadEvent event)
+	{
+		WorldRegistry.unloaded(event.getWorld());
+	}
+
+}
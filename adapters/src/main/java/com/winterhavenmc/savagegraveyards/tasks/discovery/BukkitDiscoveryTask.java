@@ -29,6 +29,7 @@ import com.winterhavenmc.savagegraveyards.models.graveyard.ValidGraveyard;
 
 import com.winterhavenmc.library.messagebuilder.MessageBuilder;
 
+import org.bukkit.Location;
 import org.bukkit.entity.Player;
 import org.bukkit.event.Event;
 import org.bukkit.plugin.Plugin;
@@ -73,16 +74,32 @@ public final class BukkitDiscoveryTask extends BukkitRunnable implements Discove
 	@Override
 	public void run()
 	{
+		final int defaultRange = Config.DISCOVERY_RANGE.getInt(this.plugin.getConfig());
+
 		this.plugin.getServer().getOnlinePlayers().stream()
 				.filter(player -> player.hasPermission(PERMISSION_NODE))
-				.forEach(player -> connectionProvider.graveyards().getUndiscoveredGraveyards(player)
-						.filter(withinRange(player))
-						.filter(groupMatches(player))
+				.forEach(player -> connectionProvider.graveyards()
+						.getUndiscoveredGraveyardsInRange(player, defaultRange)
+						.filter(discoverable(player, defaultRange))
 						.forEach(graveyard -> createDiscoveryRecord(graveyard, player)));
 	}
 
 
-	private Predicate<ValidGraveyard> groupMatches(final Player player)
+	/**
+	 * Get a predicate that matches the candidate graveyards a player discovers: those within the graveyard's
+	 * discovery range of the player, in a group the player has permission for
+	 *
+	 * @param player the player
+	 * @param defaultRange the discovery range used for graveyards with a negative discovery range
+	 * @return a predicate that matches graveyards discovered by the player
+	 */
+	public static Predicate<ValidGraveyard> discoverable(final Player player, final int defaultRange)
+	{
+		return withinRange(player, defaultRange).and(groupMatches(player));
+	}
+
+
+	private static Predicate<ValidGraveyard> groupMatches(final Player player)
 	{
 		return graveyard ->
 				graveyard.attributes().group() == null
@@ -91,10 +108,14 @@ public final class BukkitDiscoveryTask extends BukkitRunnable implements Discove
 	}
 
 
-	private Predicate<ValidGraveyard> withinRange(final Player player)
+	private static Predicate<ValidGraveyard> withinRange(final Player player, final int defaultRange)
 	{
-		return graveyard -> graveyard.getLocation()
-				.distanceSquared(player.getLocation()) < Math.pow(getDiscoveryRange(graveyard), 2);
+		final Location playerLocation = player.getLocation();
+		return graveyard ->
+		{
+			final double range = getDiscoveryRange(graveyard, defaultRange);
+			return graveyard.location().distanceSquared(playerLocation) < range * range;
+		};
 	}
 
 
@@ -102,12 +123,13 @@ public final class BukkitDiscoveryTask extends BukkitRunnable implements Discove
 	 * Get graveyard discovery range, or config default if graveyard attribute is negative
 	 *
 	 * @param graveyard the graveyard to retrieve discovery range
+	 * @param defaultRange the configured default discovery range
 	 * @return the discovery range of the graveyard, or default if negative
 	 */
-	private int getDiscoveryRange(final ValidGraveyard graveyard)
+	private static int getDiscoveryRange(final ValidGraveyard graveyard, final int defaultRange)
 	{
 		return (graveyard.attributes().discoveryRange().value() < 0)
-				? Config.DISCOVERY_RANGE.getInt(this.plugin.getConfig())
+				? defaultRange
 				: graveyard.attributes().discoveryRange().value();
 	}
 
@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+
+package com.winterhavenmc.savagegraveyards.datastore;
+
+import com.winterhavenmc.library.messagebuilder.models.configuration.ConfigRepository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.lenient;
+
+
+@ExtendWith(MockitoExtension.class)
+class DatastoreEventBusTest
+{
+	@Mock ConfigRepository configRepositoryMock;
+
+	private final Logger logger = Logger.getLogger(DatastoreEventBusTest.class.getName());
+	private final RepositoryEvent.DiscoveryRemoved removed = new RepositoryEvent.DiscoveryRemoved(UUID.randomUUID(), UUID.randomUUID());
+	private final RepositoryEvent.GraveyardsReloaded reloaded = new RepositoryEvent.GraveyardsReloaded();
+
+	private DatastoreEventBus eventBus;
+
+
+	@BeforeEach
+	void setUp()
+	{
+		lenient().when(configRepositoryMock.locale()).thenReturn(Locale.US);
+		eventBus = new DatastoreEventBus(configRepositoryMock, logger);
+	}
+
+
+	@Test
+	void publish_delivers_only_subscribed_type()
+	{
+		// Arrange
+		List<RepositoryEvent.DiscoveryRemoved> received = new ArrayList<>();
+		eventBus.subscribe(RepositoryEvent.DiscoveryRemoved.class, received::add);
+
+		// Act
+		eventBus.publish(reloaded);
+		eventBus.publish(removed);
+
+		// Assert
+		assertEquals(List.of(removed), received);
+	}
+
+
+	@Test
+	void publish_delivers_all_events_to_base_type()
+	{
+		// Arrange
+		List<RepositoryEvent> received = new ArrayList<>();
+		eventBus.subscribe(RepositoryEvent.class, received::add);
+
+		// Act
+		eventBus.publish(reloaded);
+		eventBus.publish(removed);
+
+		// Assert
+		assertEquals(List.of(reloaded, removed), received);
+	}
+
+
+	@Test
+	void publish_delivers_on_executor()
+	{
+		// Arrange
+		List<Runnable> tasks = new ArrayList<>();
+		Executor executor = tasks::add;
+		List<RepositoryEvent> received = new ArrayList<>();
+		eventBus.subscribe(RepositoryEvent.class, received::add, executor);
+
+		// Act
+		eventBus.publish(removed);
+
+		// Assert
+		assertTrue(received.isEmpty());
+		tasks.forEach(Runnable::run);
+		assertEquals(List.of(removed), received);
+	}
+
+
+	@Test
+	void closed_subscription_receives_no_events()
+	{
+		// Arrange
+		List<RepositoryEvent> received = new ArrayList<>();
+		RepositoryEventBus.Subscription subscription = eventBus.subscribe(RepositoryEvent.class, received::add);
+
+		// Act
+		subscription.close();
+		eventBus.publish(removed);
+
+		// Assert
+		assertTrue(received.isEmpty());
+	}
+
+
+	@Test
+	void failing_listener_does_not_prevent_delivery()
+	{
+		// Arrange
+		List<RepositoryEvent> received = new ArrayList<>();
+		eventBus.subscribe(RepositoryEvent.class, event -> { throw new IllegalStateException("listener failed"); });
+		eventBus.subscribe(RepositoryEvent.class, received::add);
+
+		// Act
+		eventBus.publish(removed);
+
+		// Assert
+		assertEquals(List.of(removed), received);
+	}
+
+}
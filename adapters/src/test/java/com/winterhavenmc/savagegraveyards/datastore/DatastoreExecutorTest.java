@@ -0,0 +1,187 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.savagegraveyards.datastore;
+
+import com.winterhavenmc.library.messagebuilder.models.configuration.ConfigRepository;
+
+import org.bukkit.Server;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitScheduler;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Handler;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+
+@ExtendWith(MockitoExtension.class)
+class DatastoreExecutorTest
+{
+	@Mock ConfigRepository configRepositoryMock;
+	@Mock Plugin pluginMock;
+	@Mock Server serverMock;
+	@Mock BukkitScheduler schedulerMock;
+
+	private final Logger logger = Logger.getLogger(DatastoreExecutorTest.class.getName());
+	private final List<LogRecord> logRecords = new ArrayList<>();
+
+	private DatastoreExecutor executor;
+
+
+	@BeforeEach
+	void setUp()
+	{
+		lenient().when(configRepositoryMock.locale()).thenReturn(Locale.US);
+		lenient().when(pluginMock.getServer()).thenReturn(serverMock);
+		lenient().when(serverMock.getScheduler()).thenReturn(schedulerMock);
+		logger.setUseParentHandlers(false);
+		logger.addHandler(new Handler()
+		{
+			@Override
+			public void publish(final LogRecord record)
+			{
+				logRecords.add(record);
+			}
+
+			@Override
+			public void flush() { }
+
+			@Override
+			public void close() { }
+		});
+		executor = new DatastoreExecutor(configRepositoryMock, logger, 2);
+	}
+
+
+	@AfterEach
+	void tearDown()
+	{
+		executor.close();
+	}
+
+
+	@Test
+	void supply_runs_operation_on_daemon_datastore_thread()
+	{
+		// Act
+		Thread thread = executor.supply(Thread::currentThread).join();
+
+		// Assert
+		assertTrue(thread.getName().startsWith("SavageGraveyards-Datastore-"));
+		assertTrue(thread.isDaemon());
+	}
+
+
+	@Test
+	void supply_logs_and_completes_exceptionally_when_operation_fails()
+	{
+		// Act
+		CompletableFuture<Object> future = executor.supply(() -> { throw new IllegalStateException("failed"); });
+
+		// Assert
+		CompletionException exception = assertThrows(CompletionException.class, future::join);
+		assertInstanceOf(IllegalStateException.class, exception.getCause());
+		assertFalse(logRecords.isEmpty());
+	}
+
+
+	@Test
+	void supply_after_close_returns_failed_future()
+	{
+		// Arrange
+		executor.close();
+
+		// Act
+		CompletableFuture<Integer> future = executor.supply(() -> 1);
+
+		// Assert
+		CompletionException exception = assertThrows(CompletionException.class, future::join);
+		assertInstanceOf(RejectedExecutionException.class, exception.getCause());
+	}
+
+
+	@Test
+	void mainThread_runs_task_immediately_on_server_thread()
+	{
+		// Arrange
+		when(serverMock.isPrimaryThread()).thenReturn(true);
+		Executor mainThread = DatastoreExecutor.mainThread(pluginMock);
+		AtomicBoolean ran = new AtomicBoolean();
+
+		// Act
+		mainThread.execute(() -> ran.set(true));
+
+		// Assert
+		assertTrue(ran.get());
+		verifyNoInteractions(schedulerMock);
+	}
+
+
+	@Test
+	void mainThread_schedules_task_from_other_threads()
+	{
+		// Arrange
+		when(serverMock.isPrimaryThread()).thenReturn(false);
+		when(pluginMock.isEnabled()).thenReturn(true);
+		Executor mainThread = DatastoreExecutor.mainThread(pluginMock);
+		Runnable task = () -> { };
+
+		// Act
+		mainThread.execute(task);
+
+		// Assert
+		verify(schedulerMock).runTask(pluginMock, task);
+	}
+
+
+	@Test
+	void mainThread_discards_task_after_plugin_is_disabled()
+	{
+		// Arrange
+		when(serverMock.isPrimaryThread()).thenReturn(false);
+		when(pluginMock.isEnabled()).thenReturn(false);
+		Executor mainThread = DatastoreExecutor.mainThread(pluginMock);
+		AtomicBoolean ran = new AtomicBoolean();
+
+		// Act
+		mainThread.execute(() -> ran.set(true));
+
+		// Assert
+		assertFalse(ran.get());
+		verifyNoInteractions(schedulerMock);
+	}
+
+}
@@ -0,0 +1,204 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.savagegraveyards.datastore;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+class DiscoveryCacheTest
+{
+	private final GraveyardCatalog catalog = new GraveyardCatalog();
+	private final UUID playerUid = UUID.randomUUID();
+	private final UUID selectedUid = UUID.randomUUID();
+	private final UUID forgottenUid = UUID.randomUUID();
+	private final UUID addedUid = UUID.randomUUID();
+
+
+	@Test
+	void completeLoad_merges_changes_made_during_load()
+	{
+		// Arrange
+		DiscoveryCache cache = new DiscoveryCache(catalog, 10);
+		cache.beginLoad(playerUid);
+		cache.add(playerUid, addedUid);
+		cache.remove(playerUid, forgottenUid);
+
+		// Act
+		cache.completeLoad(playerUid, List.of(selectedUid, forgottenUid));
+
+		// Assert
+		BitSet discovered = cache.get(playerUid).orElseThrow();
+		assertTrue(discovered.get(catalog.ordinal(selectedUid)));
+		assertTrue(discovered.get(catalog.ordinal(addedUid)));
+		assertFalse(discovered.get(catalog.ordinal(forgottenUid)));
+	}
+
+
+	@Test
+	void completeLoad_applies_latest_change_to_each_graveyard()
+	{
+		// Arrange
+		DiscoveryCache cache = new DiscoveryCache(catalog, 10);
+		cache.beginLoad(playerUid);
+		cache.add(playerUid, addedUid);
+		cache.remove(playerUid, addedUid);
+		cache.remove(playerUid, selectedUid);
+		cache.add(playerUid, selectedUid);
+
+		// Act
+		cache.completeLoad(playerUid, List.of(addedUid));
+
+		// Assert
+		BitSet discovered = cache.get(playerUid).orElseThrow();
+		assertFalse(discovered.get(catalog.ordinal(addedUid)));
+		assertTrue(discovered.get(catalog.ordinal(selectedUid)));
+	}
+
+
+	@Test
+	void completeLoad_keeps_discoveries_added_concurrently() throws Exception
+	{
+		// Arrange
+		DiscoveryCache cache = new DiscoveryCache(catalog, 10);
+		List<UUID> graveyardUids = new ArrayList<>();
+		for (int i = 0; i < 200; i++)
+		{
+			graveyardUids.add(UUID.randomUUID());
+		}
+		cache.beginLoad(playerUid);
+
+		// Act
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try
+		{
+			List<Future<?>> futures = new ArrayList<>();
+			for (UUID graveyardUid : graveyardUids)
+			{
+				futures.add(executor.submit(() -> cache.add(playerUid, graveyardUid)));
+			}
+			cache.completeLoad(playerUid, List.of(selectedUid));
+			for (Future<?> future : futures)
+			{
+				future.get();
+			}
+		}
+		finally
+		{
+			executor.shutdown();
+		}
+
+		// Assert
+		BitSet discovered = cache.get(playerUid).orElseThrow();
+		assertTrue(discovered.get(catalog.ordinal(selectedUid)));
+		for (UUID graveyardUid : graveyardUids)
+		{
+			assertTrue(discovered.get(catalog.ordinal(graveyardUid)));
+		}
+	}
+
+
+	@Test
+	void completeLoad_discards_result_after_evict()
+	{
+		// Arrange
+		DiscoveryCache cache = new DiscoveryCache(catalog, 10);
+		cache.beginLoad(playerUid);
+		cache.evict(playerUid);
+
+		// Act
+		cache.completeLoad(playerUid, List.of(selectedUid));
+
+		// Assert
+		assertFalse(cache.contains(playerUid));
+	}
+
+
+	@Test
+	void add_for_player_not_cached_or_loading_is_ignored()
+	{
+		// Arrange
+		DiscoveryCache cache = new DiscoveryCache(catalog, 10);
+
+		// Act
+		cache.add(playerUid, addedUid);
+
+		// Assert
+		assertFalse(cache.contains(playerUid));
+		assertFalse(cache.isKnown(playerUid, addedUid));
+	}
+
+
+	@Test
+	void cache_evicts_least_recently_used_player()
+	{
+		// Arrange
+		DiscoveryCache cache = new DiscoveryCache(catalog, 2);
+		UUID firstUid = UUID.randomUUID();
+		UUID secondUid = UUID.randomUUID();
+		UUID thirdUid = UUID.randomUUID();
+		load(cache, firstUid);
+		load(cache, secondUid);
+		cache.get(firstUid);
+
+		// Act
+		load(cache, thirdUid);
+
+		// Assert
+		assertEquals(Set.of(firstUid, thirdUid), cache.players());
+		assertEquals(2, cache.size());
+	}
+
+
+	@Test
+	void statistics_count_hits_and_misses()
+	{
+		// Arrange
+		DiscoveryCache cache = new DiscoveryCache(catalog, 10);
+		load(cache, playerUid);
+
+		// Act
+		cache.get(playerUid);
+		cache.get(playerUid);
+		cache.get(UUID.randomUUID());
+
+		// Assert
+		assertEquals(2, cache.getHitCount());
+		assertEquals(1, cache.getMissCount());
+		assertEquals("1", cache.statistics().get("discovery_cache_players"));
+		assertEquals(String.format("%.3f", 2 / 3.0), cache.statistics().get("discovery_cache_hit_ratio"));
+	}
+
+
+	private void load(final DiscoveryCache cache, final UUID uid)
+	{
+		cache.beginLoad(uid);
+		cache.completeLoad(uid, List.of(selectedUid));
+	}
+
+}
@@ -0,0 +1,193 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.savagegraveyards.datastore;
+
+import com.winterhavenmc.library.messagebuilder.models.configuration.ConfigRepository;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+
+/**
+ * Tests for the asynchronous graveyard repository, run against a mocked synchronous repository
+ */
+@ExtendWith(MockitoExtension.class)
+class ExecutorGraveyardRepositoryTest
+{
+	@Mock ConfigRepository configRepositoryMock;
+	@Mock GraveyardRepository graveyardRepositoryMock;
+	@Mock Player playerMock;
+	@Mock World worldMock;
+	@Mock CommandSender senderMock;
+
+	private final Logger logger = Logger.getLogger(ExecutorGraveyardRepositoryTest.class.getName());
+
+	private DatastoreExecutor executor;
+	private ExecutorGraveyardRepository graveyards;
+
+
+	@BeforeEach
+	void setUp()
+	{
+		lenient().when(configRepositoryMock.locale()).thenReturn(Locale.US);
+		executor = new DatastoreExecutor(configRepositoryMock, logger, 1);
+		graveyards = new ExecutorGraveyardRepository(graveyardRepositoryMock, executor);
+	}
+
+
+	@AfterEach
+	void tearDown()
+	{
+		executor.close();
+	}
+
+
+	@Test
+	void getCount_runs_repository_operation_on_datastore_thread()
+	{
+		// Arrange
+		AtomicReference<Thread> thread = new AtomicReference<>();
+		when(graveyardRepositoryMock.getCount()).thenAnswer(invocation ->
+		{
+			thread.set(Thread.currentThread());
+			return 3;
+		});
+
+		// Act
+		int count = graveyards.getCount().join();
+
+		// Assert
+		assertEquals(3, count);
+		assertNotSame(Thread.currentThread(), thread.get());
+		assertTrue(thread.get().getName().startsWith("SavageGraveyards-Datastore-"));
+	}
+
+
+	@Test
+	void getAll_collects_records_before_completing()
+	{
+		// Arrange
+		when(graveyardRepositoryMock.getAll()).thenReturn(Stream.empty());
+
+		// Act
+		List<?> result = graveyards.getAll().join();
+
+		// Assert
+		assertTrue(result.isEmpty());
+		verify(graveyardRepositoryMock).getAll();
+	}
+
+
+	@Test
+	void getMatchingNames_passes_prefix_to_repository()
+	{
+		// Arrange
+		when(graveyardRepositoryMock.getMatchingNames("gr")).thenReturn(List.of("Graveyard"));
+
+		// Act
+		List<String> result = graveyards.getMatchingNames("gr").join();
+
+		// Assert
+		assertEquals(List.of("Graveyard"), result);
+	}
+
+
+	@Test
+	void failed_repository_operation_completes_exceptionally()
+	{
+		// Arrange
+		when(graveyardRepositoryMock.getMatchingKeys("gr")).thenThrow(new IllegalStateException("failed"));
+
+		// Act
+		CompletionException exception = assertThrows(CompletionException.class,
+				() -> graveyards.getMatchingKeys("gr").join());
+
+		// Assert
+		assertInstanceOf(IllegalStateException.class, exception.getCause());
+	}
+
+
+	@Test
+	void getNearestGraveyard_captures_player_on_calling_thread()
+	{
+		// Arrange
+		UUID playerUid = UUID.randomUUID();
+		UUID worldUid = UUID.randomUUID();
+		AtomicReference<Thread> thread = new AtomicReference<>();
+		AtomicReference<PlayerQuery> query = new AtomicReference<>();
+		when(playerMock.getUniqueId()).thenReturn(playerUid);
+		when(playerMock.getWorld()).thenReturn(worldMock);
+		when(worldMock.getUID()).thenReturn(worldUid);
+		when(playerMock.getLocation()).thenReturn(new Location(worldMock, 10, 64, -20));
+		when(playerMock.hasPermission(anyString())).thenAnswer(invocation ->
+		{
+			thread.set(Thread.currentThread());
+			return "group.vip".equals(invocation.getArgument(0));
+		});
+		when(graveyardRepositoryMock.getGroups()).thenReturn(Set.of("vip", "staff"));
+		when(graveyardRepositoryMock.getNearestGraveyard(any(PlayerQuery.class))).thenAnswer(invocation ->
+		{
+			query.set(invocation.getArgument(0));
+			return Optional.empty();
+		});
+
+		// Act
+		Optional<?> result = graveyards.getNearestGraveyard(playerMock).join();
+
+		// Assert
+		assertTrue(result.isEmpty());
+		assertSame(Thread.currentThread(), thread.get());
+		assertEquals(new PlayerQuery(playerUid, worldUid, 10, 64, -20, Set.of("vip")), query.get());
+	}
+
+
+	@Test
+	void getUndiscoveredKeys_returns_empty_set_for_non_player_sender()
+	{
+		// Act
+		Set<String> result = graveyards.getUndiscoveredKeys(senderMock).join();
+
+		// Assert
+		assertTrue(result.isEmpty());
+		verifyNoInteractions(graveyardRepositoryMock);
+	}
+
+}
@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.savagegraveyards.datastore;
+
+import com.winterhavenmc.savagegraveyards.models.displayname.ValidDisplayName;
+import com.winterhavenmc.savagegraveyards.models.graveyard.ValidGraveyard;
+import com.winterhavenmc.savagegraveyards.models.graveyard.attributes.*;
+import com.winterhavenmc.savagegraveyards.models.location.ValidLocation;
+import com.winterhavenmc.savagegraveyards.models.world.WorldRegistry;
+
+import org.bukkit.World;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.lenient;
+
+
+@ExtendWith(MockitoExtension.class)
+class GraveyardCatalogTest
+{
+	@Mock World worldMock;
+
+	private final UUID worldUid = UUID.randomUUID();
+	private final UUID graveyardUid = UUID.randomUUID();
+	private final GraveyardCatalog catalog = new GraveyardCatalog();
+
+
+	@BeforeEach
+	void setUp()
+	{
+		lenient().when(worldMock.getUID()).thenReturn(worldUid);
+		lenient().when(worldMock.getName()).thenReturn("world");
+	}
+
+
+	@AfterEach
+	void tearDown()
+	{
+		WorldRegistry.clear();
+	}
+
+
+	@Test
+	void put_renamed_graveyard_replaces_old_search_key()
+	{
+		// Arrange
+		ValidGraveyard original = graveyard(graveyardUid, "Old Name", 0, 0);
+		ValidGraveyard renamed = graveyard(graveyardUid, "New Name", 0, 0);
+		catalog.put(original);
+		int ordinal = catalog.ordinal(graveyardUid);
+
+		// Act
+		catalog.put(renamed);
+
+		// Assert
+		assertTrue(catalog.get(original.searchKey()).isEmpty());
+		assertEquals(renamed, catalog.get(renamed.searchKey()).orElseThrow());
+		assertEquals(renamed, catalog.get(graveyardUid).orElseThrow());
+		assertEquals(List.of(), catalog.getMatchingPrefix("old").toList());
+		assertEquals(List.of(renamed), catalog.getMatchingPrefix("new").toList());
+		assertEquals(List.of(renamed), catalog.getByWorld(worldUid).toList());
+		assertEquals(List.of(renamed), catalog.getNearest(worldUid, 0, 64, 0).toList());
+		assertEquals(1, catalog.getCount());
+		assertEquals(ordinal, catalog.ordinal(graveyardUid));
+	}
+
+
+	@Test
+	void put_moved_graveyard_replaces_old_location()
+	{
+		// Arrange
+		catalog.put(graveyard(graveyardUid, "Graveyard", 0, 0));
+		ValidGraveyard moved = graveyard(graveyardUid, "Graveyard", 5000, 5000);
+
+		// Act
+		catalog.put(moved);
+
+		// Assert
+		assertEquals(List.of(moved), catalog.getNearest(worldUid, 0, 64, 0).toList());
+		assertEquals(1, catalog.getCount());
+	}
+
+
+	@Test
+	void put_graveyard_with_taken_search_key_displaces_other_record()
+	{
+		// Arrange
+		ValidGraveyard existing = graveyard(UUID.randomUUID(), "Graveyard", 0, 0);
+		ValidGraveyard replacement = graveyard(graveyardUid, "graveyard", 100, 100);
+		catalog.put(existing);
+
+		// Act
+		catalog.put(replacement);
+
+		// Assert
+		assertTrue(catalog.get(existing.uid()).isEmpty());
+		assertEquals(replacement, catalog.get(existing.searchKey()).orElseThrow());
+		assertEquals(List.of(replacement), catalog.getByWorld(worldUid).toList());
+		assertEquals(List.of(replacement), catalog.getNearest(worldUid, 0, 64, 0).toList());
+		assertEquals(1, catalog.getCount());
+	}
+
+
+	@Test
+	void remove_by_uid_clears_every_index()
+	{
+		// Arrange
+		ValidGraveyard graveyard = graveyard(graveyardUid, "Graveyard", 0, 0);
+		catalog.put(graveyard);
+
+		// Act
+		ValidGraveyard removed = catalog.remove(graveyardUid).orElseThrow();
+
+		// Assert
+		assertEquals(graveyard, removed);
+		assertTrue(catalog.get(graveyardUid).isEmpty());
+		assertTrue(catalog.get(graveyard.searchKey()).isEmpty());
+		assertEquals(List.of(), catalog.getMatchingPrefix("grave").toList());
+		assertEquals(List.of(), catalog.getByWorld(worldUid).toList());
+		assertEquals(List.of(), catalog.getNearest(worldUid, 0, 64, 0).toList());
+		assertEquals(0, catalog.getCount());
+	}
+
+
+	@Test
+	void remove_by_search_key_keeps_other_records()
+	{
+		// Arrange
+		ValidGraveyard removedGraveyard = graveyard(graveyardUid, "First", 0, 0);
+		ValidGraveyard keptGraveyard = graveyard(UUID.randomUUID(), "Second", 10, 10);
+		catalog.put(removedGraveyard);
+		catalog.put(keptGraveyard);
+
+		// Act
+		catalog.remove(removedGraveyard.searchKey());
+
+		// Assert
+		assertTrue(catalog.get(graveyardUid).isEmpty());
+		assertEquals(keptGraveyard, catalog.get(keptGraveyard.searchKey()).orElseThrow());
+		assertEquals(List.of(keptGraveyard), catalog.getByWorld(worldUid).toList());
+		assertEquals(List.of(keptGraveyard), catalog.getNearest(worldUid, 0, 64, 0).toList());
+		assertEquals(1, catalog.getCount());
+	}
+
+
+	@Test
+	void remove_absent_graveyard_returns_empty()
+	{
+		// Arrange
+		catalog.put(graveyard(graveyardUid, "Graveyard", 0, 0));
+
+		// Act
+		boolean removed = catalog.remove(UUID.randomUUID()).isPresent();
+
+		// Assert
+		assertFalse(removed);
+		assertEquals(1, catalog.getCount());
+	}
+
+
+	private ValidGraveyard graveyard(final UUID uid, final String name, final double x, final double z)
+	{
+		return new ValidGraveyard(uid, new ValidDisplayName(name),
+				new Attributes(Enabled.of(true), Hidden.of(false), DiscoveryRange.of(50), DiscoveryMessage.of(""),
+						RespawnMessage.of(""), Group.of(""), SafetyRange.of(50), SafetyTime.of(Duration.ofSeconds(15))),
+				new ValidLocation(WorldRegistry.handle(worldMock), x, 64, z, 0, 0));
+	}
+
+}
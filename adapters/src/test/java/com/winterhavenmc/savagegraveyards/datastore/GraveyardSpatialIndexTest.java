@@ -0,0 +1,185 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.savagegraveyards.datastore;
+
+import com.winterhavenmc.savagegraveyards.models.displayname.ValidDisplayName;
+import com.winterhavenmc.savagegraveyards.models.graveyard.ValidGraveyard;
+import com.winterhavenmc.savagegraveyards.models.graveyard.attributes.*;
+import com.winterhavenmc.savagegraveyards.models.location.ValidLocation;
+import com.winterhavenmc.savagegraveyards.models.world.WorldRegistry;
+
+import org.bukkit.World;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.lenient;
+
+
+@ExtendWith(MockitoExtension.class)
+class GraveyardSpatialIndexTest
+{
+	@Mock World worldMock;
+
+	private final UUID worldUid = UUID.randomUUID();
+	private final GraveyardSpatialIndex index = new GraveyardSpatialIndex();
+
+
+	@BeforeEach
+	void setUp()
+	{
+		lenient().when(worldMock.getUID()).thenReturn(worldUid);
+		lenient().when(worldMock.getName()).thenReturn("world");
+	}
+
+
+	@AfterEach
+	void tearDown()
+	{
+		WorldRegistry.clear();
+	}
+
+
+	@Test
+	void nearest_returns_graveyard_in_next_cell_before_farther_graveyard_in_origin_cell()
+	{
+		// Arrange
+		ValidGraveyard sameCell = graveyard("Same Cell", 10, 0);
+		ValidGraveyard nextCell = graveyard("Next Cell", 530, 0);
+		index.put(sameCell);
+		index.put(nextCell);
+
+		// Act
+		List<ValidGraveyard> result = index.nearest(worldUid, 500, 64, 0).toList();
+
+		// Assert
+		assertEquals(List.of(nextCell, sameCell), result);
+	}
+
+
+	@Test
+	void nearest_orders_graveyards_across_negative_cell_boundaries()
+	{
+		// Arrange
+		ValidGraveyard west = graveyard("West", -600, 0);
+		ValidGraveyard east = graveyard("East", 300, 0);
+		ValidGraveyard north = graveyard("North", 0, -2);
+		index.put(west);
+		index.put(east);
+		index.put(north);
+
+		// Act
+		List<ValidGraveyard> result = index.nearest(worldUid, -1, 64, 1).toList();
+
+		// Assert
+		assertEquals(List.of(north, east, west), result);
+	}
+
+
+	@Test
+	void nearest_matches_graveyards_sorted_by_distance()
+	{
+		// Arrange
+		Random random = new Random(42);
+		List<ValidGraveyard> graveyards = new ArrayList<>();
+		for (int i = 0; i < 500; i++)
+		{
+			ValidGraveyard graveyard = graveyard("Graveyard " + i,
+					random.nextInt(20000) - 10000, random.nextInt(20000) - 10000);
+			graveyards.add(graveyard);
+			index.put(graveyard);
+		}
+		double x = 1234.5;
+		double z = -678.25;
+
+		// Act
+		List<ValidGraveyard> result = index.nearest(worldUid, x, 64, z).toList();
+
+		// Assert
+		List<ValidGraveyard> expected = graveyards.stream()
+				.sorted(Comparator.comparingDouble(graveyard -> distanceSquared(graveyard, x, z)))
+				.toList();
+		assertEquals(expected.size(), result.size());
+		for (int i = 0; i < expected.size(); i++)
+		{
+			assertEquals(distanceSquared(expected.get(i), x, z), distanceSquared(result.get(i), x, z));
+		}
+	}
+
+
+	@Test
+	void nearest_excludes_removed_graveyard()
+	{
+		// Arrange
+		ValidGraveyard removed = graveyard("Removed", 10, 10);
+		ValidGraveyard kept = graveyard("Kept", 2000, 10);
+		index.put(removed);
+		index.put(kept);
+
+		// Act
+		index.remove(removed);
+
+		// Assert
+		assertEquals(List.of(kept), index.nearest(worldUid, 0, 64, 0).toList());
+	}
+
+
+	@Test
+	void nearest_returns_empty_stream_for_unknown_world()
+	{
+		// Arrange
+		index.put(graveyard("Graveyard", 0, 0));
+
+		// Act
+		List<ValidGraveyard> result = index.nearest(UUID.randomUUID(), 0, 64, 0).toList();
+
+		// Assert
+		assertTrue(result.isEmpty());
+	}
+
+
+	private static double distanceSquared(final ValidGraveyard graveyard, final double x, final double z)
+	{
+		final double dx = graveyard.location().x() - x;
+		final double dz = graveyard.location().z() - z;
+		return dx * dx + dz * dz;
+	}
+
+
+	private ValidGraveyard graveyard(final String name, final double x, final double z)
+	{
+		return new ValidGraveyard(UUID.randomUUID(), new ValidDisplayName(name),
+				new Attributes(Enabled.of(true), Hidden.of(false), DiscoveryRange.of(50), DiscoveryMessage.of(""),
+						RespawnMessage.of(""), Group.of(""), SafetyRange.of(50), SafetyTime.of(Duration.ofSeconds(15))),
+				new ValidLocation(WorldRegistry.handle(worldMock), x, 64, z, 0, 0));
+	}
+
+}
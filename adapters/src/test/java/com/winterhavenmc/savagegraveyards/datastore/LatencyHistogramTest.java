@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.savagegraveyards.datastore;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+class LatencyHistogramTest
+{
+	@Test
+	void bucket_upper_bound_contains_value()
+	{
+		for (long micros = 0; micros < 100_000; micros++)
+		{
+			// Act
+			int index = LatencyHistogram.bucketIndex(micros);
+
+			// Assert
+			assertTrue(LatencyHistogram.upperBound(index) >= micros);
+			assertTrue(index == 0 || LatencyHistogram.upperBound(index - 1) < micros);
+		}
+	}
+
+
+	@Test
+	void percentile_is_within_one_eighth_of_value()
+	{
+		// Arrange
+		LatencyHistogram histogram = new LatencyHistogram();
+
+		// Act
+		for (int millis = 1; millis <= 1000; millis++)
+		{
+			histogram.record(TimeUnit.MILLISECONDS.toNanos(millis));
+		}
+
+		// Assert
+		assertEquals(1000, histogram.count());
+		assertEquals(1_000_000, histogram.maxMicros());
+		assertEquals(500_000, histogram.percentileMicros(50), 500_000 / 8.0);
+		assertEquals(990_000, histogram.percentileMicros(99), 990_000 / 8.0);
+		assertEquals(1_000_000, histogram.percentileMicros(100));
+	}
+
+
+	@Test
+	void percentile_is_zero_when_empty()
+	{
+		// Arrange
+		LatencyHistogram histogram = new LatencyHistogram();
+
+		// Act
+		long result = histogram.percentileMicros(50);
+
+		// Assert
+		assertEquals(0, result);
+	}
+
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.savagegraveyards.datastore;
+
+import com.winterhavenmc.library.messagebuilder.models.configuration.ConfigRepository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Handler;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.lenient;
+
+
+@ExtendWith(MockitoExtension.class)
+class MainThreadWatchdogTest
+{
+	@Mock ConfigRepository configRepositoryMock;
+
+	private final Logger logger = Logger.getLogger(MainThreadWatchdogTest.class.getName());
+	private final List<LogRecord> logRecords = new ArrayList<>();
+	private final AtomicBoolean primaryThread = new AtomicBoolean(true);
+	private final AtomicLong clock = new AtomicLong(1_000_000);
+
+	private MainThreadWatchdog watchdog;
+
+
+	@BeforeEach
+	void setUp()
+	{
+		lenient().when(configRepositoryMock.locale()).thenReturn(Locale.US);
+		logger.setUseParentHandlers(false);
+		logger.addHandler(new Handler()
+		{
+			@Override
+			public void publish(final LogRecord record)
+			{
+				logRecords.add(record);
+			}
+
+			@Override
+			public void flush() { }
+
+			@Override
+			public void close() { }
+		});
+		watchdog = new MainThreadWatchdog("SQLite", Duration.ofMillis(5), primaryThread::get, clock::get,
+				configRepositoryMock, logger);
+	}
+
+
+	@Test
+	void completed_ignores_operations_off_server_thread()
+	{
+		// Arrange
+		primaryThread.set(false);
+
+		// Act
+		watchdog.completed("graveyards.getAll", TimeUnit.MILLISECONDS.toNanos(20));
+
+		// Assert
+		assertEquals(0, watchdog.blockedMillisLastMinute());
+		assertTrue(logRecords.isEmpty());
+	}
+
+
+	@Test
+	void blocked_time_is_totalled_over_last_minute()
+	{
+		// Arrange
+		watchdog.completed("graveyards.get", TimeUnit.MILLISECONDS.toNanos(2));
+		clock.addAndGet(TimeUnit.SECONDS.toMillis(30));
+		watchdog.completed("graveyards.get", TimeUnit.MILLISECONDS.toNanos(3));
+
+		// Act
+		long withinMinute = watchdog.blockedMillisLastMinute();
+		clock.addAndGet(TimeUnit.SECONDS.toMillis(45));
+		long afterMinute = watchdog.blockedMillisLastMinute();
+
+		// Assert
+		assertEquals(5, withinMinute);
+		assertEquals(3, afterMinute);
+		assertTrue(logRecords.isEmpty());
+	}
+
+
+	@Test
+	void completed_logs_over_budget_once_per_minute_per_call_site()
+	{
+		// Act
+		for (int i = 0; i < 3; i++)
+		{
+			complete("graveyards.getNearestGraveyards");
+		}
+		clock.addAndGet(TimeUnit.MINUTES.toMillis(1));
+		complete("graveyards.getNearestGraveyards");
+
+		// Assert
+		assertEquals(2, logRecords.size());
+		assertTrue(logRecords.getFirst().getMessage().contains("graveyards.getNearestGraveyards"));
+		assertNotNull(logRecords.getFirst().getThrown());
+		assertTrue(logRecords.getLast().getMessage().contains("2 similar calls"));
+	}
+
+
+	@Test
+	void callerStackTrace_removes_datastore_frames()
+	{
+		// Arrange
+		StackTraceElement[] stackTrace = {
+				new StackTraceElement("com.winterhavenmc.savagegraveyards.datastore.QueryMetrics", "time", "QueryMetrics.java", 1),
+				new StackTraceElement("com.winterhavenmc.savagegraveyards.datastore.TimedGraveyardRepository", "get", "TimedGraveyardRepository.java", 2),
+				new StackTraceElement("com.winterhavenmc.savagegraveyards.commands.bukkit.ShowSubcommand", "onCommand", "ShowSubcommand.java", 3) };
+
+		// Act
+		StackTraceElement[] result = MainThreadWatchdog.callerStackTrace(stackTrace);
+
+		// Assert
+		assertEquals(1, result.length);
+		assertEquals("ShowSubcommand.onCommand", MainThreadWatchdog.caller(result));
+	}
+
+
+	@Test
+	void caller_finds_nearest_listener_frame()
+	{
+		// Arrange
+		StackTraceElement[] stackTrace = {
+				new StackTraceElement("java.util.Optional", "map", "Optional.java", 1),
+				new StackTraceElement("com.winterhavenmc.savagegraveyards.listeners.BukkitEventListener", "onPlayerRespawnHandler", "BukkitEventListener.java", 2) };
+
+		// Act
+		String result = MainThreadWatchdog.caller(stackTrace);
+
+		// Assert
+		assertEquals("BukkitEventListener.onPlayerRespawnHandler", result);
+	}
+
+
+	private void complete(final String query)
+	{
+		watchdog.completed(query, TimeUnit.MILLISECONDS.toNanos(20));
+	}
+
+}
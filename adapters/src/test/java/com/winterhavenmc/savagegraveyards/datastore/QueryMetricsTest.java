@@ -0,0 +1,245 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.savagegraveyards.datastore;
+
+import com.winterhavenmc.library.messagebuilder.models.configuration.ConfigRepository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.logging.Handler;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.lenient;
+
+
+@ExtendWith(MockitoExtension.class)
+class QueryMetricsTest
+{
+	@Mock ConfigRepository configRepositoryMock;
+
+	private final Logger logger = Logger.getLogger(QueryMetricsTest.class.getName());
+	private final List<LogRecord> logRecords = new ArrayList<>();
+
+
+	@BeforeEach
+	void setUp()
+	{
+		lenient().when(configRepositoryMock.locale()).thenReturn(Locale.US);
+		logger.setUseParentHandlers(false);
+		logger.addHandler(new Handler()
+		{
+			@Override
+			public void publish(final LogRecord record)
+			{
+				logRecords.add(record);
+			}
+
+			@Override
+			public void flush() { }
+
+			@Override
+			public void close() { }
+		});
+	}
+
+
+	@Test
+	void time_records_calls_and_errors()
+	{
+		// Arrange
+		QueryMetrics metrics = new QueryMetrics("SQLite", Duration.ZERO, QueryObserver.NONE, configRepositoryMock, logger);
+
+		// Act
+		metrics.time("graveyards.get", () -> "result");
+		metrics.time("graveyards.get", () -> "result");
+		assertThrows(IllegalStateException.class, () -> metrics.time("graveyards.get", () ->
+		{
+			throw new IllegalStateException("failed");
+		}));
+
+		// Assert
+		QueryStatistics statistics = metrics.statistics().getFirst();
+		assertEquals("graveyards.get", statistics.query());
+		assertEquals(3, statistics.calls());
+		assertEquals(1, statistics.errors());
+	}
+
+
+	@Test
+	void attempt_returns_fallback_and_records_error_for_datastore_exception()
+	{
+		// Arrange
+		QueryMetrics metrics = new QueryMetrics("SQLite", Duration.ZERO, QueryObserver.NONE, configRepositoryMock, logger);
+
+		// Act
+		String result = metrics.attempt("graveyards.get", () ->
+		{
+			throw new DatastoreException(new SQLException("failed"));
+		}, () -> "default");
+		metrics.attempt("graveyards.get", () -> "result", () -> "default");
+
+		// Assert
+		QueryStatistics statistics = metrics.statistics().getFirst();
+		assertEquals("default", result);
+		assertEquals(2, statistics.calls());
+		assertEquals(1, statistics.errors());
+	}
+
+
+	@Test
+	void attempt_rethrows_other_exceptions()
+	{
+		// Arrange
+		QueryMetrics metrics = new QueryMetrics("SQLite", Duration.ZERO, QueryObserver.NONE, configRepositoryMock, logger);
+
+		// Act
+		assertThrows(IllegalStateException.class, () -> metrics.attempt("graveyards.get", () ->
+		{
+			throw new IllegalStateException("failed");
+		}, () -> "default"));
+
+		// Assert
+		assertEquals(1, metrics.statistics().getFirst().errors());
+	}
+
+
+	@Test
+	void run_records_error_for_datastore_exception_without_rethrowing()
+	{
+		// Arrange
+		QueryMetrics metrics = new QueryMetrics("SQLite", Duration.ZERO, QueryObserver.NONE, configRepositoryMock, logger);
+
+		// Act
+		assertDoesNotThrow(() -> metrics.run("discoveries.loadPlayer", () ->
+		{
+			throw new DatastoreException(new SQLException("failed"));
+		}));
+
+		// Assert
+		assertEquals(1, metrics.statistics().getFirst().errors());
+	}
+
+
+	@Test
+	void statistics_are_ordered_by_query_name()
+	{
+		// Arrange
+		QueryMetrics metrics = new QueryMetrics("SQLite", Duration.ZERO, QueryObserver.NONE, configRepositoryMock, logger);
+
+		// Act
+		metrics.run("graveyards.save", () -> { });
+		metrics.run("discoveries.save", () -> { });
+		metrics.run("graveyards.delete", () -> { });
+
+		// Assert
+		assertEquals(List.of("discoveries.save", "graveyards.delete", "graveyards.save"),
+				metrics.statistics().stream().map(QueryStatistics::query).toList());
+	}
+
+
+	@Test
+	void statistics_percentiles_are_ordered()
+	{
+		// Arrange
+		QueryMetrics metrics = new QueryMetrics("SQLite", Duration.ZERO, QueryObserver.NONE, configRepositoryMock, logger);
+
+		// Act
+		for (int i = 0; i < 100; i++)
+		{
+			metrics.run("graveyards.getAll", () -> { });
+		}
+
+		// Assert
+		QueryStatistics statistics = metrics.statistics().getFirst();
+		assertTrue(statistics.p50().compareTo(statistics.p95()) <= 0);
+		assertTrue(statistics.p95().compareTo(statistics.p99()) <= 0);
+		assertTrue(statistics.p99().compareTo(statistics.max()) <= 0);
+	}
+
+
+	@Test
+	void time_logs_slow_query_with_parameters()
+	{
+		// Arrange
+		QueryMetrics metrics = new QueryMetrics("SQLite", Duration.ofNanos(1), QueryObserver.NONE, configRepositoryMock, logger);
+		UUID playerUid = new UUID(42, 42);
+
+		// Act
+		metrics.run("discoveries.loadPlayer", () -> sleep(2), playerUid);
+
+		// Assert
+		assertEquals(1, logRecords.size());
+		assertTrue(logRecords.getFirst().getMessage().contains("discoveries.loadPlayer"));
+		assertTrue(logRecords.getFirst().getMessage().contains(playerUid.toString()));
+	}
+
+
+	@Test
+	void time_does_not_log_when_threshold_zero()
+	{
+		// Arrange
+		QueryMetrics metrics = new QueryMetrics("SQLite", Duration.ZERO, QueryObserver.NONE, configRepositoryMock, logger);
+
+		// Act
+		metrics.run("discoveries.loadPlayer", () -> sleep(2));
+
+		// Assert
+		assertTrue(logRecords.isEmpty());
+	}
+
+
+	@Test
+	void describe_summarizes_collections_and_nulls()
+	{
+		// Arrange
+		Object[] parameters = { List.of(1, 2, 3), null, 50 };
+
+		// Act
+		String result = QueryMetrics.describe(parameters);
+
+		// Assert
+		assertEquals("3 records, null, 50", result);
+	}
+
+
+	private static void sleep(final long millis)
+	{
+		try
+		{
+			Thread.sleep(millis);
+		}
+		catch (InterruptedException interruptedException)
+		{
+			Thread.currentThread().interrupt();
+		}
+	}
+
+}
@@ -0,0 +1,325 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.savagegraveyards.datastore.journal;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+/**
+ * Tests for the discovery journal, run against a temporary journal file
+ */
+class DiscoveryJournalTest
+{
+	@TempDir Path tempDir;
+
+	private final UUID graveyardUid = UUID.randomUUID();
+	private final UUID otherGraveyardUid = UUID.randomUUID();
+	private final UUID playerUid = UUID.randomUUID();
+	private final UUID otherPlayerUid = UUID.randomUUID();
+
+	private Path path;
+
+
+	@BeforeEach
+	void setUp()
+	{
+		path = tempDir.resolve("discoveries.journal");
+	}
+
+
+	@Test
+	void open_rebuilds_discoveries_written_before_close() throws IOException
+	{
+		// Arrange
+		try (DiscoveryJournal journal = DiscoveryJournal.open(path))
+		{
+			assertTrue(journal.isCreated());
+			journal.append(graveyardUid, playerUid, Instant.now());
+			journal.append(otherGraveyardUid, playerUid, Instant.now());
+		}
+
+		// Act
+		try (DiscoveryJournal journal = DiscoveryJournal.open(path))
+		{
+			// Assert
+			assertFalse(journal.isCreated());
+			assertEquals(2, journal.size());
+			assertEquals(Set.of(graveyardUid, otherGraveyardUid), journal.discovered(playerUid));
+		}
+	}
+
+
+	@Test
+	void append_existing_discovery_returns_false() throws IOException
+	{
+		try (DiscoveryJournal journal = DiscoveryJournal.open(path))
+		{
+			// Arrange
+			journal.append(graveyardUid, playerUid, Instant.now());
+
+			// Act
+			boolean appended = journal.append(graveyardUid, playerUid, Instant.now());
+
+			// Assert
+			assertFalse(appended);
+			assertEquals(1, journal.size());
+		}
+	}
+
+
+	@Test
+	void open_stops_at_torn_record_and_appends_over_it() throws IOException
+	{
+		// Arrange
+		try (DiscoveryJournal journal = DiscoveryJournal.open(path))
+		{
+			journal.append(graveyardUid, playerUid, Instant.now());
+		}
+
+		// a record whose fields were written but whose type byte was not, after the graveyard, player and discovery
+		writeRecord(3, (byte) 0, 0, 0L, 42L);
+
+		// Act
+		try (DiscoveryJournal journal = DiscoveryJournal.open(path))
+		{
+			assertEquals(1, journal.size());
+			journal.append(otherGraveyardUid, playerUid, Instant.now());
+		}
+
+		// Assert
+		try (DiscoveryJournal journal = DiscoveryJournal.open(path))
+		{
+			assertEquals(Set.of(graveyardUid, otherGraveyardUid), journal.discovered(playerUid));
+		}
+	}
+
+
+	@Test
+	void open_stops_at_record_of_unknown_type() throws IOException
+	{
+		// Arrange
+		try (DiscoveryJournal journal = DiscoveryJournal.open(path))
+		{
+			journal.append(graveyardUid, playerUid, Instant.now());
+		}
+		writeRecord(3, (byte) 0x7F, 0, 0L, 0L);
+
+		// Act
+		try (DiscoveryJournal journal = DiscoveryJournal.open(path))
+		{
+			// Assert
+			assertEquals(1, journal.size());
+			assertTrue(journal.contains(graveyardUid, playerUid));
+		}
+	}
+
+
+	@Test
+	void remove_writes_tombstone_that_survives_reopen() throws IOException
+	{
+		// Arrange
+		try (DiscoveryJournal journal = DiscoveryJournal.open(path))
+		{
+			journal.append(graveyardUid, playerUid, Instant.now());
+			journal.append(otherGraveyardUid, playerUid, Instant.now());
+
+			// Act
+			assertTrue(journal.remove(graveyardUid, playerUid));
+			assertFalse(journal.remove(graveyardUid, playerUid));
+		}
+
+		// Assert
+		try (DiscoveryJournal journal = DiscoveryJournal.open(path))
+		{
+			assertFalse(journal.contains(graveyardUid, playerUid));
+			assertTrue(journal.contains(otherGraveyardUid, playerUid));
+			assertEquals(1, journal.size());
+			assertTrue(journal.append(graveyardUid, playerUid, Instant.now()));
+		}
+	}
+
+
+	@Test
+	void removeGraveyard_removes_discoveries_of_every_player() throws IOException
+	{
+		// Arrange
+		try (DiscoveryJournal journal = DiscoveryJournal.open(path))
+		{
+			journal.append(graveyardUid, playerUid, Instant.now());
+			journal.append(graveyardUid, otherPlayerUid, Instant.now());
+			journal.append(otherGraveyardUid, otherPlayerUid, Instant.now());
+
+			// Act
+			int removed = journal.removeGraveyard(graveyardUid);
+
+			// Assert
+			assertEquals(2, removed);
+			assertEquals(0, journal.removeGraveyard(UUID.randomUUID()));
+		}
+
+		try (DiscoveryJournal journal = DiscoveryJournal.open(path))
+		{
+			assertEquals(Set.of(), journal.discovered(playerUid));
+			assertEquals(Set.of(otherGraveyardUid), journal.discovered(otherPlayerUid));
+			assertEquals(1, journal.size());
+		}
+	}
+
+
+	@Test
+	void compact_keeps_most_recent_record_of_each_live_discovery() throws IOException
+	{
+		// Arrange
+		try (DiscoveryJournal journal = DiscoveryJournal.open(path))
+		{
+			for (int i = 0; i < 1024; i++)
+			{
+				journal.append(otherGraveyardUid, otherPlayerUid, Instant.ofEpochSecond(i));
+				journal.remove(otherGraveyardUid, otherPlayerUid);
+			}
+			journal.append(graveyardUid, playerUid, Instant.ofEpochSecond(1000L));
+			journal.remove(graveyardUid, playerUid);
+			journal.append(graveyardUid, playerUid, Instant.ofEpochSecond(2000L));
+			assertTrue(journal.needsCompaction());
+
+			// Act
+			int removed = journal.compact();
+
+			// Assert
+			assertEquals(2 * 1024 + 2, removed);
+			assertFalse(journal.needsCompaction());
+			assertEquals(1, journal.size());
+		}
+
+		try (DiscoveryJournal journal = DiscoveryJournal.open(path))
+		{
+			List<Instant> timestamps = new ArrayList<>();
+			assertEquals(1, journal.forEach((graveyard, player, timestamp) -> timestamps.add(timestamp)));
+			assertEquals(List.of(Instant.ofEpochSecond(2000L)), timestamps);
+			assertTrue(journal.contains(graveyardUid, playerUid));
+			assertFalse(journal.contains(otherGraveyardUid, otherPlayerUid));
+		}
+		assertFalse(Files.exists(tempDir.resolve("discoveries.journal.compact")));
+	}
+
+
+	@Test
+	void open_completes_interrupted_compaction() throws IOException
+	{
+		// Arrange
+		try (DiscoveryJournal journal = DiscoveryJournal.open(path))
+		{
+			journal.append(graveyardUid, playerUid, Instant.now());
+		}
+
+		// the compacted journal was written, and the journal was being rewritten in place
+		Files.copy(path, tempDir.resolve("discoveries.journal.compact"));
+		try (DiscoveryJournal journal = DiscoveryJournal.open(path))
+		{
+			journal.append(otherGraveyardUid, otherPlayerUid, Instant.now());
+		}
+		Files.writeString(tempDir.resolve("discoveries.journal.tmp"), "partial");
+
+		// Act
+		try (DiscoveryJournal journal = DiscoveryJournal.open(path))
+		{
+			// Assert
+			assertTrue(journal.contains(graveyardUid, playerUid));
+			assertFalse(journal.contains(otherGraveyardUid, otherPlayerUid));
+			assertEquals(1, journal.size());
+		}
+		assertFalse(Files.exists(tempDir.resolve("discoveries.journal.compact")));
+		assertFalse(Files.exists(tempDir.resolve("discoveries.journal.tmp")));
+	}
+
+
+	@Test
+	void open_keeps_records_appended_after_compaction_was_rewritten() throws IOException
+	{
+		// Arrange
+		try (DiscoveryJournal journal = DiscoveryJournal.open(path))
+		{
+			journal.append(graveyardUid, playerUid, Instant.now());
+			journal.append(otherGraveyardUid, otherPlayerUid, Instant.now());
+		}
+
+		// the journal was rewritten in place and appended to, but the compacted journal was not yet deleted
+		int compactedSize = DiscoveryJournal.HEADER_SIZE + 3 * DiscoveryJournal.RECORD_SIZE;
+		Files.write(tempDir.resolve("discoveries.journal.compact"), Arrays.copyOf(Files.readAllBytes(path), compactedSize));
+
+		// Act
+		try (DiscoveryJournal journal = DiscoveryJournal.open(path))
+		{
+			// Assert
+			assertTrue(journal.contains(graveyardUid, playerUid));
+			assertTrue(journal.contains(otherGraveyardUid, otherPlayerUid));
+			assertEquals(2, journal.size());
+		}
+		assertFalse(Files.exists(tempDir.resolve("discoveries.journal.compact")));
+	}
+
+
+	@Test
+	void open_rejects_file_that_is_not_a_journal() throws IOException
+	{
+		// Arrange
+		Files.write(path, new byte[DiscoveryJournal.HEADER_SIZE + DiscoveryJournal.RECORD_SIZE]);
+
+		// Act
+		IOException exception = assertThrows(IOException.class, () -> DiscoveryJournal.open(path));
+
+		// Assert
+		assertTrue(exception.getMessage().contains(path.toString()));
+	}
+
+
+	/**
+	 * Write a raw record to the journal file, at the position of the given record index
+	 */
+	private void writeRecord(final int index, final byte type, final int a, final long b, final long c) throws IOException
+	{
+		ByteBuffer record = ByteBuffer.allocate(DiscoveryJournal.RECORD_SIZE);
+		record.put(0, type);
+		record.putInt(4, a);
+		record.putLong(8, b);
+		record.putLong(16, c);
+
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE))
+		{
+			channel.write(record, DiscoveryJournal.HEADER_SIZE + (long) index * DiscoveryJournal.RECORD_SIZE);
+		}
+	}
+
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.savagegraveyards.datastore.journal;
+
+import com.winterhavenmc.library.messagebuilder.models.configuration.ConfigRepository;
+import com.winterhavenmc.savagegraveyards.datastore.DatastoreEventBus;
+import com.winterhavenmc.savagegraveyards.datastore.DiscoveryCache;
+import com.winterhavenmc.savagegraveyards.datastore.GraveyardCatalog;
+import com.winterhavenmc.savagegraveyards.models.discovery.Discovery;
+import com.winterhavenmc.savagegraveyards.models.discovery.ValidDiscovery;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.lenient;
+
+
+/**
+ * Tests for the journal discovery repository, run against a temporary journal file
+ */
+@ExtendWith(MockitoExtension.class)
+class JournalDiscoveryRepositoryTest
+{
+	@TempDir Path tempDir;
+	@Mock ConfigRepository configRepositoryMock;
+
+	private final Logger logger = Logger.getLogger(JournalDiscoveryRepositoryTest.class.getName());
+	private final UUID graveyardUid = UUID.randomUUID();
+	private final UUID deletedGraveyardUid = UUID.randomUUID();
+	private final UUID playerUid = UUID.randomUUID();
+
+	private DiscoveryJournal journal;
+	private JournalDiscoveryRepository discoveries;
+
+
+	@BeforeEach
+	void setUp() throws IOException
+	{
+		lenient().when(configRepositoryMock.locale()).thenReturn(Locale.US);
+		journal = DiscoveryJournal.open(tempDir.resolve("discoveries.journal"));
+		discoveries = new JournalDiscoveryRepository(journal, new DiscoveryCache(new GraveyardCatalog(), 100),
+				graveyardUid::equals, new DatastoreEventBus(configRepositoryMock, logger),
+				Duration.ofMinutes(1), configRepositoryMock, logger);
+	}
+
+
+	@AfterEach
+	void tearDown()
+	{
+		discoveries.close();
+	}
+
+
+	@Test
+	void save_rejects_discovery_of_graveyard_that_does_not_exist()
+	{
+		// Act
+		boolean saved = discoveries.save((ValidDiscovery) Discovery.of(deletedGraveyardUid, playerUid));
+
+		// Assert
+		assertFalse(saved);
+		assertTrue(journal.discovered(playerUid).isEmpty());
+	}
+
+
+	@Test
+	void saveAll_skips_discoveries_of_graveyards_that_do_not_exist()
+	{
+		// Arrange
+		List<ValidDiscovery> batch = List.of(
+				(ValidDiscovery) Discovery.of(graveyardUid, playerUid),
+				(ValidDiscovery) Discovery.of(deletedGraveyardUid, playerUid));
+
+		// Act
+		int count = discoveries.saveAll(batch);
+
+		// Assert
+		assertEquals(1, count);
+		assertEquals(Set.of(graveyardUid), journal.discovered(playerUid));
+	}
+
+}
@@ -0,0 +1,497 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.savagegraveyards.datastore.mysql;
+
+import com.winterhavenmc.library.messagebuilder.models.configuration.ConfigRepository;
+import com.winterhavenmc.savagegraveyards.datastore.DatastoreEventBus;
+import com.winterhavenmc.savagegraveyards.datastore.DiscoveryCache;
+import com.winterhavenmc.savagegraveyards.datastore.GraveyardCatalog;
+import com.winterhavenmc.savagegraveyards.datastore.RepositoryEvent;
+import com.winterhavenmc.savagegraveyards.models.discovery.Discovery;
+import com.winterhavenmc.savagegraveyards.models.discovery.ValidDiscovery;
+
+import org.h2.jdbcx.JdbcDataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+
+/**
+ * Integration tests for the MySQL datastore, run against an in-memory H2 database in MySQL compatibility mode.
+ * Search keys are case-insensitive in H2, as they are under the MySQL default collation.
+ */
+@ExtendWith(MockitoExtension.class)
+class MysqlDatastoreTest
+{
+	@Mock ConfigRepository configRepositoryMock;
+
+	private final Logger logger = Logger.getLogger(MysqlDatastoreTest.class.getName());
+	private final UUID graveyardUid = UUID.randomUUID();
+	private final UUID playerUid = UUID.randomUUID();
+	private final UUID worldUid = UUID.randomUUID();
+
+	private JdbcDataSource dataSource;
+	private Connection keepAlive;
+	private DiscoveryCache discoveryCache;
+	private DatastoreEventBus eventBus;
+
+
+	@BeforeEach
+	void setUp() throws SQLException
+	{
+		lenient().when(configRepositoryMock.locale()).thenReturn(Locale.US);
+
+		dataSource = new JdbcDataSource();
+		dataSource.setURL("jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=MySQL;IGNORECASE=TRUE");
+
+		// hold a connection open, so that the in-memory database outlives each pooled connection
+		keepAlive = dataSource.getConnection();
+
+		discoveryCache = new DiscoveryCache(new GraveyardCatalog(), 100);
+		eventBus = new DatastoreEventBus(configRepositoryMock, logger);
+	}
+
+
+	@AfterEach
+	void tearDown() throws SQLException
+	{
+		keepAlive.close();
+	}
+
+
+	@Nested
+	class SchemaTests
+	{
+		@Test
+		void update_creates_tables_and_records_version() throws SQLException
+		{
+			// Arrange
+			MysqlSchemaUpdater schemaUpdater = new MysqlSchemaUpdater(configRepositoryMock, logger);
+
+			// Act
+			int result = schemaUpdater.update(keepAlive);
+
+			// Assert
+			assertEquals(MysqlSchemaUpdater.VERSION, result);
+			assertEquals(MysqlSchemaUpdater.VERSION, schemaUpdater.getSchemaVersion(keepAlive));
+			assertEquals(0, count("SELECT COUNT(*) FROM Graveyard"));
+			assertEquals(0, count("SELECT COUNT(*) FROM Player"));
+			assertEquals(0, count("SELECT COUNT(*) FROM Discovery"));
+		}
+
+
+		@Test
+		void update_is_repeatable() throws SQLException
+		{
+			// Arrange
+			MysqlSchemaUpdater schemaUpdater = new MysqlSchemaUpdater(configRepositoryMock, logger);
+			schemaUpdater.update(keepAlive);
+			insertGraveyard("test_graveyard");
+
+			// Act
+			int result = schemaUpdater.update(keepAlive);
+
+			// Assert
+			assertEquals(MysqlSchemaUpdater.VERSION, result);
+			assertEquals(1, count("SELECT COUNT(*) FROM Graveyard"));
+			assertEquals(1, count("SELECT COUNT(*) FROM SchemaVersion"));
+		}
+
+
+		@Test
+		void update_leaves_newer_version_unchanged() throws SQLException
+		{
+			// Arrange
+			MysqlSchemaUpdater schemaUpdater = new MysqlSchemaUpdater(configRepositoryMock, logger);
+			schemaUpdater.update(keepAlive);
+			try (Statement statement = keepAlive.createStatement())
+			{
+				statement.executeUpdate("UPDATE SchemaVersion SET Version = " + (MysqlSchemaUpdater.VERSION + 1));
+			}
+
+			// Act
+			int result = schemaUpdater.update(keepAlive);
+
+			// Assert
+			assertEquals(MysqlSchemaUpdater.VERSION + 1, result);
+			assertEquals(MysqlSchemaUpdater.VERSION + 1, schemaUpdater.getSchemaVersion(keepAlive));
+		}
+	}
+
+
+	@Nested
+	class DiscoveryTests
+	{
+		private MysqlDiscoveryRepository repository;
+
+
+		@BeforeEach
+		void setUp() throws SQLException
+		{
+			new MysqlSchemaUpdater(configRepositoryMock, logger).update(keepAlive);
+			insertGraveyard("test_graveyard");
+			MysqlChangeLog changeLog = new MysqlChangeLog(dataSource, MysqlSettings.ChangeLogSettings.DISABLED, configRepositoryMock, logger);
+			repository = new MysqlDiscoveryRepository(dataSource, configRepositoryMock, discoveryCache, changeLog, eventBus, logger);
+		}
+
+
+		@Test
+		void save_inserts_player_and_discovery() throws SQLException
+		{
+			// Act
+			boolean result = repository.save(discovery(Instant.ofEpochSecond(1_700_000_000L)));
+
+			// Assert
+			assertTrue(result);
+			assertEquals(1, count("SELECT COUNT(*) FROM Player"));
+			assertEquals(1_700_000_000L, count("SELECT Timestamp FROM Discovery"));
+		}
+
+
+		@Test
+		void save_publishes_discovery_added()
+		{
+			// Arrange
+			List<RepositoryEvent.DiscoveryAdded> events = new ArrayList<>();
+			eventBus.subscribe(RepositoryEvent.DiscoveryAdded.class, events::add);
+			ValidDiscovery discovery = discovery(Instant.now());
+
+			// Act
+			repository.save(discovery);
+			repository.save(discovery);
+
+			// Assert
+			assertEquals(List.of(new RepositoryEvent.DiscoveryAdded(discovery)), events);
+		}
+
+
+		@Test
+		void save_ignores_duplicate_discovery() throws SQLException
+		{
+			// Arrange
+			repository.save(discovery(Instant.now()));
+
+			// Act
+			boolean result = repository.save(discovery(Instant.now()));
+
+			// Assert
+			assertFalse(result);
+			assertEquals(1, count("SELECT COUNT(*) FROM Player"));
+			assertEquals(1, count("SELECT COUNT(*) FROM Discovery"));
+		}
+
+
+		@Test
+		void loadPlayer_places_discoveries_in_cache()
+		{
+			// Arrange
+			repository.save(discovery(Instant.now()));
+
+			// Act
+			repository.loadPlayer(playerUid);
+
+			// Assert
+			assertTrue(discoveryCache.get(playerUid).isPresent());
+			assertTrue(discoveryCache.isKnown(playerUid, graveyardUid));
+		}
+
+
+		@Test
+		void delete_removes_discovery() throws SQLException
+		{
+			// Arrange
+			repository.save(discovery(Instant.now()));
+
+			// Act
+			boolean result = repository.delete(graveyardUid, playerUid);
+
+			// Assert
+			assertTrue(result);
+			assertEquals(0, count("SELECT COUNT(*) FROM Discovery"));
+		}
+
+
+		@Test
+		void deleting_graveyard_removes_its_discoveries() throws SQLException
+		{
+			// Arrange
+			repository.save(discovery(Instant.now()));
+
+			// Act
+			try (PreparedStatement statement = keepAlive.prepareStatement(MysqlQueries.getQuery("DeleteGraveyard")))
+			{
+				statement.setString(1, "TEST_GRAVEYARD");
+				statement.executeUpdate();
+			}
+
+			// Assert
+			assertEquals(0, count("SELECT COUNT(*) FROM Graveyard"));
+			assertEquals(0, count("SELECT COUNT(*) FROM Discovery"));
+		}
+	}
+
+
+	@Nested
+	class ChangeLogTests
+	{
+		@Mock MysqlGraveyardRepository graveyardRepositoryMock;
+
+		// the poll interval is long enough that the scheduled poll never runs; each test polls directly
+		private final MysqlSettings.ChangeLogSettings enabled = new MysqlSettings.ChangeLogSettings(true, 3_600_000L, 500, 100L, 60L);
+		private MysqlChangeLog changeLogA;
+		private MysqlChangeLog changeLogB;
+		private MysqlDiscoveryRepository repositoryA;
+		private DiscoveryCache discoveryCacheB;
+
+
+		@BeforeEach
+		void setUp() throws SQLException
+		{
+			new MysqlSchemaUpdater(configRepositoryMock, logger).update(keepAlive);
+			insertGraveyard("test_graveyard");
+
+			changeLogA = new MysqlChangeLog(dataSource, enabled, configRepositoryMock, logger);
+			changeLogA.initialize(keepAlive);
+			repositoryA = new MysqlDiscoveryRepository(dataSource, configRepositoryMock, discoveryCache, changeLogA, eventBus, logger);
+
+			discoveryCacheB = new DiscoveryCache(new GraveyardCatalog(), 100);
+			changeLogB = new MysqlChangeLog(dataSource, enabled, configRepositoryMock, logger);
+			changeLogB.initialize(keepAlive);
+			changeLogB.start(graveyardRepositoryMock, new MysqlDiscoveryRepository(dataSource, configRepositoryMock,
+					discoveryCacheB, changeLogB, eventBus, logger));
+		}
+
+
+		@Test
+		void save_appends_change() throws SQLException
+		{
+			// Act
+			repositoryA.save(discovery(Instant.now()));
+
+			// Assert
+			assertEquals(1, count("SELECT COUNT(*) FROM ChangeLog"));
+			assertEquals(2, count("SELECT Kind FROM ChangeLog"));
+		}
+
+
+		@Test
+		void disabled_change_log_appends_nothing() throws SQLException
+		{
+			// Arrange
+			MysqlChangeLog disabled = new MysqlChangeLog(dataSource, MysqlSettings.ChangeLogSettings.DISABLED, configRepositoryMock, logger);
+
+			// Act
+			disabled.append(keepAlive, MysqlChangeLog.Kind.GRAVEYARD, graveyardUid, null);
+
+			// Assert
+			assertEquals(0, count("SELECT COUNT(*) FROM ChangeLog"));
+			assertTrue(disabled.statistics().isEmpty());
+		}
+
+
+		@Test
+		void poll_applies_discovery_saved_by_other_server() throws SQLException
+		{
+			// Arrange
+			MysqlDiscoveryRepository repositoryB = new MysqlDiscoveryRepository(dataSource, configRepositoryMock,
+					discoveryCacheB, changeLogB, eventBus, logger);
+			repositoryB.loadPlayer(playerUid);
+			repositoryA.save(discovery(Instant.now()));
+
+			// Act
+			changeLogB.poll();
+
+			// Assert
+			assertTrue(discoveryCacheB.isKnown(playerUid, graveyardUid));
+			assertEquals("1", changeLogB.statistics().get("change_log_applied"));
+			assertEquals("1", changeLogB.statistics().get("change_log_lag_entries"));
+		}
+
+
+		@Test
+		void poll_applies_discovery_deleted_by_other_server() throws SQLException
+		{
+			// Arrange
+			MysqlDiscoveryRepository repositoryB = new MysqlDiscoveryRepository(dataSource, configRepositoryMock,
+					discoveryCacheB, changeLogB, eventBus, logger);
+			repositoryA.save(discovery(Instant.now()));
+			repositoryB.loadPlayer(playerUid);
+			changeLogB.poll();
+
+			// Act
+			repositoryA.delete(graveyardUid, playerUid);
+			changeLogB.poll();
+
+			// Assert
+			assertFalse(discoveryCacheB.isKnown(playerUid, graveyardUid));
+		}
+
+
+		@Test
+		void poll_publishes_each_remote_discovery_once() throws SQLException
+		{
+			// Arrange
+			List<RepositoryEvent> events = new ArrayList<>();
+			MysqlDiscoveryRepository repositoryB = new MysqlDiscoveryRepository(dataSource, configRepositoryMock,
+					discoveryCacheB, changeLogB, eventBus, logger);
+			repositoryB.loadPlayer(playerUid);
+			repositoryA.save(discovery(Instant.now()));
+			eventBus.subscribe(RepositoryEvent.class, events::add);
+
+			// Act
+			changeLogB.poll();
+			repositoryB.refresh(graveyardUid, playerUid);
+
+			// Assert
+			assertEquals(1, events.size());
+			assertInstanceOf(RepositoryEvent.DiscoveryAdded.class, events.getFirst());
+		}
+
+
+		@Test
+		void poll_skips_own_changes() throws SQLException
+		{
+			// Arrange
+			changeLogA.start(graveyardRepositoryMock, repositoryA);
+			repositoryA.save(discovery(Instant.now()));
+
+			// Act
+			changeLogA.poll();
+
+			// Assert
+			assertEquals("0", changeLogA.statistics().get("change_log_applied"));
+		}
+
+
+		@Test
+		void poll_refreshes_graveyard_changed_by_other_server() throws SQLException
+		{
+			// Arrange
+			changeLogA.append(keepAlive, MysqlChangeLog.Kind.GRAVEYARD, graveyardUid, null);
+
+			// Act
+			changeLogB.poll();
+
+			// Assert
+			verify(graveyardRepositoryMock).refresh(graveyardUid);
+		}
+
+
+		@Test
+		void poll_resyncs_when_too_far_behind() throws SQLException
+		{
+			// Arrange
+			for (int i = 0; i <= enabled.resyncThreshold(); i++)
+			{
+				changeLogA.append(keepAlive, MysqlChangeLog.Kind.GRAVEYARD, graveyardUid, null);
+			}
+
+			// Act
+			changeLogB.poll();
+
+			// Assert
+			verify(graveyardRepositoryMock).loadCatalog();
+			verify(graveyardRepositoryMock, never()).refresh(graveyardUid);
+			assertEquals("1", changeLogB.statistics().get("change_log_resyncs"));
+		}
+
+
+		@Test
+		void poll_resyncs_when_next_change_was_pruned() throws SQLException
+		{
+			// Arrange
+			changeLogA.append(keepAlive, MysqlChangeLog.Kind.GRAVEYARD, graveyardUid, null);
+			changeLogA.append(keepAlive, MysqlChangeLog.Kind.GRAVEYARD, graveyardUid, null);
+			try (Statement statement = keepAlive.createStatement())
+			{
+				statement.executeUpdate("DELETE FROM ChangeLog WHERE Seq = (SELECT MIN(Seq) FROM ChangeLog)");
+			}
+
+			// Act
+			changeLogB.poll();
+
+			// Assert
+			verify(graveyardRepositoryMock).loadCatalog();
+		}
+
+
+		@AfterEach
+		void tearDown()
+		{
+			changeLogA.close();
+			changeLogB.close();
+		}
+	}
+
+
+	private ValidDiscovery discovery(final Instant timestamp)
+	{
+		return (ValidDiscovery) Discovery.of(graveyardUid, playerUid, timestamp);
+	}
+
+
+	private void insertGraveyard(final String searchKey) throws SQLException
+	{
+		try (PreparedStatement statement = keepAlive.prepareStatement(
+				"INSERT INTO Graveyard (SearchKey, Name, UidMsb, UidLsb, WorldName, WorldUidMsb, WorldUidLsb) VALUES (?, ?, ?, ?, ?, ?, ?)"))
+		{
+			statement.setString(1, searchKey);
+			statement.setString(2, searchKey.replace('_', ' '));
+			statement.setLong(3, graveyardUid.getMostSignificantBits());
+			statement.setLong(4, graveyardUid.getLeastSignificantBits());
+			statement.setString(5, "world");
+			statement.setLong(6, worldUid.getMostSignificantBits());
+			statement.setLong(7, worldUid.getLeastSignificantBits());
+			statement.executeUpdate();
+		}
+	}
+
+
+	private long count(final String query) throws SQLException
+	{
+		try (Statement statement = keepAlive.createStatement();
+		     ResultSet resultSet = statement.executeQuery(query))
+		{
+			return (resultSet.next()) ? resultSet.getLong(1) : -1;
+		}
+	}
+
+}
@@ -0,0 +1,272 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.savagegraveyards.datastore.sqlite;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+/**
+ * Tests for the GraveyardRange R*Tree mirror of graveyard discovery ranges, run against a temporary database file
+ */
+class GraveyardRangeIndexTest
+{
+	private static final UUID WORLD_UID = new UUID(1L, 1L);
+	private static final UUID OTHER_WORLD_UID = new UUID(2L, 2L);
+
+	@TempDir Path tempDir;
+
+	private Connection connection;
+
+
+	@BeforeEach
+	void setUp() throws SQLException
+	{
+		connection = DriverManager.getConnection("jdbc:sqlite:" + tempDir.resolve("graveyards.db"));
+
+		try (Statement statement = connection.createStatement())
+		{
+			statement.execute(SqliteQueries.getQuery("CreateGraveyardTable"));
+			statement.execute(SqliteQueries.getQuery("CreateGraveyardRangeTable"));
+			statement.execute(SqliteQueries.getQuery("CreateGraveyardRangeDeleteTrigger"));
+		}
+	}
+
+
+	@AfterEach
+	void tearDown() throws SQLException
+	{
+		connection.close();
+	}
+
+
+	@Test
+	void upsert_mirrors_inserted_graveyard_as_bounding_box() throws SQLException
+	{
+		// Arrange
+		UUID graveyardUid = insertGraveyard("spawn", WORLD_UID, 100, 64, -50, 10, true);
+
+		// Act
+		int count = upsertRange(graveyardUid, 50);
+
+		// Assert
+		assertEquals(1, count);
+		assertArrayEquals(new double[] { 90, 110, 54, 74, -60, -40 }, box(graveyardUid));
+	}
+
+
+	@Test
+	void upsert_replaces_box_after_update() throws SQLException
+	{
+		// Arrange
+		UUID graveyardUid = insertGraveyard("spawn", WORLD_UID, 100, 64, -50, 10, true);
+		upsertRange(graveyardUid, 50);
+		try (PreparedStatement statement = connection.prepareStatement(
+				"UPDATE Graveyard SET X = 200, DiscoveryRange = 5 WHERE UidMsb = ? AND UidLsb = ?"))
+		{
+			statement.setLong(1, graveyardUid.getMostSignificantBits());
+			statement.setLong(2, graveyardUid.getLeastSignificantBits());
+			statement.executeUpdate();
+		}
+
+		// Act
+		upsertRange(graveyardUid, 50);
+
+		// Assert
+		assertEquals(1L, count("GraveyardRange"));
+		assertArrayEquals(new double[] { 195, 205, 59, 69, -55, -45 }, box(graveyardUid));
+	}
+
+
+	@Test
+	void delete_trigger_removes_box() throws SQLException
+	{
+		// Arrange
+		UUID graveyardUid = insertGraveyard("spawn", WORLD_UID, 100, 64, -50, 10, true);
+		upsertRange(graveyardUid, 50);
+
+		// Act
+		try (PreparedStatement statement = connection.prepareStatement(SqliteQueries.getQuery("DeleteGraveyard")))
+		{
+			statement.setString(1, "spawn");
+			statement.executeUpdate();
+		}
+
+		// Assert
+		assertEquals(0L, count("GraveyardRange"));
+	}
+
+
+	@Test
+	void negative_range_uses_default_range() throws SQLException
+	{
+		// Arrange
+		UUID graveyardUid = insertGraveyard("spawn", WORLD_UID, 100, 64, -50, -1, true);
+
+		// Act
+		upsertRange(graveyardUid, 25);
+
+		// Assert
+		assertArrayEquals(new double[] { 75, 125, 39, 89, -75, -25 }, box(graveyardUid));
+	}
+
+
+	@Test
+	void upsert_all_rebuilds_default_boxes_for_new_default_range() throws SQLException
+	{
+		// Arrange
+		UUID defaultUid = insertGraveyard("spawn", WORLD_UID, 100, 64, -50, -1, true);
+		UUID explicitUid = insertGraveyard("harbor", WORLD_UID, 0, 64, 0, 10, true);
+		upsertRange(defaultUid, 25);
+		upsertRange(explicitUid, 25);
+
+		// Act
+		int count;
+		try (PreparedStatement statement = connection.prepareStatement(SqliteQueries.getQuery("UpsertAllGraveyardRanges")))
+		{
+			statement.setInt(1, 40);
+			count = statement.executeUpdate();
+		}
+
+		// Assert
+		assertEquals(2, count);
+		assertArrayEquals(new double[] { 60, 140, 24, 104, -90, -10 }, box(defaultUid));
+		assertArrayEquals(new double[] { -10, 10, 54, 74, -10, 10 }, box(explicitUid));
+	}
+
+
+	@Test
+	void select_in_range_returns_only_enabled_hidden_graveyards_in_player_world() throws SQLException
+	{
+		// Arrange
+		UUID nearUid = insertGraveyard("near", WORLD_UID, 100, 64, -50, 10, true);
+		UUID farUid = insertGraveyard("far", WORLD_UID, 500, 64, -50, 10, true);
+		UUID otherWorldUid = insertGraveyard("other", OTHER_WORLD_UID, 100, 64, -50, 10, true);
+		UUID visibleUid = insertGraveyard("visible", WORLD_UID, 100, 64, -50, 10, false);
+		for (UUID graveyardUid : List.of(nearUid, farUid, otherWorldUid, visibleUid))
+		{
+			upsertRange(graveyardUid, 50);
+		}
+
+		// Act
+		List<UUID> result = new ArrayList<>();
+		try (PreparedStatement statement = connection.prepareStatement(SqliteQueries.getQuery("SelectGraveyardUidsInRange")))
+		{
+			statement.setDouble(1, 105);
+			statement.setDouble(2, 64);
+			statement.setDouble(3, -45);
+			statement.setLong(4, WORLD_UID.getMostSignificantBits());
+			statement.setLong(5, WORLD_UID.getLeastSignificantBits());
+			try (ResultSet resultSet = statement.executeQuery())
+			{
+				while (resultSet.next())
+				{
+					result.add(new UUID(resultSet.getLong("UidMsb"), resultSet.getLong("UidLsb")));
+				}
+			}
+		}
+
+		// Assert
+		assertEquals(List.of(nearUid), result);
+	}
+
+
+	private UUID insertGraveyard(final String searchKey, final UUID worldUid,
+	                             final double x, final double y, final double z,
+	                             final int discoveryRange, final boolean hidden) throws SQLException
+	{
+		UUID graveyardUid = UUID.randomUUID();
+
+		try (PreparedStatement statement = connection.prepareStatement("INSERT INTO Graveyard "
+				+ "(SearchKey, Name, UidMsb, UidLsb, Enabled, Hidden, DiscoveryRange, WorldName, WorldUidMsb, WorldUidLsb, X, Y, Z) "
+				+ "VALUES (?, ?, ?, ?, 1, ?, ?, 'world', ?, ?, ?, ?, ?)"))
+		{
+			statement.setString(1, searchKey);
+			statement.setString(2, searchKey);
+			statement.setLong(3, graveyardUid.getMostSignificantBits());
+			statement.setLong(4, graveyardUid.getLeastSignificantBits());
+			statement.setBoolean(5, hidden);
+			statement.setInt(6, discoveryRange);
+			statement.setLong(7, worldUid.getMostSignificantBits());
+			statement.setLong(8, worldUid.getLeastSignificantBits());
+			statement.setDouble(9, x);
+			statement.setDouble(10, y);
+			statement.setDouble(11, z);
+			statement.executeUpdate();
+		}
+
+		return graveyardUid;
+	}
+
+
+	private int upsertRange(final UUID graveyardUid, final int defaultRange) throws SQLException
+	{
+		try (PreparedStatement statement = connection.prepareStatement(SqliteQueries.getQuery("UpsertGraveyardRange")))
+		{
+			return new SqliteGraveyardQueryExecutor().upsertGraveyardRange(graveyardUid, defaultRange, statement);
+		}
+	}
+
+
+	private double[] box(final UUID graveyardUid) throws SQLException
+	{
+		try (PreparedStatement statement = connection.prepareStatement("SELECT MinX, MaxX, MinY, MaxY, MinZ, MaxZ "
+				+ "FROM GraveyardRange INNER JOIN Graveyard ON Graveyard.Key = GraveyardRange.Key "
+				+ "WHERE Graveyard.UidMsb = ? AND Graveyard.UidLsb = ?"))
+		{
+			statement.setLong(1, graveyardUid.getMostSignificantBits());
+			statement.setLong(2, graveyardUid.getLeastSignificantBits());
+			try (ResultSet resultSet = statement.executeQuery())
+			{
+				assertTrue(resultSet.next());
+				double[] box = new double[6];
+				for (int i = 0; i < box.length; i++)
+				{
+					box[i] = resultSet.getDouble(i + 1);
+				}
+				return box;
+			}
+		}
+	}
+
+
+	private long count(final String tableName) throws SQLException
+	{
+		try (Statement statement = connection.createStatement();
+		     ResultSet resultSet = statement.executeQuery("SELECT COUNT(*) FROM " + tableName))
+		{
+			return resultSet.next() ? resultSet.getLong(1) : 0L;
+		}
+	}
+
+}
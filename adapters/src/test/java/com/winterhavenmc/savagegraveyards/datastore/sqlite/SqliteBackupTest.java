@@ -0,0 +1,221 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.savagegraveyards.datastore.sqlite;
+
+import com.winterhavenmc.library.messagebuilder.models.configuration.ConfigRepository;
+import com.winterhavenmc.savagegraveyards.datastore.DatastoreBackup;
+import com.winterhavenmc.savagegraveyards.datastore.DatastoreEventBus;
+import com.winterhavenmc.savagegraveyards.datastore.DiscoveryCache;
+import com.winterhavenmc.savagegraveyards.datastore.GraveyardCatalog;
+import com.winterhavenmc.savagegraveyards.datastore.journal.DiscoveryJournal;
+import com.winterhavenmc.savagegraveyards.datastore.journal.JournalDiscoveryRepository;
+import com.winterhavenmc.savagegraveyards.datastore.sqlite.schema.Schema;
+import com.winterhavenmc.savagegraveyards.models.discovery.Discovery;
+import com.winterhavenmc.savagegraveyards.models.discovery.ValidDiscovery;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.lenient;
+
+
+/**
+ * Tests for SQLite backups and staged restores, run against a temporary database file
+ */
+@ExtendWith(MockitoExtension.class)
+class SqliteBackupTest
+{
+	@Mock ConfigRepository configRepositoryMock;
+
+	@TempDir Path tempDir;
+
+	private final Logger logger = Logger.getLogger(SqliteBackupTest.class.getName());
+
+	private Path dataFile;
+	private Path journalFile;
+	private SqliteSettings settings;
+	private SqliteBackup backup;
+
+
+	@BeforeEach
+	void setUp() throws SQLException
+	{
+		lenient().when(configRepositoryMock.locale()).thenReturn(Locale.US);
+
+		dataFile = tempDir.resolve("graveyards.db");
+		journalFile = tempDir.resolve("discoveries.journal");
+		try (Connection connection = DriverManager.getConnection("jdbc:sqlite:" + dataFile);
+		     Statement statement = connection.createStatement())
+		{
+			statement.execute(SqliteQueries.getQuery("CreateGraveyardTable"));
+			statement.execute("PRAGMA user_version = " + Schema.VERSION);
+		}
+
+		SqliteSettings profile = SqliteSettings.of(SqliteSettings.Profile.SAFE);
+		settings = new SqliteSettings(profile.profile(), profile.journalMode(), profile.synchronous(),
+				profile.cacheSize(), profile.mmapSize(), profile.tempStore(), profile.busyTimeout(),
+				profile.readPoolSize(), profile.readPoolTimeout(), profile.maintenance(),
+				new SqliteSettings.BackupSettings(0L, 2, 1, 0));
+
+		backup = new SqliteBackup(dataFile, journalFile, null, settings, configRepositoryMock, logger);
+	}
+
+
+	@AfterEach
+	void tearDown()
+	{
+		backup.close();
+	}
+
+
+	private int schemaVersion(final Path file) throws SQLException
+	{
+		try (Connection connection = DriverManager.getConnection("jdbc:sqlite:" + file);
+		     Statement statement = connection.createStatement();
+		     ResultSet resultSet = statement.executeQuery("PRAGMA user_version"))
+		{
+			return resultSet.next() ? resultSet.getInt(1) : 0;
+		}
+	}
+
+
+	@Test
+	void backup_writes_valid_copy_of_datastore() throws Exception
+	{
+		// Act
+		DatastoreBackup.BackupResult result = backup.backup().join();
+
+		// Assert
+		Path file = tempDir.resolve(SqliteBackup.DIRECTORY_NAME).resolve(result.fileName());
+		assertTrue(Files.isRegularFile(file));
+		assertEquals(Files.size(file), result.size());
+		assertEquals(List.of(result.fileName()), backup.list());
+		assertTrue(SqliteBackup.validate(file, configRepositoryMock, logger).isEmpty());
+	}
+
+
+	@Test
+	void stageRestore_rejects_file_outside_backup_directory()
+	{
+		// Act
+		DatastoreBackup.RestoreStatus status = backup.stageRestore("../graveyards.db").join();
+
+		// Assert
+		assertEquals(DatastoreBackup.RestoreStatus.NOT_FOUND, status);
+	}
+
+
+	@Test
+	void stageRestore_rejects_file_with_wrong_schema_version() throws Exception
+	{
+		// Arrange
+		String fileName = backup.backup().join().fileName();
+		Path file = tempDir.resolve(SqliteBackup.DIRECTORY_NAME).resolve(fileName);
+		try (Connection connection = DriverManager.getConnection("jdbc:sqlite:" + file);
+		     Statement statement = connection.createStatement())
+		{
+			statement.execute("PRAGMA user_version = " + (Schema.VERSION + 1));
+		}
+
+		// Act
+		DatastoreBackup.RestoreStatus status = backup.stageRestore(fileName).join();
+
+		// Assert
+		assertEquals(DatastoreBackup.RestoreStatus.INVALID, status);
+		assertFalse(Files.exists(tempDir.resolve("graveyards.db" + SqliteBackup.STAGED_RESTORE_SUFFIX)));
+	}
+
+
+	@Test
+	void restoreStaged_replaces_datastore_file() throws Exception
+	{
+		// Arrange
+		String fileName = backup.backup().join().fileName();
+		assertEquals(DatastoreBackup.RestoreStatus.STAGED, backup.stageRestore(fileName).join());
+		try (Connection connection = DriverManager.getConnection("jdbc:sqlite:" + dataFile);
+		     Statement statement = connection.createStatement())
+		{
+			statement.execute("PRAGMA user_version = 1");
+		}
+
+		// Act
+		SqliteBackup.restoreStaged(dataFile, journalFile, configRepositoryMock, logger);
+
+		// Assert
+		assertEquals(Schema.VERSION, schemaVersion(dataFile));
+		assertFalse(Files.exists(tempDir.resolve("graveyards.db" + SqliteBackup.STAGED_RESTORE_SUFFIX)));
+		try (Stream<Path> paths = Files.list(tempDir.resolve(SqliteBackup.DIRECTORY_NAME)))
+		{
+			assertTrue(paths.anyMatch(path -> path.getFileName().toString().startsWith("replaced-")));
+		}
+	}
+
+
+	@Test
+	void restoreStaged_replaces_journal_with_copy_taken_at_backup() throws Exception
+	{
+		// Arrange
+		UUID graveyardUid = UUID.randomUUID();
+		UUID laterGraveyardUid = UUID.randomUUID();
+		UUID playerUid = UUID.randomUUID();
+		JournalDiscoveryRepository journal = new JournalDiscoveryRepository(DiscoveryJournal.open(journalFile),
+				new DiscoveryCache(new GraveyardCatalog(), 100), graveyard -> true,
+				new DatastoreEventBus(configRepositoryMock, logger), Duration.ofMinutes(1), configRepositoryMock, logger);
+		SqliteBackup journalBackup = new SqliteBackup(dataFile, journalFile, journal, settings, configRepositoryMock, logger);
+		journal.save((ValidDiscovery) Discovery.of(graveyardUid, playerUid));
+		String fileName = journalBackup.backup().join().fileName();
+		journal.save((ValidDiscovery) Discovery.of(laterGraveyardUid, playerUid));
+		assertEquals(DatastoreBackup.RestoreStatus.STAGED, journalBackup.stageRestore(fileName).join());
+		journalBackup.close();
+		journal.close();
+
+		// Act
+		SqliteBackup.restoreStaged(dataFile, journalFile, configRepositoryMock, logger);
+
+		// Assert
+		assertTrue(Files.isRegularFile(SqliteBackup.journalBackup(tempDir.resolve(SqliteBackup.DIRECTORY_NAME).resolve(fileName))));
+		assertFalse(Files.exists(tempDir.resolve("discoveries.journal" + SqliteBackup.STAGED_RESTORE_SUFFIX)));
+		try (DiscoveryJournal restored = DiscoveryJournal.open(journalFile))
+		{
+			assertEquals(Set.of(graveyardUid), restored.discovered(playerUid));
+		}
+	}
+
+}
@@ -0,0 +1,233 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.savagegraveyards.datastore.sqlite;
+
+import com.winterhavenmc.library.messagebuilder.models.configuration.ConfigRepository;
+import com.winterhavenmc.savagegraveyards.datastore.DatastoreEventBus;
+import com.winterhavenmc.savagegraveyards.datastore.DiscoveryCache;
+import com.winterhavenmc.savagegraveyards.datastore.GraveyardCatalog;
+import com.winterhavenmc.savagegraveyards.datastore.RepositoryEvent;
+import com.winterhavenmc.savagegraveyards.models.discovery.Discovery;
+import com.winterhavenmc.savagegraveyards.models.discovery.ValidDiscovery;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.lenient;
+
+
+/**
+ * Tests for the write-behind discovery writer, run against a temporary database file
+ */
+@ExtendWith(MockitoExtension.class)
+class SqliteDiscoveryWriterTest
+{
+	@Mock ConfigRepository configRepositoryMock;
+
+	@TempDir Path tempDir;
+
+	private final Logger logger = Logger.getLogger(SqliteDiscoveryWriterTest.class.getName());
+	private final UUID graveyardUid = UUID.randomUUID();
+	private final List<RepositoryEvent.DiscoveryAdded> addedEvents = new CopyOnWriteArrayList<>();
+
+	private String dbUrl;
+	private Connection connection;
+	private DiscoveryCache discoveryCache;
+	private DatastoreEventBus eventBus;
+
+
+	@BeforeEach
+	void setUp() throws SQLException
+	{
+		lenient().when(configRepositoryMock.locale()).thenReturn(Locale.US);
+
+		dbUrl = "jdbc:sqlite:" + tempDir.resolve("graveyards.db");
+		connection = DriverManager.getConnection(dbUrl);
+
+		try (Statement statement = connection.createStatement())
+		{
+			statement.execute(SqliteQueries.getQuery("CreateGraveyardTable"));
+			statement.execute(SqliteQueries.getQuery("CreatePlayerTable"));
+			statement.execute(SqliteQueries.getQuery("CreateDiscoveryTable"));
+		}
+
+		try (PreparedStatement statement = connection.prepareStatement("INSERT INTO Graveyard "
+				+ "(SearchKey, Name, UidMsb, UidLsb, WorldName, WorldUidMsb, WorldUidLsb) VALUES (?, ?, ?, ?, 'world', 0, 0)"))
+		{
+			statement.setString(1, graveyardUid.toString());
+			statement.setString(2, graveyardUid.toString());
+			statement.setLong(3, graveyardUid.getMostSignificantBits());
+			statement.setLong(4, graveyardUid.getLeastSignificantBits());
+			statement.executeUpdate();
+		}
+
+		discoveryCache = new DiscoveryCache(new GraveyardCatalog(), 10);
+		eventBus = new DatastoreEventBus(configRepositoryMock, logger);
+		eventBus.subscribe(RepositoryEvent.DiscoveryAdded.class, addedEvents::add);
+	}
+
+
+	@AfterEach
+	void tearDown() throws SQLException
+	{
+		connection.close();
+	}
+
+
+	@Test
+	void offer_refused_before_start()
+	{
+		// Arrange
+		SqliteDiscoveryWriter writer = writer(10, Duration.ofSeconds(30));
+
+		// Act
+		boolean accepted = writer.offer(discovery());
+
+		// Assert
+		assertFalse(accepted);
+	}
+
+
+	@Test
+	void flush_writes_queued_discoveries() throws SQLException
+	{
+		// Arrange
+		SqliteDiscoveryWriter writer = writer(100, Duration.ofSeconds(30));
+		writer.start();
+		ValidDiscovery first = discovery();
+		ValidDiscovery second = discovery();
+		assertTrue(writer.offer(first));
+		assertTrue(writer.offer(second));
+
+		// Act
+		writer.flush();
+
+		// Assert
+		assertEquals(2, discoveryCount());
+		assertFalse(discoveryCache.isPendingWrite(first.playerUid(), graveyardUid));
+		assertFalse(discoveryCache.isPendingWrite(second.playerUid(), graveyardUid));
+		assertEquals(2, addedEvents.size());
+		writer.close();
+	}
+
+
+	@Test
+	void close_writes_queued_discoveries_and_refuses_further_offers() throws SQLException
+	{
+		// Arrange
+		SqliteDiscoveryWriter writer = writer(100, Duration.ofSeconds(30));
+		writer.start();
+		for (int i = 0; i < 5; i++)
+		{
+			assertTrue(writer.offer(discovery()));
+		}
+
+		// Act
+		writer.close();
+
+		// Assert
+		assertEquals(5, discoveryCount());
+		assertFalse(writer.isRunning());
+		assertFalse(writer.offer(discovery()));
+	}
+
+
+	@Test
+	void offer_refuses_discovery_already_pending()
+	{
+		// Arrange
+		SqliteDiscoveryWriter writer = writer(100, Duration.ofSeconds(30));
+		writer.start();
+		ValidDiscovery discovery = discovery();
+		assertTrue(writer.offer(discovery));
+
+		// Act
+		boolean accepted = writer.offer((ValidDiscovery) Discovery.of(graveyardUid, discovery.playerUid()));
+
+		// Assert
+		assertFalse(accepted);
+		writer.close();
+	}
+
+
+	@Test
+	void writer_thread_writes_full_batch_without_flush() throws Exception
+	{
+		// Arrange
+		SqliteDiscoveryWriter writer = writer(2, Duration.ofSeconds(30));
+		writer.start();
+
+		// Act
+		writer.offer(discovery());
+		writer.offer(discovery());
+
+		// Assert
+		long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+		while (discoveryCount() < 2 && System.nanoTime() < deadline)
+		{
+			Thread.sleep(10);
+		}
+		assertEquals(2, discoveryCount());
+		writer.close();
+	}
+
+
+	private SqliteDiscoveryWriter writer(final int batchSize, final Duration flushInterval)
+	{
+		return new SqliteDiscoveryWriter(dbUrl, configRepositoryMock, discoveryCache, eventBus,
+				SqliteSettings.of(SqliteSettings.Profile.SAFE), batchSize, flushInterval, logger);
+	}
+
+
+	private ValidDiscovery discovery()
+	{
+		return (ValidDiscovery) Discovery.of(graveyardUid, UUID.randomUUID());
+	}
+
+
+	private long discoveryCount() throws SQLException
+	{
+		try (Statement statement = connection.createStatement();
+		     ResultSet resultSet = statement.executeQuery("SELECT COUNT(*) FROM Discovery"))
+		{
+			return resultSet.next() ? resultSet.getLong(1) : 0L;
+		}
+	}
+
+}
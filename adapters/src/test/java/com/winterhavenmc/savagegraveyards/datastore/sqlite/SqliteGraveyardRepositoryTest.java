@@ -0,0 +1,281 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.savagegraveyards.datastore.sqlite;
+
+import com.winterhavenmc.library.messagebuilder.models.configuration.ConfigRepository;
+import com.winterhavenmc.savagegraveyards.datastore.DatastoreEventBus;
+import com.winterhavenmc.savagegraveyards.datastore.DiscoveryCache;
+import com.winterhavenmc.savagegraveyards.datastore.DiscoverySource;
+import com.winterhavenmc.savagegraveyards.datastore.GraveyardCatalog;
+import com.winterhavenmc.savagegraveyards.datastore.sqlite.schema.Version4;
+import com.winterhavenmc.savagegraveyards.models.displayname.ValidDisplayName;
+import com.winterhavenmc.savagegraveyards.models.graveyard.ValidGraveyard;
+import com.winterhavenmc.savagegraveyards.models.graveyard.attributes.*;
+import com.winterhavenmc.savagegraveyards.models.location.ValidLocation;
+import com.winterhavenmc.savagegraveyards.models.world.WorldRegistry;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.when;
+
+
+/**
+ * Tests for the discovery range index maintained by the SQLite graveyard repository, run against a temporary
+ * database file
+ */
+@ExtendWith(MockitoExtension.class)
+class SqliteGraveyardRepositoryTest
+{
+	private static final int DEFAULT_RANGE = 50;
+
+	@Mock ConfigRepository configRepositoryMock;
+	@Mock World worldMock;
+	@Mock Player playerMock;
+
+	@TempDir Path tempDir;
+
+	private final Logger logger = Logger.getLogger(SqliteGraveyardRepositoryTest.class.getName());
+	private final UUID worldUid = UUID.randomUUID();
+	private final UUID playerUid = UUID.randomUUID();
+
+	private Connection connection;
+	private SqliteStatementCache statementCache;
+	private SqliteReadPool readPool;
+	private DiscoveryCache discoveryCache;
+	private SqliteGraveyardRepository graveyards;
+
+
+	@BeforeEach
+	void setUp() throws SQLException
+	{
+		lenient().when(configRepositoryMock.locale()).thenReturn(Locale.US);
+		lenient().when(worldMock.getUID()).thenReturn(worldUid);
+		lenient().when(worldMock.getName()).thenReturn("world");
+
+		String dbUrl = "jdbc:sqlite:" + tempDir.resolve("graveyards.db");
+		connection = DriverManager.getConnection(dbUrl);
+		SqliteSettings settings = SqliteSettings.of(SqliteSettings.Profile.SAFE);
+		settings.apply(connection);
+
+		try (Statement statement = connection.createStatement())
+		{
+			statement.execute(SqliteQueries.getQuery("CreateGraveyardTable"));
+			statement.execute(SqliteQueries.getQuery("CreatePlayerTable"));
+			statement.execute(SqliteQueries.getQuery("CreateDiscoveryTable"));
+		}
+
+		GraveyardCatalog catalog = new GraveyardCatalog();
+		discoveryCache = new DiscoveryCache(catalog, 100);
+		statementCache = new SqliteStatementCache(connection);
+		readPool = new SqliteReadPool(dbUrl, settings, statementCache, configRepositoryMock, logger);
+		graveyards = new SqliteGraveyardRepository(statementCache, readPool, configRepositoryMock,
+				new Version4.GraveyardRowMapper(), catalog, discoveryCache, DiscoverySource.NONE,
+				new DatastoreEventBus(configRepositoryMock, logger), logger);
+		graveyards.initializeRangeIndex(DEFAULT_RANGE);
+	}
+
+
+	@AfterEach
+	void tearDown() throws SQLException
+	{
+		readPool.close();
+		statementCache.close();
+		connection.close();
+		WorldRegistry.clear();
+	}
+
+
+	@Test
+	void save_mirrors_graveyard_in_range_index() throws SQLException
+	{
+		// Arrange
+		ValidGraveyard graveyard = graveyard("Spawn", 100, -50, 10);
+
+		// Act
+		graveyards.save(graveyard);
+
+		// Assert
+		assertArrayEquals(new double[] { 90, 110, 54, 74, -60, -40 }, box(graveyard.uid()));
+	}
+
+
+	@Test
+	void update_replaces_box_in_range_index() throws SQLException
+	{
+		// Arrange
+		ValidGraveyard graveyard = graveyard("Spawn", 100, -50, 10);
+		graveyards.save(graveyard);
+		ValidGraveyard moved = new ValidGraveyard(graveyard.uid(), graveyard.displayName(),
+				attributes(5), new ValidLocation(WorldRegistry.handle(worldMock), 200, 64, -50, 0, 0));
+
+		// Act
+		graveyards.update(moved);
+
+		// Assert
+		assertEquals(1L, count());
+		assertArrayEquals(new double[] { 195, 205, 59, 69, -55, -45 }, box(graveyard.uid()));
+	}
+
+
+	@Test
+	void delete_removes_box_from_range_index() throws SQLException
+	{
+		// Arrange
+		ValidGraveyard graveyard = graveyard("Spawn", 100, -50, 10);
+		graveyards.save(graveyard);
+
+		// Act
+		graveyards.delete(graveyard.searchKey());
+
+		// Assert
+		assertEquals(0L, count());
+	}
+
+
+	@Test
+	void saveAll_inserts_new_and_replaces_cataloged_graveyards() throws SQLException
+	{
+		// Arrange
+		ValidGraveyard existing = graveyard("Spawn", 100, -50, 10);
+		graveyards.save(existing);
+		ValidGraveyard moved = new ValidGraveyard(existing.uid(), existing.displayName(),
+				attributes(5), new ValidLocation(WorldRegistry.handle(worldMock), 200, 64, -50, 0, 0));
+		ValidGraveyard added = graveyard("Harbor", 300, 20, 10);
+
+		// Act
+		int saved = graveyards.saveAll(List.of(moved, added));
+
+		// Assert
+		assertEquals(2, saved);
+		assertEquals(2, graveyards.getCount());
+		assertEquals(2L, count());
+		assertArrayEquals(new double[] { 195, 205, 59, 69, -55, -45 }, box(existing.uid()));
+		assertArrayEquals(new double[] { 290, 310, 54, 74, 10, 30 }, box(added.uid()));
+	}
+
+
+	@Test
+	void negative_range_is_mirrored_with_default_range() throws SQLException
+	{
+		// Arrange
+		ValidGraveyard graveyard = graveyard("Spawn", 100, -50, -1);
+
+		// Act
+		graveyards.save(graveyard);
+
+		// Assert
+		assertArrayEquals(new double[] { 50, 150, 14, 114, -100, 0 }, box(graveyard.uid()));
+	}
+
+
+	@Test
+	void range_query_for_cached_player_selects_same_candidates_as_index()
+	{
+		// Arrange
+		ValidGraveyard near = graveyard("Near", 100, -50, 10);
+		ValidGraveyard far = graveyard("Far", 1000, -50, 10);
+		graveyards.save(near);
+		graveyards.save(far);
+		when(playerMock.getUniqueId()).thenReturn(playerUid);
+		when(playerMock.getWorld()).thenReturn(worldMock);
+		when(playerMock.getLocation()).thenReturn(new Location(worldMock, 105, 64, -45));
+		List<ValidGraveyard> indexed = graveyards.getUndiscoveredGraveyardsInRange(playerMock, DEFAULT_RANGE).toList();
+		discoveryCache.beginLoad(playerUid);
+		discoveryCache.completeLoad(playerUid, List.of());
+
+		// Act
+		List<ValidGraveyard> cached = graveyards.getUndiscoveredGraveyardsInRange(playerMock, DEFAULT_RANGE).toList();
+
+		// Assert
+		assertEquals(List.of(near), indexed);
+		assertEquals(indexed, cached);
+	}
+
+
+	private ValidGraveyard graveyard(final String name, final double x, final double z, final int discoveryRange)
+	{
+		return new ValidGraveyard(UUID.randomUUID(), new ValidDisplayName(name), attributes(discoveryRange),
+				new ValidLocation(WorldRegistry.handle(worldMock), x, 64, z, 0, 0));
+	}
+
+
+	private static Attributes attributes(final int discoveryRange)
+	{
+		return new Attributes(Enabled.of(true), Hidden.of(true), DiscoveryRange.of(discoveryRange), DiscoveryMessage.of(""),
+				RespawnMessage.of(""), Group.of(""), SafetyRange.of(50), SafetyTime.of(Duration.ofSeconds(15)));
+	}
+
+
+	private double[] box(final UUID graveyardUid) throws SQLException
+	{
+		try (PreparedStatement statement = connection.prepareStatement("SELECT MinX, MaxX, MinY, MaxY, MinZ, MaxZ "
+				+ "FROM GraveyardRange INNER JOIN Graveyard ON Graveyard.Key = GraveyardRange.Key "
+				+ "WHERE Graveyard.UidMsb = ? AND Graveyard.UidLsb = ?"))
+		{
+			statement.setLong(1, graveyardUid.getMostSignificantBits());
+			statement.setLong(2, graveyardUid.getLeastSignificantBits());
+			try (ResultSet resultSet = statement.executeQuery())
+			{
+				assertTrue(resultSet.next());
+				double[] box = new double[6];
+				for (int i = 0; i < box.length; i++)
+				{
+					box[i] = resultSet.getDouble(i + 1);
+				}
+				return box;
+			}
+		}
+	}
+
+
+	private long count() throws SQLException
+	{
+		try (Statement statement = connection.createStatement();
+		     ResultSet resultSet = statement.executeQuery("SELECT COUNT(*) FROM GraveyardRange"))
+		{
+			return resultSet.next() ? resultSet.getLong(1) : 0L;
+		}
+	}
+
+}
@@ -0,0 +1,257 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.savagegraveyards.datastore.sqlite;
+
+import com.winterhavenmc.library.messagebuilder.models.configuration.ConfigRepository;
+import com.winterhavenmc.savagegraveyards.datastore.DatastoreEventBus;
+import com.winterhavenmc.savagegraveyards.datastore.DiscoveryCache;
+import com.winterhavenmc.savagegraveyards.datastore.GraveyardCatalog;
+import com.winterhavenmc.savagegraveyards.datastore.RepositoryEvent;
+import com.winterhavenmc.savagegraveyards.datastore.sqlite.SqliteSettings.MaintenanceSettings;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.ToLongFunction;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.lenient;
+
+
+/**
+ * Tests for the SQLite maintenance job, run against a temporary database file
+ */
+@ExtendWith(MockitoExtension.class)
+class SqliteMaintenanceTest
+{
+	@Mock ConfigRepository configRepositoryMock;
+
+	@TempDir Path tempDir;
+
+	private final Logger logger = Logger.getLogger(SqliteMaintenanceTest.class.getName());
+	private final UUID graveyardUid = UUID.randomUUID();
+	private final UUID activePlayerUid = UUID.randomUUID();
+	private final UUID inactivePlayerUid = UUID.randomUUID();
+	private final UUID unknownPlayerUid = UUID.randomUUID();
+	private final List<RepositoryEvent.DiscoveryRemoved> removedEvents = new ArrayList<>();
+
+	private String dbUrl;
+	private Connection connection;
+	private DiscoveryCache discoveryCache;
+	private DatastoreEventBus eventBus;
+
+
+	@BeforeEach
+	void setUp() throws SQLException
+	{
+		lenient().when(configRepositoryMock.locale()).thenReturn(Locale.US);
+
+		dbUrl = "jdbc:sqlite:" + tempDir.resolve("graveyards.db");
+		connection = DriverManager.getConnection(dbUrl);
+
+		try (Statement statement = connection.createStatement())
+		{
+			statement.execute(SqliteQueries.getQuery("CreateGraveyardTable"));
+			statement.execute(SqliteQueries.getQuery("CreatePlayerTable"));
+			statement.execute(SqliteQueries.getQuery("CreateDiscoveryTable"));
+		}
+		SqliteMaintenance.enableIncrementalVacuum(connection, configRepositoryMock, logger);
+
+		insertGraveyard(graveyardUid);
+		discoveryCache = new DiscoveryCache(new GraveyardCatalog(), 10);
+		eventBus = new DatastoreEventBus(configRepositoryMock, logger);
+		eventBus.subscribe(RepositoryEvent.DiscoveryRemoved.class, removedEvents::add);
+	}
+
+
+	@AfterEach
+	void tearDown() throws SQLException
+	{
+		connection.close();
+	}
+
+
+	private void insertGraveyard(final UUID uid) throws SQLException
+	{
+		try (PreparedStatement statement = connection.prepareStatement("INSERT INTO Graveyard "
+				+ "(SearchKey, Name, UidMsb, UidLsb, WorldName, WorldUidMsb, WorldUidLsb) VALUES (?, ?, ?, ?, 'world', 0, 0)"))
+		{
+			statement.setString(1, uid.toString());
+			statement.setString(2, uid.toString());
+			statement.setLong(3, uid.getMostSignificantBits());
+			statement.setLong(4, uid.getLeastSignificantBits());
+			statement.executeUpdate();
+		}
+	}
+
+
+	private void insertDiscovery(final UUID playerUid, final Instant timestamp) throws SQLException
+	{
+		try (PreparedStatement statement = connection.prepareStatement(SqliteQueries.getQuery("InsertPlayer")))
+		{
+			statement.setLong(1, playerUid.getMostSignificantBits());
+			statement.setLong(2, playerUid.getLeastSignificantBits());
+			statement.executeUpdate();
+		}
+
+		try (PreparedStatement statement = connection.prepareStatement(SqliteQueries.getQuery("InsertDiscovery")))
+		{
+			statement.setLong(1, graveyardUid.getMostSignificantBits());
+			statement.setLong(2, graveyardUid.getLeastSignificantBits());
+			statement.setLong(3, playerUid.getMostSignificantBits());
+			statement.setLong(4, playerUid.getLeastSignificantBits());
+			statement.setLong(5, timestamp.getEpochSecond());
+			statement.executeUpdate();
+		}
+	}
+
+
+	private long discoveryCount() throws SQLException
+	{
+		try (Statement statement = connection.createStatement();
+		     ResultSet resultSet = statement.executeQuery("SELECT COUNT(*) FROM Discovery"))
+		{
+			return resultSet.next() ? resultSet.getLong(1) : 0L;
+		}
+	}
+
+
+	private SqliteMaintenance maintenance(final int inactivePlayerDays,
+	                                      final Instant discoveredBefore,
+	                                      final ToLongFunction<UUID> lastSeen)
+	{
+		SqliteSettings profile = SqliteSettings.of(SqliteSettings.Profile.SAFE);
+		SqliteSettings settings = new SqliteSettings(profile.profile(), profile.journalMode(), profile.synchronous(),
+				profile.cacheSize(), profile.mmapSize(), profile.tempStore(), profile.busyTimeout(),
+				profile.readPoolSize(), profile.readPoolTimeout(),
+				new MaintenanceSettings(true, 60L, inactivePlayerDays, discoveredBefore, 2, 0L),
+				SqliteSettings.BackupSettings.DEFAULT);
+
+		return new SqliteMaintenance(dbUrl, settings, discoveryCache, eventBus, true, lastSeen, configRepositoryMock, logger);
+	}
+
+
+	@Test
+	void enableIncrementalVacuum_converts_database() throws SQLException
+	{
+		try (Statement statement = connection.createStatement();
+		     ResultSet resultSet = statement.executeQuery("PRAGMA auto_vacuum"))
+		{
+			assertTrue(resultSet.next());
+			assertEquals(2, resultSet.getInt(1));
+		}
+	}
+
+
+	@Test
+	void run_removes_discoveries_of_inactive_players() throws Exception
+	{
+		// Arrange
+		Instant now = Instant.now();
+		insertDiscovery(activePlayerUid, now);
+		insertDiscovery(inactivePlayerUid, now);
+		insertDiscovery(unknownPlayerUid, now);
+		long longAgo = now.minus(Duration.ofDays(400)).toEpochMilli();
+		Map<UUID, Long> lastPlayed = Map.of(activePlayerUid, now.toEpochMilli(), inactivePlayerUid, longAgo, unknownPlayerUid, 0L);
+
+		// Act
+		SqliteMaintenance.Result result = maintenance(365, null, lastPlayed::get).run();
+
+		// Assert
+		assertEquals(1, result.discoveriesRemoved());
+		assertEquals(2, discoveryCount());
+		assertEquals(List.of(new RepositoryEvent.DiscoveryRemoved(graveyardUid, inactivePlayerUid)), removedEvents);
+	}
+
+
+	@Test
+	void run_removes_discoveries_made_before_instant() throws Exception
+	{
+		// Arrange
+		Instant cutoff = Instant.parse("2024-01-01T00:00:00Z");
+		insertDiscovery(activePlayerUid, cutoff.plusSeconds(60));
+		insertDiscovery(inactivePlayerUid, cutoff.minusSeconds(60));
+		insertDiscovery(unknownPlayerUid, cutoff.minus(Duration.ofDays(30)));
+
+		// Act
+		SqliteMaintenance.Result result = maintenance(0, cutoff, uid -> 0L).run();
+
+		// Assert
+		assertEquals(2, result.discoveriesRemoved());
+		assertEquals(1, discoveryCount());
+	}
+
+
+	@Test
+	void run_without_retention_rules_removes_nothing() throws Exception
+	{
+		// Arrange
+		insertDiscovery(activePlayerUid, Instant.EPOCH);
+
+		// Act
+		SqliteMaintenance.Result result = maintenance(0, null, uid -> 1L).run();
+
+		// Assert
+		assertEquals(0, result.discoveriesRemoved());
+		assertEquals(1, discoveryCount());
+		assertTrue(removedEvents.isEmpty());
+	}
+
+
+	@Test
+	void run_returns_free_pages() throws Exception
+	{
+		// Arrange
+		try (Statement statement = connection.createStatement())
+		{
+			statement.execute("CREATE TABLE Filler (Value BLOB)");
+			statement.execute("INSERT INTO Filler (Value) SELECT zeroblob(4096) FROM "
+					+ "(WITH RECURSIVE n(i) AS (SELECT 1 UNION ALL SELECT i + 1 FROM n WHERE i < 64) SELECT i FROM n)");
+			statement.execute("DROP TABLE Filler");
+		}
+
+		// Act
+		SqliteMaintenance.Result result = maintenance(0, null, uid -> 0L).run();
+
+		// Assert
+		assertTrue(result.pagesReclaimed() > 0);
+		assertTrue(result.bytesReclaimed() >= result.pagesReclaimed());
+	}
+
+}
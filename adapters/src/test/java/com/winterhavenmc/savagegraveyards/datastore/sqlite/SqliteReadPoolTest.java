@@ -0,0 +1,177 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.savagegraveyards.datastore.sqlite;
+
+import com.winterhavenmc.library.messagebuilder.models.configuration.ConfigRepository;
+import com.winterhavenmc.savagegraveyards.datastore.sqlite.SqliteSettings.MaintenanceSettings;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.util.Locale;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.lenient;
+
+
+/**
+ * Tests for the read connection pool, run against a temporary database file
+ */
+@ExtendWith(MockitoExtension.class)
+class SqliteReadPoolTest
+{
+	@Mock ConfigRepository configRepositoryMock;
+
+	@TempDir Path tempDir;
+
+	private final Logger logger = Logger.getLogger(SqliteReadPoolTest.class.getName());
+
+	private String dbUrl;
+	private Connection connection;
+	private SqliteStatementCache writerStatements;
+
+
+	@BeforeEach
+	void setUp() throws SQLException
+	{
+		lenient().when(configRepositoryMock.locale()).thenReturn(Locale.US);
+
+		dbUrl = "jdbc:sqlite:" + tempDir.resolve("graveyards.db");
+		connection = DriverManager.getConnection(dbUrl);
+		SqliteSettings.of(SqliteSettings.Profile.SAFE).apply(connection);
+
+		try (Statement statement = connection.createStatement())
+		{
+			statement.execute(SqliteQueries.getQuery("CreateGraveyardTable"));
+		}
+
+		writerStatements = new SqliteStatementCache(connection);
+	}
+
+
+	@AfterEach
+	void tearDown() throws SQLException
+	{
+		writerStatements.close();
+		connection.close();
+	}
+
+
+	@Test
+	void checkout_times_out_when_all_connections_are_leased() throws SQLException
+	{
+		// Arrange
+		try (SqliteReadPool readPool = readPool(1, 50L);
+		     SqliteReadPool.Lease ignored = readPool.checkout())
+		{
+			// Act
+			long start = System.nanoTime();
+			assertThrows(SQLTimeoutException.class, readPool::checkout);
+			long waitMillis = (System.nanoTime() - start) / 1_000_000L;
+
+			// Assert
+			assertTrue(waitMillis >= 40L);
+			assertEquals("1", readPool.statistics().get("read_pool_timeouts"));
+			assertEquals("1", readPool.statistics().get("read_pool_checkouts"));
+		}
+	}
+
+
+	@Test
+	void checkout_succeeds_after_lease_is_closed() throws SQLException
+	{
+		// Arrange
+		try (SqliteReadPool readPool = readPool(1, 50L))
+		{
+			SqliteReadPool.Lease first = readPool.checkout();
+			SqliteStatementCache statements = first.statements();
+			first.close();
+
+			// Act
+			try (SqliteReadPool.Lease second = readPool.checkout())
+			{
+				// Assert
+				assertSame(statements, second.statements());
+				assertNotSame(writerStatements, second.statements());
+			}
+			assertEquals("0", readPool.statistics().get("read_pool_timeouts"));
+		}
+	}
+
+
+	@Test
+	void checkout_uses_writer_statements_when_pool_is_empty() throws SQLException
+	{
+		// Arrange
+		try (SqliteReadPool readPool = readPool(0, 50L))
+		{
+			// Act
+			try (SqliteReadPool.Lease lease = readPool.checkout())
+			{
+				// Assert
+				assertSame(writerStatements, lease.statements());
+			}
+			assertEquals("0", readPool.statistics().get("read_pool_size"));
+		}
+	}
+
+
+	@Test
+	void scan_does_not_wait_for_leased_connections() throws SQLException
+	{
+		// Arrange
+		try (SqliteReadPool readPool = readPool(1, 50L);
+		     SqliteReadPool.Lease lease = readPool.checkout())
+		{
+			// Act
+			try (SqliteReadPool.Lease scan = readPool.scan())
+			{
+				// Assert
+				assertNotSame(lease.statements(), scan.statements());
+				assertNotSame(writerStatements, scan.statements());
+			}
+			assertEquals("1", readPool.statistics().get("read_pool_scans"));
+			assertEquals("0", readPool.statistics().get("read_pool_timeouts"));
+		}
+	}
+
+
+	private SqliteReadPool readPool(final int size, final long timeoutMillis)
+	{
+		SqliteSettings profile = SqliteSettings.of(SqliteSettings.Profile.SAFE);
+		SqliteSettings settings = new SqliteSettings(profile.profile(), profile.journalMode(), profile.synchronous(),
+				profile.cacheSize(), profile.mmapSize(), profile.tempStore(), profile.busyTimeout(),
+				size, timeoutMillis, MaintenanceSettings.DEFAULT, SqliteSettings.BackupSettings.DEFAULT);
+
+		return new SqliteReadPool(dbUrl, settings, writerStatements, configRepositoryMock, logger);
+	}
+
+}
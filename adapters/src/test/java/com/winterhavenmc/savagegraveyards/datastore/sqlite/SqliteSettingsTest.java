@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.savagegraveyards.datastore.sqlite;
+
+import com.winterhavenmc.library.messagebuilder.models.configuration.ConfigRepository;
+
+import org.bukkit.configuration.file.YamlConfiguration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.logging.Handler;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.lenient;
+
+
+/**
+ * Tests for resolving SQLite settings from the configuration, and applying them to a temporary database file
+ */
+@ExtendWith(MockitoExtension.class)
+class SqliteSettingsTest
+{
+	@Mock ConfigRepository configRepositoryMock;
+
+	@TempDir Path tempDir;
+
+	private final Logger logger = Logger.getLogger(SqliteSettingsTest.class.getName());
+	private final List<LogRecord> logRecords = new ArrayList<>();
+	private final YamlConfiguration section = new YamlConfiguration();
+
+
+	@BeforeEach
+	void setUp()
+	{
+		lenient().when(configRepositoryMock.locale()).thenReturn(Locale.US);
+		logger.setUseParentHandlers(false);
+		logger.addHandler(new Handler()
+		{
+			@Override
+			public void publish(final LogRecord record)
+			{
+				logRecords.add(record);
+			}
+
+			@Override
+			public void flush() { }
+
+			@Override
+			public void close() { }
+		});
+	}
+
+
+	@Test
+	void of_without_section_uses_balanced_profile()
+	{
+		// Act
+		SqliteSettings settings = SqliteSettings.of(null, configRepositoryMock, logger);
+
+		// Assert
+		assertEquals(SqliteSettings.Profile.BALANCED, settings.profile());
+		assertEquals("WAL", settings.journalMode());
+		assertEquals("NORMAL", settings.synchronous());
+		assertTrue(logRecords.isEmpty());
+	}
+
+
+	@Test
+	void of_selects_profile_by_name_ignoring_case()
+	{
+		// Arrange
+		section.set("profile", "fast");
+
+		// Act
+		SqliteSettings settings = SqliteSettings.of(section, configRepositoryMock, logger);
+
+		// Assert
+		assertEquals(SqliteSettings.Profile.FAST, settings.profile());
+		assertEquals("NORMAL", settings.synchronous());
+		assertEquals(-32000, settings.cacheSize());
+		assertEquals(10000, settings.busyTimeout());
+		assertTrue(logRecords.isEmpty());
+	}
+
+
+	@Test
+	void of_falls_back_to_balanced_profile_for_unknown_name()
+	{
+		// Arrange
+		section.set("profile", "reckless");
+
+		// Act
+		SqliteSettings settings = SqliteSettings.of(section, configRepositoryMock, logger);
+
+		// Assert
+		assertEquals(SqliteSettings.Profile.BALANCED, settings.profile());
+		assertEquals(1, logRecords.size());
+	}
+
+
+	@Test
+	void of_applies_overrides_to_profile_values()
+	{
+		// Arrange
+		section.set("profile", "safe");
+		section.set("synchronous", "normal");
+		section.set("cache-size", -4000);
+
+		// Act
+		SqliteSettings settings = SqliteSettings.of(section, configRepositoryMock, logger);
+
+		// Assert
+		assertEquals(SqliteSettings.Profile.SAFE, settings.profile());
+		assertEquals("NORMAL", settings.synchronous());
+		assertEquals(-4000, settings.cacheSize());
+		assertEquals("WAL", settings.journalMode());
+	}
+
+
+	@Test
+	void of_falls_back_to_profile_value_for_invalid_override()
+	{
+		// Arrange
+		section.set("profile", "safe");
+		section.set("journal-mode", "sideways");
+
+		// Act
+		SqliteSettings settings = SqliteSettings.of(section, configRepositoryMock, logger);
+
+		// Assert
+		assertEquals("WAL", settings.journalMode());
+		assertEquals(1, logRecords.size());
+	}
+
+
+	@Test
+	void apply_sets_pragmas_reported_by_read() throws SQLException
+	{
+		// Arrange
+		SqliteSettings settings = SqliteSettings.of(SqliteSettings.Profile.SAFE);
+
+		try (Connection connection = DriverManager.getConnection("jdbc:sqlite:" + tempDir.resolve("graveyards.db")))
+		{
+			// Act
+			settings.apply(connection);
+			Map<String, String> pragmas = settings.read(connection, configRepositoryMock, logger);
+
+			// Assert
+			assertEquals("safe", pragmas.get("profile"));
+			assertEquals("WAL", pragmas.get("journal_mode"));
+			assertEquals("FULL", pragmas.get("synchronous"));
+			assertEquals("-2000", pragmas.get("cache_size"));
+			assertEquals("DEFAULT", pragmas.get("temp_store"));
+			assertEquals("5000", pragmas.get("busy_timeout"));
+		}
+	}
+
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.savagegraveyards.datastore.sqlite;
+
+import com.winterhavenmc.savagegraveyards.datastore.sqlite.SqliteStatementCache.CachedStatement;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+/**
+ * Tests for the prepared statement cache, run against an in-memory database
+ */
+class SqliteStatementCacheTest
+{
+	private Connection connection;
+	private SqliteStatementCache statementCache;
+
+
+	@BeforeEach
+	void setUp() throws SQLException
+	{
+		connection = DriverManager.getConnection("jdbc:sqlite::memory:");
+
+		try (Statement statement = connection.createStatement())
+		{
+			statement.execute(SqliteQueries.getQuery("CreateGraveyardTable"));
+		}
+
+		statementCache = new SqliteStatementCache(connection);
+	}
+
+
+	@AfterEach
+	void tearDown() throws SQLException
+	{
+		statementCache.close();
+		connection.close();
+	}
+
+
+	@Test
+	void acquire_reuses_released_statement() throws SQLException
+	{
+		// Arrange
+		PreparedStatement first;
+		try (CachedStatement cachedStatement = statementCache.acquire("SelectGraveyardCount"))
+		{
+			first = cachedStatement.statement();
+		}
+
+		// Act
+		PreparedStatement second;
+		try (CachedStatement cachedStatement = statementCache.acquire("SelectGraveyardCount"))
+		{
+			second = cachedStatement.statement();
+		}
+
+		// Assert
+		assertSame(first, second);
+		assertEquals(1, statementCache.getPrepareCount());
+		assertEquals(1, statementCache.getReuseCount());
+	}
+
+
+	@Test
+	void acquire_prepares_new_statement_while_cached_statement_is_in_use() throws SQLException
+	{
+		// Arrange
+		try (CachedStatement first = statementCache.acquire("SelectGraveyardCount"))
+		{
+			// Act
+			try (CachedStatement second = statementCache.acquire("SelectGraveyardCount"))
+			{
+				// Assert
+				assertNotSame(first.statement(), second.statement());
+			}
+		}
+		assertEquals(2, statementCache.getPrepareCount());
+		assertEquals(0, statementCache.getReuseCount());
+	}
+
+
+	@Test
+	void acquire_keeps_statements_for_each_query_separate() throws SQLException
+	{
+		// Arrange
+		try (CachedStatement cachedStatement = statementCache.acquire("SelectGraveyardCount"))
+		{
+			assertNotNull(cachedStatement.statement());
+		}
+
+		// Act
+		try (CachedStatement cachedStatement = statementCache.acquire("SelectAllGraveyardRecords"))
+		{
+			assertNotNull(cachedStatement.statement());
+		}
+
+		// Assert
+		assertEquals(2, statementCache.getPrepareCount());
+		assertEquals(0, statementCache.getReuseCount());
+	}
+
+
+	@Test
+	void release_after_close_closes_statement() throws SQLException
+	{
+		// Arrange
+		CachedStatement cachedStatement = statementCache.acquire("SelectGraveyardCount");
+
+		// Act
+		statementCache.close();
+		cachedStatement.close();
+
+		// Assert
+		assertTrue(cachedStatement.statement().isClosed());
+	}
+
+
+	@Test
+	void close_closes_idle_statements() throws SQLException
+	{
+		// Arrange
+		PreparedStatement preparedStatement;
+		try (CachedStatement cachedStatement = statementCache.acquire("SelectGraveyardCount"))
+		{
+			preparedStatement = cachedStatement.statement();
+		}
+
+		// Act
+		statementCache.close();
+
+		// Assert
+		assertTrue(preparedStatement.isClosed());
+	}
+
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.savagegraveyards.datastore.sqlite.schema;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+class ColumnIndexTest
+{
+	private enum Column
+	{
+		NAME("Name"),
+		UID_MSB("UidMsb");
+
+		private final String label;
+
+		Column(final String label)
+		{
+			this.label = label;
+		}
+
+		String label()
+		{
+			return this.label;
+		}
+	}
+
+	private final ColumnIndex columnIndex = ColumnIndex.of(Column.class, Column::label);
+
+	private Connection connection;
+	private Statement statement;
+
+
+	@BeforeEach
+	void setUp() throws SQLException
+	{
+		connection = DriverManager.getConnection("jdbc:sqlite::memory:");
+		statement = connection.createStatement();
+	}
+
+
+	@AfterEach
+	void tearDown() throws SQLException
+	{
+		statement.close();
+		connection.close();
+	}
+
+
+	@Test
+	void resolve_returns_indexes_in_enum_order() throws SQLException
+	{
+		// Arrange
+		try (ResultSet resultSet = statement.executeQuery("SELECT 1 AS Other, 2 AS uidmsb, 'a' AS NAME"))
+		{
+			// Act
+			ColumnIndex.Columns columns = columnIndex.resolve(resultSet);
+
+			// Assert
+			assertEquals(3, columns.index(Column.NAME));
+			assertEquals(2, columns.index(Column.UID_MSB));
+		}
+	}
+
+
+	@Test
+	void resolve_throws_if_column_is_missing() throws SQLException
+	{
+		try (ResultSet resultSet = statement.executeQuery("SELECT 'a' AS Name"))
+		{
+			assertThrows(SQLException.class, () -> columnIndex.resolve(resultSet));
+		}
+	}
+
+
+	@Test
+	void resolve_caches_indexes_by_query_key() throws SQLException
+	{
+		// Arrange
+		ColumnIndex.Columns first;
+		try (ResultSet resultSet = statement.executeQuery("SELECT 'a' AS Name, 2 AS UidMsb"))
+		{
+			first = columnIndex.resolve(resultSet, "Query");
+		}
+
+		// Act
+		ColumnIndex.Columns second;
+		try (ResultSet resultSet = statement.executeQuery("SELECT 'a' AS Name, 2 AS UidMsb"))
+		{
+			second = columnIndex.resolve(resultSet, "Query");
+		}
+
+		// Assert
+		assertSame(first, second);
+	}
+
+
+	@Test
+	void resolve_keeps_separate_indexes_for_each_query_key() throws SQLException
+	{
+		// Arrange
+		try (ResultSet resultSet = statement.executeQuery("SELECT 'a' AS Name, 2 AS UidMsb"))
+		{
+			columnIndex.resolve(resultSet, "First");
+		}
+
+		// Act
+		ColumnIndex.Columns columns;
+		try (ResultSet resultSet = statement.executeQuery("SELECT 2 AS UidMsb, 'a' AS Name"))
+		{
+			columns = columnIndex.resolve(resultSet, "Second");
+		}
+
+		// Assert
+		assertEquals(2, columns.index(Column.NAME));
+		assertEquals(1, columns.index(Column.UID_MSB));
+	}
+
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.savagegraveyards.datastore.sqlite.schema;
+
+import com.winterhavenmc.library.messagebuilder.models.configuration.ConfigRepository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.logging.Handler;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+
+/**
+ * Tests for the migration batch, run against a mocked insert statement
+ */
+@ExtendWith(MockitoExtension.class)
+class MigrationBatchTest
+{
+	@Mock PreparedStatement preparedStatementMock;
+	@Mock ConfigRepository configRepositoryMock;
+
+	private final Logger logger = Logger.getLogger(MigrationBatchTest.class.getName());
+	private final List<LogRecord> logRecords = new ArrayList<>();
+
+
+	@BeforeEach
+	void setUp()
+	{
+		lenient().when(configRepositoryMock.locale()).thenReturn(Locale.US);
+		logger.setUseParentHandlers(false);
+		logger.addHandler(new Handler()
+		{
+			@Override
+			public void publish(final LogRecord record)
+			{
+				logRecords.add(record);
+			}
+
+			@Override
+			public void flush() { }
+
+			@Override
+			public void close() { }
+		});
+	}
+
+
+	@Test
+	void added_executes_batch_when_batch_size_is_reached() throws SQLException
+	{
+		// Arrange
+		when(preparedStatementMock.executeBatch()).thenReturn(new int[] { 1, 1 });
+		MigrationBatch batch = new MigrationBatch(preparedStatementMock, "Graveyards", 2, 1000,
+				configRepositoryMock, logger);
+
+		// Act
+		batch.added();
+		batch.added();
+		batch.added();
+
+		// Assert
+		verify(preparedStatementMock, times(1)).executeBatch();
+	}
+
+
+	@Test
+	void finish_executes_remaining_rows_and_returns_inserted_count() throws SQLException
+	{
+		// Arrange
+		when(preparedStatementMock.executeBatch()).thenReturn(new int[] { 1, 1 }, new int[] { 1 });
+		MigrationBatch batch = new MigrationBatch(preparedStatementMock, "Graveyards", 2, 1000,
+				configRepositoryMock, logger);
+		batch.added();
+		batch.added();
+		batch.added();
+
+		// Act
+		int inserted = batch.finish();
+
+		// Assert
+		assertEquals(3, inserted);
+		verify(preparedStatementMock, times(2)).executeBatch();
+	}
+
+
+	@Test
+	void finish_counts_rows_without_update_counts_as_inserted() throws SQLException
+	{
+		// Arrange
+		when(preparedStatementMock.executeBatch()).thenReturn(new int[] { Statement.SUCCESS_NO_INFO, 0, 1 });
+		MigrationBatch batch = new MigrationBatch(preparedStatementMock, "Discovered", 10, 1000,
+				configRepositoryMock, logger);
+		batch.added();
+		batch.added();
+		batch.added();
+
+		// Act
+		int inserted = batch.finish();
+
+		// Assert
+		assertEquals(2, inserted);
+	}
+
+
+	@Test
+	void finish_does_not_execute_empty_batch() throws SQLException
+	{
+		// Arrange
+		MigrationBatch batch = new MigrationBatch(preparedStatementMock, "Graveyards", 2, 1000,
+				configRepositoryMock, logger);
+
+		// Act
+		int inserted = batch.finish();
+
+		// Assert
+		assertEquals(0, inserted);
+		verify(preparedStatementMock, never()).executeBatch();
+	}
+
+
+	@Test
+	void added_logs_progress_each_interval() throws SQLException
+	{
+		// Arrange
+		when(preparedStatementMock.executeBatch()).thenReturn(new int[] { 1, 1, 1, 1, 1 });
+		MigrationBatch batch = new MigrationBatch(preparedStatementMock, "Graveyards", 5, 2,
+				configRepositoryMock, logger);
+
+		// Act
+		for (int i = 0; i < 5; i++)
+		{
+			batch.added();
+		}
+
+		// Assert
+		assertEquals(2, logRecords.size());
+	}
+
+}
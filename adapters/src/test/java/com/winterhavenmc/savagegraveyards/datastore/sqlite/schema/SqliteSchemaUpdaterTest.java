@@ -0,0 +1,410 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.savagegraveyards.datastore.sqlite.schema;
+
+import com.winterhavenmc.library.messagebuilder.models.configuration.ConfigRepository;
+import com.winterhavenmc.savagegraveyards.datastore.sqlite.SqliteQueries;
+import com.winterhavenmc.savagegraveyards.models.Config;
+import com.winterhavenmc.savagegraveyards.models.world.WorldRegistry;
+
+import org.bukkit.World;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.plugin.Plugin;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.lenient;
+
+
+/**
+ * Tests for the SQLite schema updater, run against a temporary database file created with a legacy schema
+ */
+@ExtendWith(MockitoExtension.class)
+class SqliteSchemaUpdaterTest
+{
+	@Mock Plugin pluginMock;
+	@Mock ConfigRepository configRepositoryMock;
+	@Mock World worldMock;
+
+	@TempDir Path tempDir;
+
+	private final Logger logger = Logger.getLogger(SqliteSchemaUpdaterTest.class.getName());
+	private final UUID worldUid = UUID.randomUUID();
+
+	private Connection connection;
+
+
+	@BeforeEach
+	void setUp() throws SQLException
+	{
+		YamlConfiguration configuration = new YamlConfiguration();
+		configuration.set(Config.MIGRATION_BATCH_SIZE.asFileKey(), 2);
+		configuration.set(Config.MIGRATION_PROGRESS_INTERVAL.asFileKey(), 1000);
+
+		lenient().when(configRepositoryMock.locale()).thenReturn(Locale.US);
+		lenient().when(pluginMock.getLogger()).thenReturn(logger);
+		lenient().when(pluginMock.getConfig()).thenReturn(configuration);
+
+		// register the world, so that row mappers confirm it without a server
+		lenient().when(worldMock.getUID()).thenReturn(worldUid);
+		lenient().when(worldMock.getName()).thenReturn("world");
+		WorldRegistry.handle(worldMock);
+
+		connection = DriverManager.getConnection("jdbc:sqlite:" + tempDir.resolve("graveyards.db"));
+	}
+
+
+	@AfterEach
+	void tearDown() throws SQLException
+	{
+		connection.close();
+		WorldRegistry.clear();
+	}
+
+
+	@Test
+	void update_version_2_converts_discovery_timestamps_to_seconds() throws SQLException
+	{
+		// Arrange
+		createVersion2Tables();
+		insertVersion2Graveyard(1, "First");
+		UUID millisPlayerUid = UUID.randomUUID();
+		UUID textPlayerUid = UUID.randomUUID();
+		try (PreparedStatement statement = connection.prepareStatement(
+				"INSERT INTO Discovery (GraveyardKey, PlayerUidMsb, PlayerUidLsb, Timestamp) VALUES (1, ?, ?, ?)"))
+		{
+			statement.setLong(1, millisPlayerUid.getMostSignificantBits());
+			statement.setLong(2, millisPlayerUid.getLeastSignificantBits());
+			statement.setLong(3, 1_700_000_000_123L);
+			statement.executeUpdate();
+
+			statement.setLong(1, textPlayerUid.getMostSignificantBits());
+			statement.setLong(2, textPlayerUid.getLeastSignificantBits());
+			statement.setString(3, "2024-01-01 00:00:00");
+			statement.executeUpdate();
+		}
+
+		// Act
+		update();
+
+		// Assert
+		assertEquals(Schema.VERSION, userVersion());
+		assertEquals(2, count("Player"));
+		assertEquals(1_700_000_000L, timestamp(millisPlayerUid));
+		assertEquals(1_704_067_200L, timestamp(textPlayerUid));
+		assertFalse(tableExists("DiscoveryV3"));
+	}
+
+
+	@Test
+	void update_version_2_creates_unique_search_key_index() throws SQLException
+	{
+		// Arrange
+		createVersion2Tables();
+		insertVersion2Graveyard(1, "First");
+		insertVersion2Graveyard(2, "Second");
+
+		// Act
+		update();
+
+		// Assert
+		assertEquals(1, searchKeyIndexUnique());
+		assertEquals(2, count("Graveyard"));
+	}
+
+
+	@Test
+	void update_version_2_falls_back_to_non_unique_search_key_index() throws SQLException
+	{
+		// Arrange
+		createVersion2Tables();
+		insertVersion2Graveyard(1, "Graveyard");
+		insertVersion2Graveyard(2, "graveyard");
+
+		// Act
+		update();
+
+		// Assert
+		assertEquals(Schema.VERSION, userVersion());
+		assertEquals(0, searchKeyIndexUnique());
+		assertEquals(2, count("Graveyard"));
+	}
+
+
+	@Test
+	void update_version_2_creates_world_and_discovery_indexes() throws SQLException
+	{
+		// Arrange
+		createVersion2Tables();
+		insertVersion2Graveyard(1, "First");
+
+		// Act
+		update();
+
+		// Assert
+		assertTrue(columnExists("Graveyard", "SearchKeyFolded"));
+		assertTrue(indexExists("Graveyard", "GraveyardWorld"));
+		assertTrue(indexExists("Discovery", "DiscoveryGraveyard"));
+		assertFalse(indexExists("Discovery", "DiscoveryPlayer"));
+	}
+
+
+	@Test
+	void update_version_1_migrates_graveyard_records() throws SQLException
+	{
+		// Arrange
+		createVersion1Tables();
+		createCurrentTables();
+
+		// Act
+		update();
+
+		// Assert
+		assertEquals(Schema.VERSION, userVersion());
+		assertEquals(3, count("Graveyard"));
+		assertFalse(tableExists("Graveyards"));
+		assertEquals(1, searchKeyIndexUnique());
+	}
+
+
+	@Test
+	void update_version_1_rolls_back_when_migration_fails() throws SQLException
+	{
+		// Arrange
+		createVersion1Tables();
+		try (Statement statement = connection.createStatement())
+		{
+			// a current table without the expected columns, so that the graveyard insert fails
+			statement.execute("CREATE TABLE Graveyard (Key INTEGER PRIMARY KEY)");
+		}
+
+		// Act
+		update();
+
+		// Assert
+		assertEquals(1, userVersion());
+		assertEquals(3, count("Graveyards"));
+		assertEquals(0, count("Graveyard"));
+	}
+
+
+	/**
+	 * Create the legacy graveyard table as it was at schema version 1, with three records
+	 */
+	private void createVersion1Tables() throws SQLException
+	{
+		try (Statement statement = connection.createStatement())
+		{
+			statement.execute("CREATE TABLE Graveyards (Key INTEGER PRIMARY KEY AUTOINCREMENT, "
+					+ "SearchKey VARCHAR UNIQUE NOT NULL, DisplayName VARCHAR NOT NULL, UidMsb BIGINT, UidLsb BIGINT, "
+					+ "Enabled BOOLEAN NOT NULL ON CONFLICT REPLACE DEFAULT 1, "
+					+ "Hidden BOOLEAN NOT NULL ON CONFLICT REPLACE DEFAULT 1, "
+					+ "DiscoveryRange INTEGER, DiscoveryMessage VARCHAR, RespawnMessage VARCHAR, SafetyRange INTEGER, "
+					+ "SafetyTime BIGINT, GroupName VARCHAR, WorldName VARCHAR NOT NULL, WorldUidMsb BIGINT NOT NULL, "
+					+ "WorldUidLsb BIGINT NOT NULL, X DOUBLE, Y DOUBLE, Z DOUBLE, Yaw FLOAT, Pitch FLOAT)");
+			statement.execute("PRAGMA user_version = 1");
+		}
+		try (PreparedStatement statement = connection.prepareStatement("INSERT INTO Graveyards "
+				+ "(SearchKey, DisplayName, UidMsb, UidLsb, WorldName, WorldUidMsb, WorldUidLsb, X, Y, Z, Yaw, Pitch) "
+				+ "VALUES (?, ?, ?, ?, 'world', ?, ?, 10, 64, 20, 0, 0)"))
+		{
+			for (String name : new String[] { "First", "Second", "Third" })
+			{
+				UUID graveyardUid = UUID.randomUUID();
+				statement.setString(1, name);
+				statement.setString(2, name);
+				statement.setLong(3, graveyardUid.getMostSignificantBits());
+				statement.setLong(4, graveyardUid.getLeastSignificantBits());
+				statement.setLong(5, worldUid.getMostSignificantBits());
+				statement.setLong(6, worldUid.getLeastSignificantBits());
+				statement.executeUpdate();
+			}
+		}
+	}
+
+
+	/**
+	 * Create the tables as they were at schema version 2, and then create any missing current tables,
+	 * as the connection provider does before updating the schema
+	 */
+	private void createVersion2Tables() throws SQLException
+	{
+		try (Statement statement = connection.createStatement())
+		{
+			statement.execute("CREATE TABLE Graveyard (Key INTEGER PRIMARY KEY AUTOINCREMENT, "
+					+ "SearchKey VARCHAR UNIQUE NOT NULL, Name VARCHAR NOT NULL, "
+					+ "UidMsb BIGINT NOT NULL, UidLsb BIGINT NOT NULL, "
+					+ "Enabled BOOLEAN NOT NULL ON CONFLICT REPLACE DEFAULT 1, "
+					+ "Hidden BOOLEAN NOT NULL ON CONFLICT REPLACE DEFAULT 1, "
+					+ "DiscoveryRange INTEGER, DiscoveryMessage VARCHAR, RespawnMessage VARCHAR, SafetyRange INTEGER, "
+					+ "SafetyTime BIGINT, GroupName VARCHAR, WorldName VARCHAR NOT NULL, WorldUidMsb BIGINT NOT NULL, "
+					+ "WorldUidLsb BIGINT NOT NULL, X DOUBLE, Y DOUBLE, Z DOUBLE, Yaw FLOAT, Pitch FLOAT, "
+					+ "Created DATETIME, CreatorUidMsb BIGINT, CreatorUidLsb BIGINT, UNIQUE(UidMsb, UidLsb))");
+			statement.execute("CREATE TABLE Discovery ("
+					+ "GraveyardKey INTEGER NOT NULL REFERENCES Graveyard(Key) ON DELETE CASCADE, "
+					+ "PlayerUidMsb BIGINT NOT NULL, PlayerUidLsb BIGINT NOT NULL, Timestamp DATETIME, "
+					+ "PRIMARY KEY (GraveyardKey, PlayerUidMsb, PlayerUidLsb))");
+			statement.execute("PRAGMA user_version = 2");
+		}
+		createCurrentTables();
+	}
+
+
+	private void createCurrentTables() throws SQLException
+	{
+		try (Statement statement = connection.createStatement())
+		{
+			statement.execute(SqliteQueries.getQuery("CreateGraveyardTable"));
+			statement.execute(SqliteQueries.getQuery("CreatePlayerTable"));
+			statement.execute(SqliteQueries.getQuery("CreateDiscoveryTable"));
+		}
+	}
+
+
+	private void insertVersion2Graveyard(final int key, final String searchKey) throws SQLException
+	{
+		UUID graveyardUid = UUID.randomUUID();
+		try (PreparedStatement statement = connection.prepareStatement("INSERT INTO Graveyard "
+				+ "(Key, SearchKey, Name, UidMsb, UidLsb, WorldName, WorldUidMsb, WorldUidLsb) VALUES (?, ?, ?, ?, ?, 'world', ?, ?)"))
+		{
+			statement.setInt(1, key);
+			statement.setString(2, searchKey);
+			statement.setString(3, searchKey);
+			statement.setLong(4, graveyardUid.getMostSignificantBits());
+			statement.setLong(5, graveyardUid.getLeastSignificantBits());
+			statement.setLong(6, worldUid.getMostSignificantBits());
+			statement.setLong(7, worldUid.getLeastSignificantBits());
+			statement.executeUpdate();
+		}
+	}
+
+
+	private void update()
+	{
+		new SqliteSchemaUpdater(pluginMock, connection, configRepositoryMock).update();
+	}
+
+
+	private int userVersion() throws SQLException
+	{
+		try (Statement statement = connection.createStatement();
+		     ResultSet resultSet = statement.executeQuery("PRAGMA user_version"))
+		{
+			return resultSet.next() ? resultSet.getInt(1) : -1;
+		}
+	}
+
+
+	private long count(final String tableName) throws SQLException
+	{
+		try (Statement statement = connection.createStatement();
+		     ResultSet resultSet = statement.executeQuery("SELECT COUNT(*) FROM " + tableName))
+		{
+			return resultSet.next() ? resultSet.getLong(1) : 0L;
+		}
+	}
+
+
+	private long timestamp(final UUID playerUid) throws SQLException
+	{
+		try (PreparedStatement statement = connection.prepareStatement("SELECT Discovery.Timestamp FROM Discovery "
+				+ "INNER JOIN Player ON Player.Id = Discovery.PlayerId WHERE Player.UidMsb = ? AND Player.UidLsb = ?"))
+		{
+			statement.setLong(1, playerUid.getMostSignificantBits());
+			statement.setLong(2, playerUid.getLeastSignificantBits());
+			try (ResultSet resultSet = statement.executeQuery())
+			{
+				assertTrue(resultSet.next());
+				return resultSet.getLong(1);
+			}
+		}
+	}
+
+
+	private boolean tableExists(final String tableName) throws SQLException
+	{
+		try (PreparedStatement statement = connection.prepareStatement(SqliteQueries.getQuery("SelectTable")))
+		{
+			statement.setString(1, tableName);
+			try (ResultSet resultSet = statement.executeQuery())
+			{
+				return resultSet.next();
+			}
+		}
+	}
+
+
+	private int searchKeyIndexUnique() throws SQLException
+	{
+		try (Statement statement = connection.createStatement();
+		     ResultSet resultSet = statement.executeQuery(
+				     "SELECT \"unique\" FROM pragma_index_list('Graveyard') WHERE name = 'GraveyardSearchKeyFolded'"))
+		{
+			assertTrue(resultSet.next());
+			return resultSet.getInt(1);
+		}
+	}
+
+
+	private boolean columnExists(final String tableName, final String columnName) throws SQLException
+	{
+		try (PreparedStatement statement = connection.prepareStatement("SELECT name FROM pragma_table_xinfo(?) WHERE name = ?"))
+		{
+			statement.setString(1, tableName);
+			statement.setString(2, columnName);
+			try (ResultSet resultSet = statement.executeQuery())
+			{
+				return resultSet.next();
+			}
+		}
+	}
+
+
+	private boolean indexExists(final String tableName, final String indexName) throws SQLException
+	{
+		try (PreparedStatement statement = connection.prepareStatement("SELECT name FROM pragma_index_list(?) WHERE name = ?"))
+		{
+			statement.setString(1, tableName);
+			statement.setString(2, indexName);
+			try (ResultSet resultSet = statement.executeQuery())
+			{
+				return resultSet.next();
+			}
+		}
+	}
+
+}
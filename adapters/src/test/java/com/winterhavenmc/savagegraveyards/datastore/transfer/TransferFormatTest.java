@@ -0,0 +1,204 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.savagegraveyards.datastore.transfer;
+
+import com.winterhavenmc.savagegraveyards.models.discovery.Discovery;
+import com.winterhavenmc.savagegraveyards.models.discovery.ValidDiscovery;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+class TransferFormatTest
+{
+	private final ValidDiscovery discovery = (ValidDiscovery) Discovery.of(UUID.randomUUID(), UUID.randomUUID(),
+			Instant.ofEpochSecond(1_700_000_000L));
+
+
+	private static String write(final TransferFormat format, final ValidDiscovery discovery) throws IOException
+	{
+		StringWriter stringWriter = new StringWriter();
+		try (TransferFormat.RecordWriter writer = format.writer(new BufferedWriter(stringWriter)))
+		{
+			writer.write(discovery);
+		}
+		return stringWriter.toString();
+	}
+
+
+	private static List<TransferRecord> read(final TransferFormat format, final String content) throws IOException
+	{
+		List<TransferRecord> records = new ArrayList<>();
+		try (TransferFormat.RecordReader reader = format.reader(new BufferedReader(new StringReader(content))))
+		{
+			TransferRecord record;
+			while ((record = reader.next()) != null)
+			{
+				records.add(record);
+			}
+		}
+		return records;
+	}
+
+
+	@Test
+	void of_selects_format_by_extension()
+	{
+		assertEquals(TransferFormat.CSV, TransferFormat.of(Path.of("graveyards.CSV")));
+		assertEquals(TransferFormat.NDJSON, TransferFormat.of(Path.of("graveyards.ndjson")));
+		assertEquals(TransferFormat.NDJSON, TransferFormat.of(Path.of("graveyards")));
+	}
+
+
+	@Nested
+	class NdjsonTests
+	{
+		@Test
+		void discovery_round_trip() throws IOException
+		{
+			// Arrange
+			String content = write(TransferFormat.NDJSON, discovery);
+
+			// Act
+			List<TransferRecord> records = read(TransferFormat.NDJSON, content);
+
+			// Assert
+			assertEquals(1, records.size());
+			TransferRecord.DiscoveryRecord record = assertInstanceOf(TransferRecord.DiscoveryRecord.class, records.getFirst());
+			assertEquals(discovery.graveyardUid(), record.discovery().graveyardUid());
+			assertEquals(discovery.playerUid(), record.discovery().playerUid());
+			assertEquals(discovery.getTimestamp(), record.discovery().getTimestamp());
+		}
+
+
+		@Test
+		void malformed_line_is_invalid_with_line_number() throws IOException
+		{
+			// Arrange
+			String content = write(TransferFormat.NDJSON, discovery) + "\n{not json\n";
+
+			// Act
+			List<TransferRecord> records = read(TransferFormat.NDJSON, content);
+
+			// Assert
+			assertEquals(2, records.size());
+			TransferRecord.Invalid invalid = assertInstanceOf(TransferRecord.Invalid.class, records.get(1));
+			assertEquals(3, invalid.lineNumber());
+		}
+
+
+		@Test
+		void unknown_type_is_invalid() throws IOException
+		{
+			// Act
+			List<TransferRecord> records = read(TransferFormat.NDJSON, "{\"type\":\"unknown\"}\n");
+
+			// Assert
+			assertInstanceOf(TransferRecord.Invalid.class, records.getFirst());
+		}
+
+
+		@Test
+		void invalid_uid_is_invalid() throws IOException
+		{
+			// Act
+			List<TransferRecord> records = read(TransferFormat.NDJSON,
+					"{\"type\":\"discovery\",\"graveyard_uid\":\"x\",\"player_uid\":\"y\",\"timestamp\":0}\n");
+
+			// Assert
+			assertInstanceOf(TransferRecord.Invalid.class, records.getFirst());
+		}
+	}
+
+
+	@Nested
+	class CsvTests
+	{
+		@Test
+		void discovery_round_trip() throws IOException
+		{
+			// Arrange
+			String content = write(TransferFormat.CSV, discovery);
+
+			// Act
+			List<TransferRecord> records = read(TransferFormat.CSV, content);
+
+			// Assert
+			assertEquals(1, records.size());
+			TransferRecord.DiscoveryRecord record = assertInstanceOf(TransferRecord.DiscoveryRecord.class, records.getFirst());
+			assertEquals(discovery.graveyardUid(), record.discovery().graveyardUid());
+			assertEquals(discovery.playerUid(), record.discovery().playerUid());
+			assertEquals(discovery.getTimestamp(), record.discovery().getTimestamp());
+		}
+
+
+		@Test
+		void header_lines_are_comments() throws IOException
+		{
+			// Act
+			String content = write(TransferFormat.CSV, discovery);
+
+			// Assert
+			assertEquals(1, content.lines().filter(line -> !line.startsWith("#")).count());
+		}
+
+
+		@Test
+		void quoted_values_may_span_lines() throws IOException
+		{
+			// Arrange
+			String content = "\"discovery\",\"" + discovery.graveyardUid() + "\",\"" + discovery.playerUid()
+					+ "\",\"1700000000\"\n\"unknown\",\"a\nb\"\n";
+
+			// Act
+			List<TransferRecord> records = read(TransferFormat.CSV, content);
+
+			// Assert
+			assertEquals(2, records.size());
+			assertInstanceOf(TransferRecord.DiscoveryRecord.class, records.get(0));
+			TransferRecord.Invalid invalid = assertInstanceOf(TransferRecord.Invalid.class, records.get(1));
+			assertEquals(2, invalid.lineNumber());
+		}
+
+
+		@Test
+		void unterminated_quote_is_invalid() throws IOException
+		{
+			// Act
+			List<TransferRecord> records = read(TransferFormat.CSV, "discovery,\"abc\n");
+
+			// Assert
+			TransferRecord.Invalid invalid = assertInstanceOf(TransferRecord.Invalid.class, records.getFirst());
+			assertEquals(1, invalid.lineNumber());
+		}
+	}
+
+}
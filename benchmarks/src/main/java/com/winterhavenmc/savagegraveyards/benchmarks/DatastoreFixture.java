@@ -0,0 +1,299 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+
+package com.winterhavenmc.savagegraveyards.benchmarks;
+
+import com.winterhavenmc.savagegraveyards.datastore.DatastoreEventBus;
+import com.winterhavenmc.savagegraveyards.datastore.DiscoveryCache;
+import com.winterhavenmc.savagegraveyards.datastore.DiscoverySource;
+import com.winterhavenmc.savagegraveyards.datastore.GraveyardCatalog;
+import com.winterhavenmc.savagegraveyards.datastore.sqlite.SqliteDiscoveryRepository;
+import com.winterhavenmc.savagegraveyards.datastore.sqlite.SqliteDiscoveryWriter;
+import com.winterhavenmc.savagegraveyards.datastore.sqlite.SqliteGraveyardRepository;
+import com.winterhavenmc.savagegraveyards.datastore.sqlite.SqliteQueries;
+import com.winterhavenmc.savagegraveyards.datastore.sqlite.SqliteReadPool;
+import com.winterhavenmc.savagegraveyards.datastore.sqlite.SqliteSettings;
+import com.winterhavenmc.savagegraveyards.datastore.sqlite.SqliteStatementCache;
+import com.winterhavenmc.savagegraveyards.datastore.sqlite.schema.Version4;
+import com.winterhavenmc.savagegraveyards.models.Config;
+
+import com.winterhavenmc.library.messagebuilder.models.configuration.ConfigRepository;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.Server;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+
+/**
+ * A temporary SQLite datastore, with the graveyard and discovery repositories constructed over it as the SQLite
+ * connection provider constructs them. Graveyards are laid out on a 100 block grid in a single world, and each
+ * fixture player has discovered half of them, until the requested number of discovery rows is reached. The
+ * measured players stand within discovery range of one graveyard, and have discovered every second graveyard;
+ * the discoveries of the cached player are held in the discovery cache, and those of the other player are not.
+ */
+@State(Scope.Benchmark)
+public class DatastoreFixture
+{
+	static final int DISCOVERY_RANGE = (int) Config.DISCOVERY_RANGE.getDefaultObject();
+
+	private static final int BATCH_SIZE = 10_000;
+
+	@Param({"10", "1000", "50000"})
+	public int graveyardCount;
+
+	@Param({"100000", "2000000"})
+	public int discoveryCount;
+
+	final UUID worldUid = UUID.randomUUID();
+	final List<UUID> graveyardUids = new ArrayList<>();
+
+	Player player;
+	Player cachedPlayer;
+	SqliteGraveyardRepository graveyards;
+	SqliteDiscoveryRepository discoveries;
+
+	private final Logger logger = Logger.getLogger(DatastoreFixture.class.getName());
+	private Path directory;
+	private Connection connection;
+	private SqliteStatementCache statementCache;
+	private SqliteReadPool readPool;
+	private SqliteDiscoveryWriter discoveryWriter;
+
+
+	@Setup(Level.Trial)
+	public void setUp() throws IOException, SQLException
+	{
+		// row mappers confirm each graveyard world with the server
+		if (Bukkit.getServer() == null)
+		{
+			Server server = mock(Server.class, withSettings().stubOnly());
+			when(server.getLogger()).thenReturn(logger);
+			Bukkit.setServer(server);
+		}
+
+		final ConfigRepository configRepository = mock(ConfigRepository.class, withSettings().stubOnly());
+		when(configRepository.locale()).thenReturn(Locale.US);
+
+		directory = Files.createTempDirectory("savagegraveyards-benchmark");
+		final String dbUrl = "jdbc:sqlite:" + directory.resolve("graveyards.db");
+		final SqliteSettings settings = SqliteSettings.of(SqliteSettings.Profile.BALANCED);
+
+		connection = DriverManager.getConnection(dbUrl);
+		settings.apply(connection);
+
+		try (Statement statement = connection.createStatement())
+		{
+			statement.executeUpdate(SqliteQueries.getQuery("EnableForeignKeys"));
+			statement.execute(SqliteQueries.getQuery("CreateGraveyardTable"));
+			statement.execute(SqliteQueries.getQuery("CreatePlayerTable"));
+			statement.execute(SqliteQueries.getQuery("CreateDiscoveryTable"));
+			statement.execute(SqliteQueries.getQuery("CreateGraveyardSearchKeyFoldedIndex"));
+			statement.execute(SqliteQueries.getQuery("CreateGraveyardWorldIndex"));
+		}
+
+		insertGraveyards();
+		insertDiscoveries();
+
+		// created after the bulk insert, as the schema updater does for existing datastores
+		try (Statement statement = connection.createStatement())
+		{
+			statement.execute(SqliteQueries.getQuery("CreateDiscoveryGraveyardIndex"));
+			statement.execute("ANALYZE");
+		}
+
+		final GraveyardCatalog catalog = new GraveyardCatalog();
+		final DiscoveryCache discoveryCache = new DiscoveryCache(catalog, (int) Config.DISCOVERY_CACHE_SIZE.getDefaultObject());
+		final DatastoreEventBus eventBus = new DatastoreEventBus(configRepository, logger);
+
+		statementCache = new SqliteStatementCache(connection);
+		readPool = new SqliteReadPool(dbUrl, settings, statementCache, configRepository, logger);
+		discoveryWriter = new SqliteDiscoveryWriter(dbUrl, configRepository, discoveryCache, eventBus, settings,
+				(int) Config.DISCOVERY_BATCH_SIZE.getDefaultObject(), (Duration) Config.DISCOVERY_FLUSH_INTERVAL.getDefaultObject(), logger);
+		if (writeBehind())
+		{
+			discoveryWriter.start();
+		}
+
+		discoveries = new SqliteDiscoveryRepository(statementCache, readPool, configRepository, discoveryCache,
+				discoveryWriter, eventBus, logger);
+		graveyards = new SqliteGraveyardRepository(statementCache, readPool, configRepository,
+				new Version4.GraveyardRowMapper(), catalog, discoveryCache, DiscoverySource.NONE, eventBus, logger);
+		graveyards.loadCatalog();
+		graveyards.initializeRangeIndex(DISCOVERY_RANGE);
+
+		// players 1 and 3 have discovered the same graveyards
+		player = createPlayer(new UUID(0L, 1L));
+		cachedPlayer = createPlayer(new UUID(0L, 3L));
+		discoveries.loadPlayer(cachedPlayer.getUniqueId());
+	}
+
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws IOException, SQLException
+	{
+		discoveryWriter.close();
+		readPool.close();
+		statementCache.close();
+		connection.close();
+
+		try (Stream<Path> paths = Files.list(directory))
+		{
+			for (Path path : paths.toList())
+			{
+				Files.deleteIfExists(path);
+			}
+		}
+		Files.deleteIfExists(directory);
+	}
+
+
+	/**
+	 * Test if discoveries are saved through the write-behind discovery writer
+	 *
+	 * @return {@code true} to start the discovery writer, {@code false} to save discoveries on the calling thread
+	 */
+	protected boolean writeBehind()
+	{
+		return false;
+	}
+
+
+	/**
+	 * Create a player standing within discovery range of the graveyard at (1000, 64, 0), with every permission
+	 *
+	 * @param playerUid the player uid
+	 * @return a stub player
+	 */
+	Player createPlayer(final UUID playerUid)
+	{
+		final World world = mock(World.class, withSettings().stubOnly());
+		when(world.getUID()).thenReturn(worldUid);
+		when(world.getName()).thenReturn("world");
+
+		final Location location = new Location(world, 1010.0, 64.0, 10.0);
+
+		final Player stub = mock(Player.class, withSettings().stubOnly());
+		when(stub.getUniqueId()).thenReturn(playerUid);
+		when(stub.getWorld()).thenReturn(world);
+		when(stub.getLocation()).thenReturn(location);
+		when(stub.hasPermission(anyString())).thenReturn(true);
+		return stub;
+	}
+
+
+	private void insertGraveyards() throws SQLException
+	{
+		connection.setAutoCommit(false);
+
+		try (PreparedStatement graveyard = connection.prepareStatement("INSERT INTO Graveyard "
+				+ "(SearchKey, Name, UidMsb, UidLsb, Enabled, Hidden, DiscoveryRange, DiscoveryMessage, RespawnMessage, "
+				+ "SafetyRange, SafetyTime, GroupName, WorldName, WorldUidMsb, WorldUidLsb, X, Y, Z, Yaw, Pitch) "
+				+ "VALUES (?, ?, ?, ?, 1, 1, -1, 'discovered', 'respawned', 10, 15, NULL, 'world', ?, ?, ?, 64, ?, 0, 0)"))
+		{
+			for (int i = 1; i <= graveyardCount; i++)
+			{
+				UUID uid = UUID.randomUUID();
+				graveyardUids.add(uid);
+				graveyard.setString(1, "Graveyard_" + i);
+				graveyard.setString(2, "&aGraveyard " + i);
+				graveyard.setLong(3, uid.getMostSignificantBits());
+				graveyard.setLong(4, uid.getLeastSignificantBits());
+				graveyard.setLong(5, worldUid.getMostSignificantBits());
+				graveyard.setLong(6, worldUid.getLeastSignificantBits());
+				graveyard.setDouble(7, (i % 100) * 100.0);
+				graveyard.setDouble(8, (i / 100) * 100.0);
+				graveyard.addBatch();
+
+				if (i % BATCH_SIZE == 0)
+				{
+					graveyard.executeBatch();
+				}
+			}
+			graveyard.executeBatch();
+		}
+
+		connection.commit();
+		connection.setAutoCommit(true);
+	}
+
+
+	/**
+	 * Insert players with sequential ids, the first being the measured player, each discovering the graveyards
+	 * whose key has the same parity as the player id, until the requested number of discovery rows is written
+	 */
+	private void insertDiscoveries() throws SQLException
+	{
+		connection.setAutoCommit(false);
+
+		try (PreparedStatement player = connection.prepareStatement("INSERT INTO Player (Id, UidMsb, UidLsb) VALUES (?, 0, ?)");
+		     PreparedStatement discovery = connection.prepareStatement(
+				     "INSERT INTO Discovery (PlayerId, GraveyardKey, Timestamp) VALUES (?, ?, 0)"))
+		{
+			int rows = 0;
+			for (long playerId = 1; rows < discoveryCount; playerId++)
+			{
+				player.setLong(1, playerId);
+				player.setLong(2, playerId);
+				player.addBatch();
+
+				for (long key = 2 - (playerId % 2); key <= graveyardCount && rows < discoveryCount; key += 2)
+				{
+					discovery.setLong(1, playerId);
+					discovery.setLong(2, key);
+					discovery.addBatch();
+
+					if (++rows % BATCH_SIZE == 0)
+					{
+						player.executeBatch();
+						discovery.executeBatch();
+					}
+				}
+			}
+			player.executeBatch();
+			discovery.executeBatch();
+		}
+
+		connection.commit();
+		connection.setAutoCommit(true);
+	}
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+
+package com.winterhavenmc.savagegraveyards.benchmarks;
+
+import com.winterhavenmc.savagegraveyards.models.graveyard.ValidGraveyard;
+import com.winterhavenmc.savagegraveyards.tasks.discovery.BukkitDiscoveryTask;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Measures the discovery task's check for a single player: the pure-Java range and group predicates applied to
+ * every graveyard in the catalog, as when the range index is unavailable, and the complete check of the candidates
+ * selected through the range index.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DiscoveryPredicateBenchmark
+{
+	private List<ValidGraveyard> candidates;
+
+
+	@Setup(Level.Trial)
+	public void setUp(final DatastoreFixture fixture)
+	{
+		candidates = fixture.graveyards.getAll()
+				.filter(ValidGraveyard.class::isInstance)
+				.map(ValidGraveyard.class::cast)
+				.toList();
+	}
+
+
+	@Benchmark
+	public void filterCatalog(final DatastoreFixture fixture, final Blackhole blackhole)
+	{
+		candidates.stream()
+				.filter(BukkitDiscoveryTask.discoverable(fixture.player, DatastoreFixture.DISCOVERY_RANGE))
+				.forEach(blackhole::consume);
+	}
+
+
+	@Benchmark
+	public void filterInRange(final DatastoreFixture fixture, final Blackhole blackhole)
+	{
+		fixture.graveyards.getUndiscoveredGraveyardsInRange(fixture.player, DatastoreFixture.DISCOVERY_RANGE)
+				.filter(BukkitDiscoveryTask.discoverable(fixture.player, DatastoreFixture.DISCOVERY_RANGE))
+				.forEach(blackhole::consume);
+	}
+
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+
+package com.winterhavenmc.savagegraveyards.benchmarks;
+
+import com.winterhavenmc.savagegraveyards.models.discovery.Discovery;
+import com.winterhavenmc.savagegraveyards.models.discovery.ValidDiscovery;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Measures the latency of {@code DiscoveryRepository.save()} as seen by the discovery task, writing through to
+ * the datastore on the calling thread, and placing discoveries on the queue of the write-behind discovery writer.
+ * Each save is a new discovery, for a new player, of the next graveyard.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class DiscoverySaveBenchmark
+{
+	/**
+	 * The datastore fixture, with the write-behind discovery writer started
+	 */
+	public static class WriteBehindFixture extends DatastoreFixture
+	{
+		@Override
+		protected boolean writeBehind()
+		{
+			return true;
+		}
+	}
+
+
+	private long next;
+
+
+	@Benchmark
+	public boolean saveWriteThrough(final DatastoreFixture fixture)
+	{
+		return fixture.discoveries.save(nextDiscovery(fixture));
+	}
+
+
+	@Benchmark
+	public boolean saveWriteBehind(final WriteBehindFixture fixture)
+	{
+		return fixture.discoveries.save(nextDiscovery(fixture));
+	}
+
+
+	private ValidDiscovery nextDiscovery(final DatastoreFixture fixture)
+	{
+		final UUID graveyardUid = fixture.graveyardUids.get((int) (next % fixture.graveyardUids.size()));
+		final UUID playerUid = new UUID(1L, next++);
+
+		return (ValidDiscovery) Discovery.of(graveyardUid, playerUid);
+	}
+
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+
+package com.winterhavenmc.savagegraveyards.benchmarks;
+
+import com.winterhavenmc.savagegraveyards.models.graveyard.ValidGraveyard;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Measures the graveyard repository operations run for players and commands: respawn selection, undiscovered
+ * graveyard queries with and without the player's discoveries cached, and the name completion and listing served
+ * from the in-memory catalog.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RepositoryBenchmark
+{
+	@Benchmark
+	public List<ValidGraveyard> getNearestGraveyards(final DatastoreFixture fixture)
+	{
+		return fixture.graveyards.getNearestGraveyards(fixture.player);
+	}
+
+
+	@Benchmark
+	public void getUndiscoveredGraveyards(final DatastoreFixture fixture, final Blackhole blackhole)
+	{
+		fixture.graveyards.getUndiscoveredGraveyards(fixture.player).forEach(blackhole::consume);
+	}
+
+
+	@Benchmark
+	public void getUndiscoveredGraveyardsCached(final DatastoreFixture fixture, final Blackhole blackhole)
+	{
+		fixture.graveyards.getUndiscoveredGraveyards(fixture.cachedPlayer).forEach(blackhole::consume);
+	}
+
+
+	@Benchmark
+	public void getUndiscoveredGraveyardsInRange(final DatastoreFixture fixture, final Blackhole blackhole)
+	{
+		fixture.graveyards.getUndiscoveredGraveyardsInRange(fixture.player, DatastoreFixture.DISCOVERY_RANGE)
+				.forEach(blackhole::consume);
+	}
+
+
+	@Benchmark
+	public List<String> getMatchingNames(final DatastoreFixture fixture)
+	{
+		return fixture.graveyards.getMatchingNames("graveyard_1");
+	}
+
+
+	@Benchmark
+	public void getAll(final DatastoreFixture fixture, final Blackhole blackhole)
+	{
+		fixture.graveyards.getAll().forEach(blackhole::consume);
+	}
+
+}
@@ -0,0 +1,233 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.savagegraveyards.benchmarks;
+
+import com.winterhavenmc.savagegraveyards.datastore.sqlite.SqliteQueries;
+import com.winterhavenmc.savagegraveyards.datastore.sqlite.schema.RowMapper;
+import com.winterhavenmc.savagegraveyards.datastore.sqlite.schema.Version4;
+import com.winterhavenmc.savagegraveyards.models.graveyard.Graveyard;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Server;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+
+/**
+ * Compares graveyard row mapping by column label, resolved for every row as the row mappers did before column
+ * indexes were cached, with mapping by column indexes resolved once per query. Both run the queries used by
+ * {@code SqliteGraveyardRepository.getAll()} and {@code getUndiscoveredGraveyards()} against a temporary
+ * datastore, in which the player has discovered half of the graveyards.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RowMapperBenchmark
+{
+	private static final String SELECT_ALL = "SelectAllGraveyardRecords";
+	private static final String SELECT_UNDISCOVERED = "SelectUndiscoveredGraveyards";
+
+	@Param({"5000", "20000"})
+	private int graveyardCount;
+
+	private final UUID worldUid = UUID.randomUUID();
+	private final UUID playerUid = UUID.randomUUID();
+
+	private Path directory;
+	private Connection connection;
+	private PreparedStatement selectAll;
+	private PreparedStatement selectUndiscovered;
+	private RowMapper<Graveyard> rowMapper;
+
+
+	@Setup(Level.Trial)
+	public void setUp() throws IOException, SQLException
+	{
+		// row mappers confirm each graveyard world with the server
+		if (Bukkit.getServer() == null)
+		{
+			Server server = mock(Server.class, withSettings().stubOnly());
+			when(server.getLogger()).thenReturn(Logger.getLogger(RowMapperBenchmark.class.getName()));
+			Bukkit.setServer(server);
+		}
+
+		directory = Files.createTempDirectory("savagegraveyards-benchmark");
+		connection = DriverManager.getConnection("jdbc:sqlite:" + directory.resolve("graveyards.db"));
+
+		try (Statement statement = connection.createStatement())
+		{
+			statement.execute(SqliteQueries.getQuery("CreateGraveyardTable"));
+			statement.execute(SqliteQueries.getQuery("CreatePlayerTable"));
+			statement.execute(SqliteQueries.getQuery("CreateDiscoveryTable"));
+			statement.execute(SqliteQueries.getQuery("CreateGraveyardSearchKeyFoldedIndex"));
+			statement.execute(SqliteQueries.getQuery("CreateGraveyardWorldIndex"));
+		}
+
+		insertFixture();
+
+		selectAll = connection.prepareStatement(SqliteQueries.getQuery(SELECT_ALL));
+		selectUndiscovered = connection.prepareStatement(SqliteQueries.getQuery(SELECT_UNDISCOVERED));
+		selectUndiscovered.setLong(1, worldUid.getMostSignificantBits());
+		selectUndiscovered.setLong(2, worldUid.getLeastSignificantBits());
+		selectUndiscovered.setLong(3, playerUid.getMostSignificantBits());
+		selectUndiscovered.setLong(4, playerUid.getLeastSignificantBits());
+
+		rowMapper = new Version4.GraveyardRowMapper();
+	}
+
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws IOException, SQLException
+	{
+		selectAll.close();
+		selectUndiscovered.close();
+		connection.close();
+
+		try (Stream<Path> paths = Files.list(directory))
+		{
+			for (Path path : paths.toList())
+			{
+				Files.deleteIfExists(path);
+			}
+		}
+		Files.deleteIfExists(directory);
+	}
+
+
+	private void insertFixture() throws SQLException
+	{
+		connection.setAutoCommit(false);
+
+		try (PreparedStatement graveyard = connection.prepareStatement("INSERT INTO Graveyard "
+				+ "(SearchKey, Name, UidMsb, UidLsb, Enabled, Hidden, DiscoveryRange, DiscoveryMessage, RespawnMessage, "
+				+ "SafetyRange, SafetyTime, GroupName, WorldName, WorldUidMsb, WorldUidLsb, X, Y, Z, Yaw, Pitch) "
+				+ "VALUES (?, ?, ?, ?, 1, 1, 50, 'discovered', 'respawned', 10, 15, NULL, 'world', ?, ?, ?, 64, ?, 0, 0)");
+		     PreparedStatement player = connection.prepareStatement(SqliteQueries.getQuery("InsertPlayer"));
+		     PreparedStatement discovery = connection.prepareStatement(
+				     "INSERT INTO Discovery (PlayerId, GraveyardKey, Timestamp) SELECT Player.Id, ?, 0 FROM Player "
+						     + "WHERE Player.UidMsb = ? AND Player.UidLsb = ?"))
+		{
+			player.setLong(1, playerUid.getMostSignificantBits());
+			player.setLong(2, playerUid.getLeastSignificantBits());
+			player.executeUpdate();
+
+			for (int i = 1; i <= graveyardCount; i++)
+			{
+				UUID uid = UUID.randomUUID();
+				graveyard.setString(1, "Graveyard_" + i);
+				graveyard.setString(2, "&aGraveyard " + i);
+				graveyard.setLong(3, uid.getMostSignificantBits());
+				graveyard.setLong(4, uid.getLeastSignificantBits());
+				graveyard.setLong(5, worldUid.getMostSignificantBits());
+				graveyard.setLong(6, worldUid.getLeastSignificantBits());
+				graveyard.setDouble(7, (i % 100) * 100.0);
+				graveyard.setDouble(8, (i / 100) * 100.0);
+				graveyard.addBatch();
+
+				if (i % 2 == 0)
+				{
+					discovery.setLong(1, i);
+					discovery.setLong(2, playerUid.getMostSignificantBits());
+					discovery.setLong(3, playerUid.getLeastSignificantBits());
+					discovery.addBatch();
+				}
+			}
+
+			graveyard.executeBatch();
+			discovery.executeBatch();
+		}
+
+		connection.commit();
+		connection.setAutoCommit(true);
+	}
+
+
+	@Benchmark
+	public void getAllByLabel(final Blackhole blackhole) throws SQLException
+	{
+		try (ResultSet resultSet = selectAll.executeQuery())
+		{
+			while (resultSet.next())
+			{
+				blackhole.consume(rowMapper.map(resultSet));
+			}
+		}
+	}
+
+
+	@Benchmark
+	public void getAllByIndex(final Blackhole blackhole) throws SQLException
+	{
+		try (ResultSet resultSet = selectAll.executeQuery())
+		{
+			while (resultSet.next())
+			{
+				blackhole.consume(rowMapper.map(resultSet, SELECT_ALL));
+			}
+		}
+	}
+
+
+	@Benchmark
+	public void getUndiscoveredByLabel(final Blackhole blackhole) throws SQLException
+	{
+		try (ResultSet resultSet = selectUndiscovered.executeQuery())
+		{
+			while (resultSet.next())
+			{
+				blackhole.consume(rowMapper.map(resultSet));
+			}
+		}
+	}
+
+
+	@Benchmark
+	public void getUndiscoveredByIndex(final Blackhole blackhole) throws SQLException
+	{
+		try (ResultSet resultSet = selectUndiscovered.executeQuery())
+		{
+			while (resultSet.next())
+			{
+				blackhole.consume(rowMapper.map(resultSet, SELECT_UNDISCOVERED));
+			}
+		}
+	}
+
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.savagegraveyards.datastore;
+
+import com.winterhavenmc.savagegraveyards.models.discovery.ValidDiscovery;
+
+import java.util.Collection;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+
+/**
+ * An asynchronous companion to {@link DiscoveryRepository}. Each method performs the corresponding repository
+ * operation on a datastore thread, and returns a {@link CompletableFuture} that is completed with its result.
+ */
+public interface AsyncDiscoveryRepository
+{
+	/**
+	 * Save discovery record
+	 *
+	 * @param discovery a discovery record to save
+	 * @return a future completed with {@code true} if the record was successfully saved, or {@code false} if not
+	 */
+	CompletableFuture<Boolean> save(ValidDiscovery discovery);
+
+
+	/**
+	 * Save a collection of discovery records in a single transaction
+	 *
+	 * @param discoveries the discovery records to save
+	 * @return a future completed with the number of discovery records that were saved
+	 */
+	CompletableFuture<Integer> saveAll(Collection<ValidDiscovery> discoveries);
+
+
+	/**
+	 * Delete discovery record
+	 *
+	 * @param graveyardUid the graveyardUid of the discovery record to be deleted
+	 * @param playerUid the playerUid of the discovery record to be deleted
+	 * @return a future completed with {@code true} if deletion was successful, or {@code false} if not
+	 */
+	CompletableFuture<Boolean> delete(UUID graveyardUid, UUID playerUid);
+
+
+	/**
+	 * Load a player's discovery records into memory
+	 *
+	 * @param playerUid the uid of the player to load
+	 * @return a future completed when the load has finished
+	 */
+	CompletableFuture<Void> loadPlayer(UUID playerUid);
+}
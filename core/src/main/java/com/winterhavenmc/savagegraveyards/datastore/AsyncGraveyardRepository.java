@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.savagegraveyards.datastore;
+
+import com.winterhavenmc.savagegraveyards.models.graveyard.Graveyard;
+import com.winterhavenmc.savagegraveyards.models.graveyard.ValidGraveyard;
+import com.winterhavenmc.savagegraveyards.models.searchkey.ValidSearchKey;
+
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+
+
+/**
+ * An asynchronous companion to {@link GraveyardRepository}. Each method performs the corresponding repository
+ * operation on a datastore thread, and returns a {@link CompletableFuture} that is completed with its result.
+ * Futures are completed on a datastore thread; callers that use the Bukkit API with the result should continue
+ * on the server thread. Methods that take a player must be called on the server thread; they capture the player's
+ * uid, world, location and group permissions as a {@link PlayerQuery} when called, and the datastore thread reads
+ * only that snapshot.
+ */
+public interface AsyncGraveyardRepository
+{
+	/**
+	 * Get record
+	 *
+	 * @param searchKey the search key of the graveyard to be retrieved
+	 * @return a future completed with the graveyard, or an InvalidGraveyard if no matching record
+	 */
+	CompletableFuture<Graveyard> get(ValidSearchKey searchKey);
+
+
+	CompletableFuture<Graveyard> get(UUID graveyardUid);
+
+
+	/**
+	 * Get all graveyard records
+	 *
+	 * @return a future completed with a {@link List} of all graveyard records
+	 */
+	CompletableFuture<List<Graveyard>> getAll();
+
+
+	/**
+	 * Select a count of graveyards in the datastore
+	 *
+	 * @return a future completed with the count of graveyard records in the datastore
+	 */
+	CompletableFuture<Integer> getCount();
+
+
+	/**
+	 * Save graveyard record
+	 *
+	 * @return a future completed with the saved graveyard record
+	 */
+	CompletableFuture<Graveyard> save(ValidGraveyard graveyard);
+
+
+	/**
+	 * Insert or update a collection of graveyard records in a single transaction
+	 *
+	 * @param graveyards the graveyard records to save
+	 * @return a future completed with the number of graveyard records inserted or updated
+	 */
+	CompletableFuture<Integer> saveAll(Collection<ValidGraveyard> graveyards);
+
+
+	/**
+	 * Gets closest graveyard to player's current location
+	 *
+	 * @param player the player for whom to retrieve the nearest graveyard
+	 * @return a future completed with the nearest graveyard, or an empty Optional if none
+	 */
+	CompletableFuture<Optional<ValidGraveyard>> getNearestGraveyard(Player player);
+
+
+	/**
+	 * Returns a list of enabled, valid graveyards in the player's current world for which
+	 * the player has permission, returned in order of proximity to the player's location.
+	 *
+	 * @param player the player whose location is used as the origin, and permissions are checked
+	 * @return a future completed with a list of graveyards that match the criteria
+	 */
+	CompletableFuture<List<ValidGraveyard>> getNearestGraveyards(Player player);
+
+
+	/**
+	 * Retrieves a list of graveyard names that match a given prefix
+	 *
+	 * @param prefix the prefix to match
+	 * @return a future completed with a list of graveyard names matched by prefix
+	 */
+	CompletableFuture<List<String>> getMatchingNames(String prefix);
+
+
+	/**
+	 * Get graveyard searchKeys that prefix match string
+	 *
+	 * @param prefix the prefix to match
+	 * @return a future completed with a list of search keys matched by prefix
+	 */
+	CompletableFuture<List<String>> getMatchingKeys(String prefix);
+
+
+	/**
+	 * Get undiscovered graveyards for player
+	 *
+	 * @param player the player for whom to retrieve undiscovered graveyards
+	 * @return a future completed with a list of graveyards that are undiscovered for player
+	 */
+	CompletableFuture<List<ValidGraveyard>> getUndiscoveredGraveyards(Player player);
+
+
+	/**
+	 * Get undiscovered graveyard keys for player
+	 *
+	 * @param sender the command sender for whom to retrieve undiscovered graveyard keys
+	 * @return a future completed with a set of search keys that are undiscovered for player
+	 */
+	CompletableFuture<Set<String>> getUndiscoveredKeys(CommandSender sender);
+
+
+	/**
+	 * Update a graveyard record in the datastore
+	 *
+	 * @param graveyard the graveyard record to be updated in the datastore
+	 * @return a future completed with the graveyard record stored in the datastore before being updated
+	 */
+	CompletableFuture<Graveyard> update(ValidGraveyard graveyard);
+
+
+	/**
+	 * Update a graveyard record in the datastore, by the search key of the existing record
+	 *
+	 * @param searchKey the search key for the existing graveyard to be updated in the datastore
+	 * @param graveyard the graveyard record to be updated in the datastore
+	 * @return a future completed with the graveyard record stored in the datastore before being updated
+	 */
+	CompletableFuture<Graveyard> update(ValidSearchKey searchKey, ValidGraveyard graveyard);
+
+
+	/**
+	 * Delete record
+	 *
+	 * @param searchKey search key of record to be deleted
+	 * @return a future completed with the deleted graveyard record
+	 */
+	CompletableFuture<Graveyard> delete(ValidSearchKey searchKey);
+}
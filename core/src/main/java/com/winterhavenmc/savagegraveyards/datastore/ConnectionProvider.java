@@ -17,6 +17,11 @@
 
 package com.winterhavenmc.savagegraveyards.datastore;
 
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+
 
 public interface ConnectionProvider
 {
@@ -47,4 +52,67 @@ public interface ConnectionProvider
 	 */
 	DiscoveryRepository discoveries();
 
+
+	/**
+	 * Get instance of AsyncGraveyardRepository, which performs graveyard operations on a datastore thread
+	 *
+	 * @return {@link AsyncGraveyardRepository}
+	 */
+	AsyncGraveyardRepository asyncGraveyards();
+
+
+	/**
+	 * Get instance of AsyncDiscoveryRepository, which performs discovery operations on a datastore thread
+	 *
+	 * @return {@link AsyncDiscoveryRepository}
+	 */
+	AsyncDiscoveryRepository asyncDiscoveries();
+
+
+	/**
+	 * Get the bus on which graveyard and discovery changes are published
+	 *
+	 * @return {@link RepositoryEventBus}
+	 */
+	RepositoryEventBus events();
+
+
+	/**
+	 * Get the datastore settings currently in effect, for display
+	 *
+	 * @return an ordered map of setting names to their current values
+	 */
+	Map<String, String> settings();
+
+
+	/**
+	 * Get the latency statistics of each repository operation performed since the datastore was opened
+	 *
+	 * @return a list of statistics, ordered by operation name
+	 */
+	List<QueryStatistics> queryStatistics();
+
+
+	/**
+	 * Get the time the server thread was blocked by datastore operations in the last minute, if the main thread
+	 * watchdog is enabled
+	 *
+	 * @return the blocked time in milliseconds, or an empty {@link OptionalLong} if the watchdog is not enabled
+	 */
+	OptionalLong mainThreadBlockedMillis();
+
+
+	/**
+	 * Get the online backups of the datastore, if the datastore supports them
+	 *
+	 * @return {@link DatastoreBackup}, or an empty {@link Optional} if backups are not supported
+	 */
+	Optional<DatastoreBackup> backups();
+
+
+	/**
+	 * Apply the datastore settings that are read from the plugin configuration after it is reloaded
+	 */
+	void reload();
+
 }
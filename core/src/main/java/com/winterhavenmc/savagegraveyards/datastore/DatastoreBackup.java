@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.savagegraveyards.datastore;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+
+/**
+ * Online backups of a datastore. Backups are written while the datastore remains in use, and a backup may be
+ * staged to replace the datastore when the server is next started.
+ */
+public interface DatastoreBackup
+{
+	/**
+	 * Write a backup of the datastore on a background thread
+	 *
+	 * @return a future completed with the result of the backup, or completed exceptionally if the backup failed
+	 */
+	CompletableFuture<BackupResult> backup();
+
+
+	/**
+	 * Validate a backup file and stage it to replace the datastore when the server is next started
+	 *
+	 * @param fileName the name of the backup file
+	 * @return a future completed with the outcome of the validation
+	 */
+	CompletableFuture<RestoreStatus> stageRestore(String fileName);
+
+
+	/**
+	 * Get the names of the existing backup files, newest first
+	 *
+	 * @return the backup file names
+	 */
+	List<String> list();
+
+
+	/**
+	 * The result of a completed backup
+	 *
+	 * @param fileName the name of the backup file
+	 * @param size the size of the backup file, in bytes
+	 * @param elapsed the duration of the backup
+	 */
+	record BackupResult(String fileName, long size, Duration elapsed) { }
+
+
+	/**
+	 * The outcome of staging a backup for restore
+	 */
+	enum RestoreStatus
+	{
+		STAGED,
+		NOT_FOUND,
+		INVALID,
+		FAILED
+	}
+
+}
@@ -19,7 +19,9 @@ package com.winterhavenmc.savagegraveyards.datastore;
 
 import com.winterhavenmc.savagegraveyards.models.discovery.ValidDiscovery;
 
+import java.util.Collection;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 
 public interface DiscoveryRepository
@@ -33,6 +35,16 @@ public interface DiscoveryRepository
 	boolean save(ValidDiscovery discovery);
 
 
+	/**
+	 * Save a collection of discovery records in a single transaction. Discoveries that already exist are ignored,
+	 * and discoveries of graveyards that do not exist are not saved.
+	 *
+	 * @param discoveries the discovery records to save
+	 * @return the number of discovery records that were saved
+	 */
+	int saveAll(Collection<ValidDiscovery> discoveries);
+
+
 	/**
 	 * Delete discovery record
 	 *
@@ -41,4 +53,31 @@ public interface DiscoveryRepository
 	 * @return boolean {@code true} if deletion was successful, or {@code false} if not
 	 */
 	boolean delete(UUID graveyardUid, UUID playerUid);
+
+
+	/**
+	 * Pass every discovery record in the datastore to a consumer, one at a time, as they are read from a cursor.
+	 * Records are not collected in memory. This method may be called from an asynchronous task.
+	 *
+	 * @param consumer the consumer of each discovery record
+	 * @return the number of discovery records passed to the consumer
+	 */
+	long forEach(Consumer<? super ValidDiscovery> consumer);
+
+
+	/**
+	 * Load a player's discovery records into memory, so that undiscovered graveyard lookups for the player
+	 * may be answered without a datastore query. This method may be called from an asynchronous task.
+	 *
+	 * @param playerUid the uid of the player to load
+	 */
+	void loadPlayer(UUID playerUid);
+
+
+	/**
+	 * Release a player's discovery records held in memory
+	 *
+	 * @param playerUid the uid of the player to unload
+	 */
+	void unloadPlayer(UUID playerUid);
 }
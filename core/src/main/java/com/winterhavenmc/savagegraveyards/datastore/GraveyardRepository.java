@@ -65,13 +65,38 @@ public interface GraveyardRepository
 	Graveyard save(ValidGraveyard graveyard);
 
 
+	/**
+	 * Insert or update a collection of graveyard records in a single transaction. A graveyard with the uid of an
+	 * existing record replaces that record, and any other graveyard is inserted. If any record cannot be written,
+	 * none of the records are saved.
+	 *
+	 * @param graveyards the graveyard records to save
+	 * @return the number of graveyard records inserted or updated
+	 */
+	int saveAll(Collection<ValidGraveyard> graveyards);
+
+
 	/**
 	 * Gets closest graveyard to player's current location
 	 *
 	 * @param player the player for whom to retrieve the nearest Valid
 	 * @return Valid object
 	 */
-	Optional<ValidGraveyard> getNearestGraveyard(Player player);
+	default Optional<ValidGraveyard> getNearestGraveyard(final Player player)
+	{
+		if (player == null) { return Optional.empty(); }
+
+		return getNearestGraveyard(PlayerQuery.of(player, getGroups()));
+	}
+
+
+	/**
+	 * Gets closest graveyard to a player's location, as captured in a player query
+	 *
+	 * @param query the captured state of the player for whom to retrieve the nearest graveyard
+	 * @return the nearest graveyard, or an empty Optional if none
+	 */
+	Optional<ValidGraveyard> getNearestGraveyard(PlayerQuery query);
 
 
 	/**
@@ -81,7 +106,30 @@ public interface GraveyardRepository
 	 * @param player the player whose location is used as the origin, and permissions are checked
 	 * @return a list of graveyards that match the criteria
 	 */
-	List<ValidGraveyard> getNearestGraveyards(Player player);
+	default List<ValidGraveyard> getNearestGraveyards(final Player player)
+	{
+		if (player == null) { return List.of(); }
+
+		return getNearestGraveyards(PlayerQuery.of(player, getGroups()));
+	}
+
+
+	/**
+	 * Returns a list of enabled, valid graveyards in a player's world for which the player has permission,
+	 * returned in order of proximity to the player's location, as captured in a player query.
+	 *
+	 * @param query the captured state of the player whose location is used as the origin
+	 * @return a list of graveyards that match the criteria
+	 */
+	List<ValidGraveyard> getNearestGraveyards(PlayerQuery query);
+
+
+	/**
+	 * Get the names of the groups to which graveyards are restricted, for capturing a player's group permissions
+	 *
+	 * @return a {@link Set} of group names
+	 */
+	Set<String> getGroups();
 
 
 	/**
@@ -91,8 +139,6 @@ public interface GraveyardRepository
 	 * <p>
 	 * This method is used by command TabCompleter methods th return a list of graveyard
 	 * names that match a partially completed name prefix.
-	 * <p>
-	 * This is currently (11-Jul_2025) the only method that uses the <em>SelectGraveyardNamesMatchingPrefix</em> query.
 	 *
 	 * @param prefix the prefix to match
 	 * @return List of Strings containing graveyard names matched by prefix
@@ -115,7 +161,32 @@ public interface GraveyardRepository
 	 * @param player the player for whom to retrieve undiscovered Graveyards
 	 * @return Stream of Valid objects that are undiscovered for player
 	 */
-	Stream<ValidGraveyard> getUndiscoveredGraveyards(Player player);
+	default Stream<ValidGraveyard> getUndiscoveredGraveyards(final Player player)
+	{
+		if (player == null) { return Stream.empty(); }
+
+		return getUndiscoveredGraveyards(PlayerQuery.of(player, getGroups()));
+	}
+
+
+	/**
+	 * Get undiscovered graveyards in a player's world, as captured in a player query
+	 *
+	 * @param query the captured state of the player for whom to retrieve undiscovered graveyards
+	 * @return Stream of Valid objects that are undiscovered for player
+	 */
+	Stream<ValidGraveyard> getUndiscoveredGraveyards(PlayerQuery query);
+
+
+	/**
+	 * Get undiscovered graveyards for player whose discovery range may contain the player's position.
+	 * The result may include graveyards that are just out of range, so the exact distance should still be checked.
+	 *
+	 * @param player the player for whom to retrieve undiscovered Graveyards
+	 * @param defaultRange the discovery range used for graveyards with a negative discovery range
+	 * @return Stream of Valid objects that are undiscovered for player and may be in range
+	 */
+	Stream<ValidGraveyard> getUndiscoveredGraveyardsInRange(Player player, int defaultRange);
 
 
 	/**
@@ -124,7 +195,21 @@ public interface GraveyardRepository
 	 * @param player the player for whom to retrieve undiscovered Valid keys
 	 * @return HashSet of Valid search keys that are undiscovered for player
 	 */
-	Set<String> getUndiscoveredKeys(CommandSender player);
+	default Set<String> getUndiscoveredKeys(final CommandSender player)
+	{
+		if (!(player instanceof Player validPlayer)) { return Collections.emptySet(); }
+
+		return getUndiscoveredKeys(PlayerQuery.of(validPlayer, getGroups()));
+	}
+
+
+	/**
+	 * Get undiscovered graveyard keys in a player's world, as captured in a player query
+	 *
+	 * @param query the captured state of the player for whom to retrieve undiscovered graveyard keys
+	 * @return a {@link Set} of search keys that are undiscovered for player
+	 */
+	Set<String> getUndiscoveredKeys(PlayerQuery query);
 
 
 	/**
@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.savagegraveyards.datastore;
+
+import com.winterhavenmc.savagegraveyards.models.graveyard.attributes.Group;
+
+import org.bukkit.Location;
+import org.bukkit.entity.Player;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+
+/**
+ * The state of a player read by graveyard queries, captured when the query is made. Queries answered on a
+ * datastore thread are given a player query instead of the player, because the Bukkit player may only be read
+ * on the server thread.
+ *
+ * @param playerUid the uid of the player
+ * @param worldUid the uid of the player's current world
+ * @param x the x coordinate of the player's location
+ * @param y the y coordinate of the player's location
+ * @param z the z coordinate of the player's location
+ * @param permittedGroups the names of the graveyard groups the player has permission for
+ */
+public record PlayerQuery(UUID playerUid,
+                          UUID worldUid,
+                          double x,
+                          double y,
+                          double z,
+                          Set<String> permittedGroups)
+{
+	public PlayerQuery
+	{
+		permittedGroups = Set.copyOf(permittedGroups);
+	}
+
+
+	/**
+	 * Capture the state of a player. Must be called on the server thread.
+	 *
+	 * @param player the player
+	 * @param groups the names of the groups for which the player's permission is checked
+	 * @return the captured player state
+	 */
+	public static PlayerQuery of(final Player player, final Collection<String> groups)
+	{
+		final Set<String> permittedGroups = new HashSet<>();
+		for (String group : groups)
+		{
+			if (player.hasPermission("group." + group))
+			{
+				permittedGroups.add(group);
+			}
+		}
+
+		final Location location = player.getLocation();
+
+		return new PlayerQuery(player.getUniqueId(), player.getWorld().getUID(),
+				location.getX(), location.getY(), location.getZ(), permittedGroups);
+	}
+
+
+	/**
+	 * Test if the player may use graveyards of a group. Graveyards with no group may be used by every player.
+	 *
+	 * @param group the group of a graveyard
+	 * @return {@code true} if the graveyard has no group or the player has permission for its group
+	 */
+	public boolean permits(final Group group)
+	{
+		return group == null
+				|| group.value() == null
+				|| group.value().isBlank()
+				|| permittedGroups.contains(group.value());
+	}
+
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.savagegraveyards.datastore;
+
+import java.time.Duration;
+
+
+/**
+ * Latency statistics for one named datastore operation, recorded since the datastore was opened.
+ * Percentiles are approximate, and are reported as the upper bound of the histogram bucket in which they fall.
+ *
+ * @param query the name of the operation
+ * @param calls the number of calls completed
+ * @param errors the number of calls that threw an exception
+ * @param p50 the median latency
+ * @param p95 the 95th percentile latency
+ * @param p99 the 99th percentile latency
+ * @param max the greatest latency
+ */
+public record QueryStatistics(String query,
+                              long calls,
+                              long errors,
+                              Duration p50,
+                              Duration p95,
+                              Duration p99,
+                              Duration max) { }
@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+
+package com.winterhavenmc.savagegraveyards.datastore;
+
+import com.winterhavenmc.savagegraveyards.models.discovery.ValidDiscovery;
+import com.winterhavenmc.savagegraveyards.models.graveyard.ValidGraveyard;
+
+import java.util.UUID;
+
+
+/**
+ * A change to the graveyard or discovery records of a datastore, published on the {@link RepositoryEventBus}
+ * after the change has been committed. Graveyard events carry immutable snapshots of the record before and
+ * after the change.
+ */
+public sealed interface RepositoryEvent
+{
+	/**
+	 * A graveyard record was inserted
+	 *
+	 * @param graveyard the inserted graveyard record
+	 */
+	record GraveyardCreated(ValidGraveyard graveyard) implements RepositoryEvent { }
+
+
+	/**
+	 * A graveyard record was updated. The search key of the record may have changed.
+	 *
+	 * @param before the graveyard record before the update
+	 * @param after the graveyard record after the update
+	 */
+	record GraveyardUpdated(ValidGraveyard before, ValidGraveyard after) implements RepositoryEvent { }
+
+
+	/**
+	 * A graveyard record was deleted, along with all of its discoveries
+	 *
+	 * @param graveyard the graveyard record before it was deleted
+	 */
+	record GraveyardDeleted(ValidGraveyard graveyard) implements RepositoryEvent { }
+
+
+	/**
+	 * All graveyard records were reloaded from the datastore. Anything derived from graveyard or discovery
+	 * records should be rebuilt, since individual changes may have been missed.
+	 */
+	record GraveyardsReloaded() implements RepositoryEvent { }
+
+
+	/**
+	 * A discovery record was inserted
+	 *
+	 * @param discovery the inserted discovery record
+	 */
+	record DiscoveryAdded(ValidDiscovery discovery) implements RepositoryEvent { }
+
+
+	/**
+	 * A discovery record was deleted
+	 *
+	 * @param graveyardUid the uid of the graveyard that is no longer discovered
+	 * @param playerUid the uid of the player
+	 */
+	record DiscoveryRemoved(UUID graveyardUid, UUID playerUid) implements RepositoryEvent { }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+
+package com.winterhavenmc.savagegraveyards.datastore;
+
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+
+/**
+ * An in-process bus for {@link RepositoryEvent}s. The repositories publish an event after each change has been
+ * committed, so that listeners may keep derived data current without reading the datastore again.
+ * <p>
+ * Events are published on the thread that made the change, which is usually a datastore thread. A listener
+ * subscribed without an executor is called on that thread, and should return quickly; a listener subscribed
+ * with an executor is called on the executor, in the order events were published only if the executor runs
+ * tasks in order.
+ */
+public interface RepositoryEventBus
+{
+	/**
+	 * Subscribe a listener to events of a type, called on the publishing thread
+	 *
+	 * @param eventType the type of event to receive; {@code RepositoryEvent.class} receives all events
+	 * @param listener the listener to call with each event
+	 * @return a {@link Subscription} that unsubscribes the listener when closed
+	 * @param <E> the type of event
+	 */
+	<E extends RepositoryEvent> Subscription subscribe(Class<E> eventType, Consumer<? super E> listener);
+
+
+	/**
+	 * Subscribe a listener to events of a type, called on an executor
+	 *
+	 * @param eventType the type of event to receive; {@code RepositoryEvent.class} receives all events
+	 * @param listener the listener to call with each event
+	 * @param executor the executor on which the listener is called
+	 * @return a {@link Subscription} that unsubscribes the listener when closed
+	 * @param <E> the type of event
+	 */
+	<E extends RepositoryEvent> Subscription subscribe(Class<E> eventType, Consumer<? super E> listener, Executor executor);
+
+
+	/**
+	 * Publish an event to all listeners subscribed to its type
+	 *
+	 * @param event the event to publish
+	 */
+	void publish(RepositoryEvent event);
+
+
+	/**
+	 * A listener subscription
+	 */
+	interface Subscription extends AutoCloseable
+	{
+		/**
+		 * Unsubscribe the listener. Events already handed to an executor may still be delivered.
+		 */
+		@Override
+		void close();
+	}
+}
@@ -22,6 +22,8 @@ import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
 import org.bukkit.event.entity.EntityTargetLivingEntityEvent;
 import org.bukkit.event.entity.PlayerDeathEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
 import org.bukkit.event.player.PlayerRespawnEvent;
 
 public interface EventListener extends Listener
@@ -81,4 +83,20 @@ public interface EventListener extends Listener
 	 */
 	@EventHandler
 	void onEntityTargetLivingEntity(EntityTargetLivingEntityEvent event);
+
+	/**
+	 * Player join event handler
+	 *
+	 * @param event the event handled by this method
+	 */
+	@EventHandler(priority = EventPriority.MONITOR)
+	void onPlayerJoin(PlayerJoinEvent event);
+
+	/**
+	 * Player quit event handler
+	 *
+	 * @param event the event handled by this method
+	 */
+	@EventHandler(priority = EventPriority.MONITOR)
+	void onPlayerQuit(PlayerQuitEvent event);
 }
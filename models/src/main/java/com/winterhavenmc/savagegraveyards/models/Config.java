@@ -57,7 +57,22 @@ public enum Config
 	RESPAWN_PRIORITY(EventPriority.NORMAL),
 	TITLES_ENABLED(Boolean.TRUE),
 	SOUND_EFFECTS(Boolean.TRUE),
-	CONSIDER_BEDSPAWN(Boolean.FALSE);
+	CONSIDER_BEDSPAWN(Boolean.FALSE),
+	DATASTORE_THREADS(2),
+	PARALLEL_STARTUP(Boolean.FALSE),
+	SLOW_QUERY_THRESHOLD(Duration.ofMillis(50)),
+	MAIN_THREAD_WATCHDOG(Boolean.FALSE),
+	MAIN_THREAD_BUDGET(Duration.ofMillis(5)),
+	DISCOVERY_CACHE_SIZE(1000),
+	DISCOVERY_WRITE_BEHIND(Boolean.TRUE),
+	DISCOVERY_BATCH_SIZE(100),
+	DISCOVERY_FLUSH_INTERVAL(Duration.ofMillis(250)),
+	DISCOVERY_STORAGE("sqlite"),
+	DISCOVERY_JOURNAL_COMPACT_INTERVAL(Duration.ofMinutes(10)),
+	MIGRATION_BATCH_SIZE(1000),
+	MIGRATION_PROGRESS_INTERVAL(10000),
+	TRANSFER_BATCH_SIZE(1000),
+	TRANSFER_PROGRESS_INTERVAL(10000);
 
 	private final Object defaultObject;
 
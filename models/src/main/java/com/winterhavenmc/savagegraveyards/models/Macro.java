@@ -23,12 +23,21 @@ package com.winterhavenmc.savagegraveyards.models;
 public enum Macro
 {
 	BOOLEAN,
+	CALL_COUNT,
+	DISCOVERY_COUNT,
 	DURATION,
 	ENABLED_WORLDS,
+	ERROR_COUNT,
+	FILE,
 	GRAVEYARD,
+	GRAVEYARD_COUNT,
 	INVALID_NAME,
 	INVALID_WORLD,
 	ITEM_NUMBER,
+	LATENCY_MAX,
+	LATENCY_P50,
+	LATENCY_P95,
+	LATENCY_P99,
 	NUMBER,
 	LOCATION,
 	LOCALE,
@@ -37,8 +46,12 @@ public enum Macro
 	PAGE_TOTAL,
 	PLAYER,
 	PLUGIN,
+	QUERY,
 	REASON,
+	RECORD_COUNT,
 	SEARCH_KEY,
+	SETTING,
+	SKIPPED_COUNT,
 	SUBCOMMAND,
 	TIMEZONE,
 	URL,
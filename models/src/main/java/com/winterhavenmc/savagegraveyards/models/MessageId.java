@@ -22,11 +22,15 @@ package com.winterhavenmc.savagegraveyards.models;
  */
 public enum MessageId
 {
+	COMMAND_SUCCESS_BACKUP,
+	COMMAND_SUCCESS_BACKUP_RESTORE,
 	COMMAND_SUCCESS_CLOSEST,
 	COMMAND_SUCCESS_CREATE,
 	COMMAND_SUCCESS_CREATE_OVERWRITE,
 	COMMAND_SUCCESS_DELETE,
+	COMMAND_SUCCESS_EXPORT,
 	COMMAND_SUCCESS_FORGET,
+	COMMAND_SUCCESS_IMPORT,
 	COMMAND_SUCCESS_RELOAD,
 
 	COMMAND_SUCCESS_SET_NAME,
@@ -45,12 +49,25 @@ public enum MessageId
 
 	COMMAND_FAIL_ARGS_COUNT_UNDER,
 	COMMAND_FAIL_ARGS_COUNT_OVER,
+	COMMAND_FAIL_BACKUP,
+	COMMAND_FAIL_BACKUP_UNSUPPORTED,
+	COMMAND_FAIL_BACKUP_RESTORE,
+	COMMAND_FAIL_BACKUP_RESTORE_NOT_FOUND,
+	COMMAND_FAIL_BACKUP_RESTORE_INVALID,
 	COMMAND_FAIL_CONSOLE,
 	COMMAND_FAIL_CREATE_EXISTS,
 	COMMAND_FAIL_CREATE_INSERT,
 	COMMAND_FAIL_CREATE_INVALID,
 	COMMAND_FAIL_CLOSEST_NO_MATCH,
+	COMMAND_FAIL_DATASTORE,
 	COMMAND_FAIL_DELETE_INVALID_KEY,
+	COMMAND_FAIL_EXPORT,
+	COMMAND_FAIL_EXPORT_FILE_EXISTS,
+	COMMAND_FAIL_IMPORT,
+	COMMAND_FAIL_IMPORT_FILE_NOT_FOUND,
+	COMMAND_FAIL_IMPORT_INVALID_POLICY,
+	COMMAND_FAIL_TRANSFER_INVALID_FILE,
+	COMMAND_FAIL_TRANSFER_IN_PROGRESS,
 	COMMAND_FAIL_CREATE_INVALID_NAME,
 	COMMAND_FAIL_FORGET,
 	COMMAND_FAIL_FORGET_INVALID_GRAVEYARD,
@@ -59,11 +76,14 @@ public enum MessageId
 	COMMAND_FAIL_INVALID_COMMAND,
 	COMMAND_FAIL_INVALID_HELP,
 
+	COMMAND_FAIL_PERMISSION_BACKUP,
 	COMMAND_FAIL_PERMISSION_CLOSEST,
 	COMMAND_FAIL_PERMISSION_CREATE,
 	COMMAND_FAIL_PERMISSION_DELETE,
+	COMMAND_FAIL_PERMISSION_EXPORT,
 	COMMAND_FAIL_PERMISSION_FORGET,
 	COMMAND_FAIL_PERMISSION_HELP,
+	COMMAND_FAIL_PERMISSION_IMPORT,
 	COMMAND_FAIL_PERMISSION_LIST,
 	COMMAND_FAIL_PERMISSION_RELOAD,
 	COMMAND_FAIL_PERMISSION_SHOW,
@@ -100,13 +120,22 @@ public enum MessageId
 	COMMAND_STATUS_SAFETY_TIME,
 	COMMAND_STATUS_SOUND_EFFECTS,
 	COMMAND_STATUS_TIMEZONE,
+	COMMAND_STATUS_DATASTORE_HEADER,
+	COMMAND_STATUS_DATASTORE_SETTING,
+	COMMAND_STATUS_PERF_HEADER,
+	COMMAND_STATUS_PERF_QUERY,
+	COMMAND_STATUS_PERF_EMPTY,
+	COMMAND_STATUS_PERF_BLOCKED,
 	COMMAND_STATUS_FOOTER,
 
+	COMMAND_DESCRIPTION_BACKUP,
 	COMMAND_DESCRIPTION_CLOSEST,
 	COMMAND_DESCRIPTION_CREATE,
 	COMMAND_DESCRIPTION_DELETE,
+	COMMAND_DESCRIPTION_EXPORT,
 	COMMAND_DESCRIPTION_FORGET,
 	COMMAND_DESCRIPTION_HELP,
+	COMMAND_DESCRIPTION_IMPORT,
 	COMMAND_DESCRIPTION_LIST,
 	COMMAND_DESCRIPTION_RELOAD,
 	COMMAND_DESCRIPTION_SET,
@@ -116,6 +145,12 @@ public enum MessageId
 
 	COMMAND_HELP_USAGE_HEADER,
 
+	COMMAND_BACKUP_STARTED,
+	COMMAND_EXPORT_STARTED,
+	COMMAND_EXPORT_PROGRESS,
+	COMMAND_IMPORT_STARTED,
+	COMMAND_IMPORT_PROGRESS,
+
 	COMMAND_LIST_HEADER,
 	COMMAND_LIST_FOOTER,
 	COMMAND_LIST_ITEM,
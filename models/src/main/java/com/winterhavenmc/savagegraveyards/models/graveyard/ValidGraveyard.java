@@ -23,7 +23,6 @@ import com.winterhavenmc.savagegraveyards.models.graveyard.attributes.Attributes
 import com.winterhavenmc.savagegraveyards.models.location.ValidLocation;
 import com.winterhavenmc.savagegraveyards.models.searchkey.ValidSearchKey;
 
-import org.bukkit.Bukkit;
 import org.bukkit.Location;
 
 import java.util.UUID;
@@ -34,8 +33,7 @@ public record ValidGraveyard(UUID uid, ValidDisplayName displayName, Attributes
 {
 	public Location getLocation()
 	{
-		return new Location(Bukkit.getWorld(location.world().uid()),
-				location.x(), location.y(), location.z(), location.yaw(), location.pitch());
+		return location.toLocation();
 	}
 
 	public String worldName()
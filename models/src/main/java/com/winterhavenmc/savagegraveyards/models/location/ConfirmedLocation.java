@@ -48,9 +48,9 @@ public sealed interface ConfirmedLocation permits ValidLocation, InvalidLocation
 	 */
 	static ValidLocation of(final @NotNull Player player)
 	{
-		return new ValidLocation(ConfirmedWorld.of(player),
-				player.getLocation().getX(), player.getLocation().getY(), player.getLocation().getZ(),
-				player.getLocation().getYaw(), player.getLocation().getPitch());
+		final Location location = player.getLocation();
+		return new ValidLocation(WorldRegistry.handle(player.getWorld()),
+				location.getX(), location.getY(), location.getZ(), location.getYaw(), location.getPitch());
 	}
 
 
@@ -67,9 +67,7 @@ public sealed interface ConfirmedLocation permits ValidLocation, InvalidLocation
 		return switch (ConfirmedWorld.of(location.getWorld()))
 		{
 			case InvalidWorld ignored -> new InvalidLocation(FailReason.PARAMETER_INVALID, Parameter.WORLD);
-			case UnavailableWorld unavailableWorld -> new ValidLocation(unavailableWorld,
-					location.getX(), location.getY(), location.getZ(), location.getYaw(), location.getPitch());
-			case AvailableWorld availableWorld -> new ValidLocation(availableWorld,
+			case ValidWorld validWorld -> new ValidLocation(WorldRegistry.handle(validWorld.name(), validWorld.uid()),
 					location.getX(), location.getY(), location.getZ(), location.getYaw(), location.getPitch());
 		};
 	}
@@ -87,12 +85,7 @@ public sealed interface ConfirmedLocation permits ValidLocation, InvalidLocation
 		if (worldName == null) return new InvalidLocation(FailReason.PARAMETER_NULL, Parameter.WORLD_NAME);
 		else if (worldName.isBlank()) return new InvalidLocation(FailReason.PARAMETER_BLANK, Parameter.WORLD_NAME);
 		else if (worldUid == null) return new InvalidLocation(FailReason.PARAMETER_NULL, Parameter.WORLD_UID);
-		else return switch (ConfirmedWorld.of(worldName, worldUid))
-		{
-			case InvalidWorld ignored -> new InvalidLocation(FailReason.PARAMETER_INVALID, Parameter.WORLD);
-			case UnavailableWorld unavailableWorld -> new ValidLocation(unavailableWorld, x, y, z, yaw, pitch);
-			case AvailableWorld availableWorld -> new ValidLocation(availableWorld, x, y, z, yaw, pitch);
-		};
+		else return new ValidLocation(WorldRegistry.handle(worldName, worldUid), x, y, z, yaw, pitch);
 	}
 
 }
@@ -18,6 +18,57 @@
 package com.winterhavenmc.savagegraveyards.models.location;
 
 import com.winterhavenmc.savagegraveyards.models.world.ValidWorld;
+import com.winterhavenmc.savagegraveyards.models.world.WorldHandle;
 
-public record ValidLocation(ValidWorld world, double x, double y, double z, float yaw, float pitch) implements ConfirmedLocation
-{ }
+import org.bukkit.Location;
+import org.bukkit.World;
+
+
+/**
+ * A location in a world that was valid when the location was created. The world is held by a shared
+ * {@link WorldHandle}, so the location reflects the world being loaded or unloaded after it was created.
+ */
+public record ValidLocation(WorldHandle handle, double x, double y, double z, float yaw, float pitch) implements ConfirmedLocation
+{
+	/**
+	 * Get the world of this location
+	 *
+	 * @return an {@code AvailableWorld} if the world is loaded, else an {@code UnavailableWorld}
+	 */
+	public ValidWorld world()
+	{
+		return handle.state();
+	}
+
+
+	/**
+	 * Create a bukkit location. A new location is returned on each call, because bukkit locations are mutable.
+	 *
+	 * @return a new bukkit location, with a {@code null} world if the world is not loaded
+	 */
+	public Location toLocation()
+	{
+		return new Location(handle.world(), x, y, z, yaw, pitch);
+	}
+
+
+	/**
+	 * Get the squared distance to a bukkit location, without creating a bukkit location for this location
+	 *
+	 * @param location the bukkit location
+	 * @return the squared distance, or {@link Double#POSITIVE_INFINITY} if the location is in another world
+	 */
+	public double distanceSquared(final Location location)
+	{
+		final World world = location.getWorld();
+		if (world == null || !world.getUID().equals(handle.uid()))
+		{
+			return Double.POSITIVE_INFINITY;
+		}
+
+		final double dx = x - location.getX();
+		final double dy = y - location.getY();
+		final double dz = z - location.getZ();
+		return dx * dx + dy * dy + dz * dz;
+	}
+}
@@ -19,7 +19,6 @@ package com.winterhavenmc.savagegraveyards.models.world;
 
 import com.winterhavenmc.savagegraveyards.models.FailReason;
 import com.winterhavenmc.savagegraveyards.models.Parameter;
-import org.bukkit.Bukkit;
 import org.bukkit.World;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
@@ -31,7 +30,7 @@ public sealed interface ConfirmedWorld permits ValidWorld, InvalidWorld
 {
 	static ValidWorld of(final @NotNull Player player)
 	{
-		return new AvailableWorld(player.getWorld().getName(), player.getWorld().getUID());
+		return WorldRegistry.handle(player.getWorld()).state();
 	}
 
 
@@ -47,8 +46,7 @@ public sealed interface ConfirmedWorld permits ValidWorld, InvalidWorld
 		if (name == null) return new InvalidWorld(FailReason.PARAMETER_NULL, Parameter.WORLD);
 		else if (name.isBlank()) return new InvalidWorld(FailReason.PARAMETER_BLANK, Parameter.WORLD_NAME);
 		else if (uid == null) return new InvalidWorld(FailReason.PARAMETER_NULL, Parameter.WORLD_UID);
-		else if (Bukkit.getWorld(uid) == null) return new UnavailableWorld(name, uid);
-		else return new AvailableWorld(name, uid);
+		else return WorldRegistry.handle(name, uid).state();
 	}
 
 }
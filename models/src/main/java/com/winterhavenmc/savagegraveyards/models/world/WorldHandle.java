@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.savagegraveyards.models.world;
+
+import org.bukkit.World;
+
+import java.util.UUID;
+
+
+/**
+ * A resolved reference to a world, shared by every location in the world. The handle holds the loaded world
+ * while it is available, and is switched between {@link AvailableWorld} and {@link UnavailableWorld} by the
+ * {@link WorldRegistry} as the world is loaded and unloaded, so that locations never look up their world.
+ */
+public final class WorldHandle
+{
+	private final UUID uid;
+	private volatile Binding binding;
+
+
+	/**
+	 * The state of the world and the loaded world, if available, replaced together so that they always agree
+	 */
+	private record Binding(ValidWorld state, World world) { }
+
+
+	WorldHandle(final String name, final UUID uid, final World world)
+	{
+		this.uid = uid;
+		this.binding = bind(name, world);
+	}
+
+
+	private Binding bind(final String name, final World world)
+	{
+		return (world == null)
+				? new Binding(new UnavailableWorld(name, uid), null)
+				: new Binding(new AvailableWorld(name, uid), world);
+	}
+
+
+	public UUID uid()
+	{
+		return uid;
+	}
+
+
+	public String name()
+	{
+		return binding.state().name();
+	}
+
+
+	/**
+	 * Get the state of the world as of its last load or unload
+	 *
+	 * @return an {@link AvailableWorld} if the world is loaded, else an {@link UnavailableWorld}
+	 */
+	public ValidWorld state()
+	{
+		return binding.state();
+	}
+
+
+	/**
+	 * Get the loaded world
+	 *
+	 * @return the world, or {@code null} if the world is not loaded
+	 */
+	public World world()
+	{
+		return binding.world();
+	}
+
+
+	public boolean isAvailable()
+	{
+		return binding.world() != null;
+	}
+
+
+	void attach(final World world)
+	{
+		this.binding = bind(world.getName(), world);
+	}
+
+
+	void detach()
+	{
+		this.binding = bind(name(), null);
+	}
+
+
+	@Override
+	public String toString()
+	{
+		return "WorldHandle[name=" + name() + ", uid=" + uid + ", available=" + isAvailable() + "]";
+	}
+
+}
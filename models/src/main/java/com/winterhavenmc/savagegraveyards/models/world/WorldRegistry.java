@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.savagegraveyards.models.world;
+
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+
+/**
+ * Maps world uids to the {@link WorldHandle} shared by every location in the world. A world is looked up on the
+ * server only when its handle is created; after that, the handle is kept up to date by {@link #loaded(World)} and
+ * {@link #unloaded(World)}, which are called from the world load and unload event handlers.
+ */
+public final class WorldRegistry
+{
+	private static final Map<UUID, WorldHandle> HANDLES = new ConcurrentHashMap<>();
+
+
+	private WorldRegistry()
+	{
+		throw new AssertionError();
+	}
+
+
+	/**
+	 * Get the handle for a world by uid, creating it if necessary
+	 *
+	 * @param name the world name, used if the handle is created while the world is not loaded
+	 * @param uid the world uid
+	 * @return the handle for the world
+	 */
+	public static WorldHandle handle(final String name, final UUID uid)
+	{
+		return HANDLES.computeIfAbsent(uid, key -> new WorldHandle(name, key, Bukkit.getWorld(key)));
+	}
+
+
+	/**
+	 * Get the handle for a loaded world, creating it if necessary
+	 *
+	 * @param world the loaded world
+	 * @return the handle for the world
+	 */
+	public static WorldHandle handle(final World world)
+	{
+		final WorldHandle handle = HANDLES.computeIfAbsent(world.getUID(), key -> new WorldHandle(world.getName(), key, world));
+		if (!handle.isAvailable())
+		{
+			handle.attach(world);
+		}
+		return handle;
+	}
+
+
+	/**
+	 * Mark a world available, when it has been loaded
+	 *
+	 * @param world the loaded world
+	 */
+	public static void loaded(final World world)
+	{
+		HANDLES.computeIfAbsent(world.getUID(), key -> new WorldHandle(world.getName(), key, world)).attach(world);
+	}
+
+
+	/**
+	 * Mark a world unavailable, when it is unloaded
+	 *
+	 * @param world the unloaded world
+	 */
+	public static void unloaded(final World world)
+	{
+		final WorldHandle handle = HANDLES.get(world.getUID());
+		if (handle != null)
+		{
+			handle.detach();
+		}
+	}
+
+
+	/**
+	 * Remove all handles, releasing any loaded worlds they hold
+	 */
+	public static void clear()
+	{
+		HANDLES.clear();
+	}
+
+}
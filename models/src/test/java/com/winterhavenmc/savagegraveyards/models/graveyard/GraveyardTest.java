@@ -22,8 +22,8 @@ import com.winterhavenmc.savagegraveyards.models.displayname.ValidDisplayName;
 import com.winterhavenmc.savagegraveyards.models.graveyard.attributes.Attributes;
 import com.winterhavenmc.savagegraveyards.models.location.ValidLocation;
 import com.winterhavenmc.savagegraveyards.models.world.AvailableWorld;
+import com.winterhavenmc.savagegraveyards.models.world.WorldRegistry;
 
-import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.World;
 import org.bukkit.configuration.file.FileConfiguration;
@@ -31,12 +31,12 @@ import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.entity.Player;
 import org.bukkit.plugin.Plugin;
 
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 
 import org.mockito.Mock;
-import org.mockito.MockedStatic;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.UUID;
@@ -57,6 +57,13 @@ class GraveyardTest
 	@Mock AvailableWorld availableWorldMock;
 
 
+	@AfterEach
+	void tearDown()
+	{
+		WorldRegistry.clear();
+	}
+
+
 	@Nested
 	class StaticFactory1Tests
 	{
@@ -82,6 +89,7 @@ class GraveyardTest
 			FileConfiguration configuration = new YamlConfiguration();
 			when(pluginMock.getConfig()).thenReturn(configuration);
 			when(playerMock.getWorld()).thenReturn(worldMock);
+			when(worldMock.getUID()).thenReturn(new UUID(42, 42));
 			when(playerMock.getLocation()).thenReturn(locationMock);
 
 			// Act
@@ -121,6 +129,7 @@ class GraveyardTest
 			FileConfiguration configuration = new YamlConfiguration();
 			when(pluginMock.getConfig()).thenReturn(configuration);
 			when(playerMock.getWorld()).thenReturn(worldMock);
+			when(worldMock.getUID()).thenReturn(new UUID(42, 42));
 			when(playerMock.getLocation()).thenReturn(locationMock);
 
 			// Act
@@ -189,23 +198,15 @@ class GraveyardTest
 	{
 		// Arrange
 		ValidDisplayName displayName = new ValidDisplayName("Display Name");
-		UUID uid = new UUID(42, 42);
-		when(validLocationMock.world()).thenReturn(availableWorldMock);
-
-		try (MockedStatic<Bukkit> mocked = mockStatic(Bukkit.class))
-		{
-			mocked.when(() -> Bukkit.getWorld(uid)).thenReturn(worldMock);
-
-			// Act
-			Graveyard result = Graveyard.of(displayName, uid, validLocationMock, attributesMock);
+		when(worldMock.getUID()).thenReturn(new UUID(42, 42));
+		ValidLocation location = new ValidLocation(WorldRegistry.handle(worldMock), 1, 2, 3, 4, 5);
 
-			// Assert
-			assertInstanceOf(ValidGraveyard.class, result);
-			assertEquals(new Location(null, 0, 0, 0), ((ValidGraveyard) result).getLocation());
+		// Act
+		Graveyard result = Graveyard.of(displayName, new UUID(42, 42), location, attributesMock);
 
-			// Verify
-			verify(validLocationMock, atLeastOnce()).world();
-		}
+		// Assert
+		assertInstanceOf(ValidGraveyard.class, result);
+		assertEquals(new Location(worldMock, 1, 2, 3, 4, 5), ((ValidGraveyard) result).getLocation());
 	}
 
 
@@ -19,11 +19,13 @@ package com.winterhavenmc.savagegraveyards.models.location;
 
 import com.winterhavenmc.savagegraveyards.models.FailReason;
 import com.winterhavenmc.savagegraveyards.models.world.UnavailableWorld;
+import com.winterhavenmc.savagegraveyards.models.world.WorldRegistry;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.World;
 import org.bukkit.entity.Player;
 
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 
@@ -45,11 +47,19 @@ class ConfirmedLocationTest
 	@Mock Location locationMock;
 
 
+	@AfterEach
+	void tearDown()
+	{
+		WorldRegistry.clear();
+	}
+
+
 	@Test
 	void of_returns_ValidLocation_given_valid_player()
 	{
 		// Arrange
 		when(playerMock.getWorld()).thenReturn(worldMock);
+		when(worldMock.getUID()).thenReturn(new UUID(42, 42));
 		when(playerMock.getLocation()).thenReturn(locationMock);
 
 		// Act
@@ -22,6 +22,7 @@ import org.bukkit.Bukkit;
 import org.bukkit.World;
 import org.bukkit.entity.Player;
 
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -44,6 +45,13 @@ class ConfirmedWorldTest
 	@Mock Player playerMock;
 
 
+	@AfterEach
+	void tearDown()
+	{
+		WorldRegistry.clear();
+	}
+
+
 	@Test
 	void of_returns_InvalidWorld_when_name_null()
 	{
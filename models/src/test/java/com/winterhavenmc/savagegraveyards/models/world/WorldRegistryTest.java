@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.savagegraveyards.models.world;
+
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import org.mockito.Mock;
+import org.mockito.MockedStatic;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+
+@ExtendWith(MockitoExtension.class)
+class WorldRegistryTest
+{
+	@Mock World worldMock;
+
+	private final UUID uid = new UUID(42, 42);
+
+
+	@AfterEach
+	void tearDown()
+	{
+		WorldRegistry.clear();
+	}
+
+
+	@Test
+	void handle_returns_same_handle_for_uid()
+	{
+		try (MockedStatic<Bukkit> mocked = mockStatic(Bukkit.class))
+		{
+			// Arrange
+			mocked.when(() -> Bukkit.getWorld(uid)).thenReturn(worldMock);
+
+			// Act
+			WorldHandle first = WorldRegistry.handle("world", uid);
+			WorldHandle second = WorldRegistry.handle("world", uid);
+
+			// Assert
+			assertSame(first, second);
+			mocked.verify(() -> Bukkit.getWorld(uid), times(1));
+		}
+	}
+
+
+	@Test
+	void handle_returns_AvailableWorld_when_world_loaded()
+	{
+		try (MockedStatic<Bukkit> mocked = mockStatic(Bukkit.class))
+		{
+			// Arrange
+			mocked.when(() -> Bukkit.getWorld(uid)).thenReturn(worldMock);
+
+			// Act
+			WorldHandle result = WorldRegistry.handle("world", uid);
+
+			// Assert
+			assertInstanceOf(AvailableWorld.class, result.state());
+			assertSame(worldMock, result.world());
+		}
+	}
+
+
+	@Test
+	void handle_returns_UnavailableWorld_when_world_not_loaded()
+	{
+		try (MockedStatic<Bukkit> mocked = mockStatic(Bukkit.class))
+		{
+			// Arrange
+			mocked.when(() -> Bukkit.getWorld(uid)).thenReturn(null);
+
+			// Act
+			WorldHandle result = WorldRegistry.handle("world", uid);
+
+			// Assert
+			assertInstanceOf(UnavailableWorld.class, result.state());
+			assertNull(result.world());
+		}
+	}
+
+
+	@Test
+	void loaded_makes_existing_handle_available()
+	{
+		try (MockedStatic<Bukkit> mocked = mockStatic(Bukkit.class))
+		{
+			// Arrange
+			mocked.when(() -> Bukkit.getWorld(uid)).thenReturn(null);
+			when(worldMock.getUID()).thenReturn(uid);
+			when(worldMock.getName()).thenReturn("world");
+			WorldHandle handle = WorldRegistry.handle("world", uid);
+
+			// Act
+			WorldRegistry.loaded(worldMock);
+
+			// Assert
+			assertInstanceOf(AvailableWorld.class, handle.state());
+			assertSame(worldMock, handle.world());
+		}
+	}
+
+
+	@Test
+	void unloaded_makes_existing_handle_unavailable()
+	{
+		// Arrange
+		when(worldMock.getUID()).thenReturn(uid);
+		when(worldMock.getName()).thenReturn("world");
+		WorldHandle handle = WorldRegistry.handle(worldMock);
+
+		// Act
+		WorldRegistry.unloaded(worldMock);
+
+		// Assert
+		assertInstanceOf(UnavailableWorld.class, handle.state());
+		assertEquals("world", handle.name());
+		assertNull(handle.world());
+	}
+
+
+	@Test
+	void clear_removes_handles()
+	{
+		// Arrange
+		when(worldMock.getUID()).thenReturn(uid);
+		when(worldMock.getName()).thenReturn("world");
+		WorldHandle handle = WorldRegistry.handle(worldMock);
+
+		// Act
+		WorldRegistry.clear();
+
+		// Assert
+		assertNotSame(handle, WorldRegistry.handle(worldMock));
+	}
+
+}
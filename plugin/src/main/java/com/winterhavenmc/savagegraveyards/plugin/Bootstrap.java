@@ -18,14 +18,19 @@
 package com.winterhavenmc.savagegraveyards.plugin;
 
 import com.winterhavenmc.savagegraveyards.commands.bukkit.BukkitCommandDispatcher;
+import com.winterhavenmc.savagegraveyards.datastore.mysql.MysqlConnectionProvider;
 import com.winterhavenmc.savagegraveyards.datastore.sqlite.SqliteConnectionProvider;
 import com.winterhavenmc.savagegraveyards.listeners.BukkitEventListener;
+import com.winterhavenmc.savagegraveyards.listeners.BukkitWorldListener;
 import com.winterhavenmc.savagegraveyards.metrics.BstatsMetricsHandler;
 import com.winterhavenmc.savagegraveyards.tasks.discovery.BukkitDiscoveryTask;
 import com.winterhavenmc.savagegraveyards.tasks.discovery.BukkitDiscoveryObserver;
 import com.winterhavenmc.savagegraveyards.tasks.safety.BukkitSafetyManager;
 
 import com.winterhavenmc.savagegraveyards.datastore.ConnectionProvider;
+import com.winterhavenmc.savagegraveyards.datastore.DatastoreExecutor;
+import com.winterhavenmc.savagegraveyards.models.Config;
+import com.winterhavenmc.savagegraveyards.models.world.WorldRegistry;
 import com.winterhavenmc.savagegraveyards.tasks.discovery.DiscoveryObserver;
 import com.winterhavenmc.savagegraveyards.tasks.discovery.DiscoveryTask;
 
@@ -34,6 +39,8 @@ import com.winterhavenmc.library.messagebuilder.MessageBuilder;
 import com.winterhavenmc.savagegraveyards.tasks.safety.SafetyManager;
 import org.bukkit.plugin.java.JavaPlugin;
 
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Supplier;
 
 
@@ -42,16 +49,78 @@ import java.util.function.Supplier;
  */
 public class Bootstrap extends JavaPlugin
 {
-	private ConnectionProvider connectionProvider;
+	private static final String DATASTORE_TYPE_KEY = "datastore.type";
+	private CompletableFuture<ConnectionProvider> datastore;
 
 
 	@Override
 	public void onEnable()
 	{
-		saveDefaultConfig();
+		final StartupTimer timer = new StartupTimer();
+
+		timer.time("config", () ->
+		{
+			saveDefaultConfig();
+			getConfig();
+		});
+
+		// track world availability before any graveyards are loaded
+		timer.time("worlds", () -> new BukkitWorldListener(this));
+
+		if (Config.PARALLEL_STARTUP.getBoolean(getConfig()))
+		{
+			// open the datastore on a startup thread, while messages are loaded on the server thread
+			this.datastore = CompletableFuture.supplyAsync(() -> timer.time("datastore", this::createConnectionProvider), Bootstrap::startupThread);
+			final MessageBuilder messageBuilder = timer.time("messages", () -> MessageBuilder.create(this));
+			getLogger().info("Enabled in " + timer.elapsedMillis() + " ms (" + timer.summary() + "). The datastore is opening in the background.");
+
+			// until the datastore is ready, no listeners are registered, and players respawn as if the plugin were not installed
+			datastore.thenAcceptAsync(connectionProvider ->
+			{
+				timer.time("listeners", () -> start(messageBuilder, connectionProvider));
+				getLogger().info("Datastore ready " + timer.elapsedMillis() + " ms after enable (" + timer.summary() + ").");
+			}, DatastoreExecutor.mainThread(this)).exceptionally(throwable ->
+			{
+				getLogger().severe("Could not initialize the datastore!");
+				getLogger().severe(throwable.getLocalizedMessage());
+				return null;
+			});
+		}
+		else
+		{
+			final MessageBuilder messageBuilder = timer.time("messages", () -> MessageBuilder.create(this));
+			final ConnectionProvider connectionProvider = timer.time("datastore", this::createConnectionProvider);
+			this.datastore = CompletableFuture.completedFuture(connectionProvider);
+			timer.time("listeners", () -> start(messageBuilder, connectionProvider));
+			getLogger().info("Enabled in " + timer.elapsedMillis() + " ms (" + timer.summary() + ").");
+		}
+	}
+
+
+	@Override
+	public void onDisable()
+	{
+		// wait for a datastore still opening in the background, so that it is closed cleanly
+		if (datastore != null)
+		{
+			final ConnectionProvider connectionProvider = datastore.handle((provider, throwable) -> provider).join();
+			if (connectionProvider != null)
+			{
+				connectionProvider.close();
+			}
+		}
+		WorldRegistry.clear();
+	}
+
 
-		final MessageBuilder messageBuilder = MessageBuilder.create(this);
-		this.connectionProvider = SqliteConnectionProvider.create(this);
+	/**
+	 * Start the tasks, commands and listeners that use the datastore
+	 *
+	 * @param messageBuilder the message builder
+	 * @param connectionProvider the connected datastore
+	 */
+	private void start(final MessageBuilder messageBuilder, final ConnectionProvider connectionProvider)
+	{
 		final Supplier<DiscoveryTask> discoveryTaskSupplier = () -> BukkitDiscoveryTask.create(this, messageBuilder, connectionProvider);
 
 		final DiscoveryObserver discoveryObserver = new BukkitDiscoveryObserver(this, discoveryTaskSupplier);
@@ -63,10 +132,34 @@ public class Bootstrap extends JavaPlugin
 	}
 
 
-	@Override
-	public void onDisable()
+	/**
+	 * Create the connection provider for the datastore type selected in the config. The SQLite datastore is used
+	 * if no type is set, or the type is not recognized.
+	 *
+	 * @return the connected {@link ConnectionProvider}
+	 */
+	private ConnectionProvider createConnectionProvider()
+	{
+		final String datastoreType = getConfig().getString(DATASTORE_TYPE_KEY, "sqlite").toLowerCase(Locale.ROOT);
+
+		return switch (datastoreType)
+		{
+			case MysqlConnectionProvider.DATASTORE_TYPE, "mariadb" -> MysqlConnectionProvider.create(this);
+			default -> SqliteConnectionProvider.create(this);
+		};
+	}
+
+
+	/**
+	 * Run a startup task on a new thread, which ends when the task is complete
+	 *
+	 * @param runnable the startup task
+	 */
+	private static void startupThread(final Runnable runnable)
 	{
-		connectionProvider.close();
+		final Thread thread = new Thread(runnable, "SavageGraveyards-Startup");
+		thread.setDaemon(true);
+		thread.start();
 	}
 
 }
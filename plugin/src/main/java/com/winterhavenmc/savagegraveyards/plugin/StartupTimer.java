@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.savagegraveyards.plugin;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+
+/**
+ * Records the duration of each plugin startup phase, for a summary logged when the plugin is enabled. Phases may be
+ * timed on any thread, and are listed in the order in which they completed.
+ */
+final class StartupTimer
+{
+	private final long startNanos = System.nanoTime();
+	private final List<String> phases = new ArrayList<>();
+
+
+	/**
+	 * Time a startup phase that returns a result
+	 *
+	 * @param phase the name of the phase, as shown in the summary
+	 * @param supplier the startup phase
+	 * @return the result of the phase
+	 * @param <T> the type of the result
+	 */
+	<T> T time(final String phase, final Supplier<T> supplier)
+	{
+		final long phaseStartNanos = System.nanoTime();
+		try
+		{
+			return supplier.get();
+		}
+		finally
+		{
+			record(phase, System.nanoTime() - phaseStartNanos);
+		}
+	}
+
+
+	/**
+	 * Time a startup phase
+	 *
+	 * @param phase the name of the phase, as shown in the summary
+	 * @param runnable the startup phase
+	 */
+	void time(final String phase, final Runnable runnable)
+	{
+		time(phase, () ->
+		{
+			runnable.run();
+			return null;
+		});
+	}
+
+
+	/**
+	 * Get the time elapsed since the timer was created
+	 *
+	 * @return the elapsed time in milliseconds
+	 */
+	long elapsedMillis()
+	{
+		return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+	}
+
+
+	/**
+	 * Get the phases timed so far
+	 *
+	 * @return the name and duration of each completed phase, in completion order
+	 */
+	synchronized String summary()
+	{
+		return String.join(", ", phases);
+	}
+
+
+	private synchronized void record(final String phase, final long durationNanos)
+	{
+		phases.add(phase + " " + TimeUnit.NANOSECONDS.toMillis(durationNanos) + " ms");
+	}
+
+}